@@ -0,0 +1,362 @@
+package com.flow.folwteamtest.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <h1>차단 정책 불변 매처</h1>
+ * <p>서버(BlocklistSnapshot)와 같은 규칙으로 파일명을 판정하는 클라이언트 측 정책입니다.
+ * 경로를 뺀 파일명 끝에서 '.' 경계마다 규칙을 확인하고, 끝의 '.'과 공백은 무시하며, 여러 규칙과 일치하면 가장 긴 규칙을 돌려줍니다.
+ * 정확 일치 규칙(고정/커스텀/그룹 멤버)이 없을 때만 와일드카드 규칙을 확인합니다.</p>
+ * <p>정확 일치 규칙은 뒤집은 접미사 해시를 키로 하는 개방 주소 테이블 하나에 담습니다.
+ * 파일명 끝에서 앞으로 한 글자씩 해시를 이어 계산하므로 부분 문자열을 만들지 않고, 판정 한 건당 할당이 없습니다.</p>
+ * <p>와일드카드 규칙은 패턴마다 원자 목록으로 컴파일해 상태 비트마스크(long)로 NFA를 시뮬레이션합니다. (백트래킹 없음)</p>
+ * <p>생성 후 변경되지 않으므로 여러 스레드가 락 없이 동시에 조회할 수 있습니다.</p>
+ */
+public final class ExtensionPolicy {
+
+    /**
+     * 아직 정책을 받지 못했을 때의 빈 정책 (모두 허용)
+     */
+    public static final ExtensionPolicy EMPTY = of(null, List.of(), List.of(), List.of());
+
+    /**
+     * 일치한 규칙 종류 (서버 BlockedRule.RuleType과 같은 이름)
+     */
+    public enum RuleType { FIXED, CUSTOM, PATTERN, GROUP }
+
+    /**
+     * @param type      규칙 종류
+     * @param extension 일치한 확장자 또는 패턴
+     */
+    public record Match(RuleType type, String extension) {
+    }
+
+    private final String version;
+    private final int ruleCount;
+
+    // 정확 일치 테이블 (크기는 2의 거듭제곱, 빈 칸은 null)
+    private final String[] keys;
+    private final int[] hashes;
+    private final Match[] matches;
+    private final int slotMask;
+    private final int maxKeyLength;
+
+    // 와일드카드 규칙 (긴 패턴 우선)
+    private final Glob[] globs;
+
+    private ExtensionPolicy(String version, Map<String, Match> exact, List<Glob> globs) {
+        this.version = version;
+        this.ruleCount = exact.size() + globs.size();
+        int capacity = Integer.highestOneBit(Math.max(4, exact.size() * 2 - 1)) << 1;
+        this.keys = new String[capacity];
+        this.hashes = new int[capacity];
+        this.matches = new Match[capacity];
+        this.slotMask = capacity - 1;
+        int longest = 0;
+        for (Map.Entry<String, Match> entry : exact.entrySet()) {
+            String key = entry.getKey();
+            int hash = reversedHash(key);
+            int slot = spread(hash) & slotMask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & slotMask;
+            }
+            keys[slot] = key;
+            hashes[slot] = hash;
+            matches[slot] = entry.getValue();
+            longest = Math.max(longest, key.length());
+        }
+        this.maxKeyLength = longest;
+        this.globs = globs.toArray(Glob[]::new);
+    }
+
+    /**
+     * 서버 목록으로 정책 생성
+     * 같은 확장자가 여러 곳에 있으면 고정 > 커스텀 > 그룹 순으로 규칙 종류를 정합니다.
+     * @param version         정책 버전 (서버 ETag, 없으면 null)
+     * @param fixed           차단된 고정 확장자
+     * @param custom          커스텀 확장자 (와일드카드 규칙 포함)
+     * @param groupExtensions 차단된 그룹의 멤버 확장자
+     */
+    public static ExtensionPolicy of(String version, Collection<String> fixed, Collection<String> custom,
+                                     Collection<String> groupExtensions) {
+        Map<String, Match> exact = new HashMap<>();
+        Map<String, Match> patterns = new HashMap<>();
+        for (String extension : groupExtensions) {
+            String normalized = normalize(extension);
+            exact.put(normalized, new Match(RuleType.GROUP, normalized));
+        }
+        for (String extension : custom) {
+            String normalized = normalize(extension);
+            if (isPattern(normalized)) {
+                patterns.put(normalized, new Match(RuleType.PATTERN, normalized));
+            } else {
+                exact.put(normalized, new Match(RuleType.CUSTOM, normalized));
+            }
+        }
+        for (String extension : fixed) {
+            String normalized = normalize(extension);
+            exact.put(normalized, new Match(RuleType.FIXED, normalized));
+            patterns.remove(normalized);
+        }
+        exact.values().removeIf(match -> match.extension().isEmpty());
+        List<Glob> globs = new ArrayList<>(patterns.size());
+        for (Match match : patterns.values()) {
+            globs.add(Glob.compile(match));
+        }
+        globs.sort(Comparator.comparingInt((Glob glob) -> -glob.match().extension().length())
+                .thenComparing(glob -> glob.match().extension()));
+        return new ExtensionPolicy(version, exact, globs);
+    }
+
+    /**
+     * 정책 버전 (서버 ETag, 받은 적이 없으면 null)
+     */
+    public String version() {
+        return version;
+    }
+
+    /**
+     * 규칙 개수 (정확 일치 + 와일드카드)
+     */
+    public int size() {
+        return ruleCount;
+    }
+
+    public boolean isBlocked(String filename) {
+        return match(filename) != null;
+    }
+
+    /**
+     * 파일명과 일치하는 차단 규칙 조회
+     * @return 일치하는 규칙, 차단 대상이 아니면 null
+     */
+    public Match match(String filename) {
+        if (filename == null) {
+            return null;
+        }
+        int start = Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1;
+        int end = filename.length();
+        while (end > start && (filename.charAt(end - 1) == '.' || Character.isWhitespace(filename.charAt(end - 1)))) {
+            end--;
+        }
+        Match best = null;
+        int hash = 0;
+        int limit = Math.max(start + 1, end - maxKeyLength);
+        for (int i = end - 1; i >= limit; i--) {
+            hash = 31 * hash + lowerCase(filename.charAt(i));
+            if (filename.charAt(i - 1) == '.') {
+                Match match = lookup(hash, filename, i, end);
+                if (match != null) {
+                    best = match;
+                }
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        for (Glob glob : globs) {
+            if (glob.matches(filename, start, end)) {
+                return glob.match();
+            }
+        }
+        return null;
+    }
+
+    private Match lookup(int hash, String filename, int from, int end) {
+        int length = end - from;
+        for (int slot = spread(hash) & slotMask; keys[slot] != null; slot = (slot + 1) & slotMask) {
+            if (hashes[slot] == hash && keys[slot].length() == length && equalsLowerCase(keys[slot], filename, from)) {
+                return matches[slot];
+            }
+        }
+        return null;
+    }
+
+    private static boolean equalsLowerCase(String key, String filename, int from) {
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != lowerCase(filename.charAt(from + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 끝 글자부터 앞으로 계산한 해시 (match에서 파일명 끝부터 이어 계산하는 값과 같음)
+     */
+    private static int reversedHash(String key) {
+        int hash = 0;
+        for (int i = key.length() - 1; i >= 0; i--) {
+            hash = 31 * hash + key.charAt(i);
+        }
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    static char lowerCase(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        return c < 0x80 ? c : Character.toLowerCase(c);
+    }
+
+    /**
+     * 서버 ExtensionNames.normalize와 같은 정규화 (소문자, 공백 및 앞뒤 '.' 제거)
+     */
+    static String normalize(String extension) {
+        String trimmed = extension.toLowerCase(Locale.ROOT).trim();
+        int start = 0;
+        int end = trimmed.length();
+        while (start < end && trimmed.charAt(start) == '.') {
+            start++;
+        }
+        while (end > start && trimmed.charAt(end - 1) == '.') {
+            end--;
+        }
+        return trimmed.substring(start, end);
+    }
+
+    static boolean isPattern(String extension) {
+        for (int i = 0; i < extension.length(); i++) {
+            char c = extension.charAt(i);
+            if (c == '*' || c == '?' || c == '[') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 와일드카드 규칙 하나 ('*': 0개 이상, '?': 1개, [abc]/[a-z]/[!a-z]: 문자 클래스, 모두 '.'과는 불일치)
+     * 상태 i는 "원자 i개를 소비함"이며, 상태 집합을 long 비트로 표현하므로 원자는 63개까지입니다.
+     */
+    private record Glob(Match match, boolean[] star, boolean[][] chars, boolean[] negated) {
+
+        static Glob compile(Match match) {
+            String pattern = match.extension();
+            List<Boolean> stars = new ArrayList<>();
+            List<boolean[]> sets = new ArrayList<>();
+            List<Boolean> negations = new ArrayList<>();
+            int i = 0;
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                if (c == '*') {
+                    if (stars.isEmpty() || !stars.get(stars.size() - 1)) {
+                        stars.add(true);
+                        sets.add(null);
+                        negations.add(false);
+                    }
+                    i++;
+                    continue;
+                }
+                boolean[] set = new boolean[128];
+                boolean negate = false;
+                if (c == '?') {
+                    negate = true;
+                    i++;
+                } else if (c == '[') {
+                    int close = pattern.indexOf(']', i + 1);
+                    if (close < 0) {
+                        throw new IllegalArgumentException("Unclosed character class: " + pattern);
+                    }
+                    negate = i + 1 < close && (pattern.charAt(i + 1) == '!' || pattern.charAt(i + 1) == '^');
+                    for (int j = negate ? i + 2 : i + 1; j < close; j++) {
+                        char from = pattern.charAt(j);
+                        char to = from;
+                        if (j + 2 < close && pattern.charAt(j + 1) == '-') {
+                            to = pattern.charAt(j + 2);
+                            j += 2;
+                        }
+                        for (char x = from; x <= to && x < 128; x++) {
+                            set[x] = true;
+                        }
+                    }
+                    i = close + 1;
+                } else {
+                    if (c < 128) {
+                        set[c] = true;
+                    }
+                    i++;
+                }
+                stars.add(false);
+                sets.add(set);
+                negations.add(negate);
+            }
+            if (stars.size() > 63) {
+                throw new IllegalArgumentException("Pattern is too long: " + pattern);
+            }
+            boolean[] star = new boolean[stars.size()];
+            boolean[] negated = new boolean[stars.size()];
+            for (int k = 0; k < star.length; k++) {
+                star[k] = stars.get(k);
+                negated[k] = negations.get(k);
+            }
+            return new Glob(match, star, sets.toArray(boolean[][]::new), negated);
+        }
+
+        /**
+         * filename[start, end)의 어떤 '.' 바로 뒤부터 끝까지가 패턴과 일치하는지 여부
+         */
+        boolean matches(String filename, int start, int end) {
+            long initial = closure(1L);
+            long accept = 1L << star.length;
+            long states = 0;
+            for (int i = start; i < end; i++) {
+                char c = lowerCase(filename.charAt(i));
+                states = step(states, c);
+                if (c == '.') {
+                    states |= initial;
+                }
+            }
+            return (states & accept) != 0;
+        }
+
+        private long step(long states, char c) {
+            long next = 0;
+            for (long rest = states; rest != 0; rest &= rest - 1) {
+                int k = Long.numberOfTrailingZeros(rest);
+                if (k == star.length) {
+                    continue;
+                }
+                if (star[k]) {
+                    if (c != '.') {
+                        next |= 1L << k;
+                    }
+                } else if (accepts(k, c)) {
+                    next |= 1L << (k + 1);
+                }
+            }
+            return closure(next);
+        }
+
+        private boolean accepts(int k, char c) {
+            if (c == '.') {
+                // 세그먼트 구분자는 리터럴 '.'만 소비합니다.
+                return !negated[k] && chars[k]['.'];
+            }
+            boolean inSet = c < 128 && chars[k][c];
+            return negated[k] != inSet;
+        }
+
+        /**
+         * '*'는 아무것도 소비하지 않고 다음 원자로 넘어갈 수 있음
+         */
+        private long closure(long states) {
+            for (int k = 0; k < star.length; k++) {
+                if (star[k] && (states & (1L << k)) != 0) {
+                    states |= 1L << (k + 1);
+                }
+            }
+            return states;
+        }
+    }
+}
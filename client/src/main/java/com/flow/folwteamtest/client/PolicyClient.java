@@ -0,0 +1,310 @@
+package com.flow.folwteamtest.client;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * <h1>차단 정책 내장 클라이언트</h1>
+ * <p>업로드 서비스가 파일마다 FlowTeam을 호출하지 않고 프로세스 안에서 판정하도록, 서버의 목록 API로 정책을 받아
+ * ExtensionPolicy(불변 매처)로 보관합니다. 판정은 메모리 조회뿐이므로 네트워크 왕복이 없습니다.</p>
+ * <p>백그라운드 스레드가 refreshInterval(± jitter)마다 정책을 다시 받습니다. 여러 인스턴스가 같은 순간에 몰리지 않도록 간격을 흔듭니다.
+ * 먼저 고정 확장자 목록을 If-None-Match(마지막 정책 버전)로 조건부 요청하고, 304이면 나머지 목록은 받지 않습니다.
+ * (서버의 ETag는 고정/커스텀/그룹 변경을 모두 포함한 테넌트 정책 버전입니다.)</p>
+ * <p>서버에 연결할 수 없거나 오류를 응답하면 마지막으로 받은 정책을 계속 사용하고, 1초부터 두 배씩(최대 refreshInterval) 간격을 늘려 재시도합니다.
+ * 정책을 한 번도 받지 못했으면 빈 정책(모두 허용)이므로, 시작 시 awaitInitialPolicy로 첫 정책을 기다리는 것을 권장합니다.</p>
+ * <pre>
+ * PolicyClient client = PolicyClient.builder(URI.create("http://flowteam:8080"))
+ *         .tenantId("acme")
+ *         .refreshInterval(Duration.ofSeconds(30))
+ *         .build()
+ *         .start();
+ * client.awaitInitialPolicy(Duration.ofSeconds(5));
+ * boolean blocked = client.isBlocked("setup.exe");
+ * </pre>
+ */
+public final class PolicyClient implements AutoCloseable {
+
+    private static final System.Logger log = System.getLogger(PolicyClient.class.getName());
+    private static final Duration MIN_RETRY_INTERVAL = Duration.ofSeconds(1);
+
+    private final HttpClient http;
+    private final URI extensionsUri;
+    private final Duration refreshInterval;
+    private final double jitter;
+    private final Duration requestTimeout;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("flow-policy-refresh").daemon().factory());
+    private final CountDownLatch initialPolicy = new CountDownLatch(1);
+
+    private volatile ExtensionPolicy policy = ExtensionPolicy.EMPTY;
+    private volatile Instant lastSuccess;
+    private volatile Exception lastFailure;
+    private volatile Duration retryInterval = MIN_RETRY_INTERVAL;
+
+    private PolicyClient(Builder builder) {
+        this.http = builder.httpClient != null
+                ? builder.httpClient
+                : HttpClient.newBuilder().connectTimeout(builder.requestTimeout).build();
+        String base = builder.baseUri.toString().replaceAll("/+$", "");
+        this.extensionsUri = URI.create(builder.tenantId == null
+                ? base + "/api/extensions"
+                : base + "/api/tenants/" + builder.tenantId + "/extensions");
+        this.refreshInterval = builder.refreshInterval;
+        this.jitter = builder.jitter;
+        this.requestTimeout = builder.requestTimeout;
+    }
+
+    /**
+     * @param baseUri FlowTeam 서버 주소 (예: http://flowteam:8080)
+     */
+    public static Builder builder(URI baseUri) {
+        return new Builder(baseUri);
+    }
+
+    /**
+     * 첫 정책 요청을 바로 시작하고 이후 주기적으로 갱신
+     */
+    public PolicyClient start() {
+        scheduler.execute(this::refreshAndReschedule);
+        return this;
+    }
+
+    /**
+     * 첫 정책을 받을 때까지 대기
+     * @return 제한 시간 안에 받았으면 true
+     */
+    public boolean awaitInitialPolicy(Duration timeout) throws InterruptedException {
+        return initialPolicy.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 현재 정책 (받은 적이 없으면 ExtensionPolicy.EMPTY)
+     */
+    public ExtensionPolicy policy() {
+        return policy;
+    }
+
+    /**
+     * 파일명과 일치하는 차단 규칙 조회
+     * @return 일치하는 규칙, 차단 대상이 아니면 null
+     */
+    public ExtensionPolicy.Match match(String filename) {
+        return policy.match(filename);
+    }
+
+    public boolean isBlocked(String filename) {
+        return policy.isBlocked(filename);
+    }
+
+    /**
+     * 마지막으로 서버 응답(200 또는 304)을 받은 시각 (없으면 null)
+     */
+    public Instant lastSuccess() {
+        return lastSuccess;
+    }
+
+    /**
+     * 마지막 갱신 실패 원인 (직전 갱신이 성공했으면 null)
+     */
+    public Exception lastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * 지금 바로 정책 갱신 (백그라운드 갱신과 별개로 호출 가능)
+     * @return 정책이 바뀌었으면 true, 서버 정책이 그대로이면(304) false
+     * @throws IOException 서버에 연결할 수 없거나 오류 응답인 경우 (기존 정책은 유지)
+     */
+    public synchronized boolean refresh() throws IOException, InterruptedException {
+        ExtensionPolicy current = policy;
+        HttpRequest.Builder fixedRequest = request("/fixed");
+        if (current.version() != null) {
+            fixedRequest.header("If-None-Match", current.version());
+        }
+        HttpResponse<String> fixedResponse = http.send(fixedRequest.build(), HttpResponse.BodyHandlers.ofString());
+        if (fixedResponse.statusCode() == 304) {
+            succeeded();
+            return false;
+        }
+        String version = ok(fixedResponse).headers().firstValue("ETag").orElse(null);
+
+        List<String> fixed = new ArrayList<>();
+        for (Map<String, Object> extension : Json.parseObjectArray(fixedResponse.body())) {
+            if (Boolean.TRUE.equals(extension.get("blocked"))) {
+                fixed.add((String) extension.get("name"));
+            }
+        }
+
+        List<String> groupExtensions = new ArrayList<>();
+        HttpResponse<String> groupResponse = http.send(request("/groups").build(), HttpResponse.BodyHandlers.ofString());
+        for (Map<String, Object> group : Json.parseObjectArray(ok(groupResponse).body())) {
+            if (Boolean.TRUE.equals(group.get("blocked")) && group.get("extensions") instanceof List<?> members) {
+                members.forEach(member -> groupExtensions.add((String) member));
+            }
+        }
+
+        // 커스텀 확장자는 수만 개일 수 있으므로 CSV 내보내기를 한 줄씩 읽습니다. (extension,id,createdAt)
+        List<String> custom = new ArrayList<>();
+        HttpResponse<Stream<String>> customResponse = http.send(request("/custom/export?format=csv").build(),
+                HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> lines = ok(customResponse).body()) {
+            lines.skip(1).filter(line -> !line.isBlank()).forEach(line -> {
+                int comma = line.indexOf(',');
+                custom.add(comma < 0 ? line : line.substring(0, comma));
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        // 목록을 받는 사이에 바뀌었더라도 버전은 첫 응답 기준이므로 다음 갱신에서 다시 받습니다.
+        ExtensionPolicy updated = ExtensionPolicy.of(version, fixed, custom, groupExtensions);
+        policy = updated;
+        succeeded();
+        log.log(System.Logger.Level.DEBUG, "Extension policy updated: version={0}, rules={1}", version, updated.size());
+        return true;
+    }
+
+    private void refreshAndReschedule() {
+        Duration next;
+        try {
+            refresh();
+            next = refreshInterval;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            if (lastFailure == null) {
+                log.log(System.Logger.Level.WARNING, "Extension policy refresh failed, keeping version "
+                        + policy.version() + ": " + e);
+            }
+            lastFailure = e;
+            next = retryInterval;
+            retryInterval = min(retryInterval.multipliedBy(2), refreshInterval);
+        }
+        if (!scheduler.isShutdown()) {
+            scheduler.schedule(this::refreshAndReschedule, jittered(next).toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void succeeded() {
+        lastSuccess = Instant.now();
+        if (lastFailure != null) {
+            log.log(System.Logger.Level.INFO, "Extension policy refresh recovered");
+        }
+        lastFailure = null;
+        retryInterval = MIN_RETRY_INTERVAL;
+        initialPolicy.countDown();
+    }
+
+    private Duration jittered(Duration interval) {
+        double factor = 1 + jitter * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+        return Duration.ofNanos((long) (interval.toNanos() * factor));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(extensionsUri + path)).timeout(requestTimeout).GET();
+    }
+
+    private static <T> HttpResponse<T> ok(HttpResponse<T> response) throws IOException {
+        if (response.statusCode() != 200) {
+            if (response.body() instanceof Stream<?> stream) {
+                stream.close();
+            }
+            throw new IOException("Unexpected status " + response.statusCode() + " from " + response.uri());
+        }
+        return response;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    /**
+     * 백그라운드 갱신 중지 (이후에도 마지막 정책으로 판정은 가능)
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    public static final class Builder {
+
+        private final URI baseUri;
+        private String tenantId;
+        private Duration refreshInterval = Duration.ofSeconds(30);
+        private double jitter = 0.2;
+        private Duration requestTimeout = Duration.ofSeconds(5);
+        private HttpClient httpClient;
+
+        private Builder(URI baseUri) {
+            this.baseUri = Objects.requireNonNull(baseUri, "baseUri");
+        }
+
+        /**
+         * 테넌트 ID (생략하면 기본 테넌트)
+         */
+        public Builder tenantId(String tenantId) {
+            this.tenantId = tenantId;
+            return this;
+        }
+
+        /**
+         * 정책 갱신 주기 (기본 30초)
+         */
+        public Builder refreshInterval(Duration refreshInterval) {
+            if (refreshInterval.isNegative() || refreshInterval.isZero()) {
+                throw new IllegalArgumentException("refreshInterval must be positive");
+            }
+            this.refreshInterval = refreshInterval;
+            return this;
+        }
+
+        /**
+         * 갱신 주기를 흔드는 비율 (기본 0.2 = ±20%)
+         */
+        public Builder jitter(double jitter) {
+            if (jitter < 0 || jitter >= 1) {
+                throw new IllegalArgumentException("jitter must be in [0, 1)");
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * 요청 하나의 제한 시간 (기본 5초)
+         */
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * 사용할 HttpClient (프록시, TLS 설정 등이 필요한 경우)
+         */
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public PolicyClient build() {
+            return new PolicyClient(this);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.flow.folwteamtest.client;
+
+import com.flow.folwteamtest.FolwTeamTestApplication;
+import com.flow.folwteamtest.policy.BlockedRule;
+import com.flow.folwteamtest.policy.BlocklistSnapshot;
+import com.flow.folwteamtest.policy.BlocklistSnapshotHolder;
+import com.flow.folwteamtest.service.ExtensionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 애플리케이션을 임의 포트로 띄워 실제 API로 정책을 받아 서버와 같은 판정을 하는지 검증
+ * (조건부 갱신, 백그라운드 갱신, 서버 중단 시 마지막 정책 유지)
+ */
+class PolicyClientTests {
+
+	private static final String TENANT = "embed";
+
+	private static final List<String> FILENAMES = List.of(
+			"setup.exe", "SETUP.EXE", "payload.exe.", "payload.exe ", "dir/sub\\run.exe", "invoice.pdf.exe",
+			"backup.tar.gz", "backup.gz", "backup.targz", "a.7z", "a.ZIP", "a.tar", "index.php", "index.PHTML",
+			"shell.sh", "x.xsm", "x.xm", "x.xaam", "php.txt", "report.pdf", "noext", ".exe", "", "a..exe",
+			"résumé.docx", "a.b.c.d.e.f.g");
+
+	private ConfigurableApplicationContext app;
+	private ExtensionService extensionService;
+	private BlocklistSnapshotHolder snapshotHolder;
+	private URI baseUri;
+
+	@BeforeEach
+	void startApplication() {
+		app = new SpringApplicationBuilder(FolwTeamTestApplication.class).run(
+				"--server.port=0",
+				"--management.server.port=0",
+				// 테스트마다 새 메모리 DB
+				"--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID(),
+				"--spring.jpa.show-sql=false",
+				"--logging.level.org.hibernate.SQL=WARN",
+				"--logging.level.com.flow.folwteamtest=WARN");
+		baseUri = URI.create("http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort());
+		extensionService = app.getBean(ExtensionService.class);
+		snapshotHolder = app.getBean(BlocklistSnapshotHolder.class);
+
+		extensionService.updateFixedExtensionByName(TENANT, "exe", true);
+		extensionService.updateGroup(TENANT, "archive", true);
+		for (String extension : List.of("tar.gz", "ph*", "x?m", "[ps]h*", "tar")) {
+			extensionService.addCustomExtension(TENANT, extension);
+		}
+	}
+
+	@AfterEach
+	void stopApplication() {
+		if (app != null) {
+			app.close();
+		}
+	}
+
+	@Test
+	void matchesServerVerdicts() throws Exception {
+		try (PolicyClient client = PolicyClient.builder(baseUri).tenantId(TENANT)
+				.refreshInterval(Duration.ofHours(1)).build().start()) {
+			assertThat(client.awaitInitialPolicy(Duration.ofSeconds(10))).isTrue();
+
+			BlocklistSnapshot snapshot = snapshotHolder.current(TENANT);
+			for (String filename : FILENAMES) {
+				BlockedRule expected = snapshot.match(filename);
+				ExtensionPolicy.Match actual = client.match(filename);
+				if (expected == null) {
+					assertThat(actual).as(filename).isNull();
+				} else {
+					assertThat(actual).as(filename)
+							.isEqualTo(new ExtensionPolicy.Match(ExtensionPolicy.RuleType.valueOf(expected.type().name()),
+									expected.extension()));
+				}
+			}
+		}
+	}
+
+	@Test
+	void refreshesConditionallyAndKeepsLastPolicyWhenServerIsDown() throws Exception {
+		try (PolicyClient client = PolicyClient.builder(baseUri).tenantId(TENANT)
+				.refreshInterval(Duration.ofMillis(200)).build().start()) {
+			assertThat(client.awaitInitialPolicy(Duration.ofSeconds(10))).isTrue();
+			ExtensionPolicy initial = client.policy();
+			assertThat(client.refresh()).isFalse();
+			assertThat(client.policy()).isSameAs(initial);
+
+			// 백그라운드 갱신으로 새 규칙 반영
+			extensionService.addCustomExtension(TENANT, "zzz");
+			long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+			while (!client.isBlocked("a.zzz") && System.nanoTime() < deadline) {
+				Thread.sleep(50);
+			}
+			assertThat(client.isBlocked("a.zzz")).isTrue();
+			assertThat(client.policy().version()).isNotEqualTo(initial.version());
+
+			app.close();
+			app = null;
+			assertThatThrownBy(client::refresh).isInstanceOf(IOException.class);
+			assertThat(client.isBlocked("a.zzz")).isTrue();
+			assertThat(client.isBlocked("setup.exe")).isTrue();
+		}
+	}
+}
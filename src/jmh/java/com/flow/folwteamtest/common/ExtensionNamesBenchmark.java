@@ -0,0 +1,52 @@
+package com.flow.folwteamtest.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 확장자 정규화/추출 비용 측정
+ * normalize: 등록 입력 정제 (소문자 변환, 공백/앞뒤 '.' 제거)
+ * extensionOf: 검사 시 파일명에서 확장자 추출
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtensionNamesBenchmark {
+
+    @Param
+    private FilenameShape shape;
+
+    private String filename;
+    private String extensionInput;
+
+    @Setup
+    public void setUp() {
+        filename = shape.filename("exe");
+        // 사용자가 입력하는 형태: 앞 공백, 점, 대문자
+        extensionInput = " ." + ExtensionNames.extensionOf(filename).toUpperCase() + " ";
+    }
+
+    @Benchmark
+    public String normalize() {
+        return ExtensionNames.normalize(extensionInput);
+    }
+
+    @Benchmark
+    public String extensionOf() {
+        return ExtensionNames.extensionOf(filename);
+    }
+}
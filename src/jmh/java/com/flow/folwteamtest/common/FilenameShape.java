@@ -0,0 +1,37 @@
+package com.flow.folwteamtest.common;
+
+/**
+ * 벤치마크 입력 파일명 형태
+ */
+public enum FilenameShape {
+    /** 짧은 파일명: setup.exe */
+    SHORT {
+        @Override
+        public String filename(String extension) {
+            return "setup." + extension;
+        }
+    },
+    /** 긴 경로가 붙은 파일명 (약 200자) */
+    LONG {
+        @Override
+        public String filename(String extension) {
+            return "/var/uploads/2025/01/01/".repeat(8) + "quarterly-financial-report-final-v2." + extension;
+        }
+    },
+    /** 점이 여러 개인 파일명: archive.backup.2025.01.tar.exe */
+    MULTI_DOT {
+        @Override
+        public String filename(String extension) {
+            return "archive.backup.2025.01.tar." + extension;
+        }
+    },
+    /** 한글/대문자가 섞인 파일명: 보고서_최종본.EXE */
+    UNICODE {
+        @Override
+        public String filename(String extension) {
+            return "보고서_최종본_確認済み." + extension.toUpperCase();
+        }
+    };
+
+    public abstract String filename(String extension);
+}
@@ -0,0 +1,133 @@
+package com.flow.folwteamtest.policy;
+
+import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.common.FilenameShape;
+import com.flow.folwteamtest.common.TenantIds;
+import com.flow.folwteamtest.entity.CustomExtension;
+import com.flow.folwteamtest.entity.FixedExtension;
+import com.flow.folwteamtest.event.ExtensionChange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>차단 스냅샷 조회/재구성 비용 측정</h1>
+ * <p>고정 확장자 7개(모두 차단)에 커스텀 확장자 customExtensions개를 더한 정책에서,
+ * 절반은 차단 확장자이고 절반은 목록에 없는 확장자인 파일명 1024개를 돌아가며 검사합니다.</p>
+ * <p>patternRules개의 와일드카드 규칙(w0*, w1?x ...)을 더하면 정확 일치에 실패한 파일명은 DFA까지 거칩니다.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlocklistSnapshotBenchmark {
+
+    private static final int NAMES = 1024;
+
+    @Param({"0", "200", "10000", "100000"})
+    private int customExtensions;
+
+    @Param({"0", "20"})
+    private int patternRules;
+
+    @Param
+    private FilenameShape shape;
+
+    private List<FixedExtension> fixed;
+    private List<CustomExtension> custom;
+    private BlocklistSnapshot snapshot;
+    private List<ExtensionChange> addOne;
+    private String[] filenames;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        fixed = new ArrayList<>();
+        for (String name : ExtensionConstants.FIXED_EXTENSION_NAMES) {
+            fixed.add(FixedExtension.builder().tenantId(TenantIds.DEFAULT).name(name).blocked(true).build());
+        }
+        custom = new ArrayList<>(customExtensions);
+        for (int i = 0; i < customExtensions; i++) {
+            custom.add(CustomExtension.builder().tenantId(TenantIds.DEFAULT).extension(customName(i)).build());
+        }
+        for (int i = 0; i < patternRules; i++) {
+            String pattern = "w" + Integer.toString(i, 36) + (i % 2 == 0 ? "*" : "?x");
+            custom.add(CustomExtension.builder().tenantId(TenantIds.DEFAULT).extension(pattern).build());
+        }
+        snapshot = BlocklistSnapshot.of(fixed, custom);
+        addOne = List.of(new ExtensionChange(ExtensionChange.ChangeType.CUSTOM_ADDED, 0L, "newext", true));
+
+        SplittableRandom random = new SplittableRandom(42);
+        filenames = new String[NAMES];
+        for (int i = 0; i < NAMES; i++) {
+            String extension;
+            if (random.nextBoolean()) {
+                extension = "pdf" + random.nextInt(100);
+            } else if (customExtensions > 0 && random.nextBoolean()) {
+                extension = customName(random.nextInt(customExtensions));
+            } else {
+                extension = ExtensionConstants.FIXED_EXTENSION_NAMES[random.nextInt(ExtensionConstants.FIXED_EXTENSION_NAMES.length)];
+            }
+            filenames[i] = shape.filename(extension);
+        }
+    }
+
+    private static String customName(int i) {
+        return "c" + Integer.toString(i, 36);
+    }
+
+    /**
+     * 파일명 한 건 판정
+     */
+    @Benchmark
+    public BlockedRule singleLookup() {
+        return snapshot.match(filenames[cursor++ & (NAMES - 1)]);
+    }
+
+    /**
+     * 파일명 1024건 일괄 판정 (결과는 건당 시간)
+     */
+    @Benchmark
+    @OperationsPerInvocation(NAMES)
+    public int batchLookup() {
+        int blocked = 0;
+        for (String filename : filenames) {
+            if (snapshot.match(filename) != null) {
+                blocked++;
+            }
+        }
+        return blocked;
+    }
+
+    /**
+     * 엔티티 목록으로 전체 재구성 (커밋 후 테넌트 재구성 경로)
+     */
+    @Benchmark
+    public BlocklistSnapshot rebuild() {
+        return BlocklistSnapshot.of(fixed, custom);
+    }
+
+    /**
+     * 변경 한 건을 델타로 적용 (다른 인스턴스 변경 반영 경로)
+     */
+    @Benchmark
+    public BlocklistSnapshot applyDelta() {
+        return snapshot.withChanges(addOne);
+    }
+}
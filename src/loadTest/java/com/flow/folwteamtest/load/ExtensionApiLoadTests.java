@@ -0,0 +1,244 @@
+package com.flow.folwteamtest.load;
+
+import com.flow.folwteamtest.FolwTeamTestApplication;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 확장자 API 부하 테스트 (gradle loadTest)
+ * 임베디드 H2로 애플리케이션을 임의 포트에 띄우고, 가상 스레드 클라이언트들이 읽기/쓰기 혼합 요청을 보냅니다.
+ * 처리량과 지연 시간 분포(HdrHistogram)를 표준 출력과 build/reports/load/에 남깁니다.
+ *
+ * 설정 (-Pload.xxx):
+ * clients(64), duration(10s), warmup(3s), writeRatio(0.01), listRatio(0.5: 읽기 중 목록 조회 비율), appArgs(애플리케이션 인자)
+ */
+class ExtensionApiLoadTests {
+
+	private static final DateTimeFormatter REPORT_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private enum Operation { LIST, CHECK, ADD, DELETE }
+
+	private final Settings settings = Settings.fromSystemProperties();
+
+	private ConfigurableApplicationContext app;
+	private ExecutorService clients;
+	private HttpClient http;
+	private String baseUrl;
+
+	private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+	private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+	private volatile boolean recording;
+	private volatile boolean stopped;
+
+	@BeforeEach
+	void startApplication() {
+		List<String> args = new ArrayList<>(List.of(
+				"--server.port=0",
+				"--management.server.port=0",
+				"--spring.jpa.show-sql=false",
+				"--logging.level.org.hibernate.SQL=WARN",
+				"--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+				"--logging.level.com.flow.folwteamtest=WARN"));
+		args.addAll(settings.appArgs());
+		app = new SpringApplicationBuilder(FolwTeamTestApplication.class).run(args.toArray(String[]::new));
+		baseUrl = "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort() + "/api/extensions";
+
+		clients = Executors.newVirtualThreadPerTaskExecutor();
+		http = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.executor(clients)
+				.build();
+		for (Operation operation : Operation.values()) {
+			recorders.put(operation, new Recorder(3));
+			errors.put(operation, new LongAdder());
+		}
+	}
+
+	@AfterEach
+	void stopApplication() {
+		stopped = true;
+		if (clients != null) {
+			clients.shutdownNow();
+		}
+		if (app != null) {
+			app.close();
+		}
+	}
+
+	@Test
+	void mixedReadWriteWorkload() throws Exception {
+		for (int i = 0; i < settings.clients(); i++) {
+			int clientId = i;
+			clients.execute(() -> runClient(clientId));
+		}
+
+		Thread.sleep(settings.warmup().toMillis());
+		recorders.values().forEach(Recorder::reset);
+		errors.values().forEach(LongAdder::reset);
+		recording = true;
+		long start = System.nanoTime();
+		Thread.sleep(settings.duration().toMillis());
+		Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+		recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+		double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+		stopped = true;
+		clients.shutdown();
+		clients.awaitTermination(10, TimeUnit.SECONDS);
+
+		report(histograms, elapsedSeconds);
+
+		long total = histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+		long failed = errors.values().stream().mapToLong(LongAdder::sum).sum();
+		assertThat(total).isPositive();
+		assertThat(failed).isZero();
+	}
+
+	/**
+	 * 클라이언트 하나의 요청 루프
+	 * 쓰기는 자기 전용 확장자를 추가/삭제 번갈아 수행하므로 클라이언트 간 중복 충돌이나 개수 초과가 없습니다.
+	 */
+	private void runClient(int clientId) {
+		SplittableRandom random = new SplittableRandom(clientId);
+		String ownExtension = "lt" + Integer.toString(clientId, 36);
+		String[] filenames = {"report.pdf", "setup.exe", "archive.tar.gz", "photo.JPG", "run.sh", ownExtension + "." + ownExtension};
+		boolean added = false;
+		while (!stopped) {
+			Operation operation;
+			HttpRequest request;
+			if (random.nextDouble() < settings.writeRatio()) {
+				operation = added ? Operation.DELETE : Operation.ADD;
+				request = added
+						? HttpRequest.newBuilder(URI.create(baseUrl + "/custom/" + ownExtension)).DELETE().build()
+						: HttpRequest.newBuilder(URI.create(baseUrl + "/custom"))
+								.header("Content-Type", "application/json")
+								.POST(HttpRequest.BodyPublishers.ofString("{\"extension\":\"" + ownExtension + "\"}"))
+								.build();
+				added = !added;
+			} else if (random.nextDouble() < settings.listRatio()) {
+				operation = Operation.LIST;
+				request = HttpRequest.newBuilder(URI.create(baseUrl + "/custom")).GET().build();
+			} else {
+				operation = Operation.CHECK;
+				String filename = filenames[random.nextInt(filenames.length)];
+				request = HttpRequest.newBuilder(URI.create(baseUrl + "/check?filename=" + filename)).GET().build();
+			}
+			send(operation, request);
+		}
+	}
+
+	private void send(Operation operation, HttpRequest request) {
+		long start = System.nanoTime();
+		boolean ok;
+		try {
+			int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+			ok = status < 300 || status == 304;
+		} catch (IOException e) {
+			ok = stopped;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		long elapsed = System.nanoTime() - start;
+		if (!recording || stopped) {
+			return;
+		}
+		recorders.get(operation).recordValue(elapsed);
+		if (!ok) {
+			errors.get(operation).increment();
+		}
+	}
+
+	private void report(Map<Operation, Histogram> histograms, double elapsedSeconds) throws IOException {
+		Histogram all = new Histogram(3);
+		histograms.values().forEach(all::add);
+
+		StringBuilder summary = new StringBuilder();
+		summary.append("=== Extension API load test ===\n")
+				.append(settings).append('\n')
+				.append(String.format("%-8s %10s %10s %9s %9s %9s %9s %9s %7s%n",
+						"op", "count", "ops/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "errors"));
+		histograms.forEach((operation, histogram) ->
+				appendRow(summary, operation.name(), histogram, elapsedSeconds, errors.get(operation).sum()));
+		appendRow(summary, "TOTAL", all, elapsedSeconds, errors.values().stream().mapToLong(LongAdder::sum).sum());
+		System.out.print(summary);
+
+		Path reportDir = Path.of(System.getProperty("load.reportDir", "build/reports/load"));
+		Files.createDirectories(reportDir);
+		Path reportFile = reportDir.resolve("load-" + LocalDateTime.now().format(REPORT_NAME) + ".txt");
+		try (PrintStream out = new PrintStream(Files.newOutputStream(reportFile), true, StandardCharsets.UTF_8)) {
+			out.print(summary);
+			for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+				if (entry.getValue().getTotalCount() == 0) {
+					continue;
+				}
+				out.println();
+				out.println("--- " + entry.getKey() + " latency distribution (ms) ---");
+				entry.getValue().outputPercentileDistribution(out, 1e6);
+			}
+		}
+		System.out.println("Report: " + reportFile.toAbsolutePath());
+	}
+
+	private static void appendRow(StringBuilder summary, String name, Histogram histogram, double elapsedSeconds, long errorCount) {
+		summary.append(String.format("%-8s %10d %10.1f %9.3f %9.3f %9.3f %9.3f %9.3f %7d%n",
+				name,
+				histogram.getTotalCount(),
+				histogram.getTotalCount() / elapsedSeconds,
+				histogram.getValueAtPercentile(50) / 1e6,
+				histogram.getValueAtPercentile(90) / 1e6,
+				histogram.getValueAtPercentile(99) / 1e6,
+				histogram.getValueAtPercentile(99.9) / 1e6,
+				histogram.getMaxValue() / 1e6,
+				errorCount));
+	}
+
+	/**
+	 * 부하 설정 (시스템 프로퍼티 load.*)
+	 */
+	private record Settings(int clients, Duration duration, Duration warmup,
+							double writeRatio, double listRatio, List<String> appArgs) {
+
+		static Settings fromSystemProperties() {
+			String appArgs = System.getProperty("load.appArgs", "").trim();
+			return new Settings(
+					Integer.parseInt(System.getProperty("load.clients", "64")),
+					DurationStyle.detectAndParse(System.getProperty("load.duration", "10s")),
+					DurationStyle.detectAndParse(System.getProperty("load.warmup", "3s")),
+					Double.parseDouble(System.getProperty("load.writeRatio", "0.01")),
+					Double.parseDouble(System.getProperty("load.listRatio", "0.5")),
+					appArgs.isEmpty() ? List.of() : Arrays.asList(appArgs.split("\\s+")));
+		}
+	}
+}
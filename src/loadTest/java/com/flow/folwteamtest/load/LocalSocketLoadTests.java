@@ -0,0 +1,227 @@
+package com.flow.folwteamtest.load;
+
+import com.flow.folwteamtest.FolwTeamTestApplication;
+import com.flow.folwteamtest.local.LocalCheckClient;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 소켓 검사 부하 테스트 (gradle loadTest --tests '*LocalSocketLoadTests')
+ * 같은 애플리케이션에 REST /check와 Unix 도메인 소켓 검사를 차례로 같은 시간 동안 보내 처리량과 지연 시간을 비교합니다.
+ * 소켓 모드는 클라이언트들이 연결 connections개를 나눠 쓰므로 한 연결에 요청이 파이프라이닝됩니다.
+ * SOCKET_BATCH는 요청 하나에 파일명 batchSize개를 담으며, 파일명 기준 처리량(files/s)을 함께 출력합니다.
+ *
+ * 설정 (-Pload.xxx):
+ * clients(64), connections(4), duration(10s), warmup(3s), batchSize(64)
+ */
+class LocalSocketLoadTests {
+
+	private static final DateTimeFormatter REPORT_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+	private static final String[] FILENAMES = {"report.pdf", "setup.exe", "archive.tar.gz", "photo.JPG", "run.sh", "notes.txt"};
+
+	private enum Mode { REST_CHECK, SOCKET_CHECK, SOCKET_BATCH }
+
+	private final Settings settings = Settings.fromSystemProperties();
+
+	private ConfigurableApplicationContext app;
+	private Path socketPath;
+	private HttpClient http;
+	private String checkUrl;
+
+	@BeforeEach
+	void startApplication() throws IOException {
+		socketPath = Files.createTempDirectory("flow-load").resolve("check.sock");
+		app = new SpringApplicationBuilder(FolwTeamTestApplication.class).run(
+				"--server.port=0",
+				"--management.server.port=0",
+				"--flow.local-socket.enabled=true",
+				"--flow.local-socket.path=" + socketPath,
+				"--spring.jpa.show-sql=false",
+				"--logging.level.org.hibernate.SQL=WARN",
+				"--logging.level.com.flow.folwteamtest=WARN");
+		checkUrl = "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort()
+				+ "/api/extensions/check?filename=";
+		http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	}
+
+	@AfterEach
+	void stopApplication() {
+		if (http != null) {
+			http.close();
+		}
+		if (app != null) {
+			app.close();
+		}
+	}
+
+	@Test
+	void restVersusLocalSocket() throws Exception {
+		Map<Mode, Result> results = new EnumMap<>(Mode.class);
+		for (Mode mode : Mode.values()) {
+			results.put(mode, run(mode));
+		}
+		report(results);
+		for (Result result : results.values()) {
+			assertThat(result.histogram().getTotalCount()).isPositive();
+			assertThat(result.errors()).isZero();
+		}
+	}
+
+	private Result run(Mode mode) throws Exception {
+		Recorder recorder = new Recorder(3);
+		LongAdder errors = new LongAdder();
+		LongAdder files = new LongAdder();
+		Phase phase = new Phase();
+		List<LocalCheckClient> connections = new ArrayList<>();
+		try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+			if (mode != Mode.REST_CHECK) {
+				for (int i = 0; i < settings.connections(); i++) {
+					connections.add(LocalCheckClient.connect(socketPath));
+				}
+			}
+			for (int i = 0; i < settings.clients(); i++) {
+				SplittableRandom random = new SplittableRandom(i);
+				// 여러 클라이언트가 연결 하나를 공유하므로 요청이 파이프라이닝됩니다.
+				LocalCheckClient client = connections.isEmpty() ? null : connections.get(i % connections.size());
+				clients.execute(() -> {
+					while (!phase.stopped) {
+						int count = mode == Mode.SOCKET_BATCH ? settings.batchSize() : 1;
+						long start = System.nanoTime();
+						boolean ok = send(mode, client, random, count);
+						if (phase.recording && !phase.stopped) {
+							recorder.recordValue(System.nanoTime() - start);
+							files.add(count);
+							if (!ok) {
+								errors.increment();
+							}
+						}
+					}
+				});
+			}
+			Thread.sleep(settings.warmup().toMillis());
+			recorder.reset();
+			phase.recording = true;
+			long start = System.nanoTime();
+			Thread.sleep(settings.duration().toMillis());
+			Histogram histogram = recorder.getIntervalHistogram();
+			double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+			phase.stopped = true;
+			clients.shutdown();
+			clients.awaitTermination(10, TimeUnit.SECONDS);
+			return new Result(histogram, elapsedSeconds, files.sum(), errors.sum());
+		} finally {
+			for (LocalCheckClient client : connections) {
+				client.close();
+			}
+		}
+	}
+
+	private boolean send(Mode mode, LocalCheckClient client, SplittableRandom random, int count) {
+		try {
+			if (mode == Mode.REST_CHECK) {
+				String filename = FILENAMES[random.nextInt(FILENAMES.length)];
+				HttpRequest request = HttpRequest.newBuilder(URI.create(checkUrl + filename)).GET().build();
+				return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+			}
+			List<String> filenames = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				filenames.add(FILENAMES[random.nextInt(FILENAMES.length)]);
+			}
+			return client.check(null, filenames).size() == count;
+		} catch (IOException e) {
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void report(Map<Mode, Result> results) throws IOException {
+		StringBuilder summary = new StringBuilder();
+		summary.append("=== REST vs local socket check ===\n")
+				.append(settings).append('\n')
+				.append(String.format("%-13s %10s %10s %11s %9s %9s %9s %9s %7s%n",
+						"mode", "requests", "req/s", "files/s", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "errors"));
+		results.forEach((mode, result) -> {
+			Histogram histogram = result.histogram();
+			summary.append(String.format("%-13s %10d %10.1f %11.1f %9.3f %9.3f %9.3f %9.3f %7d%n",
+					mode.name(),
+					histogram.getTotalCount(),
+					histogram.getTotalCount() / result.elapsedSeconds(),
+					result.files() / result.elapsedSeconds(),
+					histogram.getValueAtPercentile(50) / 1e6,
+					histogram.getValueAtPercentile(99) / 1e6,
+					histogram.getValueAtPercentile(99.9) / 1e6,
+					histogram.getMaxValue() / 1e6,
+					result.errors()));
+		});
+		System.out.print(summary);
+
+		Path reportDir = Path.of(System.getProperty("load.reportDir", "build/reports/load"));
+		Files.createDirectories(reportDir);
+		Path reportFile = reportDir.resolve("local-socket-" + LocalDateTime.now().format(REPORT_NAME) + ".txt");
+		try (PrintStream out = new PrintStream(Files.newOutputStream(reportFile), true, StandardCharsets.UTF_8)) {
+			out.print(summary);
+			for (Map.Entry<Mode, Result> entry : results.entrySet()) {
+				out.println();
+				out.println("--- " + entry.getKey() + " latency distribution (ms) ---");
+				entry.getValue().histogram().outputPercentileDistribution(out, 1e6);
+			}
+		}
+		System.out.println("Report: " + reportFile.toAbsolutePath());
+	}
+
+	private static final class Phase {
+		volatile boolean recording;
+		volatile boolean stopped;
+	}
+
+	private record Result(Histogram histogram, double elapsedSeconds, long files, long errors) {
+	}
+
+	/**
+	 * 부하 설정 (시스템 프로퍼티 load.*)
+	 */
+	private record Settings(int clients, int connections, Duration duration, Duration warmup, int batchSize) {
+
+		static Settings fromSystemProperties() {
+			return new Settings(
+					Integer.parseInt(System.getProperty("load.clients", "64")),
+					Integer.parseInt(System.getProperty("load.connections", "4")),
+					DurationStyle.detectAndParse(System.getProperty("load.duration", "10s")),
+					DurationStyle.detectAndParse(System.getProperty("load.warmup", "3s")),
+					Integer.parseInt(System.getProperty("load.batchSize", "64")));
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.flow.folwteamtest.audit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 판정 요청의 주체 정보 (요청당 한 번 만들어 모든 판정 이벤트가 공유)
+ *
+ * @param userId   상위 게이트웨이가 전달한 사용자 ID (X-User-Id 헤더, 없으면 null)
+ * @param clientIp 요청 IP
+ */
+public record AuditContext(String tenantId, String userId, String clientIp, AuditSource source) {
+
+    public static final String USER_HEADER = "X-User-Id";
+    private static final int USER_ID_MAX_LENGTH = 64;
+
+    public static AuditContext of(HttpServletRequest request, String tenantId, AuditSource source) {
+        String userId = request.getHeader(USER_HEADER);
+        if (userId != null) {
+            userId = userId.strip();
+            if (userId.isEmpty()) {
+                userId = null;
+            } else if (userId.length() > USER_ID_MAX_LENGTH) {
+                userId = userId.substring(0, USER_ID_MAX_LENGTH);
+            }
+        }
+        return new AuditContext(tenantId, userId, request.getRemoteAddr(), source);
+    }
+}
@@ -0,0 +1,19 @@
+package com.flow.folwteamtest.audit;
+
+/**
+ * 감사 로그 링 버퍼가 가득 찼을 때의 처리 방식
+ */
+public enum AuditOverflowPolicy {
+    /**
+     * 새 이벤트를 버리고 개수만 센다 (요청 경로 지연 없음)
+     */
+    DROP,
+    /**
+     * 버퍼가 절반 이상 차면 차단 판정은 모두, 허용 판정은 sampleRate건 중 1건만 기록하고 가득 차면 버린다
+     */
+    SAMPLE,
+    /**
+     * 빈 자리가 생길 때까지 요청 스레드가 기다린다 (유실 없음, 대신 기록이 밀리면 요청이 느려짐)
+     */
+    BLOCK
+}
@@ -0,0 +1,88 @@
+package com.flow.folwteamtest.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <h1>감사 이벤트용 고정 크기 링 버퍼 (다중 생산자 / 단일 소비자)</h1>
+ * <p>슬롯마다 시퀀스 번호를 두는 방식(Vyukov bounded queue)으로, 생산자는 CAS 한 번으로 자리를 잡고
+ * 락이나 할당 없이 이벤트를 넣습니다. 가득 차면 기다리지 않고 false를 반환합니다.</p>
+ * <p>소비는 기록 스레드 하나만 수행합니다.</p>
+ */
+class AuditRingBuffer {
+
+    private final BlockAuditEvent[] slots;
+    // 슬롯 i의 시퀀스: 비어 있으면 다음에 쓸 위치(pos), 채워졌으면 pos + 1
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // 소비자 전용 쓰기, size() 조회를 위해 volatile
+    private volatile long head;
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new BlockAuditEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 이벤트 추가 (논블로킹)
+     * @return 버퍼가 가득 차서 넣지 못했으면 false
+     */
+    boolean offer(BlockAuditEvent event) {
+        while (true) {
+            long pos = tail.get();
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots[index] = event;
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // diff > 0: 다른 생산자가 먼저 자리를 가져감, 재시도
+        }
+    }
+
+    /**
+     * 최대 maxElements건을 꺼내 target에 추가 (소비자 스레드 전용)
+     * @return 꺼낸 개수
+     */
+    int drainTo(List<BlockAuditEvent> target, int maxElements) {
+        long pos = head;
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) {
+                // 비었거나, 자리를 잡은 생산자가 아직 쓰는 중
+                break;
+            }
+            target.add(slots[index]);
+            slots[index] = null;
+            sequences.set(index, pos + slots.length);
+            pos++;
+            drained++;
+        }
+        head = pos;
+        return drained;
+    }
+
+    /**
+     * 대기 중인 이벤트 수 (근삿값)
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
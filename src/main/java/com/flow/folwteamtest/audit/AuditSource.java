@@ -0,0 +1,10 @@
+package com.flow.folwteamtest.audit;
+
+/**
+ * 판정이 발생한 경로
+ */
+public enum AuditSource {
+    CHECK,
+    BATCH_CHECK,
+    UPLOAD
+}
@@ -0,0 +1,17 @@
+package com.flow.folwteamtest.audit;
+
+import com.flow.folwteamtest.policy.BlockedRule;
+
+/**
+ * 판정 한 건 (요청 스레드에서 만들어 링 버퍼에 넣는 값)
+ * 요청 경로 비용을 줄이기 위해 확장자 추출, 길이 제한 등은 기록 스레드에서 처리합니다.
+ *
+ * @param timestamp 판정 시각 (epoch millis)
+ * @param rule      일치한 차단 규칙, 허용이면 null
+ */
+public record BlockAuditEvent(long timestamp, AuditContext context, String filename, BlockedRule rule) {
+
+    public boolean blocked() {
+        return rule != null;
+    }
+}
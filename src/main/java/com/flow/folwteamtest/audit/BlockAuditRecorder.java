@@ -0,0 +1,184 @@
+package com.flow.folwteamtest.audit;
+
+import com.flow.folwteamtest.config.AuditProperties;
+import com.flow.folwteamtest.policy.BlockedRule;
+import com.flow.folwteamtest.repository.BlockAuditJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <h1>판정 감사 로그 비동기 기록기</h1>
+ * <p>요청 스레드는 이벤트를 링 버퍼에 넣고 바로 반환합니다 (CAS 한 번, DB 접근 없음).
+ * 전용 기록 스레드가 버퍼를 비우며 batchSize 단위로 배치 INSERT하므로,
+ * 판정 처리량이 감사 로그 DB 쓰기 속도에 묶이지 않습니다.</p>
+ * <p>버퍼가 가득 찼을 때의 동작은 flow.audit.overflow-policy로 정하며, 유실/샘플링 건수는 카운터로 노출합니다.</p>
+ * <p>가상 스레드 모드(spring.threads.virtual.enabled)에서는 기록 스레드도 가상 스레드로 실행합니다.</p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(AuditProperties.class)
+public class BlockAuditRecorder {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final BlockAuditJdbcRepository auditJdbcRepository;
+    private final AuditProperties properties;
+    private final AuditRingBuffer buffer;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public BlockAuditRecorder(BlockAuditJdbcRepository auditJdbcRepository, AuditProperties properties,
+                              Environment environment) {
+        this.auditJdbcRepository = auditJdbcRepository;
+        this.properties = properties;
+        this.buffer = new AuditRingBuffer(properties.bufferSize());
+        Thread.Builder threadBuilder = Threading.VIRTUAL.isActive(environment)
+                ? Thread.ofVirtual()
+                : Thread.ofPlatform().daemon();
+        this.writer = threadBuilder.name("audit-writer").unstarted(this::writeLoop);
+        if (properties.enabled()) {
+            writer.start();
+        }
+    }
+
+    /**
+     * 판정 한 건 기록 요청 (요청 스레드에서 호출)
+     * @param rule 일치한 차단 규칙, 허용이면 null
+     */
+    public void record(AuditContext context, String filename, BlockedRule rule) {
+        if (!properties.enabled()) {
+            return;
+        }
+        BlockAuditEvent event = new BlockAuditEvent(System.currentTimeMillis(), context, filename, rule);
+        switch (properties.overflowPolicy()) {
+            case DROP -> offerOrDrop(event);
+            case SAMPLE -> {
+                if (!event.blocked() && buffer.size() >= buffer.capacity() / 2
+                        && ThreadLocalRandom.current().nextInt(properties.sampleRate()) != 0) {
+                    sampledOut.increment();
+                    return;
+                }
+                offerOrDrop(event);
+            }
+            case BLOCK -> {
+                while (!buffer.offer(event)) {
+                    if (!running) {
+                        dropped.increment();
+                        return;
+                    }
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+                published.increment();
+            }
+        }
+    }
+
+    private void offerOrDrop(BlockAuditEvent event) {
+        if (buffer.offer(event)) {
+            published.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private void writeLoop() {
+        int batchSize = properties.batchSize();
+        long flushNanos = properties.flushInterval().toNanos();
+        List<BlockAuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            int drained = buffer.drainTo(batch, batchSize);
+            if (drained > 0) {
+                write(batch);
+            }
+            if (drained < batchSize) {
+                // 덜 찬 배치: 잠시 모아서 INSERT 횟수를 줄임
+                LockSupport.parkNanos(flushNanos);
+            }
+        }
+    }
+
+    private void write(List<BlockAuditEvent> batch) {
+        try {
+            auditJdbcRepository.batchInsert(batch);
+            written.add(batch.size());
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            log.warn("Failed to write {} audit events", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * 종료 시 기록 스레드를 멈추고 버퍼에 남은 이벤트를 모두 기록
+     * 버퍼는 소비자가 하나여야 하므로, 기록 스레드가 끝까지 멈추지 않으면 남은 이벤트는 기록하지 않습니다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        shutdown(SHUTDOWN_TIMEOUT);
+    }
+
+    void shutdown(Duration timeout) throws InterruptedException {
+        running = false;
+        if (writer.isAlive()) {
+            LockSupport.unpark(writer);
+            writer.join(timeout);
+            if (writer.isAlive()) {
+                // DB 쓰기에서 멈춘 경우: 인터럽트 후 한 번 더 기다림
+                writer.interrupt();
+                writer.join(timeout);
+            }
+            if (writer.isAlive()) {
+                log.warn("Audit writer did not stop, discarding {} pending audit events", buffer.size());
+                return;
+            }
+        }
+        List<BlockAuditEvent> batch = new ArrayList<>(properties.batchSize());
+        while (buffer.drainTo(batch, properties.batchSize()) > 0) {
+            write(batch);
+        }
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+}
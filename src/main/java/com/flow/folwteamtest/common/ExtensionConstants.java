@@ -13,7 +13,7 @@ package com.flow.folwteamtest.common;
  *</p>
  *<br>
  *<p>2. MAX_CUSTOM_EXTENSIONS 변경 시 영향:
- *     <li>Service: ExtensionService의 추가 가능 개수 체크 로직</li>
+ *     <li>Service: ExtensionService의 추가 가능 개수 체크 로직 (flow.tenants.* 설정이 없을 때의 기본값)</li>
  *     <li>Frontend: index.html의 최대 개수 표시</li>
  *</p>
  *<br>
@@ -44,11 +44,40 @@ public final class ExtensionConstants {
 
     // ==================== 커스텀 확장자 개수 제한 ====================
     /**
-     * 커스텀 확장자 최대 개수
-     * 운용중 변경 금지
+     * 커스텀 확장자 기본 최대 개수 (테넌트별 재정의: TenantProperties)
+     * 판정은 접미사 트라이로 하므로 개수와 무관하게 파일명 길이에 비례한 비용입니다.
      * 변경 시 영향: Service 레이어의 검증 로직, 프론트엔드 UI
      */
-    public static final int MAX_CUSTOM_EXTENSIONS = 200;
+    public static final int MAX_CUSTOM_EXTENSIONS = 100_000;
+
+    /**
+     * 테넌트별 와일드카드(패턴) 규칙 최대 개수
+     * 패턴 규칙은 하나의 DFA로 컴파일되며, 패턴 수가 많을수록 DFA 상태 수와 스냅샷 재구성 시간이 늘어납니다.
+     */
+    public static final int MAX_PATTERN_RULES = 100;
+
+    // ==================== 확장자 형식 ====================
+    private static final String EXTENSION_SEGMENT = "(?:[a-zA-Z0-9*?]|\\[[!^]?(?:[a-zA-Z0-9](?:-[a-zA-Z0-9])?)+\\])+";
+
+    /**
+     * 확장자 입력 형식
+     * 영문자/숫자 세그먼트를 '.'으로 연결한 복합 확장자(tar.gz)와 와일드카드('*', '?'), 문자 클래스([a-z], [!x])를 허용합니다.
+     * 앞의 '.' 하나는 정규화 시 제거됩니다.
+     */
+    public static final String EXTENSION_FORMAT = "^\\.?" + EXTENSION_SEGMENT + "(?:\\." + EXTENSION_SEGMENT + ")*$";
+
+    // ==================== 파일명 길이 제한 ====================
+    /**
+     * 검사 요청(일괄 검사 등)에서 허용하는 파일명 최대 길이
+     * 스트리밍 파서가 한 항목에 사용할 수 있는 메모리 상한이기도 합니다.
+     */
+    public static final int FILENAME_MAX_LENGTH = 1024;
+
+    /**
+     * 일괄 검사 한 요청에서 판정하는 파일명 최대 개수
+     * 메모리는 개수와 무관하지만, 요청 하나가 처리 스레드와 감사 로그 버퍼를 오래 점유하지 않도록 제한합니다.
+     */
+    public static final int BATCH_CHECK_MAX_ITEMS = 100_000;
 
     // ==================== 고정 확장자 목록 ====================
     /**
@@ -73,5 +102,24 @@ public final class ExtensionConstants {
      * 커스텀 확장자 개수 초과 에러 메시지
      */
     public static final String ERROR_EXTENSION_LIMIT_EXCEEDED =
-        String.format("커스텀 확장자는 최대 %d개까지 등록할 수 있습니다.", MAX_CUSTOM_EXTENSIONS);
+        errorExtensionLimitExceeded(MAX_CUSTOM_EXTENSIONS);
+
+    /**
+     * 확장자 형식 오류 메시지
+     */
+    public static final String ERROR_EXTENSION_FORMAT =
+        "확장자는 영문자와 숫자, 구분용 '.', 와일드카드('*', '?', [a-z])만 입력 가능합니다. (예: zip, tar.gz, ph*)";
+
+    /**
+     * 와일드카드 규칙 개수 초과 에러 메시지
+     */
+    public static final String ERROR_PATTERN_LIMIT_EXCEEDED =
+        String.format("와일드카드 규칙은 최대 %d개까지 등록할 수 있습니다.", MAX_PATTERN_RULES);
+
+    /**
+     * 테넌트별 최대 개수를 반영한 개수 초과 에러 메시지
+     */
+    public static String errorExtensionLimitExceeded(int max) {
+        return String.format("커스텀 확장자는 최대 %d개까지 등록할 수 있습니다.", max);
+    }
 }
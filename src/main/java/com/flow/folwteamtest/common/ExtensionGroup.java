@@ -0,0 +1,69 @@
+package com.flow.folwteamtest.common;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * <h1>확장자 그룹 목록</h1>
+ * <p>한 번에 차단/해제할 수 있는 확장자 묶음입니다. 테넌트별 그룹 차단 여부는 ExtensionGroupPolicy에 저장되며,
+ * 개별 고정 확장자의 차단 여부(FixedExtension.blocked)와는 독립적입니다. (둘 중 하나라도 차단이면 차단)</p>
+ * <p>같은 확장자가 여러 그룹에 속할 수 있습니다.</p>
+ * 변경 주의:
+ * - 멤버 추가/제거: 재시작 후 스냅샷부터 반영되며 DB 마이그레이션은 필요 없습니다.
+ * - code 변경/그룹 제거: extension_group_policy.group_code에 남은 기존 행 처리 방안을 먼저 고려하세요.
+ */
+public enum ExtensionGroup {
+
+    EXECUTABLE("executable", "실행 파일",
+            "exe", "dll", "com", "scr", "cpl", "msi", "msp", "msc", "pif", "sys", "drv", "ocx",
+            "jar", "apk", "app", "appx", "msix", "deb", "rpm", "elf", "bin", "run", "gadget", "lnk"),
+    ARCHIVE("archive", "압축 파일",
+            "zip", "rar", "7z", "tar", "gz", "tgz", "tar.gz", "bz2", "tbz2", "tar.bz2", "xz", "txz", "tar.xz",
+            "zst", "lz", "lzma", "cab", "arj", "ace", "iso", "img", "dmg", "vhd", "vhdx"),
+    SCRIPT("script", "스크립트",
+            "bat", "cmd", "js", "jse", "vbs", "vbe", "wsf", "wsh", "hta", "ps1", "psm1", "psd1",
+            "sh", "bash", "zsh", "csh", "ksh", "py", "pyw", "pl", "rb", "php", "phtml", "lua", "applescript", "scpt"),
+    OFFICE_MACRO("office-macro", "매크로 포함 문서",
+            "docm", "dotm", "xlsm", "xltm", "xlam", "xlsb", "xll", "pptm", "potm", "ppam", "ppsm", "sldm",
+            "accdb", "mdb", "one", "iqy", "slk");
+
+    private final String code;
+    private final String label;
+    private final List<String> extensions;
+
+    ExtensionGroup(String code, String label, String... extensions) {
+        this.code = code;
+        this.label = label;
+        this.extensions = List.of(extensions);
+    }
+
+    /**
+     * API/DB에서 사용하는 그룹 코드 (예: office-macro)
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 화면 표시용 이름
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * 그룹에 속한 정규화된 확장자 목록
+     */
+    public List<String> getExtensions() {
+        return extensions;
+    }
+
+    public static Optional<ExtensionGroup> fromCode(String code) {
+        for (ExtensionGroup group : values()) {
+            if (group.code.equals(code)) {
+                return Optional.of(group);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,88 @@
+package com.flow.folwteamtest.common;
+
+import java.util.Locale;
+
+/**
+ * <h1>확장자 정규화 유틸리티</h1>
+ * <p>확장자 등록(ExtensionService)과 차단 여부 검사(BlocklistSnapshot, 업로드 게이트)가
+ * 같은 규칙으로 문자열을 비교하도록 정규화 로직을 한 곳에 모읍니다.</p>
+ * <p>확장자는 '.'으로 이어진 복합 확장자(tar.gz)일 수 있으며, 앞뒤의 '.'만 제거합니다.
+ * 예전 규칙은 모든 '.'을 제거했으므로 기존 DB 데이터(custom_extension.extension)에는 '.'이 없습니다.</p>
+ */
+public final class ExtensionNames {
+
+    private ExtensionNames() {
+        throw new AssertionError("ExtensionNames는 인스턴스화할 수 없습니다.");
+    }
+
+    /**
+     * 확장자 입력값 정제 (소문자 변환, 공백 제거, 앞뒤 '.' 제거)
+     * ".TAR.GZ " → "tar.gz"
+     */
+    public static String normalize(String extension) {
+        String trimmed = extension.toLowerCase(Locale.ROOT).trim();
+        int start = 0;
+        int end = trimmed.length();
+        while (start < end && trimmed.charAt(start) == '.') {
+            start++;
+        }
+        while (end > start && trimmed.charAt(end - 1) == '.') {
+            end--;
+        }
+        return trimmed.substring(start, end);
+    }
+
+    /**
+     * 와일드카드('*', '?')나 문자 클래스('[...]')를 포함한 패턴 규칙인지 여부
+     */
+    public static boolean isPattern(String extension) {
+        for (int i = 0; i < extension.length(); i++) {
+            char c = extension.charAt(i);
+            if (c == '*' || c == '?' || c == '[') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 파일명에서 정규화된 (마지막) 확장자를 추출합니다.
+     * 경로 구분자('/', '\') 이후의 파일명에서 마지막 '.' 이후 문자열을 사용하며,
+     * 확장자가 없으면 빈 문자열을 반환합니다.
+     * Windows가 무시하는 끝의 '.'과 공백은 제외하므로 "payload.exe."의 확장자는 "exe"입니다.
+     */
+    public static String extensionOf(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int start = nameStart(filename);
+        int end = nameEnd(filename, start);
+        int dot = filename.lastIndexOf('.', end - 1);
+        if (dot < start) {
+            return "";
+        }
+        return filename.substring(dot + 1, end).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 경로를 제외한 파일명의 시작 위치
+     */
+    public static int nameStart(String filename) {
+        return Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1;
+    }
+
+    /**
+     * 끝의 '.'과 공백을 제외한 파일명의 끝 위치 (exclusive)
+     */
+    public static int nameEnd(String filename, int start) {
+        int end = filename.length();
+        while (end > start && isIgnoredTrailer(filename.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isIgnoredTrailer(char c) {
+        return c == '.' || Character.isWhitespace(c);
+    }
+}
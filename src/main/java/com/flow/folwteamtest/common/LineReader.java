@@ -0,0 +1,56 @@
+package com.flow.folwteamtest.common;
+
+import com.flow.folwteamtest.exception.MalformedBatchRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h1>길이 제한 줄 단위 리더</h1>
+ * <p>대량 요청 본문(일괄 검사, 일괄 등록)을 한 줄씩 읽습니다.
+ * 한 줄이 maxLength를 넘으면 즉시 중단하므로 본문 크기와 무관하게 메모리 사용량이 일정합니다.</p>
+ */
+public final class LineReader {
+
+    @FunctionalInterface
+    public interface LineConsumer {
+        void accept(String line, long lineNumber) throws IOException;
+    }
+
+    private LineReader() {
+        throw new AssertionError("LineReader는 인스턴스화할 수 없습니다.");
+    }
+
+    /**
+     * 앞뒤 공백(\r 포함)을 제거한 비어 있지 않은 줄마다 consumer 호출
+     * @return 처리한 줄 수
+     */
+    public static long forEachLine(InputStream in, int maxLength, LineConsumer consumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        StringBuilder line = new StringBuilder();
+        long lineNumber = 0;
+        long count = 0;
+        int c;
+        do {
+            c = reader.read();
+            if (c == '\n' || c == -1) {
+                lineNumber++;
+                String value = line.toString().strip();
+                line.setLength(0);
+                if (!value.isEmpty()) {
+                    consumer.accept(value, lineNumber);
+                    count++;
+                }
+            } else if (line.length() >= maxLength) {
+                throw new MalformedBatchRequestException(
+                        "한 줄은 최대 " + maxLength + "자까지 입력할 수 있습니다. (" + (lineNumber + 1) + "번째 줄)");
+            } else {
+                line.append((char) c);
+            }
+        } while (c != -1);
+        return count;
+    }
+}
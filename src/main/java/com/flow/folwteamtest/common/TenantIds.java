@@ -0,0 +1,56 @@
+package com.flow.folwteamtest.common;
+
+import com.flow.folwteamtest.exception.InvalidTenantException;
+
+import java.util.regex.Pattern;
+
+/**
+ * <h1>테넌트 ID 유틸리티</h1>
+ * <p>테넌트를 지정하지 않은 기존 경로(/api/extensions/...)는 기본 테넌트로 처리합니다.</p>
+ * <p>테넌트 ID는 URL 경로와 DB 컬럼(tenant_id)에 그대로 쓰이므로 소문자/숫자/'-'/'_'만 허용합니다.</p>
+ */
+public final class TenantIds {
+
+    /**
+     * 기본 테넌트 ID (테넌트 도입 이전 데이터와 경로가 속하는 테넌트)
+     */
+    public static final String DEFAULT = "default";
+
+    /**
+     * 테넌트 ID 최대 길이 (DB 컬럼 길이와 연동)
+     */
+    public static final int MAX_LENGTH = 64;
+
+    private static final Pattern VALID = Pattern.compile("^[a-z0-9][a-z0-9_-]{0," + (MAX_LENGTH - 1) + "}$");
+    private static final String TENANT_PATH_PREFIX = "/api/tenants/";
+
+    private TenantIds() {
+        throw new AssertionError("TenantIds는 인스턴스화할 수 없습니다.");
+    }
+
+    /**
+     * 요청의 테넌트 ID 검증 (없으면 기본 테넌트)
+     * @throws InvalidTenantException 허용되지 않는 형식인 경우
+     */
+    public static String resolve(String tenantId) {
+        if (tenantId == null || tenantId.isBlank()) {
+            return DEFAULT;
+        }
+        if (!VALID.matcher(tenantId).matches()) {
+            throw new InvalidTenantException("올바르지 않은 테넌트 ID입니다: " + tenantId);
+        }
+        return tenantId;
+    }
+
+    /**
+     * 요청 경로(/api/tenants/{tenantId}/...)에서 테넌트 ID 추출 (필터처럼 핸들러 매핑 이전 단계용)
+     */
+    public static String fromPath(String path) {
+        if (path == null || !path.startsWith(TENANT_PATH_PREFIX)) {
+            return DEFAULT;
+        }
+        int start = TENANT_PATH_PREFIX.length();
+        int end = path.indexOf('/', start);
+        return resolve(end < 0 ? path.substring(start) : path.substring(start, end));
+    }
+}
@@ -0,0 +1,25 @@
+package com.flow.folwteamtest.config;
+
+import com.flow.folwteamtest.audit.AuditOverflowPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 차단/허용 판정 감사 로그 설정 (flow.audit.*)
+ *
+ * @param enabled        감사 로그 기록 여부
+ * @param bufferSize     링 버퍼 크기 (2의 거듭제곱으로 올림)
+ * @param batchSize      한 번에 INSERT할 최대 건수
+ * @param flushInterval  버퍼가 덜 찼을 때 기록 스레드가 다음 배치를 모으는 대기 시간
+ * @param overflowPolicy 버퍼가 찼을 때의 처리 방식 (drop / sample / block)
+ * @param sampleRate     sample 정책에서 버퍼가 절반 이상 찼을 때 허용 판정을 N건 중 1건만 기록
+ */
+@ConfigurationProperties(prefix = "flow.audit")
+public record AuditProperties(boolean enabled,
+                              int bufferSize,
+                              int batchSize,
+                              Duration flushInterval,
+                              AuditOverflowPolicy overflowPolicy,
+                              int sampleRate) {
+}
@@ -0,0 +1,22 @@
+package com.flow.folwteamtest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 차단 스냅샷 설정 (flow.blocklist.*)
+ *
+ * @param snapshotFile          컴파일된 정책을 보관할 바이너리 파일 경로 (미설정 시 사용하지 않고 시작할 때마다 DB로 재구성)
+ * @param snapshotWriteInterval 정책이 바뀐 뒤 파일에 반영하는 주기 (변경이 몰려도 주기당 한 번만 기록)
+ */
+@ConfigurationProperties(prefix = "flow.blocklist")
+public record BlocklistProperties(Path snapshotFile, Duration snapshotWriteInterval) {
+
+    public BlocklistProperties {
+        if (snapshotWriteInterval == null) {
+            snapshotWriteInterval = Duration.ofSeconds(1);
+        }
+    }
+}
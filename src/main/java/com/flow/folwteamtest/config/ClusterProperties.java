@@ -0,0 +1,20 @@
+package com.flow.folwteamtest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 다중 인스턴스 동기화 설정 (flow.cluster.*)
+ *
+ * @param enabled      변경 이력 폴링 사용 여부 (여러 인스턴스가 같은 DB를 공유할 때 켭니다)
+ * @param pollInterval 변경 이력 폴링 주기
+ * @param gapTimeout   id 공백(아직 커밋되지 않은 이력)을 기다리는 최대 시간 (초과 시 건너뛰고 전체 재구성)
+ * @param skippedIdRetention 건너뛴 id를 늦은 커밋에 대비해 계속 재조회하는 기간
+ */
+@ConfigurationProperties(prefix = "flow.cluster")
+public record ClusterProperties(boolean enabled,
+                                Duration pollInterval,
+                                Duration gapTimeout,
+                                Duration skippedIdRetention) {
+}
@@ -0,0 +1,20 @@
+package com.flow.folwteamtest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 정책 변경 SSE 스트림 설정 (flow.events.*)
+ *
+ * @param queueCapacity     구독자별 대기 이벤트 최대 개수 (초과 시 재동기화 요청 후 연결 종료)
+ * @param maxSubscribers    최대 동시 구독자 수
+ * @param heartbeatInterval 연결 유지용 하트비트 주기
+ * @param emitterTimeout    연결 최대 유지 시간 (만료 시 브라우저 EventSource가 자동 재연결)
+ */
+@ConfigurationProperties(prefix = "flow.events")
+public record EventStreamProperties(int queueCapacity,
+                                    int maxSubscribers,
+                                    Duration heartbeatInterval,
+                                    Duration emitterTimeout) {
+}
@@ -0,0 +1,30 @@
+package com.flow.folwteamtest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * 로컬 검사 소켓 설정 (flow.local-socket.*)
+ *
+ * @param enabled        같은 호스트의 업로드 서비스용 Unix 도메인 소켓 검사 프로토콜 사용 여부
+ * @param path           소켓 파일 경로 (시작 시 남아 있는 파일은 지우고 다시 만듭니다)
+ * @param maxFrameSize   요청 프레임 최대 크기 (넘으면 에러 응답 후 연결 종료)
+ * @param maxConnections 동시 연결 최대 수 (넘는 연결은 바로 닫음)
+ */
+@ConfigurationProperties(prefix = "flow.local-socket")
+public record LocalSocketProperties(boolean enabled, Path path, DataSize maxFrameSize, int maxConnections) {
+
+    public LocalSocketProperties {
+        if (path == null) {
+            path = Path.of(System.getProperty("java.io.tmpdir"), "flowteam-check.sock");
+        }
+        if (maxFrameSize == null) {
+            maxFrameSize = DataSize.ofMegabytes(1);
+        }
+        if (maxConnections <= 0) {
+            maxConnections = 256;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.flow.folwteamtest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 차단 업로드 격리 보관 설정 (flow.quarantine.*)
+ *
+ * @param enabled          차단된 업로드 파트 본문을 격리 디렉터리에 보관할지 여부
+ * @param directory        격리 디렉터리 (테넌트별 하위 디렉터리에 내용 해시 이름으로 저장)
+ * @param maxSampleSize    샘플 하나의 최대 크기 (넘으면 보관하지 않고 바로 거부)
+ * @param maxTotalSize     보관 샘플 전체 크기 상한 (넘으면 가장 오래 접근하지 않은 샘플부터 삭제)
+ * @param maxAge           마지막 접근 후 보관 기간
+ * @param evictionInterval 보관 한도 정리 주기
+ */
+@ConfigurationProperties(prefix = "flow.quarantine")
+public record QuarantineProperties(boolean enabled,
+                                   Path directory,
+                                   DataSize maxSampleSize,
+                                   DataSize maxTotalSize,
+                                   Duration maxAge,
+                                   Duration evictionInterval) {
+
+    public QuarantineProperties {
+        if (directory == null) {
+            directory = Path.of(System.getProperty("java.io.tmpdir"), "flowteam-quarantine");
+        }
+        if (maxSampleSize == null) {
+            maxSampleSize = DataSize.ofMegabytes(50);
+        }
+        if (maxTotalSize == null) {
+            maxTotalSize = DataSize.ofGigabytes(1);
+        }
+        if (maxAge == null) {
+            maxAge = Duration.ofDays(30);
+        }
+        if (evictionInterval == null) {
+            evictionInterval = Duration.ofMinutes(1);
+        }
+    }
+}
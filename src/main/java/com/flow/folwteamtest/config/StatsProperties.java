@@ -0,0 +1,14 @@
+package com.flow.folwteamtest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 확장자별 판정 통계 설정 (flow.stats.*)
+ * 카운터 하나는 약 1KB이므로 두 상한의 곱이 통계 메모리 상한입니다.
+ *
+ * @param maxTenants              통계를 유지할 최대 테넌트 수 (초과 시 새 테넌트는 집계하지 않음)
+ * @param maxExtensionsPerTenant  테넌트당 최대 확장자 수 (초과 시 새 확장자는 집계하지 않음)
+ */
+@ConfigurationProperties(prefix = "flow.stats")
+public record StatsProperties(int maxTenants, int maxExtensionsPerTenant) {
+}
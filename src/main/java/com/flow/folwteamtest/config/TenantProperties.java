@@ -0,0 +1,31 @@
+package com.flow.folwteamtest.config;
+
+import com.flow.folwteamtest.common.ExtensionConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * 테넌트별 정책 설정 (flow.tenants.*)
+ *
+ * @param defaultMaxCustomExtensions 테넌트 커스텀 확장자 기본 최대 개수 (미설정 시 ExtensionConstants.MAX_CUSTOM_EXTENSIONS)
+ * @param maxCustomExtensions        테넌트별 최대 개수 재정의 (예: flow.tenants.max-custom-extensions.acme=500)
+ */
+@ConfigurationProperties(prefix = "flow.tenants")
+public record TenantProperties(Integer defaultMaxCustomExtensions,
+                               Map<String, Integer> maxCustomExtensions) {
+
+    public TenantProperties {
+        if (defaultMaxCustomExtensions == null) {
+            defaultMaxCustomExtensions = ExtensionConstants.MAX_CUSTOM_EXTENSIONS;
+        }
+        maxCustomExtensions = maxCustomExtensions == null ? Map.of() : Map.copyOf(maxCustomExtensions);
+    }
+
+    /**
+     * 테넌트의 커스텀 확장자 최대 개수
+     */
+    public int maxCustomExtensionsOf(String tenantId) {
+        return maxCustomExtensions.getOrDefault(tenantId, defaultMaxCustomExtensions);
+    }
+}
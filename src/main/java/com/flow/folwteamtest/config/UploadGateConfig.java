@@ -0,0 +1,64 @@
+package com.flow.folwteamtest.config;
+
+import com.flow.folwteamtest.audit.BlockAuditRecorder;
+import com.flow.folwteamtest.common.ExtensionNames;
+import com.flow.folwteamtest.policy.BlocklistSnapshotHolder;
+import com.flow.folwteamtest.quarantine.QuarantineStore;
+import com.flow.folwteamtest.stats.ExtensionHitStats;
+import com.flow.folwteamtest.upload.ArchiveLimits;
+import com.flow.folwteamtest.upload.ContentSignature;
+import com.flow.folwteamtest.upload.ContentSniffer;
+import com.flow.folwteamtest.upload.UploadGateFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 업로드 게이트 필터 등록
+ * 다른 필터가 본문을 먼저 소비하지 않도록 가장 앞 순서로 등록합니다.
+ */
+@Configuration
+@EnableConfigurationProperties(UploadGateProperties.class)
+@ConditionalOnProperty(prefix = "flow.upload-gate", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UploadGateConfig {
+
+    /**
+     * 기본 시그니처와 flow.upload-gate.signatures 설정을 합쳐 한 번만 컴파일합니다.
+     */
+    @Bean
+    public ContentSniffer contentSniffer(UploadGateProperties properties) {
+        List<ContentSignature> signatures = new ArrayList<>(ContentSignature.defaults());
+        if (properties.signatures() != null) {
+            properties.signatures().forEach((hexMagic, extensions) -> signatures.add(
+                    ContentSignature.of("CUSTOM-" + hexMagic.toUpperCase(), hexMagic,
+                            extensions.stream().map(ExtensionNames::normalize).toArray(String[]::new))));
+        }
+        return new ContentSniffer(signatures);
+    }
+
+    @Bean
+    public FilterRegistrationBean<UploadGateFilter> uploadGateFilter(BlocklistSnapshotHolder snapshotHolder,
+                                                                     UploadGateProperties properties,
+                                                                     ContentSniffer contentSniffer,
+                                                                     BlockAuditRecorder auditRecorder,
+                                                                     ExtensionHitStats hitStats,
+                                                                     ObjectProvider<QuarantineStore> quarantineStore) {
+        UploadGateProperties.Archive archive = properties.archive();
+        ArchiveLimits archiveLimits = archive != null && archive.enabled()
+                ? new ArchiveLimits(archive.maxDepth(), archive.maxEntries(), archive.maxTotalSize().toBytes(), archive.maxCompressionRatio())
+                : null;
+        FilterRegistrationBean<UploadGateFilter> registration = new FilterRegistrationBean<>(
+                new UploadGateFilter(snapshotHolder, properties, contentSniffer, archiveLimits, auditRecorder, hitStats,
+                        quarantineStore.getIfAvailable()));
+        registration.setUrlPatterns(properties.urlPatterns());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,44 @@
+package com.flow.folwteamtest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 업로드 게이트 설정 (flow.upload-gate.*)
+ *
+ * @param enabled         게이트 필터 등록 여부
+ * @param urlPatterns     게이트를 적용할 서블릿 URL 패턴
+ * @param maxHeaderBytes  파트 헤더 블록 최대 크기
+ * @param maxParts        요청당 최대 파트 개수
+ * @param contentSniffing 파일 시그니처(매직 넘버) 검사 여부
+ * @param signatures      기본 시그니처 외 추가 시그니처 (16진수 매직 → 확장자 목록)
+ * @param archive         압축 파일 내부 검사 설정
+ */
+@ConfigurationProperties(prefix = "flow.upload-gate")
+public record UploadGateProperties(boolean enabled,
+                                   List<String> urlPatterns,
+                                   int maxHeaderBytes,
+                                   int maxParts,
+                                   boolean contentSniffing,
+                                   Map<String, List<String>> signatures,
+                                   Archive archive) {
+
+    /**
+     * 압축 파일 내부 검사 설정 (flow.upload-gate.archive.*)
+     *
+     * @param enabled             zip/jar/tar/gzip 파트의 내부 항목명 검사 여부
+     * @param maxDepth            최대 중첩 깊이 (업로드한 압축 파일 자체가 1)
+     * @param maxEntries          파트당 최대 항목 수 (중첩 포함)
+     * @param maxTotalSize        파트당 압축 해제 크기 합계 상한
+     * @param maxCompressionRatio 항목별 최대 압축률 (1MB 이상 항목에만 적용)
+     */
+    public record Archive(boolean enabled,
+                          int maxDepth,
+                          int maxEntries,
+                          DataSize maxTotalSize,
+                          int maxCompressionRatio) {
+    }
+}
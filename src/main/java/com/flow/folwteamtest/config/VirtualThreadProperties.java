@@ -0,0 +1,15 @@
+package com.flow.folwteamtest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 가상 스레드 모드 진단 설정 (flow.virtual-threads.*)
+ *
+ * @param pinnedThreshold 이 시간 이상 캐리어 스레드에 고정(pinning)된 가상 스레드를 기록
+ * @param stackDepth      경고 로그에 남길 스택 프레임 수
+ */
+@ConfigurationProperties(prefix = "flow.virtual-threads")
+public record VirtualThreadProperties(Duration pinnedThreshold, int stackDepth) {
+}
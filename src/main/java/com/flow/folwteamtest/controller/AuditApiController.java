@@ -0,0 +1,43 @@
+package com.flow.folwteamtest.controller;
+
+import com.flow.folwteamtest.common.TenantIds;
+import com.flow.folwteamtest.dto.BlockAuditPageResponse;
+import com.flow.folwteamtest.service.BlockAuditService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@RestController
+@RequestMapping({"/api/audit", "/api/tenants/{tenantId}/audit"})
+@RequiredArgsConstructor
+public class AuditApiController {
+
+    private final BlockAuditService blockAuditService;
+
+    /**
+     * 판정 감사 로그 조회 (최신순, 키셋 페이지)
+     * GET /api/audit?from=...&to=...&extension=exe&blocked=true&before=...&size=50
+     */
+    @GetMapping
+    public ResponseEntity<BlockAuditPageResponse> getAuditLogs(
+            @PathVariable(required = false) String tenantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String extension,
+            @RequestParam(required = false) Boolean blocked,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer size) {
+        BlockAuditPageResponse page = blockAuditService.search(
+                TenantIds.resolve(tenantId), from, to, extension, blocked, before, size);
+        return ResponseEntity.ok(page);
+    }
+}
@@ -1,36 +1,77 @@
 package com.flow.folwteamtest.controller;
 
+import com.flow.folwteamtest.audit.AuditContext;
+import com.flow.folwteamtest.audit.AuditSource;
+import com.flow.folwteamtest.common.TenantIds;
 import com.flow.folwteamtest.dto.CustomExtensionCreateRequest;
 import com.flow.folwteamtest.dto.CustomExtensionDto;
+import com.flow.folwteamtest.dto.CustomExtensionImportResponse;
+import com.flow.folwteamtest.dto.CustomExtensionPageResponse;
+import com.flow.folwteamtest.dto.ExtensionChangesResponse;
+import com.flow.folwteamtest.dto.ExtensionCheckResponse;
+import com.flow.folwteamtest.dto.ExtensionGroupDto;
+import com.flow.folwteamtest.dto.ExtensionGroupUpdateRequest;
+import com.flow.folwteamtest.dto.ExtensionStatsResponse;
 import com.flow.folwteamtest.dto.FixedExtensionDto;
 import com.flow.folwteamtest.dto.FixedExtensionUpdateRequest;
+import com.flow.folwteamtest.exception.MalformedBatchRequestException;
+import com.flow.folwteamtest.service.BatchCheckService;
+import com.flow.folwteamtest.service.CustomExtensionBulkService;
+import com.flow.folwteamtest.service.ExtensionChangeLogService;
+import com.flow.folwteamtest.service.ExtensionEventBroadcaster;
+import com.flow.folwteamtest.service.ExtensionCheckService;
 import com.flow.folwteamtest.service.ExtensionService;
+import com.flow.folwteamtest.service.ExtensionStatsService;
+import com.flow.folwteamtest.stats.StatsWindow;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
 
 @Slf4j
 @RestController
-@RequestMapping("/api/extensions")
+@RequestMapping({"/api/extensions", "/api/tenants/{tenantId}/extensions"})
 @RequiredArgsConstructor
 public class ExtensionApiController {
 
     private final ExtensionService extensionService;
+    private final ExtensionCheckService extensionCheckService;
+    private final BatchCheckService batchCheckService;
+    private final CustomExtensionBulkService customExtensionBulkService;
+    private final ExtensionChangeLogService extensionChangeLogService;
+    private final ExtensionEventBroadcaster extensionEventBroadcaster;
+    private final ExtensionStatsService extensionStatsService;
+    private final MeterRegistry meterRegistry;
 
     /**
      * 고정 확장자 전체 조회
      * GET /api/extensions/fixed
+     * ETag(정책 버전)가 If-None-Match와 같으면 DB 조회 없이 304를 반환합니다.
      */
     @GetMapping("/fixed")
-    public ResponseEntity<List<FixedExtensionDto>> getFixedExtensions() {
+    public ResponseEntity<List<FixedExtensionDto>> getFixedExtensions(
+            @PathVariable(required = false) String tenantId,
+            WebRequest webRequest) {
+        String tenant = tenant(tenantId);
+        String eTag = extensionChangeLogService.getCurrentETag(tenant);
+        if (checkNotModified(webRequest, eTag, "fixed")) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         log.info("Request to get all fixed extensions");
-        List<FixedExtensionDto> extensions = extensionService.getAllFixedExtensions();
-        return ResponseEntity.ok(extensions);
+        List<FixedExtensionDto> extensions = extensionService.getAllFixedExtensions(tenant);
+        return ResponseEntity.ok().eTag(eTag).body(extensions);
     }
 
     /**
@@ -39,10 +80,11 @@ public class ExtensionApiController {
      */
     @PutMapping("/fixed/{id}")
     public ResponseEntity<FixedExtensionDto> updateFixedExtension(
+            @PathVariable(required = false) String tenantId,
             @PathVariable Long id,
             @Valid @RequestBody FixedExtensionUpdateRequest request) {
         log.info("Request to update fixed extension: ID={}, blocked={}", id, request.getBlocked());
-        FixedExtensionDto updated = extensionService.updateFixedExtension(id, request.getBlocked());
+        FixedExtensionDto updated = extensionService.updateFixedExtension(tenant(tenantId), id, request.getBlocked());
         return ResponseEntity.ok(updated);
     }
 
@@ -52,22 +94,76 @@ public class ExtensionApiController {
      */
     @PatchMapping("/fixed/{name}")
     public ResponseEntity<FixedExtensionDto> updateFixedExtensionByName(
+            @PathVariable(required = false) String tenantId,
             @PathVariable String name,
             @Valid @RequestBody FixedExtensionUpdateRequest request) {
         log.info("Request to update fixed extension by name: name={}, blocked={}", name, request.getBlocked());
-        FixedExtensionDto updated = extensionService.updateFixedExtensionByName(name, request.getBlocked());
+        FixedExtensionDto updated = extensionService.updateFixedExtensionByName(tenant(tenantId), name, request.getBlocked());
+        return ResponseEntity.ok(updated);
+    }
+
+    /**
+     * 확장자 그룹 전체 조회
+     * GET /api/extensions/groups
+     * ETag(정책 버전)가 If-None-Match와 같으면 DB 조회 없이 304를 반환합니다.
+     */
+    @GetMapping("/groups")
+    public ResponseEntity<List<ExtensionGroupDto>> getGroups(
+            @PathVariable(required = false) String tenantId,
+            WebRequest webRequest) {
+        String tenant = tenant(tenantId);
+        String eTag = extensionChangeLogService.getCurrentETag(tenant);
+        if (checkNotModified(webRequest, eTag, "groups")) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        log.info("Request to get all extension groups");
+        return ResponseEntity.ok().eTag(eTag).body(extensionService.getAllGroups(tenant));
+    }
+
+    /**
+     * 확장자 그룹 차단 설정 변경 (그룹 전체를 한 번에 차단/해제)
+     * PATCH /api/extensions/groups/{code}
+     */
+    @PatchMapping("/groups/{code}")
+    public ResponseEntity<ExtensionGroupDto> updateGroup(
+            @PathVariable(required = false) String tenantId,
+            @PathVariable String code,
+            @Valid @RequestBody ExtensionGroupUpdateRequest request) {
+        log.info("Request to update extension group: code={}, blocked={}", code, request.getBlocked());
+        ExtensionGroupDto updated = extensionService.updateGroup(tenant(tenantId), code, request.getBlocked());
         return ResponseEntity.ok(updated);
     }
 
     /**
      * 커스텀 확장자 전체 조회
      * GET /api/extensions/custom
+     * ETag(정책 버전)가 If-None-Match와 같으면 DB 조회 없이 304를 반환합니다.
      */
     @GetMapping("/custom")
-    public ResponseEntity<List<CustomExtensionDto>> getCustomExtensions() {
+    public ResponseEntity<List<CustomExtensionDto>> getCustomExtensions(
+            @PathVariable(required = false) String tenantId,
+            WebRequest webRequest) {
+        String tenant = tenant(tenantId);
+        String eTag = extensionChangeLogService.getCurrentETag(tenant);
+        if (checkNotModified(webRequest, eTag, "custom")) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         log.info("Request to get all custom extensions");
-        List<CustomExtensionDto> extensions = extensionService.getAllCustomExtensions();
-        return ResponseEntity.ok(extensions);
+        List<CustomExtensionDto> extensions = extensionService.getAllCustomExtensions(tenant);
+        return ResponseEntity.ok().eTag(eTag).body(extensions);
+    }
+
+    /**
+     * 커스텀 확장자 페이지 조회 (이름순 키셋, 접두사 검색)
+     * GET /api/extensions/custom/page?prefix=ta&after=tar&size=100
+     */
+    @GetMapping("/custom/page")
+    public ResponseEntity<CustomExtensionPageResponse> getCustomExtensionPage(
+            @PathVariable(required = false) String tenantId,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(extensionService.getCustomExtensionPage(tenant(tenantId), prefix, after, size));
     }
 
     /**
@@ -76,20 +172,63 @@ public class ExtensionApiController {
      */
     @PostMapping("/custom")
     public ResponseEntity<CustomExtensionDto> addCustomExtension(
+            @PathVariable(required = false) String tenantId,
             @Valid @RequestBody CustomExtensionCreateRequest request) {
         log.info("Request to add custom extension: extension={}", request.getExtension());
-        CustomExtensionDto created = extensionService.addCustomExtension(request.getExtension());
+        CustomExtensionDto created = extensionService.addCustomExtension(tenant(tenantId), request.getExtension());
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /**
+     * 커스텀 확장자 일괄 등록 (CSV / NDJSON 스트리밍)
+     * POST /api/extensions/custom/import
+     */
+    @PostMapping(value = "/custom/import",
+            consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<CustomExtensionImportResponse> importCustomExtensions(
+            @PathVariable(required = false) String tenantId,
+            HttpServletRequest request) throws IOException {
+        CustomExtensionBulkService.Format format =
+                MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                        ? CustomExtensionBulkService.Format.NDJSON
+                        : CustomExtensionBulkService.Format.CSV;
+        log.info("Request to import custom extensions: tenant={}, format={}", tenantId, format);
+        CustomExtensionImportResponse result = customExtensionBulkService.importFrom(tenant(tenantId), request.getInputStream(), format);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 커스텀 확장자 전체 내보내기 (스트리밍)
+     * GET /api/extensions/custom/export?format=csv|ndjson
+     */
+    @GetMapping("/custom/export")
+    public void exportCustomExtensions(
+            @PathVariable(required = false) String tenantId,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+        String tenant = tenant(tenantId);
+        log.info("Request to export custom extensions: tenant={}, format={}", tenant, format);
+        if (format.equalsIgnoreCase("ndjson")) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"custom-extensions.ndjson\"");
+            customExtensionBulkService.exportTo(tenant, response.getOutputStream(), CustomExtensionBulkService.Format.NDJSON);
+        } else {
+            response.setContentType("text/csv;charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"custom-extensions.csv\"");
+            customExtensionBulkService.exportTo(tenant, response.getOutputStream(), CustomExtensionBulkService.Format.CSV);
+        }
+    }
+
     /**
      * 커스텀 확장자 삭제 (ID 기반)
      * DELETE /api/extensions/custom/{id}
      */
     @DeleteMapping("/custom/id/{id}")
-    public ResponseEntity<Void> deleteCustomExtension(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteCustomExtension(
+            @PathVariable(required = false) String tenantId,
+            @PathVariable Long id) {
         log.info("Request to delete custom extension: ID={}", id);
-        extensionService.deleteCustomExtension(id);
+        extensionService.deleteCustomExtension(tenant(tenantId), id);
         return ResponseEntity.noContent().build();
     }
 
@@ -98,9 +237,11 @@ public class ExtensionApiController {
      * DELETE /api/extensions/custom/{extension}
      */
     @DeleteMapping("/custom/{extension}")
-    public ResponseEntity<Void> deleteCustomExtensionByName(@PathVariable String extension) {
+    public ResponseEntity<Void> deleteCustomExtensionByName(
+            @PathVariable(required = false) String tenantId,
+            @PathVariable String extension) {
         log.info("Request to delete custom extension by name: extension={}", extension);
-        extensionService.deleteCustomExtensionByName(extension);
+        extensionService.deleteCustomExtensionByName(tenant(tenantId), extension);
         return ResponseEntity.noContent().build();
     }
 
@@ -109,9 +250,106 @@ public class ExtensionApiController {
      * GET /api/extensions/custom/count
      */
     @GetMapping("/custom/count")
-    public ResponseEntity<Long> getCustomExtensionCount() {
+    public ResponseEntity<Long> getCustomExtensionCount(@PathVariable(required = false) String tenantId) {
         log.info("Request to get custom extension count");
-        long count = extensionService.getCustomExtensionCount();
+        long count = extensionService.getCustomExtensionCount(tenant(tenantId));
         return ResponseEntity.ok(count);
     }
+
+    /**
+     * 확장자별 판정 통계 조회 (메모리 카운터, DB 미접근)
+     * GET /api/extensions/stats?window=1h&top=10
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ExtensionStatsResponse> getStats(
+            @PathVariable(required = false) String tenantId,
+            @RequestParam(defaultValue = "total") StatsWindow window,
+            @RequestParam(required = false) Integer top) {
+        return ResponseEntity.ok(extensionStatsService.getStats(tenant(tenantId), window, top));
+    }
+
+    /**
+     * 정책 변경 내역 조회 (델타 동기화)
+     * GET /api/extensions/changes?since={version}
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ExtensionChangesResponse> getChanges(
+            @PathVariable(required = false) String tenantId,
+            @RequestParam(defaultValue = "0") long since) {
+        ExtensionChangesResponse changes = extensionChangeLogService.getChangesSince(tenant(tenantId), since);
+        return ResponseEntity.ok(changes);
+    }
+
+    /**
+     * 정책 변경 실시간 구독 (Server-Sent Events)
+     * GET /api/extensions/stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @PathVariable(required = false) String tenantId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        log.info("Request to subscribe extension changes: lastEventId={}", lastEventId);
+        return extensionEventBroadcaster.subscribe(tenant(tenantId), lastEventId);
+    }
+
+    /**
+     * 파일명 차단 여부 검사 (메모리 스냅샷 조회, DB 미접근)
+     * GET /api/extensions/check?filename=...
+     */
+    @GetMapping("/check")
+    public ResponseEntity<ExtensionCheckResponse> checkFilename(
+            @PathVariable(required = false) String tenantId,
+            @RequestParam String filename,
+            HttpServletRequest request) {
+        AuditContext context = AuditContext.of(request, tenant(tenantId), AuditSource.CHECK);
+        return ResponseEntity.ok(extensionCheckService.check(context, filename));
+    }
+
+    /**
+     * 파일명 일괄 검사 (스트리밍)
+     * POST /api/extensions/check/batch
+     * - application/json: 파일명 JSON 배열 → 결과 JSON 배열
+     * - text/plain: 줄 단위 파일명 목록 → 결과 NDJSON
+     */
+    @PostMapping(value = "/check/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public void checkFilenames(
+            @PathVariable(required = false) String tenantId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        AuditContext context = AuditContext.of(request, tenant(tenantId), AuditSource.BATCH_CHECK);
+        long count;
+        try {
+            if (MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))) {
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                count = batchCheckService.checkJsonArray(context, request.getInputStream(), response.getOutputStream());
+            } else {
+                response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                count = batchCheckService.checkLines(context, request.getInputStream(), response.getOutputStream());
+            }
+        } catch (MalformedBatchRequestException e) {
+            // 아직 전송되지 않은 부분 결과는 버리고 에러 응답으로 대체합니다.
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        }
+        log.info("Checked batch of {} filenames", count);
+    }
+
+    /**
+     * 조건부 목록 조회 판정 (304로 응답하면 hit, 목록을 다시 내려보내면 miss)
+     */
+    private boolean checkNotModified(WebRequest webRequest, String eTag, String list) {
+        boolean notModified = webRequest.checkNotModified(eTag);
+        meterRegistry.counter("flow.extension.list.cache", "list", list, "result", notModified ? "hit" : "miss")
+                .increment();
+        return notModified;
+    }
+
+    /**
+     * 경로의 테넌트 ID 검증 (/api/extensions/... 경로는 기본 테넌트)
+     */
+    private static String tenant(String tenantId) {
+        return TenantIds.resolve(tenantId);
+    }
 }
@@ -1,16 +1,27 @@
 package com.flow.folwteamtest.controller;
 
 import com.flow.folwteamtest.dto.ErrorResponse;
+import com.flow.folwteamtest.exception.BlockedUploadException;
 import com.flow.folwteamtest.exception.DuplicateExtensionException;
 import com.flow.folwteamtest.exception.ExtensionLimitExceededException;
 import com.flow.folwteamtest.exception.ExtensionNotFoundException;
+import com.flow.folwteamtest.exception.InvalidTenantException;
+import com.flow.folwteamtest.exception.MalformedBatchRequestException;
+import com.flow.folwteamtest.exception.MalformedMultipartException;
+import com.flow.folwteamtest.exception.QuarantineSampleNotFoundException;
+import com.flow.folwteamtest.exception.RejectedArchiveException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.multipart.MultipartException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.util.HashMap;
@@ -18,14 +29,17 @@ import java.util.Map;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(DuplicateExtensionException.class)
     public ResponseEntity<ErrorResponse> handleDuplicateExtension(DuplicateExtensionException e) {
         log.warn("Duplicate extension exception: {}", e.getMessage());
         return ResponseEntity
                 .status(HttpStatus.CONFLICT)
-                .body(ErrorResponse.of("DUPLICATE_EXTENSION", e.getMessage()));
+                .body(errorBody("DUPLICATE_EXTENSION", e.getMessage()));
     }
 
     @ExceptionHandler(ExtensionLimitExceededException.class)
@@ -33,7 +47,7 @@ public class GlobalExceptionHandler {
         log.warn("Extension limit exceeded exception: {}", e.getMessage());
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
-                .body(ErrorResponse.of("EXTENSION_LIMIT_EXCEEDED", e.getMessage()));
+                .body(errorBody("EXTENSION_LIMIT_EXCEEDED", e.getMessage()));
     }
 
     @ExceptionHandler(ExtensionNotFoundException.class)
@@ -41,7 +55,76 @@ public class GlobalExceptionHandler {
         log.warn("Extension not found exception: {}", e.getMessage());
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
-                .body(ErrorResponse.of("EXTENSION_NOT_FOUND", e.getMessage()));
+                .body(errorBody("EXTENSION_NOT_FOUND", e.getMessage()));
+    }
+
+    @ExceptionHandler(QuarantineSampleNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleQuarantineSampleNotFound(QuarantineSampleNotFoundException e) {
+        log.warn("Quarantine sample not found exception: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(errorBody("SAMPLE_NOT_FOUND", e.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidTenantException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidTenant(InvalidTenantException e) {
+        log.warn("Invalid tenant exception: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(errorBody("INVALID_TENANT", e.getMessage()));
+    }
+
+    @ExceptionHandler(BlockedUploadException.class)
+    public ResponseEntity<ErrorResponse> handleBlockedUpload(BlockedUploadException e) {
+        log.warn("Blocked upload exception: {} (rule: {})", e.getFilename(), e.getRule());
+        // 남은 본문을 읽지 않도록 연결을 닫습니다.
+        return ResponseEntity
+                .status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                .header(HttpHeaders.CONNECTION, "close")
+                .body(errorBody("BLOCKED_EXTENSION", e.getMessage()));
+    }
+
+    @ExceptionHandler(RejectedArchiveException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedArchive(RejectedArchiveException e) {
+        log.warn("Rejected archive exception: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .header(HttpHeaders.CONNECTION, "close")
+                .body(errorBody("ARCHIVE_REJECTED", e.getMessage()));
+    }
+
+    @ExceptionHandler(MalformedMultipartException.class)
+    public ResponseEntity<ErrorResponse> handleMalformedMultipart(MalformedMultipartException e) {
+        log.warn("Malformed multipart exception: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .header(HttpHeaders.CONNECTION, "close")
+                .body(errorBody("MALFORMED_MULTIPART", e.getMessage()));
+    }
+
+    /**
+     * MultipartFile 바인딩 중(getParts) 업로드 게이트가 거부하면 스프링이 MultipartException으로 감싸므로 원인으로 응답합니다.
+     */
+    @ExceptionHandler(MultipartException.class)
+    public ResponseEntity<ErrorResponse> handleMultipart(MultipartException e) {
+        if (e.getCause() instanceof BlockedUploadException blocked) {
+            return handleBlockedUpload(blocked);
+        }
+        if (e.getCause() instanceof RejectedArchiveException rejected) {
+            return handleRejectedArchive(rejected);
+        }
+        if (e.getCause() instanceof MalformedMultipartException malformed) {
+            return handleMalformedMultipart(malformed);
+        }
+        return handleGeneralException(e);
+    }
+
+    @ExceptionHandler(MalformedBatchRequestException.class)
+    public ResponseEntity<ErrorResponse> handleMalformedBatchRequest(MalformedBatchRequestException e) {
+        log.warn("Malformed batch request exception: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(errorBody("MALFORMED_BATCH_REQUEST", e.getMessage()));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -55,7 +138,15 @@ public class GlobalExceptionHandler {
         log.warn("Validation failed: {}", errors);
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
-                .body(ErrorResponse.of("VALIDATION_FAILED", errors.values().iterator().next()));
+                .body(errorBody("VALIDATION_FAILED", errors.values().iterator().next()));
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
+        log.warn("Invalid request parameter: {}={}", e.getName(), e.getValue());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(errorBody("INVALID_PARAMETER", "요청 파라미터 형식이 올바르지 않습니다: " + e.getName()));
     }
 
     @ExceptionHandler(NoResourceFoundException.class)
@@ -63,7 +154,7 @@ public class GlobalExceptionHandler {
         log.debug("Resource not found: {}", e.getResourcePath());
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
-                .body(ErrorResponse.of("RESOURCE_NOT_FOUND", "Resource not found"));
+                .body(errorBody("RESOURCE_NOT_FOUND", "Resource not found"));
     }
 
     @ExceptionHandler(Exception.class)
@@ -71,6 +162,14 @@ public class GlobalExceptionHandler {
         log.error("Unexpected exception occurred", e);
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(ErrorResponse.of("INTERNAL_SERVER_ERROR", "An internal server error occurred."));
+                .body(errorBody("INTERNAL_SERVER_ERROR", "An internal server error occurred."));
+    }
+
+    /**
+     * 에러 응답 본문 생성 (에러 코드별 발생 횟수를 flow.api.errors로 집계)
+     */
+    private ErrorResponse errorBody(String code, String message) {
+        meterRegistry.counter("flow.api.errors", "code", code).increment();
+        return ErrorResponse.of(code, message);
     }
 }
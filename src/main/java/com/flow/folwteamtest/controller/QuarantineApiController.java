@@ -0,0 +1,87 @@
+package com.flow.folwteamtest.controller;
+
+import com.flow.folwteamtest.common.TenantIds;
+import com.flow.folwteamtest.dto.QuarantineSamplePageResponse;
+import com.flow.folwteamtest.service.QuarantineService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+@Slf4j
+@RestController
+@RequestMapping({"/api/quarantine", "/api/tenants/{tenantId}/quarantine"})
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "flow.quarantine", name = "enabled", havingValue = "true")
+public class QuarantineApiController {
+
+    // Tomcat 커넥터가 sendfile을 지원하면 요청 속성으로 알려주고, 응답 후 지정한 파일을 직접 전송합니다.
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final QuarantineService quarantineService;
+
+    /**
+     * 격리 샘플 목록 조회 (최신순, 키셋 페이지)
+     * GET /api/quarantine?before=...&size=50
+     */
+    @GetMapping
+    public ResponseEntity<QuarantineSamplePageResponse> getSamples(
+            @PathVariable(required = false) String tenantId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(quarantineService.search(TenantIds.resolve(tenantId), before, size));
+    }
+
+    /**
+     * 격리 샘플 내려받기 (원본 바이트, 브라우저가 실행/표시하지 않도록 첨부 파일로 응답)
+     * GET /api/quarantine/{id}/content
+     */
+    @GetMapping("/{id}/content")
+    public void downloadSample(
+            @PathVariable(required = false) String tenantId,
+            @PathVariable Long id,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        QuarantineService.SampleContent content = quarantineService.getContent(TenantIds.resolve(tenantId), id);
+        long size = content.sample().getSize();
+        log.info("Request to download quarantine sample: ID={}, sha256={}", id, content.sample().getSha256());
+
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(size);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + content.sample().getSha256() + ".bin\"");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        Path path = content.path();
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.flow.folwteamtest.controller;
+
+import com.flow.folwteamtest.dto.UploadPartResult;
+import com.flow.folwteamtest.upload.UploadGateFilter;
+import com.flow.folwteamtest.upload.UploadInspection;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping({"/api/uploads", "/api/tenants/{tenantId}/uploads"})
+@ConditionalOnProperty(prefix = "flow.upload-gate", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UploadApiController {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    /**
+     * 업로드 검사 (본문은 저장하지 않고 스트리밍으로 소비)
+     * POST /api/uploads
+     * 테넌트 정책 검사는 업로드 게이트 필터가 경로(/api/tenants/{tenantId}/uploads)로 판단합니다.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<List<UploadPartResult>> upload(HttpServletRequest request) throws IOException {
+        UploadInspection inspection = UploadGateFilter.inspectionOf(request);
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        try (InputStream in = request.getInputStream()) {
+            while (in.read(buffer) != -1) {
+                // 읽는 동안 업로드 게이트가 파트를 검사합니다.
+            }
+        }
+        log.info("Upload accepted: {} parts", inspection.getParts().size());
+        return ResponseEntity.ok(inspection.getParts());
+    }
+}
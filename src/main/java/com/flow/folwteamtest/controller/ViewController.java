@@ -1,6 +1,9 @@
 package com.flow.folwteamtest.controller;
 
 import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.common.TenantIds;
+import com.flow.folwteamtest.service.ExtensionService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -8,8 +11,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 
 @Slf4j
 @Controller
+@RequiredArgsConstructor
 public class ViewController {
 
+    private final ExtensionService extensionService;
+
     /**
      * 메인 페이지
      */
@@ -19,7 +25,7 @@ public class ViewController {
 
         //this attribute use when Set FrontEnd const value.
         model.addAttribute("extensionNameMaxLength", ExtensionConstants.EXTENSION_MAX_LENGTH);
-        model.addAttribute("extensionMaxCount", ExtensionConstants.MAX_CUSTOM_EXTENSIONS);
+        model.addAttribute("extensionMaxCount", extensionService.getMaxCustomExtensions(TenantIds.DEFAULT));
 
         return "index";
     }
@@ -0,0 +1,37 @@
+package com.flow.folwteamtest.dto;
+
+import com.flow.folwteamtest.audit.AuditSource;
+import com.flow.folwteamtest.entity.BlockAuditLog;
+import com.flow.folwteamtest.policy.BlockedRule;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class BlockAuditLogDto {
+    private Long id;
+    private LocalDateTime occurredAt;
+    private String filename;
+    private String extension;
+    private boolean blocked;
+    private BlockedRule.RuleType ruleType;
+    private AuditSource source;
+    private String userId;
+    private String clientIp;
+
+    public static BlockAuditLogDto from(BlockAuditLog entity) {
+        return BlockAuditLogDto.builder()
+                .id(entity.getId())
+                .occurredAt(entity.getOccurredAt())
+                .filename(entity.getFilename())
+                .extension(entity.getExtension())
+                .blocked(entity.isBlocked())
+                .ruleType(entity.getRuleType())
+                .source(entity.getSource())
+                .userId(entity.getUserId())
+                .clientIp(entity.getClientIp())
+                .build();
+    }
+}
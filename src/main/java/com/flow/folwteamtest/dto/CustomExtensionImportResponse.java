@@ -0,0 +1,16 @@
+package com.flow.folwteamtest.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class CustomExtensionImportResponse {
+    private long received;
+    private int imported;
+    private int duplicates;
+    private int invalid;
+    private List<String> errors;
+}
@@ -0,0 +1,19 @@
+package com.flow.folwteamtest.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 커스텀 확장자 한 페이지 (이름순)
+ * nextCursor를 다음 요청의 after로 넘기면 이어서 조회합니다. 마지막 페이지면 null입니다.
+ * total은 접두사 검색과 무관한 테넌트 전체 개수입니다.
+ */
+@Getter
+@Builder
+public class CustomExtensionPageResponse {
+    private List<CustomExtensionDto> items;
+    private String nextCursor;
+    private long total;
+}
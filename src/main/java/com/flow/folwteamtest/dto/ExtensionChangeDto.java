@@ -0,0 +1,26 @@
+package com.flow.folwteamtest.dto;
+
+import com.flow.folwteamtest.entity.ExtensionChangeLog;
+import com.flow.folwteamtest.event.ExtensionChange;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ExtensionChangeDto {
+    private long version;
+    private ExtensionChange.ChangeType type;
+    private Long id;
+    private String extension;
+    private boolean blocked;
+
+    public static ExtensionChangeDto from(ExtensionChangeLog entity) {
+        return ExtensionChangeDto.builder()
+                .version(entity.getId())
+                .type(entity.getChangeType())
+                .id(entity.getExtensionId())
+                .extension(entity.getExtension())
+                .blocked(entity.isBlocked())
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.flow.folwteamtest.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class ExtensionChangesResponse {
+    private long version;
+    private boolean hasMore;
+    private boolean resyncRequired;
+    private List<ExtensionChangeDto> changes;
+}
@@ -0,0 +1,29 @@
+package com.flow.folwteamtest.dto;
+
+import com.flow.folwteamtest.policy.BlockedRule;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ExtensionCheckResponse {
+    private String filename;
+    private boolean blocked;
+    private String matchedExtension;
+    private BlockedRule.RuleType ruleType;
+
+    public static ExtensionCheckResponse of(String filename, BlockedRule rule) {
+        if (rule == null) {
+            return ExtensionCheckResponse.builder()
+                    .filename(filename)
+                    .blocked(false)
+                    .build();
+        }
+        return ExtensionCheckResponse.builder()
+                .filename(filename)
+                .blocked(true)
+                .matchedExtension(rule.extension())
+                .ruleType(rule.type())
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.flow.folwteamtest.dto;
+
+import com.flow.folwteamtest.common.ExtensionGroup;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class ExtensionGroupDto {
+    private String code;
+    private String name;
+    private boolean blocked;
+    private List<String> extensions;
+
+    public static ExtensionGroupDto of(ExtensionGroup group, boolean blocked) {
+        return ExtensionGroupDto.builder()
+                .code(group.getCode())
+                .name(group.getLabel())
+                .blocked(blocked)
+                .extensions(group.getExtensions())
+                .build();
+    }
+}
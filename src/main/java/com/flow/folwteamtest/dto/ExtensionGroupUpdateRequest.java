@@ -0,0 +1,12 @@
+package com.flow.folwteamtest.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class ExtensionGroupUpdateRequest {
+    @NotNull(message = "차단 여부는 필수입니다.")
+    private Boolean blocked;
+}
@@ -0,0 +1,39 @@
+package com.flow.folwteamtest.dto;
+
+import com.flow.folwteamtest.stats.ExtensionHitSnapshot;
+import com.flow.folwteamtest.stats.HitCount;
+import com.flow.folwteamtest.stats.StatsWindow;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Builder
+public class ExtensionStatsDto {
+    private String extension;
+    // 요청한 구간(window)의 건수
+    private long blocked;
+    private long allowed;
+    private LocalDateTime lastHitAt;
+    // 구간 코드("1m", "1h", "24h", "total")별 건수
+    private Map<String, HitCount> windows;
+
+    public static ExtensionStatsDto from(ExtensionHitSnapshot snapshot, StatsWindow window) {
+        Map<String, HitCount> windows = new LinkedHashMap<>();
+        snapshot.windows().forEach((w, count) -> windows.put(w.code(), count));
+        HitCount selected = snapshot.count(window);
+        return ExtensionStatsDto.builder()
+                .extension(snapshot.extension())
+                .blocked(selected.blocked())
+                .allowed(selected.allowed())
+                .lastHitAt(snapshot.lastHitAt() == 0 ? null
+                        : LocalDateTime.ofInstant(Instant.ofEpochMilli(snapshot.lastHitAt()), ZoneId.systemDefault()))
+                .windows(windows)
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.flow.folwteamtest.dto;
+
+import com.flow.folwteamtest.stats.StatsWindow;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 확장자별 판정 통계 (window 구간 건수 내림차순)
+ */
+@Getter
+@Builder
+public class ExtensionStatsResponse {
+    private StatsWindow window;
+    private List<ExtensionStatsDto> items;
+}
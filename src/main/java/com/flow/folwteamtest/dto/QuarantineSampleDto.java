@@ -0,0 +1,46 @@
+package com.flow.folwteamtest.dto;
+
+import com.flow.folwteamtest.entity.QuarantineSample;
+import com.flow.folwteamtest.policy.BlockedRule;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class QuarantineSampleDto {
+    private Long id;
+    private String sha256;
+    private long size;
+    private String filename;
+    private BlockedRule.RuleType ruleType;
+    private String matchedExtension;
+    private Long fixedExtensionId;
+    private Long customExtensionId;
+    private String detectedType;
+    private String userId;
+    private String clientIp;
+    private LocalDateTime firstSeenAt;
+    private LocalDateTime lastSeenAt;
+    private long hitCount;
+
+    public static QuarantineSampleDto from(QuarantineSample entity) {
+        return QuarantineSampleDto.builder()
+                .id(entity.getId())
+                .sha256(entity.getSha256())
+                .size(entity.getSize())
+                .filename(entity.getFilename())
+                .ruleType(entity.getRuleType())
+                .matchedExtension(entity.getMatchedExtension())
+                .fixedExtensionId(entity.getFixedExtensionId())
+                .customExtensionId(entity.getCustomExtensionId())
+                .detectedType(entity.getDetectedType())
+                .userId(entity.getUserId())
+                .clientIp(entity.getClientIp())
+                .firstSeenAt(entity.getFirstSeenAt())
+                .lastSeenAt(entity.getLastSeenAt())
+                .hitCount(entity.getHitCount())
+                .build();
+    }
+}
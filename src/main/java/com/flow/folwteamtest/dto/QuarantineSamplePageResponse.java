@@ -0,0 +1,17 @@
+package com.flow.folwteamtest.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 격리 샘플 한 페이지 (최신순)
+ * nextCursor를 다음 요청의 before로 넘기면 이어서 조회합니다. 마지막 페이지면 null입니다.
+ */
+@Getter
+@Builder
+public class QuarantineSamplePageResponse {
+    private List<QuarantineSampleDto> items;
+    private Long nextCursor;
+}
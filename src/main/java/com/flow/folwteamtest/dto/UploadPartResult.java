@@ -0,0 +1,27 @@
+package com.flow.folwteamtest.dto;
+
+import com.flow.folwteamtest.upload.PartHeaders;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class UploadPartResult {
+    private String name;
+    private String filename;
+    private String contentType;
+    private long size;
+    private String detectedType;
+    private Integer archiveEntries;
+
+    public static UploadPartResult of(PartHeaders headers, long size, String detectedType, Integer archiveEntries) {
+        return UploadPartResult.builder()
+                .name(headers.getName())
+                .filename(headers.getFilename())
+                .contentType(headers.getContentType())
+                .size(size)
+                .detectedType(detectedType)
+                .archiveEntries(archiveEntries)
+                .build();
+    }
+}
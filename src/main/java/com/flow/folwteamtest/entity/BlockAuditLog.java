@@ -0,0 +1,60 @@
+package com.flow.folwteamtest.entity;
+
+import com.flow.folwteamtest.audit.AuditSource;
+import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.common.TenantIds;
+import com.flow.folwteamtest.policy.BlockedRule;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 차단/허용 판정 감사 로그 (append-only)
+ * 기록은 BlockAuditRecorder의 기록 스레드가 BlockAuditJdbcRepository로 배치 INSERT하며, 이 엔티티는 조회에만 사용합니다.
+ */
+@Entity
+@Table(name = "block_audit_log", indexes = {
+        @Index(name = "idx_block_audit_log_occurred_at", columnList = "tenant_id, occurred_at"),
+        @Index(name = "idx_block_audit_log_extension", columnList = "tenant_id, extension, occurred_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class BlockAuditLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, length = TenantIds.MAX_LENGTH)
+    private String tenantId;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false, length = ExtensionConstants.FILENAME_MAX_LENGTH)
+    private String filename;
+
+    // 파일명에서 추출한 확장자 (정책 확장자 길이를 넘으면 잘라서 저장)
+    @Column(nullable = false, length = ExtensionConstants.EXTENSION_MAX_LENGTH)
+    private String extension;
+
+    @Column(nullable = false)
+    private boolean blocked;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private BlockedRule.RuleType ruleType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AuditSource source;
+
+    @Column(length = 64)
+    private String userId;
+
+    @Column(length = 45)
+    private String clientIp;
+}
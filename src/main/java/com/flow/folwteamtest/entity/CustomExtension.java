@@ -1,6 +1,7 @@
 package com.flow.folwteamtest.entity;
 
 import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.common.TenantIds;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -10,7 +11,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "custom_extension")
+@Table(name = "custom_extension",
+        uniqueConstraints = @UniqueConstraint(name = "uk_custom_extension_tenant_extension", columnNames = {"tenant_id", "extension"}))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class CustomExtension {
@@ -19,7 +21,10 @@ public class CustomExtension {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = ExtensionConstants.EXTENSION_MAX_LENGTH)
+    @Column(name = "tenant_id", nullable = false, length = TenantIds.MAX_LENGTH)
+    private String tenantId;
+
+    @Column(nullable = false, length = ExtensionConstants.EXTENSION_MAX_LENGTH)
     private String extension;
 
     @Column(nullable = false, updatable = false)
@@ -31,7 +36,8 @@ public class CustomExtension {
     }
 
     @Builder
-    public CustomExtension(String extension) {
+    public CustomExtension(String tenantId, String extension) {
+        this.tenantId = tenantId;
         this.extension = extension.toLowerCase().trim();
     }
 }
@@ -0,0 +1,30 @@
+package com.flow.folwteamtest.entity;
+
+import com.flow.folwteamtest.common.TenantIds;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 테넌트별 커스텀 확장자 개수 (custom_extension 행 수를 매번 세지 않도록 등록/삭제와 같은 트랜잭션에서 증감)
+ * 갱신은 CustomExtensionCounterJdbcRepository가 수행하고, 이 엔티티는 테이블 정의에만 사용합니다.
+ * 행이 없는 테넌트는 처음 등록/삭제할 때 custom_extension을 한 번 세어 생성합니다.
+ */
+@Entity
+@Table(name = "custom_extension_counter")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CustomExtensionCounter {
+
+    @Id
+    @Column(name = "tenant_id", length = TenantIds.MAX_LENGTH)
+    private String tenantId;
+
+    @Column(nullable = false)
+    private long extensionCount;
+
+    // 와일드카드(패턴) 규칙 개수 (ExtensionNames.isPattern 기준)
+    @Column(nullable = false)
+    private long patternCount;
+}
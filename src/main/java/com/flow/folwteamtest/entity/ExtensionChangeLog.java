@@ -0,0 +1,55 @@
+package com.flow.folwteamtest.entity;
+
+import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.common.TenantIds;
+import com.flow.folwteamtest.event.ExtensionChange;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 차단 정책 변경 이력 (append-only)
+ * id가 곧 정책 버전이며, 확장자 변경과 같은 트랜잭션에서 기록됩니다.
+ * 기록은 ExtensionChangeLogJdbcRepository가 배치 INSERT로 수행하고, 이 엔티티는 조회에만 사용합니다.
+ * 여러 인스턴스가 같은 DB를 쓰는 경우 각 인스턴스가 이 테이블을 폴링하여 로컬 스냅샷을 갱신합니다.
+ */
+@Entity
+@Table(name = "extension_change_log",
+        indexes = @Index(name = "idx_extension_change_log_tenant_id", columnList = "tenant_id, id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ExtensionChangeLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, length = TenantIds.MAX_LENGTH)
+    private String tenantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ExtensionChange.ChangeType changeType;
+
+    private Long extensionId;
+
+    @Column(nullable = false, length = ExtensionConstants.EXTENSION_MAX_LENGTH)
+    private String extension;
+
+    @Column(nullable = false)
+    private boolean blocked;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    // 변경을 기록한 애플리케이션 인스턴스 ID (다중 인스턴스 동기화 시 자기 변경 구분용)
+    @Column(length = 64)
+    private String origin;
+
+    public ExtensionChange toChange() {
+        return new ExtensionChange(changeType, extensionId, extension, blocked);
+    }
+}
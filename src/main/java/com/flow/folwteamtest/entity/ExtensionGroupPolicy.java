@@ -0,0 +1,45 @@
+package com.flow.folwteamtest.entity;
+
+import com.flow.folwteamtest.common.TenantIds;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 테넌트별 확장자 그룹 차단 여부
+ * 그룹(ExtensionGroup) 하나당 한 행이므로, 그룹 전체 차단/해제는 멤버 수와 무관하게 한 행 갱신입니다.
+ * 행이 없는 그룹은 차단 해제 상태입니다.
+ */
+@Entity
+@Table(name = "extension_group_policy",
+        uniqueConstraints = @UniqueConstraint(name = "uk_extension_group_policy_tenant_group", columnNames = {"tenant_id", "group_code"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ExtensionGroupPolicy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, length = TenantIds.MAX_LENGTH)
+    private String tenantId;
+
+    @Column(name = "group_code", nullable = false, length = 20)
+    private String groupCode;
+
+    @Column(nullable = false)
+    private boolean blocked = false;
+
+    @Builder
+    public ExtensionGroupPolicy(String tenantId, String groupCode, boolean blocked) {
+        this.tenantId = tenantId;
+        this.groupCode = groupCode;
+        this.blocked = blocked;
+    }
+
+    public void updateBlocked(boolean blocked) {
+        this.blocked = blocked;
+    }
+}
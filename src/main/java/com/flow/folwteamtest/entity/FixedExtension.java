@@ -1,6 +1,7 @@
 package com.flow.folwteamtest.entity;
 
 import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.common.TenantIds;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -8,7 +9,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "fixed_extension")
+@Table(name = "fixed_extension",
+        uniqueConstraints = @UniqueConstraint(name = "uk_fixed_extension_tenant_name", columnNames = {"tenant_id", "name"}))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class FixedExtension {
@@ -17,14 +19,18 @@ public class FixedExtension {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = ExtensionConstants.EXTENSION_MAX_LENGTH)
+    @Column(name = "tenant_id", nullable = false, length = TenantIds.MAX_LENGTH)
+    private String tenantId;
+
+    @Column(nullable = false, length = ExtensionConstants.EXTENSION_MAX_LENGTH)
     private String name;
 
     @Column(nullable = false)
     private boolean blocked = false;
 
     @Builder
-    public FixedExtension(String name, boolean blocked) {
+    public FixedExtension(String tenantId, String name, boolean blocked) {
+        this.tenantId = tenantId;
         this.name = name;
         this.blocked = blocked;
     }
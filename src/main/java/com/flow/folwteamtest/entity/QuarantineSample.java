@@ -0,0 +1,84 @@
+package com.flow.folwteamtest.entity;
+
+import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.common.TenantIds;
+import com.flow.folwteamtest.policy.BlockedRule;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 격리 보관된 차단 업로드 샘플 (테넌트별 내용 해시 하나당 한 행)
+ * 같은 내용이 다시 차단되면 행을 새로 만들지 않고 hitCount와 lastSeenAt만 갱신합니다.
+ * 기록/삭제는 QuarantineStore의 전용 스레드가 QuarantineSampleJdbcRepository로 하며, 이 엔티티는 조회에만 사용합니다.
+ */
+@Entity
+@Table(name = "quarantine_sample",
+        uniqueConstraints = @UniqueConstraint(name = "uk_quarantine_sample_hash", columnNames = {"tenant_id", "sha256"}),
+        indexes = @Index(name = "idx_quarantine_sample_last_seen", columnList = "last_seen_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class QuarantineSample {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, length = TenantIds.MAX_LENGTH)
+    private String tenantId;
+
+    // 본문 SHA-256 (16진수, 격리 파일 이름)
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private long size;
+
+    // 처음 차단된 업로드의 파일명
+    @Column(nullable = false, length = ExtensionConstants.FILENAME_MAX_LENGTH)
+    private String filename;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private BlockedRule.RuleType ruleType;
+
+    @Column(nullable = false, length = ExtensionConstants.EXTENSION_MAX_LENGTH)
+    private String matchedExtension;
+
+    // 일치한 규칙 레코드 (FIXED → fixed_extension, CUSTOM/PATTERN → custom_extension, 그룹이거나 이미 삭제되었으면 null)
+    private Long fixedExtensionId;
+
+    private Long customExtensionId;
+
+    // 시그니처 검사로 거부된 경우 판별된 형식
+    @Column(length = 64)
+    private String detectedType;
+
+    @Column(length = 64)
+    private String userId;
+
+    @Column(length = 45)
+    private String clientIp;
+
+    @Column(nullable = false)
+    private LocalDateTime firstSeenAt;
+
+    // 마지막으로 차단되었거나 내려받은 시각 (보관 한도 정리의 LRU 기준)
+    @Column(name = "last_seen_at", nullable = false)
+    private LocalDateTime lastSeenAt;
+
+    @Column(nullable = false)
+    private long hitCount;
+}
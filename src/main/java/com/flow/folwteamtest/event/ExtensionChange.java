@@ -0,0 +1,15 @@
+package com.flow.folwteamtest.event;
+
+/**
+ * 확장자 차단 정책의 단일 변경 내역
+ */
+public record ExtensionChange(ChangeType type, Long id, String extension, boolean blocked) {
+
+    public enum ChangeType {
+        FIXED_UPDATED,
+        CUSTOM_ADDED,
+        CUSTOM_DELETED,
+        // extension에는 그룹 코드(ExtensionGroup.code)를 담습니다.
+        GROUP_UPDATED
+    }
+}
@@ -0,0 +1,73 @@
+package com.flow.folwteamtest.event;
+
+import java.util.List;
+
+/**
+ * 확장자 차단 정책 변경 이벤트
+ * ExtensionService의 쓰기 메서드가 발행하며, 트랜잭션 커밋 이후(AFTER_COMMIT) 리스너가 처리합니다.
+ * 일괄 등록처럼 한 트랜잭션에서 여러 건이 바뀌면 하나의 이벤트에 모두 담아 리스너가 한 번만 처리하도록 합니다.
+ * 한 트랜잭션은 한 테넌트의 정책만 변경합니다.
+ * 커밋 직전(BEFORE_COMMIT) 변경 이력을 기록하면서 이력 id를 이벤트에 남기므로, AFTER_COMMIT 리스너는
+ * 이 커밋이 만든 정책 버전들을 정확히 알 수 있습니다.
+ */
+public final class ExtensionChangedEvent {
+
+    private final String tenantId;
+    private final List<ExtensionChange> changes;
+    private volatile List<Long> changeLogIds = List.of();
+
+    public ExtensionChangedEvent(String tenantId, List<ExtensionChange> changes) {
+        this.tenantId = tenantId;
+        this.changes = List.copyOf(changes);
+    }
+
+    public static ExtensionChangedEvent fixedUpdated(String tenantId, Long id, String name, boolean blocked) {
+        return new ExtensionChangedEvent(tenantId, List.of(
+                new ExtensionChange(ExtensionChange.ChangeType.FIXED_UPDATED, id, name, blocked)));
+    }
+
+    public static ExtensionChangedEvent groupUpdated(String tenantId, Long id, String groupCode, boolean blocked) {
+        return new ExtensionChangedEvent(tenantId, List.of(
+                new ExtensionChange(ExtensionChange.ChangeType.GROUP_UPDATED, id, groupCode, blocked)));
+    }
+
+    public static ExtensionChangedEvent customAdded(String tenantId, Long id, String extension) {
+        return new ExtensionChangedEvent(tenantId, List.of(
+                new ExtensionChange(ExtensionChange.ChangeType.CUSTOM_ADDED, id, extension, true)));
+    }
+
+    public static ExtensionChangedEvent customDeleted(String tenantId, Long id, String extension) {
+        return new ExtensionChangedEvent(tenantId, List.of(
+                new ExtensionChange(ExtensionChange.ChangeType.CUSTOM_DELETED, id, extension, false)));
+    }
+
+    public String tenantId() {
+        return tenantId;
+    }
+
+    public List<ExtensionChange> changes() {
+        return changes;
+    }
+
+    /**
+     * 변경별 이력 id (changes와 같은 순서, 기록 전이면 빈 목록)
+     */
+    public List<Long> changeLogIds() {
+        return changeLogIds;
+    }
+
+    /**
+     * 변경 이력 기록 결과 저장 (ExtensionChangeLogService가 BEFORE_COMMIT에서 호출)
+     */
+    public void recordChangeLogIds(List<Long> ids) {
+        if (ids.size() != changes.size()) {
+            throw new IllegalArgumentException("change log ids (" + ids.size() + ") do not match changes (" + changes.size() + ")");
+        }
+        this.changeLogIds = List.copyOf(ids);
+    }
+
+    @Override
+    public String toString() {
+        return "ExtensionChangedEvent[tenantId=" + tenantId + ", changes=" + changes + ", changeLogIds=" + changeLogIds + "]";
+    }
+}
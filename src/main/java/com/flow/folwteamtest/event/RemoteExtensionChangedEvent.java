@@ -0,0 +1,12 @@
+package com.flow.folwteamtest.event;
+
+import java.util.List;
+
+/**
+ * 다른 인스턴스에서 커밋된 확장자 변경 (변경 이력 폴링으로 감지)
+ * 트랜잭션 밖에서 발행되므로 일반 @EventListener로 받습니다.
+ *
+ * @param version 이 변경들을 반영한 테넌트 정책 버전
+ */
+public record RemoteExtensionChangedEvent(String tenantId, List<ExtensionChange> changes, long version) {
+}
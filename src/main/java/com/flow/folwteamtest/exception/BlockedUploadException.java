@@ -0,0 +1,25 @@
+package com.flow.folwteamtest.exception;
+
+import com.flow.folwteamtest.policy.BlockedRule;
+import lombok.Getter;
+
+@Getter
+public class BlockedUploadException extends RuntimeException {
+    private final String filename;
+    private final BlockedRule rule;
+    private final String detectedType;
+
+    public BlockedUploadException(String filename, BlockedRule rule) {
+        super("차단된 확장자의 파일은 업로드할 수 없습니다: " + filename);
+        this.filename = filename;
+        this.rule = rule;
+        this.detectedType = null;
+    }
+
+    public BlockedUploadException(String filename, BlockedRule rule, String detectedType) {
+        super("파일 내용이 차단된 형식(" + detectedType + ", " + rule.extension() + ")으로 확인되었습니다: " + filename);
+        this.filename = filename;
+        this.rule = rule;
+        this.detectedType = detectedType;
+    }
+}
@@ -0,0 +1,7 @@
+package com.flow.folwteamtest.exception;
+
+public class InvalidTenantException extends RuntimeException {
+    public InvalidTenantException(String message) {
+        super(message);
+    }
+}
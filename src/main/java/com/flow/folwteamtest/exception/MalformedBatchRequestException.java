@@ -0,0 +1,7 @@
+package com.flow.folwteamtest.exception;
+
+public class MalformedBatchRequestException extends RuntimeException {
+    public MalformedBatchRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.flow.folwteamtest.exception;
+
+public class MalformedMultipartException extends RuntimeException {
+    public MalformedMultipartException(String message) {
+        super(message);
+    }
+}
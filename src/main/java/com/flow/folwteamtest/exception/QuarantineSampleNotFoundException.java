@@ -0,0 +1,7 @@
+package com.flow.folwteamtest.exception;
+
+public class QuarantineSampleNotFoundException extends RuntimeException {
+    public QuarantineSampleNotFoundException(String message) {
+        super(message);
+    }
+}
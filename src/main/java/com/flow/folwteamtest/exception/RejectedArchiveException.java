@@ -0,0 +1,7 @@
+package com.flow.folwteamtest.exception;
+
+public class RejectedArchiveException extends RuntimeException {
+    public RejectedArchiveException(String message) {
+        super(message);
+    }
+}
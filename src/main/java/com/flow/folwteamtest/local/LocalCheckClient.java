@@ -0,0 +1,246 @@
+package com.flow.folwteamtest.local;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <h1>로컬 검사 소켓 클라이언트</h1>
+ * <p>같은 호스트의 업로드 서비스에서 LocalCheckServer에 파일명 검사를 요청합니다. JDK만 사용하므로 그대로 복사해 쓸 수 있습니다.</p>
+ * <p>연결 하나를 여러 스레드가 공유하며, checkAsync는 응답을 기다리지 않고 요청을 이어서 보냅니다(파이프라이닝).
+ * 서버는 받은 순서대로 응답하므로 응답 읽기 스레드가 보낸 순서대로 Future를 완료합니다.</p>
+ * <pre>
+ * try (LocalCheckClient client = LocalCheckClient.connect(Path.of("/tmp/flowteam-check.sock"))) {
+ *     Verdict verdict = client.check("acme", "report.exe");
+ * }
+ * </pre>
+ */
+public final class LocalCheckClient implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // 응답을 기다리는 요청 (쓰기 잠금 안에서 보낸 순서대로 추가)
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final Thread reader;
+    private ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+    private int nextRequestId;
+    private IOException failure;
+
+    /**
+     * 파일명 하나의 판정
+     * @param blocked          차단 여부
+     * @param ruleType         일치한 규칙 종류 (FIXED, CUSTOM, PATTERN, GROUP, 허용이면 null)
+     * @param matchedExtension 일치한 확장자 또는 패턴 (허용이면 null)
+     */
+    public record Verdict(boolean blocked, String ruleType, String matchedExtension) {
+    }
+
+    private record Pending(int requestId, int count, CompletableFuture<List<Verdict>> future) {
+    }
+
+    private LocalCheckClient(SocketChannel channel) {
+        this.channel = channel;
+        this.reader = Thread.ofVirtual().name("local-check-client-reader").start(this::readLoop);
+    }
+
+    public static LocalCheckClient connect(Path path) throws IOException {
+        SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            channel.connect(UnixDomainSocketAddress.of(path));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new LocalCheckClient(channel);
+    }
+
+    /**
+     * 파일명 하나 검사 (응답까지 대기)
+     * @param tenantId 테넌트 ID (null이면 기본 테넌트)
+     */
+    public Verdict check(String tenantId, String filename) throws IOException {
+        return check(tenantId, List.of(filename)).get(0);
+    }
+
+    /**
+     * 파일명 여러 개를 한 요청으로 검사 (응답까지 대기)
+     * @return 입력 순서와 같은 판정 목록
+     */
+    public List<Verdict> check(String tenantId, List<String> filenames) throws IOException {
+        try {
+            return checkAsync(tenantId, filenames).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 파일명 여러 개를 한 요청으로 보내고 응답을 기다리지 않음
+     * @return 입력 순서와 같은 판정 목록 (서버 에러 응답이나 연결 종료 시 IOException으로 완료)
+     * @throws IllegalArgumentException 파일명이 없거나 한 요청 최대 수(65535)를 넘는 경우
+     */
+    public CompletableFuture<List<Verdict>> checkAsync(String tenantId, List<String> filenames) {
+        if (filenames.isEmpty() || filenames.size() > LocalCheckProtocol.MAX_BATCH) {
+            throw new IllegalArgumentException("filenames must contain 1.." + LocalCheckProtocol.MAX_BATCH + " entries");
+        }
+        byte[] tenant = tenantId == null ? new byte[0] : tenantId.getBytes(StandardCharsets.UTF_8);
+        if (tenant.length > 0xFF) {
+            throw new IllegalArgumentException("tenantId is too long");
+        }
+        CompletableFuture<List<Verdict>> future = new CompletableFuture<>();
+        writeLock.lock();
+        try {
+            if (failure != null) {
+                return CompletableFuture.failedFuture(failure);
+            }
+            int requestId = nextRequestId++;
+            int mark = out.position();
+            ensure(LocalCheckProtocol.LENGTH_BYTES + 4 + 1 + tenant.length + 2);
+            out.putInt(0).putInt(requestId).put((byte) tenant.length).put(tenant).putShort((short) filenames.size());
+            for (String filename : filenames) {
+                byte[] bytes = filename.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > 0xFFFF) {
+                    out.position(mark);
+                    throw new IllegalArgumentException("filename is too long: " + bytes.length + " bytes");
+                }
+                ensure(2 + bytes.length);
+                out.putShort((short) bytes.length).put(bytes);
+            }
+            out.putInt(mark, out.position() - mark - LocalCheckProtocol.LENGTH_BYTES);
+            pending.add(new Pending(requestId, filenames.size(), future));
+            flush();
+        } catch (IOException e) {
+            fail(e);
+        } finally {
+            writeLock.unlock();
+        }
+        return future;
+    }
+
+    private void ensure(int bytes) {
+        if (out.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + bytes));
+            out = larger.put(out.flip());
+        }
+    }
+
+    private void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    private void readLoop() {
+        ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+        try {
+            while (channel.read(in) >= 0) {
+                in.flip();
+                while (in.remaining() >= LocalCheckProtocol.LENGTH_BYTES) {
+                    int length = in.getInt(in.position());
+                    int frameEnd = in.position() + LocalCheckProtocol.LENGTH_BYTES + length;
+                    if (frameEnd > in.limit()) {
+                        break;
+                    }
+                    ByteBuffer frame = in.slice(in.position() + LocalCheckProtocol.LENGTH_BYTES, length);
+                    in.position(frameEnd);
+                    complete(frame);
+                }
+                in.compact();
+                if (in.position() >= LocalCheckProtocol.LENGTH_BYTES) {
+                    int needed = LocalCheckProtocol.LENGTH_BYTES + in.getInt(0);
+                    if (needed > in.capacity()) {
+                        in = ByteBuffer.allocate(needed).put(in.flip());
+                    }
+                }
+            }
+            fail(new IOException("Connection closed by server"));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void complete(ByteBuffer frame) throws IOException {
+        int requestId = frame.getInt();
+        byte status = frame.get();
+        Pending request = pending.poll();
+        if (request == null || request.requestId() != requestId) {
+            throw new IOException("Unexpected response id: " + requestId);
+        }
+        if (status == LocalCheckProtocol.STATUS_ERROR) {
+            request.future().completeExceptionally(new IOException(readMessage(frame)));
+            return;
+        }
+        int count = Short.toUnsignedInt(frame.getShort());
+        if (count != request.count()) {
+            throw new IOException("Unexpected verdict count: " + count + " (expected " + request.count() + ")");
+        }
+        List<Verdict> verdicts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte verdict = frame.get();
+            byte[] extension = new byte[Byte.toUnsignedInt(frame.get())];
+            frame.get(extension);
+            verdicts.add(verdict == LocalCheckProtocol.VERDICT_ALLOWED
+                    ? new Verdict(false, null, null)
+                    : new Verdict(true, LocalCheckProtocol.ruleTypeName(verdict), new String(extension, StandardCharsets.UTF_8)));
+        }
+        request.future().complete(verdicts);
+    }
+
+    private static String readMessage(ByteBuffer frame) {
+        byte[] message = new byte[Short.toUnsignedInt(frame.getShort())];
+        frame.get(message);
+        return new String(message, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 연결 실패 시 기다리는 요청을 모두 실패로 완료하고 이후 요청도 거절
+     */
+    private void fail(IOException e) {
+        try {
+            // 쓰기 중인 스레드가 있으면 먼저 깨워 잠금을 놓게 함
+            channel.close();
+        } catch (IOException ignored) {
+            // 이미 실패한 연결
+        }
+        writeLock.lock();
+        try {
+            if (failure == null) {
+                failure = e;
+            }
+            Pending request;
+            while ((request = pending.poll()) != null) {
+                request.future().completeExceptionally(failure);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.flow.folwteamtest.local;
+
+/**
+ * <h1>로컬 검사 프로토콜</h1>
+ * <p>같은 호스트의 업로드 서비스가 Unix 도메인 소켓으로 파일명을 검사할 때 쓰는 길이 접두 바이너리 프레임입니다.
+ * 모든 정수는 big-endian, 문자열은 UTF-8입니다.</p>
+ * <pre>
+ * 요청: u32 길이 | u32 요청 ID | u8 테넌트 길이 + 테넌트 (0이면 기본 테넌트) | u16 개수 | 개수 x [u16 길이 + 파일명]
+ * 응답: u32 길이 | u32 요청 ID | u8 상태
+ *       상태 OK    → u16 개수 | 개수 x [u8 판정 | u8 길이 + 일치한 확장자]
+ *       상태 ERROR → u16 길이 + 메시지
+ * </pre>
+ * <p>길이는 길이 필드 자신을 뺀 나머지 바이트 수입니다. 한 요청의 파일명은 같은 스냅샷으로 판정합니다.
+ * 클라이언트는 응답을 기다리지 않고 요청을 이어서 보낼 수 있으며(파이프라이닝), 서버는 연결마다 받은 순서대로 응답합니다.</p>
+ * <p>서버(LocalCheckServer)와 클라이언트(LocalCheckClient)가 공유하므로 JDK 외 의존성을 두지 않습니다.</p>
+ */
+public final class LocalCheckProtocol {
+
+    public static final int LENGTH_BYTES = 4;
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_ERROR = 1;
+
+    // 판정 코드 (0: 허용, 그 외: 차단 및 일치한 규칙 종류)
+    public static final byte VERDICT_ALLOWED = 0;
+    public static final byte VERDICT_FIXED = 1;
+    public static final byte VERDICT_CUSTOM = 2;
+    public static final byte VERDICT_PATTERN = 3;
+    public static final byte VERDICT_GROUP = 4;
+
+    /**
+     * 한 요청의 최대 파일명 수 (u16)
+     */
+    public static final int MAX_BATCH = 0xFFFF;
+
+    private LocalCheckProtocol() {
+        throw new AssertionError("LocalCheckProtocol은 인스턴스화할 수 없습니다.");
+    }
+
+    /**
+     * 판정 코드 → 규칙 종류 이름 (BlockedRule.RuleType과 같은 이름, 허용이면 null)
+     */
+    public static String ruleTypeName(byte verdict) {
+        return switch (verdict) {
+            case VERDICT_ALLOWED -> null;
+            case VERDICT_FIXED -> "FIXED";
+            case VERDICT_CUSTOM -> "CUSTOM";
+            case VERDICT_PATTERN -> "PATTERN";
+            case VERDICT_GROUP -> "GROUP";
+            default -> throw new IllegalArgumentException("Unknown verdict code: " + verdict);
+        };
+    }
+}
@@ -0,0 +1,360 @@
+package com.flow.folwteamtest.local;
+
+import com.flow.folwteamtest.audit.AuditContext;
+import com.flow.folwteamtest.audit.AuditSource;
+import com.flow.folwteamtest.audit.BlockAuditRecorder;
+import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.common.TenantIds;
+import com.flow.folwteamtest.config.LocalSocketProperties;
+import com.flow.folwteamtest.exception.InvalidTenantException;
+import com.flow.folwteamtest.policy.BlockedRule;
+import com.flow.folwteamtest.policy.BlocklistSnapshot;
+import com.flow.folwteamtest.policy.BlocklistSnapshotHolder;
+import com.flow.folwteamtest.stats.ExtensionHitStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>로컬 검사 소켓 서버</h1>
+ * <p>같은 호스트의 업로드 서비스가 HTTP/JSON 없이 파일명을 검사하도록 Unix 도메인 소켓으로 LocalCheckProtocol 프레임을 받습니다.
+ * 판정은 REST 검사와 같은 메모리 스냅샷으로 하며 DB에 접근하지 않습니다.</p>
+ * <p>연결마다 가상 스레드 하나가 블로킹 채널 I/O로 프레임을 읽고 응답합니다. (NIO 채널 블로킹은 캐리어 스레드를 고정하지 않습니다.)
+ * 한 번 읽은 버퍼에 여러 요청이 들어 있으면(파이프라이닝) 모두 처리한 뒤 응답을 한 번에 씁니다.</p>
+ * <p>판정은 REST 경로와 마찬가지로 감사 로그와 확장자 통계에 기록하며, 출처는 CHECK(1건)/BATCH_CHECK(여러 건), 클라이언트 주소는 "unix"입니다.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "flow.local-socket", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(LocalSocketProperties.class)
+public class LocalCheckServer {
+
+    private static final String CLIENT_ADDRESS = "unix";
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    // 요청 ID + 테넌트 길이 + 개수
+    private static final int MIN_REQUEST_LENGTH = 4 + 1 + 2;
+
+    private final BlocklistSnapshotHolder snapshotHolder;
+    private final BlockAuditRecorder auditRecorder;
+    private final ExtensionHitStats hitStats;
+    private final LocalSocketProperties properties;
+    private final int maxFrameSize;
+
+    private final Semaphore connectionPermits;
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private final ExecutorService handlers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("local-check-", 0).factory());
+    private volatile ServerSocketChannel server;
+
+    private final Timer frameTimer;
+    private final DistributionSummary frameSize;
+    private final Counter rejectedConnections;
+
+    public LocalCheckServer(BlocklistSnapshotHolder snapshotHolder,
+                            BlockAuditRecorder auditRecorder,
+                            ExtensionHitStats hitStats,
+                            LocalSocketProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.snapshotHolder = snapshotHolder;
+        this.auditRecorder = auditRecorder;
+        this.hitStats = hitStats;
+        this.properties = properties;
+        this.maxFrameSize = (int) Math.min(properties.maxFrameSize().toBytes(), Integer.MAX_VALUE - LocalCheckProtocol.LENGTH_BYTES);
+        this.connectionPermits = new Semaphore(properties.maxConnections());
+        this.frameTimer = Timer.builder("flow.local-socket.frame")
+                .description("로컬 소켓 요청 프레임 하나의 판정 시간 (응답 쓰기 제외)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.frameSize = DistributionSummary.builder("flow.local-socket.frame.size")
+                .description("로컬 소켓 요청 프레임 하나의 파일명 개수")
+                .register(meterRegistry);
+        this.rejectedConnections = Counter.builder("flow.local-socket.rejected")
+                .description("동시 연결 수 초과로 닫은 연결 수")
+                .register(meterRegistry);
+        Gauge.builder("flow.local-socket.connections", connections, Set::size)
+                .description("로컬 소켓 연결 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 기동 완료(스냅샷 구성) 후 소켓 파일 생성 및 연결 수락 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        Path path = properties.path();
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        // 비정상 종료로 남은 소켓 파일이 있으면 bind가 실패합니다.
+        Files.deleteIfExists(path);
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.bind(UnixDomainSocketAddress.of(path));
+        try {
+            // 같은 사용자/그룹의 프로세스만 연결
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-rw----"));
+        } catch (UnsupportedOperationException e) {
+            log.debug("POSIX permissions not supported for {}", path);
+        }
+        server = channel;
+        Thread.ofPlatform().name("local-check-acceptor").daemon().start(this::acceptLoop);
+        log.info("Local check socket listening on {} (max frame {} bytes, max connections {})",
+                path, maxFrameSize, properties.maxConnections());
+    }
+
+    private void acceptLoop() {
+        while (server.isOpen()) {
+            SocketChannel channel;
+            try {
+                channel = server.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                log.warn("Failed to accept local check connection: {}", e.getMessage());
+                continue;
+            }
+            if (!connectionPermits.tryAcquire()) {
+                rejectedConnections.increment();
+                closeQuietly(channel);
+                continue;
+            }
+            connections.add(channel);
+            handlers.execute(() -> serve(channel));
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        try {
+            handle(channel);
+        } catch (IOException e) {
+            log.debug("Local check connection closed: {}", e.getMessage());
+        } finally {
+            connections.remove(channel);
+            closeQuietly(channel);
+            connectionPermits.release();
+        }
+    }
+
+    /**
+     * 연결 하나의 프레임 처리 루프 (연결이 닫히거나 프레임 길이가 잘못되면 종료)
+     */
+    private void handle(SocketChannel channel) throws IOException {
+        ByteBuffer in = ByteBuffer.allocate(Math.min(INITIAL_BUFFER_SIZE, maxFrameSize + LocalCheckProtocol.LENGTH_BYTES));
+        ResponseBuffer out = new ResponseBuffer();
+        while (channel.read(in) >= 0) {
+            in.flip();
+            while (in.remaining() >= LocalCheckProtocol.LENGTH_BYTES) {
+                int length = in.getInt(in.position());
+                if (length < MIN_REQUEST_LENGTH || length > maxFrameSize) {
+                    // 프레임 경계를 잃었으므로 더 읽을 수 없습니다.
+                    out.error(0, "Invalid frame length: " + length);
+                    out.writeTo(channel);
+                    return;
+                }
+                int frameEnd = in.position() + LocalCheckProtocol.LENGTH_BYTES + length;
+                if (frameEnd > in.limit()) {
+                    break;
+                }
+                ByteBuffer frame = in.slice(in.position() + LocalCheckProtocol.LENGTH_BYTES, length);
+                in.position(frameEnd);
+                respond(frame, out);
+            }
+            in.compact();
+            if (in.position() >= LocalCheckProtocol.LENGTH_BYTES) {
+                int length = in.getInt(0);
+                // 잘못된 길이는 다음 루프에서 에러로 처리
+                if (length <= maxFrameSize && LocalCheckProtocol.LENGTH_BYTES + length > in.capacity()) {
+                    int needed = LocalCheckProtocol.LENGTH_BYTES + length;
+                    in = ByteBuffer.allocate(needed).put(in.flip());
+                }
+            }
+            out.writeTo(channel);
+        }
+    }
+
+    /**
+     * 요청 프레임 하나를 판정해 응답 버퍼에 추가 (형식 오류는 에러 응답으로 돌려주고 연결은 유지)
+     */
+    private void respond(ByteBuffer frame, ResponseBuffer out) {
+        long start = System.nanoTime();
+        int requestId = frame.getInt();
+        int mark = out.begin(requestId);
+        try {
+            String tenantId = readTenant(frame);
+            int count = Short.toUnsignedInt(frame.getShort());
+            BlocklistSnapshot snapshot = snapshotHolder.current(tenantId);
+            AuditContext context = new AuditContext(tenantId, null, CLIENT_ADDRESS,
+                    count == 1 ? AuditSource.CHECK : AuditSource.BATCH_CHECK);
+            out.ok(count);
+            for (int i = 0; i < count; i++) {
+                String filename = readString(frame, ExtensionConstants.FILENAME_MAX_LENGTH * 4);
+                BlockedRule rule = snapshot.match(filename);
+                auditRecorder.record(context, filename, rule);
+                hitStats.record(tenantId, filename, rule);
+                out.verdict(rule);
+            }
+            if (frame.hasRemaining()) {
+                throw new IllegalArgumentException("Unexpected trailing bytes: " + frame.remaining());
+            }
+            out.end(mark);
+            frameSize.record(count);
+        } catch (BufferUnderflowException e) {
+            out.rollback(mark);
+            out.error(requestId, "Truncated request frame");
+        } catch (IllegalArgumentException | InvalidTenantException e) {
+            out.rollback(mark);
+            out.error(requestId, e.getMessage());
+        }
+        frameTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String readTenant(ByteBuffer frame) {
+        int length = Byte.toUnsignedInt(frame.get());
+        if (length == 0) {
+            return TenantIds.DEFAULT;
+        }
+        byte[] bytes = new byte[length];
+        frame.get(bytes);
+        return TenantIds.resolve(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private static String readString(ByteBuffer frame, int maxBytes) {
+        int length = Short.toUnsignedInt(frame.getShort());
+        if (length > maxBytes) {
+            throw new IllegalArgumentException("Filename too long: " + length + " bytes");
+        }
+        byte[] bytes = new byte[length];
+        frame.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 종료 시 수락/연결을 닫고 소켓 파일 삭제
+     */
+    @PreDestroy
+    public void shutdown() {
+        ServerSocketChannel channel = server;
+        if (channel != null) {
+            closeQuietly(channel);
+        }
+        connections.forEach(LocalCheckServer::closeQuietly);
+        handlers.shutdownNow();
+        try {
+            Files.deleteIfExists(properties.path());
+        } catch (IOException e) {
+            log.warn("Failed to delete local check socket {}: {}", properties.path(), e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(Channel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // 닫는 중 오류는 무시
+        }
+    }
+
+    /**
+     * 연결별 응답 버퍼 (필요하면 늘어나며, 읽은 요청을 모두 처리한 뒤 한 번에 씀)
+     */
+    private static final class ResponseBuffer {
+
+        private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+        /**
+         * 응답 프레임 시작 (길이는 end에서 채움)
+         * @return 프레임 시작 위치
+         */
+        int begin(int requestId) {
+            ensure(LocalCheckProtocol.LENGTH_BYTES + 4);
+            int mark = buffer.position();
+            buffer.putInt(0).putInt(requestId);
+            return mark;
+        }
+
+        void ok(int count) {
+            ensure(3);
+            buffer.put(LocalCheckProtocol.STATUS_OK).putShort((short) count);
+        }
+
+        void verdict(BlockedRule rule) {
+            if (rule == null) {
+                ensure(2);
+                buffer.put(LocalCheckProtocol.VERDICT_ALLOWED).put((byte) 0);
+                return;
+            }
+            byte[] extension = rule.extension().getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(extension.length, 0xFF);
+            ensure(2 + length);
+            buffer.put(verdictCode(rule.type())).put((byte) length).put(extension, 0, length);
+        }
+
+        void end(int mark) {
+            buffer.putInt(mark, buffer.position() - mark - LocalCheckProtocol.LENGTH_BYTES);
+        }
+
+        void rollback(int mark) {
+            buffer.position(mark);
+        }
+
+        void error(int requestId, String message) {
+            byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(bytes.length, 0xFFFF);
+            int mark = begin(requestId);
+            ensure(3 + length);
+            buffer.put(LocalCheckProtocol.STATUS_ERROR).putShort((short) length).put(bytes, 0, length);
+            end(mark);
+        }
+
+        void writeTo(SocketChannel channel) throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer = larger.put(buffer.flip());
+            }
+        }
+
+        private static byte verdictCode(BlockedRule.RuleType type) {
+            return switch (type) {
+                case FIXED -> LocalCheckProtocol.VERDICT_FIXED;
+                case CUSTOM -> LocalCheckProtocol.VERDICT_CUSTOM;
+                case PATTERN -> LocalCheckProtocol.VERDICT_PATTERN;
+                case GROUP -> LocalCheckProtocol.VERDICT_GROUP;
+            };
+        }
+    }
+}
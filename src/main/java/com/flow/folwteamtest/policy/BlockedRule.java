@@ -0,0 +1,18 @@
+package com.flow.folwteamtest.policy;
+
+/**
+ * 스냅샷에 컴파일된 단일 차단 규칙
+ * 어떤 종류(고정/커스텀)의 확장자 규칙과 일치했는지 호출자에게 알려주기 위해 사용합니다.
+ * 같은 정책을 가진 테넌트끼리 스냅샷을 공유하므로 테넌트별 레코드 ID는 담지 않습니다.
+ */
+public record BlockedRule(RuleType type, String extension) {
+
+    public enum RuleType {
+        FIXED,
+        CUSTOM,
+        /** 와일드카드 커스텀 규칙 (ph*, x?m, [ps]h*) */
+        PATTERN,
+        /** 차단된 확장자 그룹의 멤버 (extension은 일치한 멤버 확장자) */
+        GROUP
+    }
+}
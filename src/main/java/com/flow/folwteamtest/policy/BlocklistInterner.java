@@ -0,0 +1,50 @@
+package com.flow.folwteamtest.policy;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * <h1>차단 스냅샷 인터너</h1>
+ * <p>내용이 같은 스냅샷을 하나의 인스턴스로 합칩니다. 대부분의 테넌트는 기본 고정 확장자 설정을 그대로 쓰므로,
+ * 메모리 사용량이 테넌트 수가 아니라 서로 다른 정책의 수에 비례하게 됩니다.</p>
+ * <p>약한 참조로 보관하므로 어떤 테넌트도 쓰지 않게 된 정책은 GC가 회수합니다.
+ * 스냅샷 생성(쓰기 경로)에서만 호출되므로 단순 동기화로 충분합니다.</p>
+ * <p>기존 인스턴스를 재사용한 횟수(hit)와 새로 등록한 횟수(miss)를 메트릭으로 노출합니다.</p>
+ */
+class BlocklistInterner {
+
+    private final Map<BlocklistSnapshot, WeakReference<BlocklistSnapshot>> pool = new WeakHashMap<>();
+    private long hits;
+    private long misses;
+
+    synchronized BlocklistSnapshot intern(BlocklistSnapshot snapshot) {
+        if (snapshot == BlocklistSnapshot.EMPTY) {
+            return snapshot;
+        }
+        WeakReference<BlocklistSnapshot> ref = pool.get(snapshot);
+        BlocklistSnapshot canonical = ref == null ? null : ref.get();
+        if (canonical != null) {
+            hits++;
+            return canonical;
+        }
+        misses++;
+        pool.put(snapshot, new WeakReference<>(snapshot));
+        return snapshot;
+    }
+
+    /**
+     * 현재 살아 있는 서로 다른 정책 수
+     */
+    synchronized int size() {
+        return pool.size();
+    }
+
+    synchronized long hits() {
+        return hits;
+    }
+
+    synchronized long misses() {
+        return misses;
+    }
+}
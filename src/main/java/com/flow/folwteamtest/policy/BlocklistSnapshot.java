@@ -0,0 +1,272 @@
+package com.flow.folwteamtest.policy;
+
+import com.flow.folwteamtest.common.ExtensionGroup;
+import com.flow.folwteamtest.common.ExtensionNames;
+import com.flow.folwteamtest.entity.CustomExtension;
+import com.flow.folwteamtest.entity.ExtensionGroupPolicy;
+import com.flow.folwteamtest.entity.FixedExtension;
+import com.flow.folwteamtest.event.ExtensionChange;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <h1>차단 확장자 불변 스냅샷</h1>
+ * <p>차단된 고정 확장자와 커스텀 확장자를 하나의 조회 테이블로 미리 컴파일한 객체입니다.
+ * 생성 이후 절대 변경되지 않으므로 여러 스레드가 락 없이 동시에 조회할 수 있습니다.</p>
+ * <p>파일명 판정은 규칙을 뒤집어 넣은 접미사 트라이(ReversedSuffixTrie)로 하므로 복합 확장자(tar.gz)도 규칙이 되며,
+ * 조회 비용은 규칙 수와 무관하게 파일명 꼬리 길이에만 비례합니다.</p>
+ * <p>차단된 확장자 그룹은 멤버 규칙으로 풀어 넣지 않고 그룹 카탈로그의 비트마스크(OR)로만 보관합니다.
+ * 판정 순서: 고정/커스텀 정확 일치와 그룹 비트마스크 중 가장 긴 접미사 → 와일드카드 DFA</p>
+ * <p>와일드카드 규칙(ph*, x?m)은 모두 모아 하나의 DFA(PatternAutomaton)로 컴파일합니다.</p>
+ * <p>정책이 바뀌면 BlocklistSnapshotHolder가 새 스냅샷을 만들어 참조를 통째로 교체합니다(copy-on-write).</p>
+ * <p>테넌트 ID, 레코드 ID, 버전을 담지 않고 내용(차단 규칙)으로만 equals/hashCode를 정의하므로,
+ * 같은 정책을 가진 테넌트들은 BlocklistInterner를 통해 하나의 인스턴스를 공유합니다.</p>
+ */
+public final class BlocklistSnapshot {
+
+    // EMPTY 생성자가 참조하므로 먼저 초기화합니다.
+    private static final ExtensionGroupCatalog GROUPS = ExtensionGroupCatalog.INSTANCE;
+
+    public static final BlocklistSnapshot EMPTY = new BlocklistSnapshot(
+            Map.of(), Set.of(), Set.of(), ReversedSuffixTrie.EMPTY, new BlockedRule[0], PatternAutomaton.EMPTY);
+
+    private final Map<String, BlockedRule> rules;
+    private final ReversedSuffixTrie trie;
+    // trie 조회 결과(index) → 규칙
+    private final BlockedRule[] exactRules;
+    private final PatternAutomaton patterns;
+    // 고정 확장자에 가려진 커스텀 확장자도 잃지 않도록 델타 적용용으로 따로 보관합니다.
+    private final Set<String> customExtensions;
+    private final Set<ExtensionGroup> blockedGroups;
+    // 차단된 그룹 멤버의 ordinal 비트마스크, 차단된 그룹이 없으면 null
+    private final long[] groupMask;
+    private final int hash;
+
+    private BlocklistSnapshot(Map<String, BlockedRule> rules, Set<String> customExtensions, Set<ExtensionGroup> blockedGroups,
+                              ReversedSuffixTrie trie, BlockedRule[] exactRules, PatternAutomaton patterns) {
+        this.rules = rules;
+        this.trie = trie;
+        this.exactRules = exactRules;
+        this.patterns = patterns;
+        this.customExtensions = customExtensions;
+        this.blockedGroups = blockedGroups;
+        this.groupMask = GROUPS.maskOf(blockedGroups);
+        this.hash = 31 * (31 * rules.hashCode() + customExtensions.hashCode()) + blockedGroups.hashCode();
+    }
+
+    /**
+     * 엔티티 목록으로부터 스냅샷 생성 (차단된 그룹 없음)
+     */
+    public static BlocklistSnapshot of(Collection<FixedExtension> fixedExtensions,
+                                       Collection<CustomExtension> customExtensions) {
+        return of(fixedExtensions, customExtensions, List.of());
+    }
+
+    /**
+     * 엔티티 목록으로부터 스냅샷 생성
+     * 같은 확장자가 고정/커스텀에 모두 있으면 고정 확장자 규칙이 우선합니다.
+     */
+    public static BlocklistSnapshot of(Collection<FixedExtension> fixedExtensions,
+                                       Collection<CustomExtension> customExtensions,
+                                       Collection<ExtensionGroupPolicy> groupPolicies) {
+        Set<String> custom = new HashSet<>();
+        for (CustomExtension extension : customExtensions) {
+            custom.add(ExtensionNames.normalize(extension.getExtension()));
+        }
+        Set<String> fixed = new HashSet<>();
+        for (FixedExtension extension : fixedExtensions) {
+            if (extension.isBlocked()) {
+                fixed.add(ExtensionNames.normalize(extension.getName()));
+            }
+        }
+        Set<ExtensionGroup> groups = EnumSet.noneOf(ExtensionGroup.class);
+        for (ExtensionGroupPolicy policy : groupPolicies) {
+            if (policy.isBlocked()) {
+                ExtensionGroup.fromCode(policy.getGroupCode()).ifPresent(groups::add);
+            }
+        }
+        return compile(fixed, custom, groups);
+    }
+
+    /**
+     * 변경 내역(델타)을 적용한 새 스냅샷 생성
+     * 이미 반영된 변경을 다시 적용해도 결과가 같으므로(멱등) 재구성과 겹쳐도 안전합니다.
+     * 규칙이 실제로 바뀌지 않으면 자신을 그대로 반환하고, 와일드카드 규칙이 바뀌지 않으면 기존 DFA를 재사용합니다.
+     */
+    public BlocklistSnapshot withChanges(List<ExtensionChange> changes) {
+        Set<String> fixed = fixedExtensions();
+        Set<String> custom = new HashSet<>(customExtensions);
+        Set<ExtensionGroup> groups = blockedGroups.isEmpty()
+                ? EnumSet.noneOf(ExtensionGroup.class)
+                : EnumSet.copyOf(blockedGroups);
+        boolean changed = false;
+        boolean patternsChanged = false;
+        for (ExtensionChange change : changes) {
+            String extension = ExtensionNames.normalize(change.extension());
+            switch (change.type()) {
+                case FIXED_UPDATED -> changed |= change.blocked() ? fixed.add(extension) : fixed.remove(extension);
+                case CUSTOM_ADDED, CUSTOM_DELETED -> {
+                    boolean modified = change.type() == ExtensionChange.ChangeType.CUSTOM_ADDED
+                            ? custom.add(extension)
+                            : custom.remove(extension);
+                    changed |= modified;
+                    patternsChanged |= modified && ExtensionNames.isPattern(extension);
+                }
+                case GROUP_UPDATED -> {
+                    ExtensionGroup group = ExtensionGroup.fromCode(extension).orElse(null);
+                    if (group != null) {
+                        changed |= change.blocked() ? groups.add(group) : groups.remove(group);
+                    }
+                }
+            }
+        }
+        if (!changed) {
+            return this;
+        }
+        return compile(fixed, custom, groups, patternsChanged ? null : patterns);
+    }
+
+    /**
+     * 차단된 고정 확장자 (정규화된 값)
+     */
+    Set<String> fixedExtensions() {
+        Set<String> fixed = new HashSet<>();
+        rules.values().forEach(rule -> {
+            if (rule.type() == BlockedRule.RuleType.FIXED) {
+                fixed.add(rule.extension());
+            }
+        });
+        return fixed;
+    }
+
+    /**
+     * 커스텀 확장자 (고정 확장자와 겹치는 것 포함, 정규화된 값)
+     */
+    Set<String> customExtensions() {
+        return customExtensions;
+    }
+
+    Set<ExtensionGroup> blockedGroups() {
+        return blockedGroups;
+    }
+
+    PatternAutomaton patterns() {
+        return patterns;
+    }
+
+    /**
+     * 정규화된 규칙 집합으로 스냅샷 컴파일 (BlocklistSnapshotFile에서 복원할 때도 사용)
+     */
+    static BlocklistSnapshot compile(Set<String> fixed, Set<String> custom, Set<ExtensionGroup> groups) {
+        return compile(fixed, custom, groups, null);
+    }
+
+    /**
+     * @param patterns 와일드카드 규칙이 그대로인 경우 재사용할 DFA (null이면 새로 컴파일)
+     */
+    private static BlocklistSnapshot compile(Set<String> fixed, Set<String> custom, Set<ExtensionGroup> groups,
+                                             PatternAutomaton patterns) {
+        if (fixed.isEmpty() && custom.isEmpty() && groups.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, BlockedRule> rules = new HashMap<>();
+        for (String extension : custom) {
+            BlockedRule.RuleType type = ExtensionNames.isPattern(extension)
+                    ? BlockedRule.RuleType.PATTERN
+                    : BlockedRule.RuleType.CUSTOM;
+            rules.put(extension, new BlockedRule(type, extension));
+        }
+        for (String extension : fixed) {
+            rules.put(extension, new BlockedRule(BlockedRule.RuleType.FIXED, extension));
+        }
+        List<BlockedRule> exact = new ArrayList<>(rules.size());
+        List<BlockedRule> wildcard = new ArrayList<>();
+        for (BlockedRule rule : rules.values()) {
+            (rule.type() == BlockedRule.RuleType.PATTERN ? wildcard : exact).add(rule);
+        }
+        return new BlocklistSnapshot(Map.copyOf(rules), Set.copyOf(custom), Collections.unmodifiableSet(groups),
+                ReversedSuffixTrie.build(exact.stream().map(BlockedRule::extension).toList()),
+                exact.toArray(BlockedRule[]::new),
+                wildcard.isEmpty() ? PatternAutomaton.EMPTY
+                        : patterns != null ? patterns : PatternAutomaton.compile(wildcard));
+    }
+
+    /**
+     * 파일명과 일치하는 차단 규칙 조회
+     * 경로를 뺀 파일명 끝에서 '.' 경계마다 규칙을 확인하므로 "a.tar.gz"는 gz와 tar.gz 규칙 모두와 일치할 수 있고,
+     * 이때는 더 긴(구체적인) 규칙을 반환합니다. 끝의 '.'과 공백은 무시합니다. ("payload.exe." → exe)
+     * 정확 일치 규칙과 차단된 그룹 멤버 중 가장 긴 접미사를 사용하고, 둘 다 없으면 와일드카드 규칙을 확인합니다.
+     * @return 일치하는 규칙, 차단 대상이 아니면 null
+     */
+    public BlockedRule match(String filename) {
+        if (filename == null) {
+            return null;
+        }
+        int start = ExtensionNames.nameStart(filename);
+        int end = ExtensionNames.nameEnd(filename, start);
+        int index = trie.longestMatch(filename, start, end);
+        BlockedRule rule = index >= 0 ? exactRules[index] : null;
+        if (groupMask != null) {
+            // 개별 규칙과 그룹 규칙 중 더 긴 접미사가 우선 (길이가 같으면 개별 규칙)
+            BlockedRule groupRule = GROUPS.match(filename, start, end, groupMask);
+            if (groupRule != null && (rule == null || groupRule.extension().length() > rule.extension().length())) {
+                rule = groupRule;
+            }
+        }
+        return rule != null ? rule : patterns.match(filename, start, end);
+    }
+
+    /**
+     * 정규화된 확장자와 일치하는 차단 규칙 조회 (그룹, 와일드카드 규칙 포함)
+     * @return 일치하는 규칙, 차단 대상이 아니면 null
+     */
+    public BlockedRule matchExtension(String extension) {
+        BlockedRule rule = rules.get(extension);
+        if (rule != null && rule.type() != BlockedRule.RuleType.PATTERN) {
+            return rule;
+        }
+        if (groupMask != null) {
+            rule = GROUPS.matchExtension(extension, groupMask);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return patterns.matchExtension(extension);
+    }
+
+    public boolean isBlocked(String filename) {
+        return match(filename) != null;
+    }
+
+    /**
+     * 스냅샷에 포함된 차단 규칙 개수
+     */
+    public int size() {
+        return rules.size();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BlocklistSnapshot other)) {
+            return false;
+        }
+        return hash == other.hash && rules.equals(other.rules) && customExtensions.equals(other.customExtensions)
+                && blockedGroups.equals(other.blockedGroups);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,162 @@
+package com.flow.folwteamtest.policy;
+
+import com.flow.folwteamtest.common.ExtensionGroup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * <h1>차단 스냅샷 파일</h1>
+ * <p>재시작할 때 DB의 규칙 전체를 엔티티로 읽어 스냅샷을 다시 만들지 않도록, 테넌트별 정책을 작은 바이너리 파일로 보관합니다.
+ * 테넌트들이 공유하는(인터닝된) 정책 본문은 한 번만 기록하고, 테넌트는 정책 번호와 버전만 가집니다.</p>
+ * <p>형식 (big-endian, 문자열은 u16 길이 + UTF-8):</p>
+ * <pre>
+ * "FLBS" | 형식 버전(int)
+ * 정책 수(int) | 정책마다 [고정 확장자 목록, 커스텀 확장자 목록, 차단 그룹 코드 목록] (각 목록은 개수(int) + 문자열)
+ * 테넌트 수(int) | 테넌트마다 [ID, 정책 번호(int), 정책 버전(long)]
+ * 앞의 전체 바이트의 CRC32(int)
+ * </pre>
+ * <p>읽을 때는 파일을 메모리 매핑해 한 번 훑습니다. 형식이나 체크섬이 맞지 않으면 null을 반환하므로 호출자는 DB로 재구성합니다.</p>
+ */
+final class BlocklistSnapshotFile {
+
+    private static final int MAGIC = 0x464C4253;
+    private static final int FORMAT_VERSION = 1;
+
+    private BlocklistSnapshotFile() {
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 원자적으로 교체하므로 읽는 쪽이 쓰다 만 파일을 보지 않습니다.
+     */
+    static void write(Path path, Map<String, TenantBlocklist> tenants) throws IOException {
+        Map<BlocklistSnapshot, Integer> policyIndexes = new IdentityHashMap<>();
+        List<BlocklistSnapshot> policies = new ArrayList<>();
+        for (TenantBlocklist policy : tenants.values()) {
+            policyIndexes.computeIfAbsent(policy.snapshot(), snapshot -> {
+                policies.add(snapshot);
+                return policies.size() - 1;
+            });
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(policies.size());
+        for (BlocklistSnapshot snapshot : policies) {
+            writeStrings(out, snapshot.fixedExtensions());
+            writeStrings(out, snapshot.customExtensions());
+            writeStrings(out, snapshot.blockedGroups().stream().map(ExtensionGroup::getCode).toList());
+        }
+        out.writeInt(tenants.size());
+        for (Map.Entry<String, TenantBlocklist> entry : tenants.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeInt(policyIndexes.get(entry.getValue().snapshot()));
+            out.writeLong(entry.getValue().version());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @return 테넌트 ID → 정책 (같은 정책 번호의 테넌트는 같은 스냅샷 인스턴스), 파일이 손상되었으면 null
+     */
+    static Map<String, TenantBlocklist> read(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.limit() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, buffer.limit() - 4));
+            if ((int) crc.getValue() != buffer.getInt(buffer.limit() - 4)) {
+                return null;
+            }
+
+            BlocklistSnapshot[] policies = new BlocklistSnapshot[buffer.getInt()];
+            for (int i = 0; i < policies.length; i++) {
+                Set<String> fixed = readStrings(buffer);
+                Set<String> custom = readStrings(buffer);
+                Set<ExtensionGroup> groups = EnumSet.noneOf(ExtensionGroup.class);
+                for (String code : readStrings(buffer)) {
+                    ExtensionGroup.fromCode(code).ifPresent(groups::add);
+                }
+                policies[i] = BlocklistSnapshot.compile(fixed, custom, groups);
+            }
+            int tenantCount = buffer.getInt();
+            Map<String, TenantBlocklist> tenants = new HashMap<>(tenantCount * 2);
+            for (int i = 0; i < tenantCount; i++) {
+                String tenantId = readString(buffer);
+                BlocklistSnapshot snapshot = policies[buffer.getInt()];
+                tenants.put(tenantId, new TenantBlocklist(snapshot, buffer.getLong()));
+            }
+            return tenants;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, Collection<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static Set<String> readStrings(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        Set<String> values = new HashSet<>(Math.max(16, count * 2));
+        for (int i = 0; i < count; i++) {
+            values.add(readString(buffer));
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,486 @@
+package com.flow.folwteamtest.policy;
+
+import com.flow.folwteamtest.config.BlocklistProperties;
+import com.flow.folwteamtest.entity.CustomExtension;
+import com.flow.folwteamtest.entity.ExtensionChangeLog;
+import com.flow.folwteamtest.entity.ExtensionGroupPolicy;
+import com.flow.folwteamtest.entity.FixedExtension;
+import com.flow.folwteamtest.event.ExtensionChange;
+import com.flow.folwteamtest.event.ExtensionChangedEvent;
+import com.flow.folwteamtest.repository.CustomExtensionRepository;
+import com.flow.folwteamtest.repository.ExtensionChangeLogJdbcRepository;
+import com.flow.folwteamtest.repository.ExtensionChangeLogRepository;
+import com.flow.folwteamtest.repository.ExtensionGroupPolicyRepository;
+import com.flow.folwteamtest.repository.FixedExtensionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * <h1>테넌트별 현재 차단 스냅샷 보관소</h1>
+ * <p>읽기 경로(current)는 ConcurrentHashMap 조회 한 번뿐이므로 DB 접근이나 락이 없습니다.
+ * 정책 변경이 없었던 테넌트는 항목 없이 빈 정책(TenantBlocklist.EMPTY)을 사용합니다.</p>
+ * <p>쓰기 경로는 확장자 변경 트랜잭션이 커밋된 직후 그 변경만 현재 스냅샷에 델타로 적용합니다. (카탈로그 크기와 무관하게 DB 조회 한 번)
+ * 버전이 맞지 않으면(동시 커밋의 후처리 순서가 뒤바뀌었거나 다른 인스턴스의 변경이 끼어든 경우) 해당 테넌트만 다시 읽습니다.</p>
+ * <p>변경 적용과 테넌트 재구성은 테넌트별 락으로만 직렬화하므로 다른 테넌트의 커밋을 기다리지 않습니다.
+ * 같은 테넌트에 커밋이 몰리면 커밋마다 스냅샷을 만들지 않고, 락을 잡은 스레드 하나가 그동안 쌓인 커밋을 모두 모아
+ * 한 번의 DB 조회와 한 번의 스냅샷 생성으로 적용합니다. 전체 재구성만 모든 테넌트의 쓰기를 막습니다.
+ * DB를 읽는 동안 락을 잡고 있으므로 synchronized 대신 ReentrantLock을 사용합니다.
+ * (JDK 21에서 synchronized 안의 블로킹 I/O는 가상 스레드를 캐리어 스레드에 고정(pinning)시킵니다.)</p>
+ * <p>새 스냅샷은 BlocklistInterner를 거쳐 같은 정책의 기존 인스턴스로 교체됩니다.</p>
+ * <p>재구성 시간(flow.blocklist.rebuild), 테넌트/정책/규칙 수, 인터너 hit/miss를 메트릭으로 노출합니다.</p>
+ * <p>flow.blocklist.snapshot-file이 설정되어 있으면 정책이 바뀔 때마다(주기당 한 번) 스냅샷 파일을 갱신하고,
+ * 시작할 때 그 파일로 먼저 구성한 뒤 DB와 버전이 다른 테넌트만 다시 읽습니다. (BlocklistSnapshotFile)</p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(BlocklistProperties.class)
+public class BlocklistSnapshotHolder {
+
+    private final FixedExtensionRepository fixedExtensionRepository;
+    private final CustomExtensionRepository customExtensionRepository;
+    private final ExtensionGroupPolicyRepository groupPolicyRepository;
+    private final ExtensionChangeLogRepository changeLogRepository;
+    private final ExtensionChangeLogJdbcRepository changeLogJdbcRepository;
+
+    private final BlocklistInterner interner = new BlocklistInterner();
+    private volatile Map<String, TenantBlocklist> tenants = new ConcurrentHashMap<>();
+    private volatile long latestVersion;
+    // 전체 재구성(쓰기 락)과 테넌트 단위 작업(읽기 락 + 테넌트 락)의 직렬화
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final Map<String, TenantApplier> appliers = new ConcurrentHashMap<>();
+
+    // 스냅샷 파일 (미설정이면 null)
+    private final Path snapshotFile;
+    private final AtomicBoolean snapshotDirty = new AtomicBoolean();
+    private final ScheduledExecutorService snapshotWriter;
+
+    private final Timer fullRebuildTimer;
+    private final Timer tenantRebuildTimer;
+    private final Timer deltaTimer;
+
+    public BlocklistSnapshotHolder(FixedExtensionRepository fixedExtensionRepository,
+                                   CustomExtensionRepository customExtensionRepository,
+                                   ExtensionGroupPolicyRepository groupPolicyRepository,
+                                   ExtensionChangeLogRepository changeLogRepository,
+                                   ExtensionChangeLogJdbcRepository changeLogJdbcRepository,
+                                   BlocklistProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.fixedExtensionRepository = fixedExtensionRepository;
+        this.customExtensionRepository = customExtensionRepository;
+        this.groupPolicyRepository = groupPolicyRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.changeLogJdbcRepository = changeLogJdbcRepository;
+        this.fullRebuildTimer = rebuildTimer(meterRegistry, "all");
+        this.tenantRebuildTimer = rebuildTimer(meterRegistry, "tenant");
+        this.deltaTimer = rebuildTimer(meterRegistry, "delta");
+        this.snapshotFile = properties.snapshotFile();
+        if (snapshotFile != null) {
+            long interval = properties.snapshotWriteInterval().toMillis();
+            this.snapshotWriter = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("blocklist-snapshot-writer").daemon().factory());
+            snapshotWriter.scheduleWithFixedDelay(this::writeSnapshotFile, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.snapshotWriter = null;
+        }
+        Gauge.builder("flow.blocklist.tenants", this, BlocklistSnapshotHolder::tenantCount)
+                .description("스냅샷을 가진 테넌트 수")
+                .register(meterRegistry);
+        Gauge.builder("flow.blocklist.policies", this, BlocklistSnapshotHolder::distinctPolicyCount)
+                .description("테넌트들이 공유하는 서로 다른 정책 수")
+                .register(meterRegistry);
+        Gauge.builder("flow.blocklist.rules", this, BlocklistSnapshotHolder::totalRuleCount)
+                .description("전체 테넌트 스냅샷의 차단 규칙 수 합계")
+                .register(meterRegistry);
+        FunctionCounter.builder("flow.blocklist.intern", interner, BlocklistInterner::hits)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("flow.blocklist.intern", interner, BlocklistInterner::misses)
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    private static Timer rebuildTimer(MeterRegistry meterRegistry, String scope) {
+        return Timer.builder("flow.blocklist.rebuild")
+                .description("차단 스냅샷 재구성 시간 (all: 전체, tenant: 한 테넌트, delta: 변경 이력 적용)")
+                .tag("scope", scope)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 테넌트의 현재 스냅샷 조회 (락 없음, DB 접근 없음)
+     */
+    public BlocklistSnapshot current(String tenantId) {
+        return policy(tenantId).snapshot();
+    }
+
+    /**
+     * 테넌트의 현재 정책 버전
+     */
+    public long version(String tenantId) {
+        return policy(tenantId).version();
+    }
+
+    /**
+     * 마지막 전체 재구성 시점의 전체 정책 버전 (변경 이력 폴링 시작점)
+     */
+    public long getLatestVersion() {
+        return latestVersion;
+    }
+
+    /**
+     * 스냅샷을 가진 테넌트 수
+     */
+    public int tenantCount() {
+        return tenants.size();
+    }
+
+    /**
+     * 테넌트들이 공유하는 서로 다른 정책(스냅샷) 수
+     */
+    public int distinctPolicyCount() {
+        return interner.size();
+    }
+
+    private long totalRuleCount() {
+        return tenants.values().stream().mapToLong(policy -> policy.snapshot().size()).sum();
+    }
+
+    private TenantBlocklist policy(String tenantId) {
+        return tenants.getOrDefault(tenantId, TenantBlocklist.EMPTY);
+    }
+
+    /**
+     * 애플리케이션 시작 시 스냅샷 구성
+     * 스냅샷 파일이 있으면 파일로 구성하고 DB에서는 테넌트별 최신 버전만 읽어, 버전이 다른 테넌트만 다시 만듭니다.
+     * 파일이 없거나 손상되었으면 전체 재구성합니다.
+     */
+    public void initialize() {
+        rebuildLock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            boolean restored = restoreFromFile();
+            if (!restored) {
+                fullRebuildTimer.record(this::rebuildAllTenants);
+            }
+            log.info("Blocklist policy loaded in {} ms ({})",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), restored ? "snapshot file" : "database");
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private boolean restoreFromFile() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return false;
+        }
+        Map<String, TenantBlocklist> restored;
+        try {
+            restored = BlocklistSnapshotFile.read(snapshotFile);
+        } catch (IOException e) {
+            log.warn("Failed to read blocklist snapshot file {}: {}", snapshotFile, e.getMessage());
+            return false;
+        }
+        if (restored == null) {
+            log.warn("Ignoring corrupt blocklist snapshot file {}", snapshotFile);
+            return false;
+        }
+
+        long latest = changeLogRepository.findLatestVersion();
+        Map<String, Long> versions = changeLogJdbcRepository.findLatestVersionsByTenant();
+        Map<String, TenantBlocklist> loaded = new ConcurrentHashMap<>();
+        restored.forEach((tenantId, policy) ->
+                loaded.put(tenantId, new TenantBlocklist(interner.intern(policy.snapshot()), policy.version())));
+        tenants = loaded;
+
+        // 파일 기록 이후의 변경(비정상 종료, 다른 인스턴스의 변경)은 해당 테넌트만 DB에서 다시 읽습니다.
+        Set<String> stale = new HashSet<>();
+        versions.forEach((tenantId, version) -> {
+            if (policy(tenantId).version() != version) {
+                stale.add(tenantId);
+            }
+        });
+        loaded.forEach((tenantId, policy) -> {
+            if (!versions.containsKey(tenantId) && policy.version() != 0) {
+                stale.add(tenantId);
+            }
+        });
+        stale.forEach(this::rebuildTenant);
+        latestVersion = latest;
+        log.info("Restored blocklist snapshots from {}: {} tenants, {} distinct policies, {} tenants reloaded from database (version {})",
+                snapshotFile, loaded.size(), interner.size(), stale.size(), latest);
+        return true;
+    }
+
+    /**
+     * DB의 커밋된 상태로 전체 테넌트의 스냅샷을 새로 만들어 교체
+     * 버전을 먼저 읽으므로 스냅샷 내용은 항상 표시된 버전보다 같거나 새롭습니다.
+     * (사이에 끼어든 커밋은 그 커밋의 재구성에서 다시 반영됩니다.)
+     */
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            fullRebuildTimer.record(this::rebuildAllTenants);
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private void rebuildAllTenants() {
+        // 재구성 전에 커밋되어 적용을 기다리던 변경은 재구성에 함께 반영됩니다.
+        List<PendingChange> covered = new ArrayList<>();
+        appliers.values().forEach(applier -> covered.addAll(applier.drain()));
+        long latest = changeLogRepository.findLatestVersion();
+        Map<String, Long> versions = changeLogJdbcRepository.findLatestVersionsByTenant();
+        Map<String, List<FixedExtension>> fixedByTenant = fixedExtensionRepository.findAll().stream()
+                .collect(Collectors.groupingBy(FixedExtension::getTenantId));
+        Map<String, List<CustomExtension>> customByTenant = customExtensionRepository.findAll().stream()
+                .collect(Collectors.groupingBy(CustomExtension::getTenantId));
+        Map<String, List<ExtensionGroupPolicy>> groupsByTenant = groupPolicyRepository.findAll().stream()
+                .collect(Collectors.groupingBy(ExtensionGroupPolicy::getTenantId));
+
+        Set<String> tenantIds = new HashSet<>(versions.keySet());
+        tenantIds.addAll(fixedByTenant.keySet());
+        tenantIds.addAll(customByTenant.keySet());
+        tenantIds.addAll(groupsByTenant.keySet());
+        Map<String, TenantBlocklist> rebuilt = new HashMap<>();
+        for (String tenantId : tenantIds) {
+            BlocklistSnapshot snapshot = BlocklistSnapshot.of(
+                    fixedByTenant.getOrDefault(tenantId, List.of()),
+                    customByTenant.getOrDefault(tenantId, List.of()),
+                    groupsByTenant.getOrDefault(tenantId, List.of()));
+            rebuilt.put(tenantId, new TenantBlocklist(interner.intern(snapshot), versions.getOrDefault(tenantId, 0L)));
+        }
+        tenants = new ConcurrentHashMap<>(rebuilt);
+        latestVersion = latest;
+        snapshotDirty.set(true);
+        covered.forEach(pending -> pending.applied = true);
+        log.info("Rebuilt blocklist snapshots: {} tenants, {} distinct policies (version {})",
+                rebuilt.size(), interner.size(), latest);
+    }
+
+    /**
+     * DB의 커밋된 상태로 한 테넌트의 스냅샷만 새로 만들어 교체
+     */
+    public void rebuild(String tenantId) {
+        withTenantLock(tenantId, () -> tenantRebuildTimer.record(() -> rebuildTenant(tenantId)));
+    }
+
+    /**
+     * 테넌트 락을 잡고 실행 (전체 재구성과는 배타적, 다른 테넌트와는 동시 실행)
+     */
+    private void withTenantLock(String tenantId, Runnable action) {
+        TenantApplier applier = applier(tenantId);
+        rebuildLock.readLock().lock();
+        applier.lock.lock();
+        try {
+            action.run();
+        } finally {
+            applier.lock.unlock();
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private TenantApplier applier(String tenantId) {
+        return appliers.computeIfAbsent(tenantId, id -> new TenantApplier());
+    }
+
+    private void rebuildTenant(String tenantId) {
+        TenantApplier applier = appliers.get(tenantId);
+        List<PendingChange> covered = applier == null ? List.of() : applier.drain();
+        long version = changeLogRepository.findLatestVersionByTenantId(tenantId);
+        BlocklistSnapshot snapshot = interner.intern(BlocklistSnapshot.of(
+                fixedExtensionRepository.findByTenantId(tenantId),
+                customExtensionRepository.findByTenantId(tenantId),
+                groupPolicyRepository.findByTenantId(tenantId)));
+        tenants.put(tenantId, new TenantBlocklist(snapshot, version));
+        snapshotDirty.set(true);
+        covered.forEach(pending -> pending.applied = true);
+        log.info("Rebuilt blocklist snapshot for tenant {}: {} blocked extensions (version {}, {} distinct policies)",
+                tenantId, snapshot.size(), version, interner.size());
+    }
+
+    /**
+     * 한 테넌트의 변경 이력(id 오름차순)을 현재 스냅샷에 델타로 적용
+     * 스냅샷 버전 이하의 항목은 이미 반영된 것으로 보고 건너뜁니다.
+     * 단, 다른 인스턴스의 항목이 버전 이하로 늦게 도착한 경우(로컬 재구성과 경합) 반영 여부를 알 수 없으므로 재구성합니다.
+     */
+    public void applyChanges(String tenantId, List<ExtensionChangeLog> entries, String localOrigin) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        withTenantLock(tenantId, () -> applyChangesLocked(tenantId, entries, localOrigin));
+    }
+
+    private void applyChangesLocked(String tenantId, List<ExtensionChangeLog> entries, String localOrigin) {
+        TenantBlocklist policy = policy(tenantId);
+        long version = policy.version();
+        boolean stale = entries.stream()
+                .anyMatch(entry -> entry.getId() <= version && !localOrigin.equals(entry.getOrigin()));
+        if (stale) {
+            tenantRebuildTimer.record(() -> rebuildTenant(tenantId));
+            return;
+        }
+        List<ExtensionChangeLog> pending = entries.stream()
+                .filter(entry -> entry.getId() > version)
+                .toList();
+        if (pending.isEmpty()) {
+            return;
+        }
+        long newVersion = pending.get(pending.size() - 1).getId();
+        BlocklistSnapshot snapshot = deltaTimer.record(() -> interner.intern(
+                policy.snapshot().withChanges(pending.stream().map(ExtensionChangeLog::toChange).toList())));
+        tenants.put(tenantId, new TenantBlocklist(snapshot, newVersion));
+        snapshotDirty.set(true);
+        log.info("Applied {} blocklist changes for tenant {} (version {})", pending.size(), tenantId, newVersion);
+    }
+
+    /**
+     * 확장자 변경 트랜잭션 커밋 후 해당 테넌트 스냅샷에 변경 적용
+     * 다른 AFTER_COMMIT 리스너(SSE 전송 등)가 새 스냅샷을 보도록 가장 먼저 실행하며, 이 변경이 반영된 뒤에 반환합니다.
+     * 이벤트를 테넌트의 대기 목록에 넣고 테넌트 락을 기다리는 동안 앞선 스레드가 함께 적용했으면 DB 조회 없이 반환합니다.
+     */
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onExtensionChanged(ExtensionChangedEvent event) {
+        if (event.changes().isEmpty()) {
+            return;
+        }
+        String tenantId = event.tenantId();
+        PendingChange pending = new PendingChange(event);
+        applier(tenantId).pending.add(pending);
+        withTenantLock(tenantId, () -> {
+            if (!pending.applied) {
+                applyCommittedLocked(tenantId);
+            }
+        });
+    }
+
+    /**
+     * 대기 중인 커밋을 모두 모아 적용
+     * 스냅샷 버전 이후 커밋된 이력 id가 정확히 모은 커밋들의 이력 id이면 변경을 id 순서대로 한 번에 델타로 적용합니다.
+     * 다르면 아직 대기 목록에 오지 않은 커밋이나 다른 인스턴스의 변경이 끼어들었거나, 모은 변경이 이미(또는 더 새 버전보다 늦게)
+     * 반영되어 위치를 알 수 없으므로 테넌트를 다시 읽습니다. (개수만 비교하면 다른 커밋의 이력과 수가 우연히 같을 때 구분하지 못합니다.)
+     * 대기 목록의 커밋은 모두 재구성보다 먼저 커밋되었으므로 재구성에 함께 반영됩니다.
+     */
+    private void applyCommittedLocked(String tenantId) {
+        List<PendingChange> batch = applier(tenantId).drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+        // 이력 id 순서 = 커밋 안에서 변경이 기록된 순서 (대기 목록 도착 순서는 커밋 순서와 다를 수 있음)
+        Map<Long, ExtensionChange> changes = new TreeMap<>();
+        for (PendingChange pending : batch) {
+            List<Long> ids = pending.event.changeLogIds();
+            for (int i = 0; i < ids.size(); i++) {
+                changes.put(ids.get(i), pending.event.changes().get(i));
+            }
+        }
+        TenantBlocklist policy = policy(tenantId);
+        List<Long> committed = changeLogJdbcRepository.findIdsAfter(tenantId, policy.version());
+        if (committed.isEmpty() || !Set.copyOf(committed).equals(changes.keySet())) {
+            log.debug("Blocklist version mismatch for tenant {} (committed {} after version {}, pending {}), reloading",
+                    tenantId, committed, policy.version(), changes.keySet());
+            tenantRebuildTimer.record(() -> rebuildTenant(tenantId));
+        } else {
+            long version = committed.get(committed.size() - 1);
+            BlocklistSnapshot snapshot = deltaTimer.record(() -> interner.intern(
+                    policy.snapshot().withChanges(List.copyOf(changes.values()))));
+            tenants.put(tenantId, new TenantBlocklist(snapshot, version));
+            snapshotDirty.set(true);
+            log.info("Applied {} blocklist changes from {} commits for tenant {} (version {})",
+                    changes.size(), batch.size(), tenantId, version);
+        }
+        batch.forEach(pending -> pending.applied = true);
+    }
+
+    /**
+     * 테넌트별 변경 적용 상태 (락과 아직 적용하지 않은 커밋 목록)
+     */
+    private static final class TenantApplier {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Queue<PendingChange> pending = new ConcurrentLinkedQueue<>();
+
+        private List<PendingChange> drain() {
+            List<PendingChange> batch = new ArrayList<>();
+            for (PendingChange next; (next = pending.poll()) != null; ) {
+                batch.add(next);
+            }
+            return batch;
+        }
+    }
+
+    /**
+     * 커밋된 변경 하나 (테넌트 락이나 전체 재구성 락 안에서만 applied를 바꾸고 읽음)
+     */
+    private static final class PendingChange {
+
+        private final ExtensionChangedEvent event;
+        private boolean applied;
+
+        private PendingChange(ExtensionChangedEvent event) {
+            this.event = event;
+        }
+    }
+
+    /**
+     * 바뀐 정책이 있으면 스냅샷 파일 갱신 (전용 스레드에서 주기적으로 실행)
+     */
+    private void writeSnapshotFile() {
+        if (!snapshotDirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            Map<String, TenantBlocklist> current = Map.copyOf(tenants);
+            BlocklistSnapshotFile.write(snapshotFile, current);
+            log.debug("Wrote blocklist snapshot file {}: {} tenants in {} ms", snapshotFile, current.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            snapshotDirty.set(true);
+            log.warn("Failed to write blocklist snapshot file {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    /**
+     * 종료 시 마지막 변경까지 스냅샷 파일에 반영 (다음 시작은 DB 재구성 없이 파일로 구성)
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (snapshotWriter != null) {
+            snapshotWriter.shutdownNow();
+            writeSnapshotFile();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.flow.folwteamtest.policy;
+
+import com.flow.folwteamtest.common.ExtensionGroup;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * <h1>확장자 그룹 카탈로그</h1>
+ * <p>모든 그룹 멤버 확장자에 0부터 시작하는 연속 번호(ordinal)를 붙이고, 그룹 멤버십을 ordinal 비트마스크(long[])로 둡니다.
+ * 테넌트의 활성 정책 마스크는 차단된 그룹 마스크의 OR이며, 판정은 파일명에서 찾은 ordinal 비트를 정책 마스크와 AND하는 것뿐입니다.</p>
+ * <p>ordinal 조회는 멤버 전체로 한 번 만든 접미사 트라이를 모든 테넌트가 공유합니다.
+ * 그룹 구성은 코드(ExtensionGroup)로 고정되므로 애플리케이션 전체에 인스턴스 하나(INSTANCE)만 있습니다.</p>
+ */
+final class ExtensionGroupCatalog {
+
+    static final ExtensionGroupCatalog INSTANCE = new ExtensionGroupCatalog();
+
+    private final BlockedRule[] rules;
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final Map<ExtensionGroup, long[]> masks = new EnumMap<>(ExtensionGroup.class);
+    private final ReversedSuffixTrie trie;
+
+    private ExtensionGroupCatalog() {
+        Set<String> members = new TreeSet<>();
+        for (ExtensionGroup group : ExtensionGroup.values()) {
+            members.addAll(group.getExtensions());
+        }
+        List<String> extensions = List.copyOf(members);
+        rules = new BlockedRule[extensions.size()];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = new BlockedRule(BlockedRule.RuleType.GROUP, extensions.get(i));
+            ordinals.put(extensions.get(i), i);
+        }
+        for (ExtensionGroup group : ExtensionGroup.values()) {
+            long[] mask = newMask();
+            for (String extension : group.getExtensions()) {
+                int ordinal = ordinals.get(extension);
+                mask[ordinal >>> 6] |= 1L << ordinal;
+            }
+            masks.put(group, mask);
+        }
+        trie = ReversedSuffixTrie.build(extensions);
+    }
+
+    /**
+     * 차단된 그룹들의 멤버 비트마스크 (차단된 그룹이 없으면 null)
+     */
+    long[] maskOf(Set<ExtensionGroup> blockedGroups) {
+        if (blockedGroups.isEmpty()) {
+            return null;
+        }
+        long[] mask = newMask();
+        for (ExtensionGroup group : blockedGroups) {
+            long[] groupMask = masks.get(group);
+            for (int i = 0; i < mask.length; i++) {
+                mask[i] |= groupMask[i];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * 파일명 끝에서 정책 마스크에 속한 가장 긴 멤버 확장자 조회
+     * @return 일치하는 그룹 규칙, 없으면 null
+     */
+    BlockedRule match(String filename, int start, int end, long[] mask) {
+        int ordinal = trie.longestMatch(filename, start, end, mask);
+        return ordinal < 0 ? null : rules[ordinal];
+    }
+
+    /**
+     * 정규화된 확장자가 정책 마스크에 속하면 그룹 규칙 반환
+     */
+    BlockedRule matchExtension(String extension, long[] mask) {
+        Integer ordinal = ordinals.get(extension);
+        return ordinal != null && ReversedSuffixTrie.isSet(mask, ordinal) ? rules[ordinal] : null;
+    }
+
+    private long[] newMask() {
+        return new long[(rules.length + 63) >>> 6];
+    }
+}
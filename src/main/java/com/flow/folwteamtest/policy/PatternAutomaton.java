@@ -0,0 +1,400 @@
+package com.flow.folwteamtest.policy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h1>와일드카드 확장자 규칙 DFA</h1>
+ * <p>테넌트의 패턴 규칙(ph*, x?m, [ps]h*) 전체를 하나의 결정적 오토마톤으로 컴파일합니다.
+ * 파일명 한 글자당 전이 테이블 조회 한 번이므로 판정 비용은 파일명 길이에 선형이며 백트래킹이 없습니다.
+ * (패턴마다 java.util.regex를 돌리지 않으므로 악의적인 파일명으로 CPU를 묶어 둘 수 없습니다.)</p>
+ * <p>문법: '*'는 0개 이상, '?'는 정확히 1개의 문자, [abc]/[a-z]/[!a-z]는 문자 클래스입니다.
+ * 와일드카드와 클래스는 '.'과 일치하지 않으므로 패턴의 세그먼트 수는 고정됩니다. ("ph*"는 php.txt와 일치하지 않음)</p>
+ * <p>정확 일치 규칙과 같이 '.' 바로 뒤에서 시작해 파일명 끝까지 일치해야 합니다.
+ * 여러 패턴이 일치하면 더 긴(구체적인) 패턴을 반환합니다.</p>
+ * <p>부분집합 구성으로 만든 DFA 상태 수가 MAX_DFA_STATES를 넘으면 나머지 전이는 만들지 않고,
+ * 그 지점부터는 NFA 상태 집합을 직접 시뮬레이션합니다. 이 경우에도 비용은 파일명 길이 × 패턴 길이 합에 선형입니다.</p>
+ */
+final class PatternAutomaton {
+
+    static final PatternAutomaton EMPTY = compile(List.of());
+
+    private static final int MAX_DFA_STATES = 4096;
+    private static final int UNEXPLORED = -1;
+    // NFA 상태 0: 파일명을 훑는 중 (모든 문자에 머물고, '.'을 만나면 각 패턴의 시작 위치로 진입)
+    private static final int SCAN = 0;
+
+    private final int classCount;
+    private final int[] asciiClasses;
+    private final int otherClass;
+    private final int dotClass;
+
+    // NFA: 상태별 (소비 조건, 다음 상태), 패턴별 종료 상태
+    private final boolean[][] accepts;
+    private final int[] nextState;
+    private final boolean[] selfLoop;
+    private final BlockedRule[] acceptingRule;
+    private final int[] patternStarts;
+
+    // DFA: transitions[state * classCount + class]
+    private final int[] transitions;
+    private final BlockedRule[] dfaAccepting;
+    private final BitSet[] dfaSets;
+    private final int afterDot;
+
+    private PatternAutomaton(CharClasses classes, Nfa nfa) {
+        this.classCount = classes.count;
+        this.asciiClasses = classes.ascii;
+        this.otherClass = classes.other;
+        this.dotClass = classes.dot;
+        this.accepts = nfa.accepts.toArray(boolean[][]::new);
+        this.nextState = nfa.next.stream().mapToInt(Integer::intValue).toArray();
+        this.selfLoop = toArray(nfa.selfLoop);
+        this.acceptingRule = nfa.acceptingRule.toArray(BlockedRule[]::new);
+        this.patternStarts = nfa.patternStarts.stream().mapToInt(Integer::intValue).toArray();
+
+        BitSet start = new BitSet();
+        start.set(SCAN);
+        List<BitSet> sets = new ArrayList<>();
+        Map<BitSet, Integer> ids = new HashMap<>();
+        sets.add(start);
+        ids.put(start, 0);
+        int[] table = new int[classCount * 16];
+        for (int state = 0; state < sets.size(); state++) {
+            if (table.length < (state + 1) * classCount) {
+                table = Arrays.copyOf(table, table.length * 2);
+            }
+            for (int c = 0; c < classCount; c++) {
+                if (sets.size() >= MAX_DFA_STATES) {
+                    table[state * classCount + c] = UNEXPLORED;
+                    continue;
+                }
+                BitSet next = step(sets.get(state), c);
+                Integer id = ids.get(next);
+                if (id == null) {
+                    id = sets.size();
+                    sets.add(next);
+                    ids.put(next, id);
+                }
+                table[state * classCount + c] = id;
+            }
+        }
+        this.transitions = Arrays.copyOf(table, sets.size() * classCount);
+        this.dfaSets = sets.toArray(BitSet[]::new);
+        this.dfaAccepting = new BlockedRule[dfaSets.length];
+        for (int state = 0; state < dfaSets.length; state++) {
+            dfaAccepting[state] = acceptingOf(dfaSets[state]);
+        }
+        // 시작 상태의 전이는 항상 먼저 만들어지므로 상태 상한과 무관하게 존재합니다.
+        this.afterDot = transitions[dotClass];
+    }
+
+    /**
+     * 패턴 규칙 목록을 하나의 DFA로 컴파일 (규칙의 extension은 정규화된 패턴 문자열)
+     */
+    static PatternAutomaton compile(Collection<BlockedRule> rules) {
+        // 긴 패턴이 앞에 오도록 정렬해, 여러 패턴이 일치하면 가장 구체적인 규칙을 고릅니다.
+        List<BlockedRule> ordered = new ArrayList<>(rules);
+        ordered.sort(Comparator.comparingInt((BlockedRule rule) -> -rule.extension().length())
+                .thenComparing(BlockedRule::extension));
+        List<List<Atom>> patterns = new ArrayList<>(ordered.size());
+        for (BlockedRule rule : ordered) {
+            patterns.add(parse(rule.extension()));
+        }
+        CharClasses classes = CharClasses.of(patterns);
+        return new PatternAutomaton(classes, Nfa.of(ordered, patterns, classes));
+    }
+
+    boolean isEmpty() {
+        return patternStarts.length == 0;
+    }
+
+    /**
+     * filename[start, end)에서 '.' 뒤부터 끝까지 일치하는 패턴 규칙 조회
+     * @return 일치하는 규칙, 없으면 null
+     */
+    BlockedRule match(String filename, int start, int end) {
+        if (isEmpty()) {
+            return null;
+        }
+        return run(0, filename, start, end);
+    }
+
+    /**
+     * 확장자 문자열 전체가 패턴과 일치하는지 조회 ("php" → ph*)
+     */
+    BlockedRule matchExtension(String extension) {
+        if (isEmpty()) {
+            return null;
+        }
+        return run(afterDot, extension, 0, extension.length());
+    }
+
+    private BlockedRule run(int state, String input, int start, int end) {
+        for (int i = start; i < end; i++) {
+            int c = classOf(input.charAt(i));
+            int next = transitions[state * classCount + c];
+            if (next == UNEXPLORED) {
+                return simulate(dfaSets[state], input, i, end);
+            }
+            state = next;
+        }
+        return dfaAccepting[state];
+    }
+
+    /**
+     * DFA 상태 상한을 넘은 경우의 NFA 직접 시뮬레이션 (드문 경로, 상태 집합만 할당)
+     */
+    private BlockedRule simulate(BitSet states, String input, int start, int end) {
+        BitSet current = states;
+        for (int i = start; i < end; i++) {
+            current = step(current, classOf(input.charAt(i)));
+        }
+        return acceptingOf(current);
+    }
+
+    private BitSet step(BitSet states, int c) {
+        BitSet next = new BitSet();
+        for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+            if (s == SCAN) {
+                next.set(SCAN);
+                if (c == dotClass) {
+                    for (int patternStart : patternStarts) {
+                        addWithClosure(next, patternStart);
+                    }
+                }
+                continue;
+            }
+            if (accepts[s] == null || !accepts[s][c]) {
+                continue;
+            }
+            if (selfLoop[s]) {
+                addWithClosure(next, s);
+            } else {
+                addWithClosure(next, nextState[s]);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * 상태와, '*' 상태에서 0개 문자로 넘어갈 수 있는 다음 상태들을 함께 추가 (epsilon closure)
+     */
+    private void addWithClosure(BitSet set, int state) {
+        while (true) {
+            set.set(state);
+            if (!selfLoop[state]) {
+                return;
+            }
+            state = nextState[state];
+        }
+    }
+
+    private BlockedRule acceptingOf(BitSet states) {
+        BlockedRule best = null;
+        int bestLength = -1;
+        for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+            BlockedRule rule = acceptingRule[s];
+            if (rule != null && rule.extension().length() > bestLength) {
+                best = rule;
+                bestLength = rule.extension().length();
+            }
+        }
+        return best;
+    }
+
+    private int classOf(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            c = (char) (c + ('a' - 'A'));
+        } else if (c >= 0x80) {
+            c = Character.toLowerCase(c);
+        }
+        return c < 0x80 ? asciiClasses[c] : otherClass;
+    }
+
+    // ==================== 패턴 파싱 ====================
+
+    /**
+     * 패턴 원자: '*'(star) 또는 문자 하나를 소비하는 집합 (리터럴, '?', 클래스)
+     * @param chars  소비 가능한 ASCII 문자 (negated이면 여집합)
+     */
+    private record Atom(boolean star, boolean[] chars, boolean negated) {
+        boolean matches(char representative, boolean other) {
+            if (star) {
+                return representative != '.';
+            }
+            if (representative == '.') {
+                // 세그먼트 구분자는 리터럴 '.'만 소비합니다.
+                return !negated && chars['.'];
+            }
+            boolean inSet = !other && chars[representative];
+            return negated != inSet;
+        }
+    }
+
+    private static List<Atom> parse(String pattern) {
+        List<Atom> atoms = new ArrayList<>();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '*') {
+                // 연속된 '*'는 하나와 같습니다.
+                if (atoms.isEmpty() || !atoms.get(atoms.size() - 1).star()) {
+                    atoms.add(new Atom(true, null, false));
+                }
+                i++;
+            } else if (c == '?') {
+                atoms.add(new Atom(false, new boolean[128], true));
+                i++;
+            } else if (c == '[') {
+                int close = pattern.indexOf(']', i + 1);
+                if (close < 0) {
+                    throw new IllegalArgumentException("닫히지 않은 문자 클래스: " + pattern);
+                }
+                boolean negated = i + 1 < close && (pattern.charAt(i + 1) == '!' || pattern.charAt(i + 1) == '^');
+                boolean[] chars = new boolean[128];
+                for (int j = negated ? i + 2 : i + 1; j < close; j++) {
+                    char from = pattern.charAt(j);
+                    char to = from;
+                    if (j + 2 < close && pattern.charAt(j + 1) == '-') {
+                        to = pattern.charAt(j + 2);
+                        j += 2;
+                    }
+                    for (char x = from; x <= to && x < 128; x++) {
+                        chars[x] = true;
+                    }
+                }
+                atoms.add(new Atom(false, chars, negated));
+                i = close + 1;
+            } else {
+                boolean[] chars = new boolean[128];
+                if (c < 128) {
+                    chars[c] = true;
+                }
+                atoms.add(new Atom(false, chars, false));
+                i++;
+            }
+        }
+        return atoms;
+    }
+
+    // ==================== 문자 분류 ====================
+
+    /**
+     * 패턴들이 구분하는 문자만 남긴 입력 문자 동치류
+     * 어떤 패턴 원자에서도 같은 결과를 내는 문자들은 한 클래스로 묶어 전이 테이블 폭을 줄입니다.
+     */
+    private static final class CharClasses {
+        final int count;
+        final int[] ascii = new int[128];
+        final int other;
+        final int dot;
+        final char[] representatives;
+
+        private CharClasses(int count, int other, int dot, char[] representatives) {
+            this.count = count;
+            this.other = other;
+            this.dot = dot;
+            this.representatives = representatives;
+        }
+
+        static CharClasses of(List<List<Atom>> patterns) {
+            List<Atom> sets = new ArrayList<>();
+            for (List<Atom> atoms : patterns) {
+                for (Atom atom : atoms) {
+                    if (!atom.star()) {
+                        sets.add(atom);
+                    }
+                }
+            }
+            // ASCII 문자마다 (각 원자 포함 여부) 서명을 만들어 같은 서명끼리 묶습니다.
+            Map<String, Integer> bySignature = new HashMap<>();
+            List<Character> representatives = new ArrayList<>();
+            int[] ascii = new int[128];
+            for (char c = 0; c < 128; c++) {
+                StringBuilder signature = new StringBuilder(sets.size() + 1);
+                signature.append(c == '.' ? 'D' : 'C');
+                for (Atom atom : sets) {
+                    signature.append(atom.matches(c, false) ? '1' : '0');
+                }
+                Integer id = bySignature.get(signature.toString());
+                if (id == null) {
+                    id = representatives.size();
+                    bySignature.put(signature.toString(), id);
+                    representatives.add(c);
+                }
+                ascii[c] = id;
+            }
+            // 비ASCII 문자는 패턴 리터럴/클래스에 쓸 수 없으므로 하나의 클래스입니다.
+            int other = representatives.size();
+            representatives.add('\u0080');
+            char[] reps = new char[representatives.size()];
+            for (int i = 0; i < reps.length; i++) {
+                reps[i] = representatives.get(i);
+            }
+            CharClasses classes = new CharClasses(reps.length, other, ascii['.'], reps);
+            System.arraycopy(ascii, 0, classes.ascii, 0, 128);
+            return classes;
+        }
+
+        boolean isOther(int c) {
+            return c == other;
+        }
+    }
+
+    // ==================== NFA ====================
+
+    /**
+     * 패턴별 위치를 상태로 하는 NFA
+     * 상태 s에서 accepts[s][class]이면 nextState[s]로(또는 '*'이면 자기 자신으로) 이동합니다.
+     * 패턴 끝 위치 상태는 acceptingRule을 가집니다.
+     */
+    private static final class Nfa {
+        final List<boolean[]> accepts = new ArrayList<>();
+        final List<Integer> next = new ArrayList<>();
+        final List<Boolean> selfLoop = new ArrayList<>();
+        final List<BlockedRule> acceptingRule = new ArrayList<>();
+        final List<Integer> patternStarts = new ArrayList<>();
+
+        static Nfa of(List<BlockedRule> rules, List<List<Atom>> patterns, CharClasses classes) {
+            Nfa nfa = new Nfa();
+            nfa.add(null, -1, false, null);
+            for (int p = 0; p < patterns.size(); p++) {
+                List<Atom> atoms = patterns.get(p);
+                int base = nfa.accepts.size();
+                nfa.patternStarts.add(base);
+                for (int i = 0; i < atoms.size(); i++) {
+                    Atom atom = atoms.get(i);
+                    boolean[] accepts = new boolean[classes.count];
+                    for (int c = 0; c < classes.count; c++) {
+                        accepts[c] = atom.matches(classes.representatives[c], classes.isOther(c));
+                    }
+                    nfa.add(accepts, base + i + 1, atom.star(), null);
+                }
+                nfa.add(null, -1, false, rules.get(p));
+            }
+            return nfa;
+        }
+
+        private void add(boolean[] accepts, int next, boolean selfLoop, BlockedRule rule) {
+            this.accepts.add(accepts);
+            this.next.add(next);
+            this.selfLoop.add(selfLoop);
+            this.acceptingRule.add(rule);
+        }
+    }
+
+    private static boolean[] toArray(List<Boolean> values) {
+        boolean[] array = new boolean[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,154 @@
+package com.flow.folwteamtest.policy;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <h1>확장자 역순 접미사 트라이</h1>
+ * <p>확장자 목록을 뒤집어 넣은 트라이로, 파일명 끝에서 앞으로 한 글자씩 한 번만 걸어 내려가며
+ * 일치하는 확장자의 목록 내 위치(index)를 찾습니다. 조회 비용은 규칙 수와 무관하게 파일명 꼬리 길이에 비례하며,
+ * 부분 문자열을 만들지 않으므로 검사 한 건당 할당이 없습니다.</p>
+ * <p>노드는 BFS 순서로 번호를 매기고 자식 간선을 (레이블, 대상) 배열에 연속으로 담습니다(CSR).
+ * 자식 레이블은 정렬되어 있어 이진 탐색하며, 노드 객체가 없으므로 규칙이 수십만 개여도 배열 몇 개뿐입니다.</p>
+ * <p>생성 후 변경되지 않으므로 스레드 안전합니다.</p>
+ */
+final class ReversedSuffixTrie {
+
+    static final ReversedSuffixTrie EMPTY = build(List.of());
+
+    private final int[] childStart;
+    private final char[] labels;
+    private final int[] targets;
+    // 노드에서 끝나는 확장자의 index, 없으면 -1
+    private final int[] terminals;
+
+    private ReversedSuffixTrie(int[] childStart, char[] labels, int[] targets, int[] terminals) {
+        this.childStart = childStart;
+        this.labels = labels;
+        this.targets = targets;
+        this.terminals = terminals;
+    }
+
+    /**
+     * 확장자 목록으로 트라이 생성 (정규화되어 있고 서로 달라야 하며, 조회 결과는 목록 내 index입니다)
+     */
+    static ReversedSuffixTrie build(List<String> extensions) {
+        Entry[] entries = new Entry[extensions.size()];
+        int totalLength = 0;
+        for (int i = 0; i < entries.length; i++) {
+            String reversed = new StringBuilder(extensions.get(i)).reverse().toString();
+            entries[i] = new Entry(reversed, i);
+            totalLength += reversed.length();
+        }
+        Arrays.sort(entries, Comparator.comparing(Entry::key));
+
+        // 노드 수 상한: 루트 + 전체 글자 수. 노드 번호가 BFS 순서이므로 큐 위치가 곧 노드 번호입니다.
+        int capacity = totalLength + 1;
+        int[] rangeStart = new int[capacity];
+        int[] rangeEnd = new int[capacity];
+        int[] depths = new int[capacity];
+        int[] childStart = new int[capacity + 1];
+        char[] labels = new char[capacity];
+        int[] targets = new int[capacity];
+        int[] terminals = new int[capacity];
+        Arrays.fill(terminals, -1);
+
+        rangeEnd[0] = entries.length;
+        int nodeCount = 1;
+        int edgeCount = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            int lo = rangeStart[node];
+            int hi = rangeEnd[node];
+            int depth = depths[node];
+            childStart[node] = edgeCount;
+            // 같은 접두사를 공유하는 구간에서 접두사 자체인 키는 정렬상 맨 앞에 옵니다.
+            if (lo < hi && entries[lo].key().length() == depth) {
+                terminals[node] = entries[lo].index();
+                lo++;
+            }
+            while (lo < hi) {
+                char c = entries[lo].key().charAt(depth);
+                int next = lo + 1;
+                while (next < hi && entries[next].key().charAt(depth) == c) {
+                    next++;
+                }
+                labels[edgeCount] = c;
+                targets[edgeCount] = nodeCount;
+                edgeCount++;
+                rangeStart[nodeCount] = lo;
+                rangeEnd[nodeCount] = next;
+                depths[nodeCount] = depth + 1;
+                nodeCount++;
+                lo = next;
+            }
+        }
+        childStart[nodeCount] = edgeCount;
+        return new ReversedSuffixTrie(
+                Arrays.copyOf(childStart, nodeCount + 1),
+                Arrays.copyOf(labels, edgeCount),
+                Arrays.copyOf(targets, edgeCount),
+                Arrays.copyOf(terminals, nodeCount));
+    }
+
+    /**
+     * filename[start, end) 끝에서부터 일치하는 가장 긴 확장자 조회
+     * 확장자는 '.' 바로 뒤에서 시작해야 일치합니다. ("a.tar.gz"는 gz, tar.gz와 일치하고 "targz"는 gz와 일치하지 않음)
+     * @return 일치하는 가장 긴 확장자의 index, 없으면 -1
+     */
+    int longestMatch(String filename, int start, int end) {
+        return longestMatch(filename, start, end, null);
+    }
+
+    /**
+     * mask에 비트가 켜진 확장자 중 filename[start, end) 끝에서부터 일치하는 가장 긴 확장자 조회
+     * @param mask index를 비트 위치로 하는 허용 집합, null이면 전체
+     * @return 일치하는 가장 긴 확장자의 index, 없으면 -1
+     */
+    int longestMatch(String filename, int start, int end, long[] mask) {
+        int matched = -1;
+        int node = 0;
+        for (int i = end - 1; i > start; i--) {
+            node = child(node, lowerCase(filename.charAt(i)));
+            if (node < 0) {
+                break;
+            }
+            int index = terminals[node];
+            if (index >= 0 && filename.charAt(i - 1) == '.' && (mask == null || isSet(mask, index))) {
+                matched = index;
+            }
+        }
+        return matched;
+    }
+
+    static boolean isSet(long[] mask, int index) {
+        return (mask[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private int child(int node, char c) {
+        int lo = childStart[node];
+        int hi = childStart[node + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char label = labels[mid];
+            if (label < c) {
+                lo = mid + 1;
+            } else if (label > c) {
+                hi = mid - 1;
+            } else {
+                return targets[mid];
+            }
+        }
+        return -1;
+    }
+
+    private static char lowerCase(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        return c < 0x80 ? c : Character.toLowerCase(c);
+    }
+
+    private record Entry(String key, int index) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.flow.folwteamtest.policy;
+
+/**
+ * 테넌트의 현재 차단 정책
+ * 스냅샷은 같은 정책을 가진 테넌트끼리 공유하고, 버전만 테넌트별로 가집니다.
+ *
+ * @param snapshot 공유(인터닝)된 차단 스냅샷
+ * @param version  스냅샷에 반영된 테넌트의 정책 버전 (해당 테넌트 extension_change_log 최대 id)
+ */
+public record TenantBlocklist(BlocklistSnapshot snapshot, long version) {
+
+    public static final TenantBlocklist EMPTY = new TenantBlocklist(BlocklistSnapshot.EMPTY, 0);
+}
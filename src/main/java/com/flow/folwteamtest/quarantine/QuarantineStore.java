@@ -0,0 +1,249 @@
+package com.flow.folwteamtest.quarantine;
+
+import com.flow.folwteamtest.config.QuarantineProperties;
+import com.flow.folwteamtest.entity.CustomExtension;
+import com.flow.folwteamtest.entity.FixedExtension;
+import com.flow.folwteamtest.policy.BlockedRule;
+import com.flow.folwteamtest.repository.CustomExtensionRepository;
+import com.flow.folwteamtest.repository.FixedExtensionRepository;
+import com.flow.folwteamtest.repository.QuarantineSampleJdbcRepository;
+import com.flow.folwteamtest.repository.QuarantineSampleJdbcRepository.StoredSample;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h1>차단 업로드 격리 보관소</h1>
+ * <p>차단된 파일 파트 본문을 flow.quarantine.directory 아래 "테넌트/SHA-256" 파일로 보관합니다.
+ * 요청 스레드는 임시 파일에 쓰기만 하고(QuarantineWriter), 파일 이동과 메타데이터 기록은 전용 스레드 하나가 처리합니다.
+ * 허용된 업로드는 이 보관소를 거치지 않습니다.</p>
+ * <p>같은 테넌트에서 같은 내용이 다시 차단되면 파일을 새로 두지 않고 기존 샘플의 차단 횟수와 마지막 시각만 갱신합니다.</p>
+ * <p>같은 스레드가 evictionInterval마다 마지막 접근(차단 또는 내려받기) 후 maxAge가 지난 샘플을 지우고,
+ * 전체 크기가 maxTotalSize를 넘으면 가장 오래 접근하지 않은 샘플부터 지웁니다.
+ * 기록과 정리가 한 스레드에서 차례로 실행되므로 서로 겹치지 않습니다.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "flow.quarantine", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(QuarantineProperties.class)
+public class QuarantineStore {
+
+    private static final String TEMP_DIRECTORY = ".tmp";
+    private static final int EVICTION_BATCH_SIZE = 100;
+
+    private final QuarantineSampleJdbcRepository sampleJdbcRepository;
+    private final FixedExtensionRepository fixedExtensionRepository;
+    private final CustomExtensionRepository customExtensionRepository;
+    private final QuarantineProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Path tempDirectory;
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("quarantine-store").daemon().factory());
+
+    public QuarantineStore(QuarantineSampleJdbcRepository sampleJdbcRepository,
+                           FixedExtensionRepository fixedExtensionRepository,
+                           CustomExtensionRepository customExtensionRepository,
+                           QuarantineProperties properties,
+                           MeterRegistry meterRegistry) throws IOException {
+        this.sampleJdbcRepository = sampleJdbcRepository;
+        this.fixedExtensionRepository = fixedExtensionRepository;
+        this.customExtensionRepository = customExtensionRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.tempDirectory = properties.directory().resolve(TEMP_DIRECTORY);
+        Files.createDirectories(tempDirectory);
+        // 비정상 종료로 남은 임시 파일 정리
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(tempDirectory)) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+        Gauge.builder("flow.quarantine.size", storedBytes, AtomicLong::get)
+                .description("격리 보관 중인 샘플 전체 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 기동 완료(스키마 생성) 후 보관 크기를 읽고 주기적 정리 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = properties.evictionInterval().toMillis();
+        executor.execute(() -> storedBytes.set(sampleJdbcRepository.totalSize()));
+        executor.scheduleWithFixedDelay(this::evictSafely, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Quarantine store started: directory={}, maxTotalSize={}, maxAge={}",
+                properties.directory().toAbsolutePath(), properties.maxTotalSize(), properties.maxAge());
+    }
+
+    /**
+     * 차단된 파트 하나의 본문 기록 시작 (요청 스레드에서 호출)
+     * @return 임시 파일을 만들 수 없으면 null (격리 없이 거부)
+     */
+    public QuarantineWriter open(QuarantinedUpload upload) {
+        try {
+            return new QuarantineWriter(upload, tempDirectory.resolve(UUID.randomUUID().toString()),
+                    properties.maxSampleSize().toBytes());
+        } catch (IOException e) {
+            count("failed");
+            log.warn("Failed to open quarantine temp file", e);
+            return null;
+        }
+    }
+
+    /**
+     * 본문을 다 쓴 샘플을 보관 스레드에 넘김 (요청 스레드는 기다리지 않습니다)
+     */
+    public void commit(QuarantineWriter writer) {
+        try {
+            executor.execute(() -> store(writer));
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            writer.discard();
+        }
+    }
+
+    /**
+     * 보관하지 않고 임시 파일 삭제
+     * @param oversized 최대 샘플 크기를 넘어서 버리는 경우 true
+     */
+    public void discard(QuarantineWriter writer, boolean oversized) {
+        writer.discard();
+        count(oversized ? "oversized" : "aborted");
+    }
+
+    /**
+     * 보관 파일 경로
+     */
+    public Path pathOf(String tenantId, String sha256) {
+        return properties.directory().resolve(tenantId).resolve(sha256);
+    }
+
+    /**
+     * 내려받은 샘플의 마지막 접근 시각 갱신 (LRU 정리 기준, 보관 스레드에서 비동기로 반영)
+     */
+    public void touch(long sampleId) {
+        LocalDateTime accessedAt = LocalDateTime.now();
+        try {
+            executor.execute(() -> sampleJdbcRepository.touch(sampleId, accessedAt));
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+
+    private void store(QuarantineWriter writer) {
+        QuarantinedUpload upload = writer.upload();
+        String tenantId = upload.context().tenantId();
+        try {
+            String sha256 = writer.finish();
+            Path target = pathOf(tenantId, sha256);
+            if (Files.exists(target)) {
+                Files.delete(writer.tempFile());
+            } else {
+                Files.createDirectories(target.getParent());
+                Files.move(writer.tempFile(), target, StandardCopyOption.ATOMIC_MOVE);
+                storedBytes.addAndGet(writer.size());
+            }
+            if (sampleJdbcRepository.touchExisting(tenantId, sha256, upload.occurredAt())) {
+                count("duplicate");
+                return;
+            }
+            BlockedRule rule = upload.rule();
+            Long fixedExtensionId = rule.type() == BlockedRule.RuleType.FIXED
+                    ? fixedExtensionRepository.findByTenantIdAndName(tenantId, rule.extension())
+                            .map(FixedExtension::getId).orElse(null)
+                    : null;
+            Long customExtensionId = rule.type() == BlockedRule.RuleType.CUSTOM || rule.type() == BlockedRule.RuleType.PATTERN
+                    ? customExtensionRepository.findByTenantIdAndExtension(tenantId, rule.extension())
+                            .map(CustomExtension::getId).orElse(null)
+                    : null;
+            sampleJdbcRepository.insert(upload, sha256, writer.size(), fixedExtensionId, customExtensionId);
+            count("stored");
+        } catch (IOException | RuntimeException e) {
+            writer.discard();
+            count("failed");
+            log.warn("Failed to store quarantine sample for {} (tenant: {})", upload.filename(), tenantId, e);
+        }
+    }
+
+    private void evictSafely() {
+        try {
+            evict();
+        } catch (RuntimeException e) {
+            log.warn("Quarantine eviction failed", e);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 샘플을 지운 뒤, 전체 크기가 상한 이하가 될 때까지 오래 접근하지 않은 샘플부터 삭제
+     */
+    void evict() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(properties.maxAge());
+        List<StoredSample> expired;
+        do {
+            expired = sampleJdbcRepository.findSeenBefore(expiredBefore, EVICTION_BATCH_SIZE);
+            expired.forEach(sample -> delete(sample, "expired"));
+        } while (expired.size() == EVICTION_BATCH_SIZE);
+
+        long maxTotalSize = properties.maxTotalSize().toBytes();
+        long total = sampleJdbcRepository.totalSize();
+        while (total > maxTotalSize) {
+            List<StoredSample> oldest = sampleJdbcRepository.findLeastRecentlySeen(EVICTION_BATCH_SIZE);
+            if (oldest.isEmpty()) {
+                break;
+            }
+            for (StoredSample sample : oldest) {
+                if (total <= maxTotalSize) {
+                    break;
+                }
+                delete(sample, "evicted");
+                total -= sample.size();
+            }
+        }
+        storedBytes.set(sampleJdbcRepository.totalSize());
+    }
+
+    private void delete(StoredSample sample, String reason) {
+        try {
+            Files.deleteIfExists(pathOf(sample.tenantId(), sample.sha256()));
+        } catch (IOException e) {
+            // 행은 지워 정리가 같은 샘플에서 멈추지 않도록 합니다.
+            log.warn("Failed to delete quarantine sample file {}", sample.id(), e);
+        }
+        sampleJdbcRepository.delete(sample.id());
+        count(reason);
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("flow.quarantine.samples", "result", result).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
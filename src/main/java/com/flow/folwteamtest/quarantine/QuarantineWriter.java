@@ -0,0 +1,104 @@
+package com.flow.folwteamtest.quarantine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * <h1>격리 샘플 임시 파일 기록기</h1>
+ * <p>차단된 파트 하나의 본문을 임시 파일에 쓰면서 SHA-256을 함께 계산합니다.
+ * 스캐너가 넘겨준 버퍼를 ByteBuffer.wrap으로 감싸 그대로 채널에 쓰므로 별도의 힙 복사본을 만들지 않습니다.</p>
+ * <p>요청 스레드 하나만 사용하며, 본문이 끝나면 QuarantineStore.commit으로 넘기고 중간에 끝나면 discard로 지웁니다.</p>
+ */
+@Slf4j
+public final class QuarantineWriter {
+
+    private final QuarantinedUpload upload;
+    private final Path tempFile;
+    private final FileChannel channel;
+    private final MessageDigest digest;
+    private final long maxSize;
+    private long size;
+    private boolean closed;
+
+    QuarantineWriter(QuarantinedUpload upload, Path tempFile, long maxSize) throws IOException {
+        this.upload = upload;
+        this.tempFile = tempFile;
+        this.maxSize = maxSize;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        this.channel = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    public boolean write(byte[] buffer, int offset, int length) {
+        return write(ByteBuffer.wrap(buffer, offset, length));
+    }
+
+    /**
+     * 본문 일부 기록 (data의 position은 끝까지 이동)
+     * @return 최대 크기를 넘었거나 쓰기에 실패하면 false (이후 discard해야 합니다)
+     */
+    public boolean write(ByteBuffer data) {
+        if (size + data.remaining() > maxSize) {
+            return false;
+        }
+        size += data.remaining();
+        digest.update(data.duplicate());
+        try {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to write quarantine sample {}", tempFile, e);
+            return false;
+        }
+    }
+
+    public QuarantinedUpload upload() {
+        return upload;
+    }
+
+    long size() {
+        return size;
+    }
+
+    Path tempFile() {
+        return tempFile;
+    }
+
+    /**
+     * 채널을 닫고 본문 해시(16진수) 반환
+     */
+    String finish() throws IOException {
+        close();
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    void discard() {
+        try {
+            close();
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            log.warn("Failed to delete quarantine temp file {}", tempFile, e);
+        }
+    }
+
+    private void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            channel.close();
+        }
+    }
+}
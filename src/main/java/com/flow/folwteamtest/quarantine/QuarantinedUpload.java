@@ -0,0 +1,18 @@
+package com.flow.folwteamtest.quarantine;
+
+import com.flow.folwteamtest.audit.AuditContext;
+import com.flow.folwteamtest.policy.BlockedRule;
+
+import java.time.LocalDateTime;
+
+/**
+ * 격리 보관할 차단 업로드 파트 하나의 판정 정보
+ *
+ * @param filename     차단된 파일명
+ * @param rule         일치한 차단 규칙
+ * @param detectedType 시그니처 검사로 거부된 경우 판별된 형식, 이름으로 거부되었으면 null
+ * @param occurredAt   차단 시각
+ */
+public record QuarantinedUpload(AuditContext context, String filename, BlockedRule rule, String detectedType,
+                                LocalDateTime occurredAt) {
+}
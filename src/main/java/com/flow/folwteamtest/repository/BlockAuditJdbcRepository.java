@@ -0,0 +1,57 @@
+package com.flow.folwteamtest.repository;
+
+import com.flow.folwteamtest.audit.BlockAuditEvent;
+import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.common.ExtensionNames;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * 감사 로그 기록용 JDBC 저장소
+ * 기록 스레드가 모은 이벤트를 한 트랜잭션, 한 번의 배치 INSERT로 저장합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BlockAuditJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void batchInsert(List<BlockAuditEvent> events) {
+        jdbcTemplate.batchUpdate(
+                "insert into block_audit_log (tenant_id, occurred_at, filename, extension, blocked, rule_type, source, user_id, client_ip)"
+                        + " values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                events, events.size(), (ps, event) -> {
+                    String filename = truncate(event.filename(), ExtensionConstants.FILENAME_MAX_LENGTH);
+                    String extension = event.blocked()
+                            ? event.rule().extension()
+                            : truncate(ExtensionNames.extensionOf(filename), ExtensionConstants.EXTENSION_MAX_LENGTH);
+                    ps.setString(1, event.context().tenantId());
+                    ps.setTimestamp(2, new Timestamp(event.timestamp()));
+                    ps.setString(3, filename);
+                    ps.setString(4, extension);
+                    ps.setBoolean(5, event.blocked());
+                    if (event.blocked()) {
+                        ps.setString(6, event.rule().type().name());
+                    } else {
+                        ps.setNull(6, Types.VARCHAR);
+                    }
+                    ps.setString(7, event.context().source().name());
+                    ps.setString(8, event.context().userId());
+                    ps.setString(9, event.context().clientIp());
+                });
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null) {
+            return "";
+        }
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
@@ -0,0 +1,27 @@
+package com.flow.folwteamtest.repository;
+
+import com.flow.folwteamtest.entity.BlockAuditLog;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BlockAuditLogRepository extends JpaRepository<BlockAuditLog, Long> {
+
+    /**
+     * 최신순 키셋 조회 (id < before)
+     * extension, blocked가 null이면 해당 조건을 적용하지 않습니다.
+     */
+    @Query("select a from BlockAuditLog a"
+            + " where a.tenantId = :tenantId and a.id < :before"
+            + " and a.occurredAt >= :from and a.occurredAt < :to"
+            + " and (:extension is null or a.extension = :extension)"
+            + " and (:blocked is null or a.blocked = :blocked)"
+            + " order by a.id desc")
+    List<BlockAuditLog> search(String tenantId, long before, LocalDateTime from, LocalDateTime to,
+                               String extension, Boolean blocked, Limit limit);
+}
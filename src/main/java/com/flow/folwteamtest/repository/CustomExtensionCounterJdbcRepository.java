@@ -0,0 +1,103 @@
+package com.flow.folwteamtest.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 테넌트별 커스텀 확장자 개수 저장소 (custom_extension_counter)
+ * 호출자의 트랜잭션(JPA와 같은 커넥션)에 참여하므로 확장자 등록/삭제와 함께 커밋/롤백됩니다.
+ * 증감은 확장자 행을 추가/삭제한 "뒤에" 호출합니다. 카운터 행이 없으면 그 시점의 custom_extension을 세어 만들기 때문입니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomExtensionCounterJdbcRepository {
+
+    // custom_extension에서 직접 세는 식 (카운터 행이 없을 때만 사용, ExtensionNames.isPattern과 같은 기준)
+    private static final String COUNT_QUERY = "select count(*) as extensions, count(case when extension like '%*%'"
+            + " or extension like '%?%' or extension like '%[%' then 1 end) as patterns"
+            + " from custom_extension where tenant_id = ?";
+
+    // 한도 안에서만 증감 (조건 검사와 증감이 한 문장이므로 동시 등록이 한도를 넘길 수 없음)
+    private static final String ADD_WITHIN_LIMITS = "update custom_extension_counter"
+            + " set extension_count = extension_count + ?, pattern_count = pattern_count + ?"
+            + " where tenant_id = ? and extension_count + ? <= ? and pattern_count + ? <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param extensions 전체 커스텀 확장자 수
+     * @param patterns   그중 와일드카드 규칙 수
+     */
+    public record Counts(long extensions, long patterns) {
+
+        public boolean within(long maxExtensions, long maxPatterns) {
+            return extensions <= maxExtensions && patterns <= maxPatterns;
+        }
+    }
+
+    /**
+     * 현재 개수 조회 (카운터 행이 없으면 custom_extension을 세어 반환하며 행은 만들지 않음)
+     */
+    public Counts find(String tenantId) {
+        List<Counts> counts = jdbcTemplate.query(
+                "select extension_count, pattern_count from custom_extension_counter where tenant_id = ?",
+                (rs, rowNum) -> new Counts(rs.getLong(1), rs.getLong(2)), tenantId);
+        if (!counts.isEmpty()) {
+            return counts.get(0);
+        }
+        return countFromTable(tenantId);
+    }
+
+    /**
+     * 한도 안이면 개수 증감 (확장자 행을 추가한 뒤 호출)
+     * 카운터 행 잠금은 이 문장부터 커밋까지이므로, 같은 테넌트의 쓰기도 INSERT 자체는 동시에 진행됩니다.
+     * @return 한도를 넘으면 false (호출자는 예외를 던져 추가한 행까지 롤백)
+     */
+    public boolean tryAdd(String tenantId, long extensions, long patterns, long maxExtensions, long maxPatterns) {
+        if (addWithinLimits(tenantId, extensions, patterns, maxExtensions, maxPatterns)) {
+            return true;
+        }
+        if (initialize(tenantId)) {
+            // 방금 센 개수에 이번 변경이 이미 포함되어 있음
+            return countFromTable(tenantId).within(maxExtensions, maxPatterns);
+        }
+        // 한도 초과이거나, 다른 트랜잭션이 방금 카운터 행을 만든 경우
+        return addWithinLimits(tenantId, extensions, patterns, maxExtensions, maxPatterns);
+    }
+
+    /**
+     * 한도 검사 없이 개수 증감 (확장자 행을 삭제한 뒤 호출)
+     */
+    public void add(String tenantId, long extensions, long patterns) {
+        tryAdd(tenantId, extensions, patterns, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    private boolean addWithinLimits(String tenantId, long extensions, long patterns, long maxExtensions, long maxPatterns) {
+        return jdbcTemplate.update(ADD_WITHIN_LIMITS, extensions, patterns, tenantId,
+                extensions, maxExtensions, patterns, maxPatterns) == 1;
+    }
+
+    private Counts countFromTable(String tenantId) {
+        return jdbcTemplate.queryForObject(COUNT_QUERY,
+                (rs, rowNum) -> new Counts(rs.getLong(1), rs.getLong(2)), tenantId);
+    }
+
+    /**
+     * 카운터 행이 없으면 custom_extension을 한 번 세어 생성
+     * @return 이 호출이 행을 만들었으면 true (이미 있거나 다른 트랜잭션이 먼저 만들었으면 false)
+     */
+    private boolean initialize(String tenantId) {
+        try {
+            return jdbcTemplate.update("insert into custom_extension_counter (tenant_id, extension_count, pattern_count)"
+                    + " select ?, c.extensions, c.patterns from (" + COUNT_QUERY + ") c"
+                    + " where not exists (select 1 from custom_extension_counter where tenant_id = ?)",
+                    tenantId, tenantId, tenantId) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.flow.folwteamtest.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 커스텀 확장자 쓰기/대량 처리용 JDBC 저장소
+ * IDENTITY 키 전략에서는 Hibernate가 INSERT를 배치로 묶지 않으므로, 일괄 등록/내보내기는 JDBC로 직접 처리합니다.
+ * 한 건 등록/삭제도 확인 조회 없이 한 문장으로 실행하고, 제약 위반은 예외 변환(DuplicateKeyException)으로 판단합니다.
+ * (JPA 쓰기 실패는 트랜잭션을 rollback-only로 만들지만, JDBC 예외는 호출자가 처리 방법을 정할 수 있습니다.)
+ * 호출자의 트랜잭션(JPA와 같은 커넥션)에 참여합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomExtensionJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int FETCH_SIZE = 500;
+    private static final int IN_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 테넌트에 등록된 확장자 이름 전체 조회 (엔티티 생성 없이 문자열만)
+     */
+    public Set<String> findAllExtensions(String tenantId) {
+        Set<String> extensions = new HashSet<>();
+        jdbcTemplate.query("select extension from custom_extension where tenant_id = ?",
+                (RowCallbackHandler) rs -> extensions.add(rs.getString(1)), tenantId);
+        return extensions;
+    }
+
+    /**
+     * 한 건 INSERT (중복 확인 없이 바로 넣고, 유니크 제약 위반은 DuplicateKeyException으로 전달)
+     * @return 생성된 ID
+     */
+    public long insert(String tenantId, String extension, LocalDateTime createdAt) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "insert into custom_extension (tenant_id, extension, created_at) values (?, ?, ?)", new String[] {"id"});
+            statement.setString(1, tenantId);
+            statement.setString(2, extension);
+            statement.setTimestamp(3, Timestamp.valueOf(createdAt));
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKeyAs(Long.class);
+    }
+
+    /**
+     * ID로 삭제
+     * @return 삭제한 행 수 (다른 요청이 먼저 삭제했으면 0)
+     */
+    public int delete(String tenantId, long id) {
+        return jdbcTemplate.update("delete from custom_extension where id = ? and tenant_id = ?", id, tenantId);
+    }
+
+    /**
+     * BATCH_SIZE 단위 JDBC 배치 INSERT
+     */
+    public void batchInsert(String tenantId, List<String> extensions, LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate("insert into custom_extension (tenant_id, extension, created_at) values (?, ?, ?)",
+                extensions, BATCH_SIZE, (ps, extension) -> {
+                    ps.setString(1, tenantId);
+                    ps.setString(2, extension);
+                    ps.setTimestamp(3, timestamp);
+                });
+    }
+
+    /**
+     * 주어진 확장자 중 테넌트에 이미 등록된 것 (요청한 확장자 수에 비례, 테넌트 전체를 읽지 않음)
+     */
+    public Set<String> findExistingExtensions(String tenantId, Collection<String> extensions) {
+        Set<String> existing = new HashSet<>();
+        queryByExtensions("extension", tenantId, extensions, rs -> existing.add(rs.getString(1)));
+        return existing;
+    }
+
+    /**
+     * 확장자 이름 → ID 조회 (배치 INSERT는 생성 키를 돌려주지 않으므로 요청한 확장자만 다시 조회)
+     */
+    public Map<String, Long> findIdsByExtensions(String tenantId, Collection<String> extensions) {
+        Map<String, Long> ids = new HashMap<>();
+        queryByExtensions("id, extension", tenantId, extensions, rs -> ids.put(rs.getString(2), rs.getLong(1)));
+        return ids;
+    }
+
+    /**
+     * (tenant_id, extension) 유니크 인덱스로 IN_CHUNK_SIZE개씩 나누어 조회
+     */
+    private void queryByExtensions(String columns, String tenantId, Collection<String> extensions, RowCallbackHandler handler) {
+        List<String> values = List.copyOf(extensions);
+        for (int from = 0; from < values.size(); from += IN_CHUNK_SIZE) {
+            List<String> chunk = values.subList(from, Math.min(values.size(), from + IN_CHUNK_SIZE));
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = tenantId;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            jdbcTemplate.query("select " + columns + " from custom_extension where tenant_id = ? and extension in ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")", handler, args);
+        }
+    }
+
+    /**
+     * 테넌트의 전체 행을 ID 순으로 한 행씩 콜백 (결과를 메모리에 모으지 않음)
+     */
+    public void streamAll(String tenantId, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "select id, extension, created_at from custom_extension where tenant_id = ? order by id");
+            statement.setString(1, tenantId);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, handler);
+    }
+}
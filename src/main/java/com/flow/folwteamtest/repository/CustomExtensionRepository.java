@@ -1,14 +1,23 @@
 package com.flow.folwteamtest.repository;
 
 import com.flow.folwteamtest.entity.CustomExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomExtensionRepository extends JpaRepository<CustomExtension, Long> {
-    boolean existsByExtension(String extension);
-    Optional<CustomExtension> findByExtension(String extension);
-    long count();
+    List<CustomExtension> findByTenantId(String tenantId);
+    Optional<CustomExtension> findByTenantIdAndExtension(String tenantId, String extension);
+    Optional<CustomExtension> findByIdAndTenantId(Long id, String tenantId);
+
+    /**
+     * 이름순 키셋 조회 (접두사 일치, extension > after)
+     * (tenant_id, extension) 유니크 인덱스의 범위 조회이므로 목록 크기와 무관하게 한 페이지만 읽습니다.
+     */
+    List<CustomExtension> findByTenantIdAndExtensionStartingWithAndExtensionGreaterThanOrderByExtension(
+            String tenantId, String prefix, String after, Limit limit);
 }
@@ -0,0 +1,92 @@
+package com.flow.folwteamtest.repository;
+
+import com.flow.folwteamtest.event.ExtensionChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 정책 변경 이력 기록용 JDBC 저장소
+ * 일괄 등록처럼 한 트랜잭션에 변경이 많을 때도 배치 INSERT 한 번으로 기록합니다.
+ * 호출자의 트랜잭션(JPA와 같은 커넥션)에 참여합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExtensionChangeLogJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String INSERT_SQL =
+            "insert into extension_change_log (tenant_id, change_type, extension_id, extension, blocked, changed_at, origin) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 테넌트별 최신 정책 버전 (스냅샷 전체 재구성용)
+     */
+    public Map<String, Long> findLatestVersionsByTenant() {
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query("select tenant_id, max(id) from extension_change_log group by tenant_id",
+                (RowCallbackHandler) rs -> versions.put(rs.getString(1), rs.getLong(2)));
+        return versions;
+    }
+
+    /**
+     * 테넌트에서 since 이후 커밋된 변경의 id 오름차순 목록 ((tenant_id, id) 인덱스 범위 조회, 새 이력 수에 비례)
+     */
+    public List<Long> findIdsAfter(String tenantId, long since) {
+        return jdbcTemplate.queryForList(
+                "select id from extension_change_log where tenant_id = ? and id > ? order by id",
+                Long.class, tenantId, since);
+    }
+
+    /**
+     * 변경 이력 기록
+     * @return 기록된 이력 id (changes와 같은 순서)
+     */
+    public List<Long> batchInsert(String tenantId, List<ExtensionChange> changes, LocalDateTime changedAt, String origin) {
+        Timestamp timestamp = Timestamp.valueOf(changedAt);
+        List<Long> ids = new ArrayList<>(changes.size());
+        for (int from = 0; from < changes.size(); from += BATCH_SIZE) {
+            List<ExtensionChange> chunk = changes.subList(from, Math.min(changes.size(), from + BATCH_SIZE));
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ExtensionChange change = chunk.get(i);
+                            ps.setString(1, tenantId);
+                            ps.setString(2, change.type().name());
+                            if (change.id() == null) {
+                                ps.setNull(3, Types.BIGINT);
+                            } else {
+                                ps.setLong(3, change.id());
+                            }
+                            ps.setString(4, change.extension());
+                            ps.setBoolean(5, change.blocked());
+                            ps.setTimestamp(6, timestamp);
+                            ps.setString(7, origin);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    }, keys);
+            keys.getKeyList().forEach(key -> ids.add(((Number) key.values().iterator().next()).longValue()));
+        }
+        return ids;
+    }
+}
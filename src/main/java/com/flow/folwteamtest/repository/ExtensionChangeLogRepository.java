@@ -0,0 +1,21 @@
+package com.flow.folwteamtest.repository;
+
+import com.flow.folwteamtest.entity.ExtensionChangeLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ExtensionChangeLogRepository extends JpaRepository<ExtensionChangeLog, Long> {
+    List<ExtensionChangeLog> findTop1000ByIdGreaterThanOrderByIdAsc(Long id);
+
+    List<ExtensionChangeLog> findTop1000ByTenantIdAndIdGreaterThanOrderByIdAsc(String tenantId, Long id);
+
+    @Query("select coalesce(max(c.id), 0) from ExtensionChangeLog c")
+    long findLatestVersion();
+
+    @Query("select coalesce(max(c.id), 0) from ExtensionChangeLog c where c.tenantId = :tenantId")
+    long findLatestVersionByTenantId(String tenantId);
+}
@@ -0,0 +1,14 @@
+package com.flow.folwteamtest.repository;
+
+import com.flow.folwteamtest.entity.ExtensionGroupPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExtensionGroupPolicyRepository extends JpaRepository<ExtensionGroupPolicy, Long> {
+    List<ExtensionGroupPolicy> findByTenantId(String tenantId);
+    Optional<ExtensionGroupPolicy> findByTenantIdAndGroupCode(String tenantId, String groupCode);
+}
@@ -0,0 +1,37 @@
+package com.flow.folwteamtest.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 고정 확장자 초기 생성용 JDBC 저장소
+ * 호출자의 트랜잭션(JPA와 같은 커넥션)에 참여합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FixedExtensionJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 테넌트에 없는 고정 확장자만 차단 해제 상태로 생성 (INSERT ... SELECT 한 문장, 여러 번 실행해도 결과가 같음)
+     * @return 새로 생성한 개수
+     */
+    public int insertMissing(String tenantId, List<String> names) {
+        String values = String.join(", ", Collections.nCopies(names.size(), "(cast(? as varchar(255)))"));
+        List<Object> args = new ArrayList<>(names.size() + 2);
+        args.add(tenantId);
+        args.addAll(names);
+        args.add(tenantId);
+        return jdbcTemplate.update(
+                "insert into fixed_extension (tenant_id, name, blocked) "
+                        + "select ?, v.name, false from (values " + values + ") v(name) "
+                        + "where not exists (select 1 from fixed_extension f where f.tenant_id = ? and f.name = v.name)",
+                args.toArray());
+    }
+}
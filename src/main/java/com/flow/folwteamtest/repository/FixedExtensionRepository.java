@@ -4,9 +4,12 @@ import com.flow.folwteamtest.entity.FixedExtension;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FixedExtensionRepository extends JpaRepository<FixedExtension, Long> {
-    Optional<FixedExtension> findByName(String name);
+    List<FixedExtension> findByTenantId(String tenantId);
+    Optional<FixedExtension> findByTenantIdAndName(String tenantId, String name);
+    Optional<FixedExtension> findByIdAndTenantId(Long id, String tenantId);
 }
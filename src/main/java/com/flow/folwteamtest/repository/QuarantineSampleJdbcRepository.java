@@ -0,0 +1,98 @@
+package com.flow.folwteamtest.repository;
+
+import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.quarantine.QuarantinedUpload;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 격리 샘플 기록/정리용 JDBC 저장소
+ * 쓰기는 QuarantineStore의 전용 스레드 하나에서만 하므로 (tenant_id, sha256) 갱신/추가가 서로 겹치지 않습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class QuarantineSampleJdbcRepository {
+
+    private static final RowMapper<StoredSample> STORED_SAMPLE = (rs, rowNum) ->
+            new StoredSample(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 보관 대상 샘플 (정리용)
+     */
+    public record StoredSample(long id, String tenantId, String sha256, long size) {
+    }
+
+    /**
+     * 같은 내용의 샘플이 이미 있으면 차단 횟수와 마지막 시각만 갱신
+     * @return 기존 샘플이 있었으면 true
+     */
+    public boolean touchExisting(String tenantId, String sha256, LocalDateTime seenAt) {
+        return jdbcTemplate.update("update quarantine_sample set hit_count = hit_count + 1, last_seen_at = ?"
+                + " where tenant_id = ? and sha256 = ?", Timestamp.valueOf(seenAt), tenantId, sha256) == 1;
+    }
+
+    public void insert(QuarantinedUpload upload, String sha256, long size, Long fixedExtensionId, Long customExtensionId) {
+        Timestamp seenAt = Timestamp.valueOf(upload.occurredAt());
+        jdbcTemplate.update("insert into quarantine_sample (tenant_id, sha256, size, filename, rule_type, matched_extension,"
+                        + " fixed_extension_id, custom_extension_id, detected_type, user_id, client_ip,"
+                        + " first_seen_at, last_seen_at, hit_count) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 1)",
+                upload.context().tenantId(),
+                sha256,
+                size,
+                truncate(upload.filename(), ExtensionConstants.FILENAME_MAX_LENGTH),
+                upload.rule().type().name(),
+                upload.rule().extension(),
+                fixedExtensionId,
+                customExtensionId,
+                truncate(upload.detectedType(), 64),
+                upload.context().userId(),
+                upload.context().clientIp(),
+                seenAt,
+                seenAt);
+    }
+
+    /**
+     * 내려받기 등 접근 시각 갱신 (LRU 기준)
+     */
+    public void touch(long id, LocalDateTime accessedAt) {
+        jdbcTemplate.update("update quarantine_sample set last_seen_at = ? where id = ?", Timestamp.valueOf(accessedAt), id);
+    }
+
+    public long totalSize() {
+        Long total = jdbcTemplate.queryForObject("select coalesce(sum(size), 0) from quarantine_sample", Long.class);
+        return total == null ? 0 : total;
+    }
+
+    /**
+     * before 이전에 마지막으로 접근한 샘플 (보관 기간 만료 대상, 오래된 순)
+     */
+    public List<StoredSample> findSeenBefore(LocalDateTime before, int limit) {
+        return jdbcTemplate.query("select id, tenant_id, sha256, size from quarantine_sample"
+                        + " where last_seen_at < ? order by last_seen_at, id limit ?",
+                STORED_SAMPLE, Timestamp.valueOf(before), limit);
+    }
+
+    /**
+     * 마지막 접근이 오래된 순서로 조회 (용량 초과 정리 대상)
+     */
+    public List<StoredSample> findLeastRecentlySeen(int limit) {
+        return jdbcTemplate.query("select id, tenant_id, sha256, size from quarantine_sample"
+                + " order by last_seen_at, id limit ?", STORED_SAMPLE, limit);
+    }
+
+    public void delete(long id) {
+        jdbcTemplate.update("delete from quarantine_sample where id = ?", id);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
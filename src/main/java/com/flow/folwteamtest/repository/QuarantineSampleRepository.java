@@ -0,0 +1,20 @@
+package com.flow.folwteamtest.repository;
+
+import com.flow.folwteamtest.entity.QuarantineSample;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface QuarantineSampleRepository extends JpaRepository<QuarantineSample, Long> {
+
+    /**
+     * 최신순 키셋 조회 (id < before)
+     */
+    List<QuarantineSample> findByTenantIdAndIdLessThanOrderByIdDesc(String tenantId, long before, Limit limit);
+
+    Optional<QuarantineSample> findByIdAndTenantId(Long id, String tenantId);
+}
@@ -0,0 +1,157 @@
+package com.flow.folwteamtest.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.flow.folwteamtest.audit.AuditContext;
+import com.flow.folwteamtest.audit.BlockAuditRecorder;
+import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.common.LineReader;
+import com.flow.folwteamtest.exception.MalformedBatchRequestException;
+import com.flow.folwteamtest.policy.BlockedRule;
+import com.flow.folwteamtest.policy.BlocklistSnapshot;
+import com.flow.folwteamtest.policy.BlocklistSnapshotHolder;
+import com.flow.folwteamtest.stats.ExtensionHitStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>파일명 일괄 검사 서비스</h1>
+ * <p>요청 본문을 한 항목씩 읽어 판정하고 바로 응답 스트림에 써 내려가므로,
+ * 배치 크기와 무관하게 메모리 사용량이 일정합니다.</p>
+ * <p>배치 전체를 시작 시점의 스냅샷 하나로 판정하여 도중에 정책이 바뀌어도 결과가 일관됩니다.
+ * 메모리 스냅샷만 조회하므로 트랜잭션을 열지 않습니다.</p>
+ * <p>한 요청은 최대 BATCH_CHECK_MAX_ITEMS개까지 판정하며, 넘으면 그 지점에서 중단합니다.</p>
+ * <p>항목별 판정은 감사 로그 링 버퍼와 통계 카운터에 넣기만 하므로 응답 스트리밍을 지연시키지 않습니다.</p>
+ */
+@Service
+public class BatchCheckService {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .streamReadConstraints(StreamReadConstraints.builder()
+                    .maxStringLength(ExtensionConstants.FILENAME_MAX_LENGTH)
+                    .build())
+            // 중간에 실패한 응답이 정상 JSON처럼 닫히거나 확정(commit)되지 않도록 합니다.
+            .disable(StreamWriteFeature.AUTO_CLOSE_CONTENT)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .disable(StreamWriteFeature.FLUSH_PASSED_TO_STREAM)
+            .build();
+
+    private final BlocklistSnapshotHolder snapshotHolder;
+    private final BlockAuditRecorder auditRecorder;
+    private final ExtensionHitStats hitStats;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSize;
+
+    public BatchCheckService(BlocklistSnapshotHolder snapshotHolder,
+                             BlockAuditRecorder auditRecorder,
+                             ExtensionHitStats hitStats,
+                             MeterRegistry meterRegistry) {
+        this.snapshotHolder = snapshotHolder;
+        this.auditRecorder = auditRecorder;
+        this.hitStats = hitStats;
+        this.batchTimer = Timer.builder("flow.extension.check.batch")
+                .description("일괄 검사 한 요청의 처리 시간 (본문 읽기/응답 쓰기 포함)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("flow.extension.check.batch.size")
+                .description("일괄 검사 한 요청의 파일명 개수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * JSON 배열(["a.exe", ...]) 입력을 JSON 배열 결과로 출력
+     * @return 검사한 파일명 개수
+     */
+    public long checkJsonArray(AuditContext context, InputStream in, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        BlocklistSnapshot snapshot = snapshotHolder.current(context.tenantId());
+        long count = 0;
+        try (JsonParser parser = JSON_FACTORY.createParser(in);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new MalformedBatchRequestException("요청 본문은 파일명 문자열의 JSON 배열이어야 합니다.");
+            }
+            generator.writeStartArray();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_STRING) {
+                    throw new MalformedBatchRequestException("파일명은 문자열이어야 합니다. (" + count + "번째 항목)");
+                }
+                checkBatchSize(count);
+                writeVerdict(generator, context, snapshot, parser.getText());
+                count++;
+            }
+            generator.writeEndArray();
+        } catch (JsonProcessingException e) {
+            throw new MalformedBatchRequestException("JSON 형식이 올바르지 않습니다: " + e.getOriginalMessage());
+        }
+        recordBatch(start, count);
+        return count;
+    }
+
+    /**
+     * 줄 단위 파일명 목록 입력을 NDJSON 결과(한 줄에 하나)로 출력
+     * 빈 줄은 건너뜁니다.
+     * @return 검사한 파일명 개수
+     */
+    public long checkLines(AuditContext context, InputStream in, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        BlocklistSnapshot snapshot = snapshotHolder.current(context.tenantId());
+        long count;
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+            long[] checked = {0};
+            count = LineReader.forEachLine(in, ExtensionConstants.FILENAME_MAX_LENGTH, (filename, lineNumber) -> {
+                checkBatchSize(checked[0]++);
+                writeVerdict(generator, context, snapshot, filename);
+                generator.writeRaw('\n');
+            });
+        }
+        recordBatch(start, count);
+        return count;
+    }
+
+    private static void checkBatchSize(long checked) {
+        if (checked >= ExtensionConstants.BATCH_CHECK_MAX_ITEMS) {
+            throw new MalformedBatchRequestException(
+                    "한 번에 최대 " + ExtensionConstants.BATCH_CHECK_MAX_ITEMS + "개의 파일명까지 검사할 수 있습니다.");
+        }
+    }
+
+    private void recordBatch(long start, long count) {
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSize.record(count);
+    }
+
+    /**
+     * ExtensionCheckResponse와 같은 필드 구성으로 판정 결과 한 건 출력
+     */
+    private void writeVerdict(JsonGenerator generator, AuditContext context, BlocklistSnapshot snapshot,
+                              String filename) throws IOException {
+        BlockedRule rule = snapshot.match(filename);
+        auditRecorder.record(context, filename, rule);
+        hitStats.record(context.tenantId(), filename, rule);
+        generator.writeStartObject();
+        generator.writeStringField("filename", filename);
+        generator.writeBooleanField("blocked", rule != null);
+        if (rule != null) {
+            generator.writeStringField("matchedExtension", rule.extension());
+            generator.writeStringField("ruleType", rule.type().name());
+        }
+        generator.writeEndObject();
+    }
+}
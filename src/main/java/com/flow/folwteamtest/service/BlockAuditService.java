@@ -0,0 +1,63 @@
+package com.flow.folwteamtest.service;
+
+import com.flow.folwteamtest.common.ExtensionNames;
+import com.flow.folwteamtest.dto.BlockAuditLogDto;
+import com.flow.folwteamtest.dto.BlockAuditPageResponse;
+import com.flow.folwteamtest.entity.BlockAuditLog;
+import com.flow.folwteamtest.repository.BlockAuditLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 판정 감사 로그 조회 서비스
+ * OFFSET 없이 id 키셋(before)으로 페이지를 넘기므로 로그가 많아져도 페이지 조회 비용이 일정합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BlockAuditService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final BlockAuditLogRepository auditLogRepository;
+
+    /**
+     * 감사 로그 검색 (최신순)
+     * @param from      시작 시각 (포함, null이면 제한 없음)
+     * @param to        종료 시각 (제외, null이면 제한 없음)
+     * @param extension 확장자 필터 (null이면 전체)
+     * @param blocked   판정 필터 (null이면 전체)
+     * @param before    이 id보다 이전 로그만 조회 (null이면 최신부터)
+     */
+    public BlockAuditPageResponse search(String tenantId, LocalDateTime from, LocalDateTime to,
+                                         String extension, Boolean blocked, Long before, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.clamp(size, 1, MAX_PAGE_SIZE);
+        List<BlockAuditLog> logs = auditLogRepository.search(
+                tenantId,
+                before == null ? Long.MAX_VALUE : before,
+                from == null ? MIN_TIME : from,
+                to == null ? MAX_TIME : to,
+                extension == null || extension.isBlank() ? null : ExtensionNames.normalize(extension),
+                blocked,
+                Limit.of(pageSize + 1));
+
+        boolean hasMore = logs.size() > pageSize;
+        List<BlockAuditLogDto> items = logs.stream()
+                .limit(pageSize)
+                .map(BlockAuditLogDto::from)
+                .toList();
+        return BlockAuditPageResponse.builder()
+                .items(items)
+                .nextCursor(hasMore ? items.get(items.size() - 1).getId() : null)
+                .build();
+    }
+}
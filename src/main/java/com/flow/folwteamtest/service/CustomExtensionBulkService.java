@@ -0,0 +1,185 @@
+package com.flow.folwteamtest.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.common.ExtensionNames;
+import com.flow.folwteamtest.common.LineReader;
+import com.flow.folwteamtest.dto.CustomExtensionImportResponse;
+import com.flow.folwteamtest.exception.ExtensionLimitExceededException;
+import com.flow.folwteamtest.repository.CustomExtensionJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * <h1>커스텀 확장자 일괄 등록/내보내기 서비스</h1>
+ * <p>등록: 요청 본문을 한 줄씩 읽어 정규화/검증/중복 제거를 한 번에 처리한 뒤,
+ * ExtensionService.addCustomExtensions로 단일 트랜잭션 JDBC 배치 INSERT를 수행합니다.
+ * 본문을 읽는 동안에는 DB 커넥션을 잡지 않습니다.</p>
+ * <p>내보내기: 커서로 한 행씩 읽어 곧바로 응답 스트림에 씁니다.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomExtensionBulkService {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private static final Pattern VALID_EXTENSION = Pattern.compile(ExtensionConstants.EXTENSION_FORMAT);
+    private static final int MAX_LINE_LENGTH = 256;
+    private static final int MAX_REPORTED_ERRORS = 20;
+    // 내보낸 파일을 그대로 다시 등록할 수 있도록 확장자를 첫 번째 열에 둡니다.
+    private static final String CSV_HEADER = "extension,id,createdAt";
+
+    private final ExtensionService extensionService;
+    private final CustomExtensionJdbcRepository customExtensionJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 일괄 등록
+     * CSV는 첫 번째 열을 확장자로 사용하며, 첫 줄이 헤더(extension,...)이면 건너뜁니다.
+     * NDJSON은 한 줄에 "zip" 또는 {"extension":"zip"} 형태를 받습니다.
+     */
+    public CustomExtensionImportResponse importFrom(String tenantId, InputStream in, Format format) throws IOException {
+        int max = extensionService.getMaxCustomExtensions(tenantId);
+        Set<String> unique = new LinkedHashSet<>();
+        List<String> errors = new ArrayList<>();
+        int[] counters = new int[2]; // [0] 파일 내 중복, [1] 잘못된 값
+
+        long received = LineReader.forEachLine(in, MAX_LINE_LENGTH, (line, lineNumber) -> {
+            String raw = format == Format.CSV ? firstCsvField(line) : ndjsonExtension(line);
+            if (format == Format.CSV && lineNumber == 1 && isCsvHeader(raw)) {
+                return;
+            }
+            String extension = raw == null ? "" : ExtensionNames.normalize(raw);
+            if (extension.isEmpty()
+                    || extension.length() > ExtensionConstants.EXTENSION_MAX_LENGTH
+                    || !VALID_EXTENSION.matcher(extension).matches()) {
+                counters[1]++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(lineNumber + "번째 줄: 올바르지 않은 확장자입니다. (" + line + ")");
+                }
+                return;
+            }
+            if (!unique.add(extension)) {
+                counters[0]++;
+                return;
+            }
+            if (unique.size() > max) {
+                // 파일 하나만으로 최대 개수를 넘으면 더 읽을 필요가 없습니다.
+                throw new ExtensionLimitExceededException(ExtensionConstants.errorExtensionLimitExceeded(max));
+            }
+        });
+
+        List<String> added = extensionService.addCustomExtensions(tenantId, unique);
+        int alreadyRegistered = unique.size() - added.size();
+        log.info("Imported custom extensions: tenant={}, received={}, imported={}, invalid={}", tenantId, received, added.size(), counters[1]);
+
+        return CustomExtensionImportResponse.builder()
+                .received(received)
+                .imported(added.size())
+                .duplicates(counters[0] + alreadyRegistered)
+                .invalid(counters[1])
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * 테넌트 전체 내보내기 (CSV: extension,id,createdAt / NDJSON: 한 줄에 객체 하나)
+     */
+    public void exportTo(String tenantId, OutputStream out, Format format) throws IOException {
+        if (format == Format.CSV) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            customExtensionJdbcRepository.streamAll(tenantId, rs -> {
+                try {
+                    writer.write(rs.getString(2) + "," + rs.getLong(1) + ","
+                            + rs.getTimestamp(3).toLocalDateTime() + "\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            return;
+        }
+
+        JsonFactory factory = objectMapper.getFactory();
+        JsonGenerator generator = factory.createGenerator(out, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+        customExtensionJdbcRepository.streamAll(tenantId, rs -> {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("id", rs.getLong(1));
+                generator.writeStringField("extension", rs.getString(2));
+                generator.writeStringField("createdAt", rs.getTimestamp(3).toLocalDateTime().toString());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.flush();
+    }
+
+    private static String firstCsvField(String line) {
+        if (line.startsWith("\"")) {
+            StringBuilder field = new StringBuilder();
+            for (int i = 1; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                } else {
+                    field.append(c);
+                }
+            }
+            return field.toString();
+        }
+        int comma = line.indexOf(',');
+        return comma < 0 ? line : line.substring(0, comma);
+    }
+
+    private static boolean isCsvHeader(String field) {
+        return field != null && field.trim().equalsIgnoreCase("extension");
+    }
+
+    private String ndjsonExtension(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (node.isTextual()) {
+                return node.asText();
+            }
+            JsonNode extension = node.get("extension");
+            return extension != null && extension.isTextual() ? extension.asText() : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
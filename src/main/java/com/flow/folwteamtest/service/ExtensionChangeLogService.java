@@ -0,0 +1,108 @@
+package com.flow.folwteamtest.service;
+
+import com.flow.folwteamtest.dto.ExtensionChangeDto;
+import com.flow.folwteamtest.dto.ExtensionChangesResponse;
+import com.flow.folwteamtest.entity.ExtensionChangeLog;
+import com.flow.folwteamtest.event.ExtensionChange;
+import com.flow.folwteamtest.event.ExtensionChangedEvent;
+import com.flow.folwteamtest.policy.BlocklistSnapshotHolder;
+import com.flow.folwteamtest.repository.ExtensionChangeLogJdbcRepository;
+import com.flow.folwteamtest.repository.ExtensionChangeLogRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * <h1>정책 버전/변경 이력 서비스</h1>
+ * <p>확장자 변경 트랜잭션이 커밋되기 직전(BEFORE_COMMIT)에 같은 트랜잭션으로 변경 이력을 기록합니다.
+ * 이력 테이블의 id가 단조 증가하는 정책 버전이며, 고정/커스텀 확장자 변경을 모두 포함합니다.
+ * 테넌트의 정책 버전은 그 테넌트 이력의 최대 id입니다.</p>
+ * <p>현재 버전은 메모리 스냅샷에서 읽으므로 ETag 비교와 "변경 없음" 응답은 DB를 조회하지 않습니다.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ExtensionChangeLogService {
+
+    // ExtensionChangeLogRepository.findTop1000ByIdGreaterThanOrderByIdAsc의 조회 개수
+    private static final int CHANGES_PAGE_SIZE = 1000;
+
+    private final ExtensionChangeLogRepository changeLogRepository;
+    private final ExtensionChangeLogJdbcRepository changeLogJdbcRepository;
+    private final BlocklistSnapshotHolder snapshotHolder;
+
+    // 이 인스턴스가 기록한 변경을 다른 인스턴스의 변경과 구분하기 위한 ID (기동마다 새로 생성)
+    @Getter
+    private final String instanceId = UUID.randomUUID().toString();
+
+    /**
+     * 변경 이력 기록 (확장자 변경과 같은 트랜잭션)
+     * 기록된 이력 id를 이벤트에 남겨 AFTER_COMMIT 리스너(BlocklistSnapshotHolder)가 이 커밋의 버전을 알 수 있게 합니다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void record(ExtensionChangedEvent event) {
+        event.recordChangeLogIds(
+                changeLogJdbcRepository.batchInsert(event.tenantId(), event.changes(), LocalDateTime.now(), instanceId));
+    }
+
+    /**
+     * 테넌트의 현재 정책 버전 (메모리 조회)
+     */
+    public long getCurrentVersion(String tenantId) {
+        return snapshotHolder.version(tenantId);
+    }
+
+    /**
+     * 목록 응답용 ETag (테넌트 정책 버전 기반)
+     */
+    public String getCurrentETag(String tenantId) {
+        return "\"" + getCurrentVersion(tenantId) + "\"";
+    }
+
+    /**
+     * since 버전 이후의 변경 내역 조회
+     * 같은 확장자에 대한 여러 변경은 마지막 상태 하나로 압축합니다.
+     * since가 서버 버전보다 크면(서버 DB 초기화 등) 전체 재동기화가 필요하다고 알립니다.
+     */
+    public ExtensionChangesResponse getChangesSince(String tenantId, long since) {
+        long current = getCurrentVersion(tenantId);
+        if (since > current) {
+            return ExtensionChangesResponse.builder()
+                    .version(current)
+                    .resyncRequired(true)
+                    .changes(List.of())
+                    .build();
+        }
+        if (since == current) {
+            return ExtensionChangesResponse.builder()
+                    .version(current)
+                    .changes(List.of())
+                    .build();
+        }
+
+        List<ExtensionChangeLog> logs = changeLogRepository.findTop1000ByTenantIdAndIdGreaterThanOrderByIdAsc(tenantId, since);
+        Map<String, ExtensionChangeLog> latest = new LinkedHashMap<>();
+        for (ExtensionChangeLog entry : logs) {
+            String key = switch (entry.getChangeType()) {
+                case FIXED_UPDATED -> "F:";
+                case GROUP_UPDATED -> "G:";
+                case CUSTOM_ADDED, CUSTOM_DELETED -> "C:";
+            } + entry.getExtension();
+            latest.remove(key);
+            latest.put(key, entry);
+        }
+        long version = logs.isEmpty() ? since : logs.get(logs.size() - 1).getId();
+        return ExtensionChangesResponse.builder()
+                .version(version)
+                .hasMore(logs.size() == CHANGES_PAGE_SIZE)
+                .changes(latest.values().stream().map(ExtensionChangeDto::from).toList())
+                .build();
+    }
+}
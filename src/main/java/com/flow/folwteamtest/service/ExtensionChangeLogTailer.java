@@ -0,0 +1,211 @@
+package com.flow.folwteamtest.service;
+
+import com.flow.folwteamtest.config.ClusterProperties;
+import com.flow.folwteamtest.entity.ExtensionChangeLog;
+import com.flow.folwteamtest.event.ExtensionChange;
+import com.flow.folwteamtest.event.RemoteExtensionChangedEvent;
+import com.flow.folwteamtest.policy.BlocklistSnapshotHolder;
+import com.flow.folwteamtest.repository.ExtensionChangeLogRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>변경 이력 테일러 (다중 인스턴스 동기화)</h1>
+ * <p>여러 인스턴스가 같은 DB를 쓰면 다른 인스턴스의 쓰기는 로컬 스냅샷에 반영되지 않습니다.
+ * 주기적으로 마지막으로 읽은 이력 id(high-water mark) 이후의 행만 조회하여 테넌트별 스냅샷에 델타로 적용하므로
+ * 별도 메시지 브로커 없이 인스턴스 간 정책을 맞춥니다. 변경이 없으면 PK 범위 조회 한 번이 전부입니다.</p>
+ * <p>IDENTITY id는 커밋 순서와 다를 수 있으므로 id 공백이 보이면 gapTimeout 동안 그 앞에서 기다립니다.
+ * 기다려도 채워지지 않으면(롤백된 id) 건너뛰고, 혹시 놓친 변경이 없도록 스냅샷을 전체 재구성합니다.
+ * 건너뛴 id는 skippedIdRetention 동안 기억해 매 주기 다시 조회하므로, 재구성 이후에 커밋된 느린 트랜잭션의 변경도
+ * 해당 테넌트 재구성으로 반영됩니다.</p>
+ * <p>다른 인스턴스의 변경은 RemoteExtensionChangedEvent로 발행하여 이 인스턴스의 SSE 구독자에게도 전달합니다.</p>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "flow.cluster", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ClusterProperties.class)
+public class ExtensionChangeLogTailer {
+
+    // 재조회할 건너뛴 id 상한 (대량 롤백으로 공백이 매우 크면 그 이상은 전체 재구성에 맡김)
+    static final int MAX_SKIPPED_IDS = 10_000;
+
+    private final ExtensionChangeLogRepository changeLogRepository;
+    private final BlocklistSnapshotHolder snapshotHolder;
+    private final ExtensionChangeLogService changeLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClusterProperties properties;
+
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("change-log-tailer").daemon().factory());
+
+    // poller 스레드에서만 접근
+    private long highWaterMark;
+    private long gapSeenAt;
+    // 건너뛴 id → 건너뛴 시각(nanoTime)
+    private final NavigableMap<Long, Long> skippedIds = new TreeMap<>();
+
+    public ExtensionChangeLogTailer(ExtensionChangeLogRepository changeLogRepository,
+                                    BlocklistSnapshotHolder snapshotHolder,
+                                    ExtensionChangeLogService changeLogService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    ClusterProperties properties) {
+        this.changeLogRepository = changeLogRepository;
+        this.snapshotHolder = snapshotHolder;
+        this.changeLogService = changeLogService;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    /**
+     * 기동 완료 후 현재 스냅샷 버전부터 폴링 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        highWaterMark = snapshotHolder.getLatestVersion();
+        long interval = properties.pollInterval().toMillis();
+        poller.scheduleWithFixedDelay(this::pollSafely, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Change log tailer started (instance {}, from version {})", changeLogService.getInstanceId(), highWaterMark);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            // 일시적인 DB 오류로 스케줄이 중단되지 않도록 기록만 하고 다음 주기에 재시도
+            log.warn("Change log poll failed (version {})", highWaterMark, e);
+        }
+    }
+
+    /**
+     * 한 주기 폴링: high-water mark 이후 연속된 id만 적용
+     */
+    void poll() {
+        recheckSkipped();
+        List<ExtensionChangeLog> entries = changeLogRepository.findTop1000ByIdGreaterThanOrderByIdAsc(highWaterMark);
+        if (entries.isEmpty()) {
+            return;
+        }
+        int contiguous = contiguousPrefix(entries);
+        boolean skipGap = false;
+        if (contiguous == 0) {
+            long now = System.nanoTime();
+            if (gapSeenAt == 0) {
+                gapSeenAt = now;
+                return;
+            }
+            if (now - gapSeenAt < properties.gapTimeout().toNanos()) {
+                return;
+            }
+            log.warn("Skipping change log gap after version {}", highWaterMark);
+            skipGap = true;
+            contiguous = entries.size();
+            rememberSkipped(entries, now);
+        }
+        gapSeenAt = 0;
+
+        List<ExtensionChangeLog> batch = entries.subList(0, contiguous);
+        highWaterMark = batch.get(batch.size() - 1).getId();
+        if (skipGap) {
+            snapshotHolder.rebuild();
+        }
+        dispatch(batch, !skipGap);
+    }
+
+    /**
+     * 건너뛴 id 중 뒤늦게 커밋된 이력을 찾아 반영하고, 보관 기간이 지난 id는 롤백된 것으로 보고 잊음
+     */
+    private void recheckSkipped() {
+        if (skippedIds.isEmpty()) {
+            return;
+        }
+        long expireBefore = System.nanoTime() - properties.skippedIdRetention().toNanos();
+        skippedIds.values().removeIf(skippedAt -> skippedAt - expireBefore < 0);
+        if (skippedIds.isEmpty()) {
+            return;
+        }
+        List<ExtensionChangeLog> late = new ArrayList<>(changeLogRepository.findAllById(skippedIds.keySet()));
+        if (late.isEmpty()) {
+            return;
+        }
+        late.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        late.forEach(entry -> skippedIds.remove(entry.getId()));
+        log.warn("Found {} late change log entries below version {}", late.size(), highWaterMark);
+        // 이미 적용된 버전 이하의 원격 이력이므로 applyChanges가 해당 테넌트를 재구성
+        dispatch(late, true);
+    }
+
+    private void rememberSkipped(List<ExtensionChangeLog> entries, long now) {
+        Set<Long> present = new HashSet<>();
+        entries.forEach(entry -> present.add(entry.getId()));
+        long last = entries.get(entries.size() - 1).getId();
+        for (long id = highWaterMark + 1; id < last; id++) {
+            if (skippedIds.size() >= MAX_SKIPPED_IDS) {
+                log.warn("Too many skipped change log ids, not tracking ids from {}", id);
+                return;
+            }
+            if (!present.contains(id)) {
+                skippedIds.put(id, now);
+            }
+        }
+    }
+
+    private void dispatch(List<ExtensionChangeLog> batch, boolean apply) {
+        Map<String, List<ExtensionChangeLog>> byTenant = new LinkedHashMap<>();
+        for (ExtensionChangeLog entry : batch) {
+            byTenant.computeIfAbsent(entry.getTenantId(), tenantId -> new ArrayList<>()).add(entry);
+        }
+        String localOrigin = changeLogService.getInstanceId();
+        for (Map.Entry<String, List<ExtensionChangeLog>> tenantEntries : byTenant.entrySet()) {
+            String tenantId = tenantEntries.getKey();
+            if (apply) {
+                snapshotHolder.applyChanges(tenantId, tenantEntries.getValue(), localOrigin);
+            }
+            List<ExtensionChange> remote = new ArrayList<>();
+            for (ExtensionChangeLog entry : tenantEntries.getValue()) {
+                if (!localOrigin.equals(entry.getOrigin())) {
+                    remote.add(entry.toChange());
+                }
+            }
+            if (!remote.isEmpty()) {
+                eventPublisher.publishEvent(new RemoteExtensionChangedEvent(
+                        tenantId, remote, snapshotHolder.version(tenantId)));
+            }
+        }
+    }
+
+    private int contiguousPrefix(List<ExtensionChangeLog> entries) {
+        long expected = highWaterMark + 1;
+        int count = 0;
+        for (ExtensionChangeLog entry : entries) {
+            if (entry.getId() != expected) {
+                break;
+            }
+            expected++;
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,65 @@
+package com.flow.folwteamtest.service;
+
+import com.flow.folwteamtest.audit.AuditContext;
+import com.flow.folwteamtest.audit.BlockAuditRecorder;
+import com.flow.folwteamtest.dto.ExtensionCheckResponse;
+import com.flow.folwteamtest.policy.BlockedRule;
+import com.flow.folwteamtest.policy.BlocklistSnapshotHolder;
+import com.flow.folwteamtest.stats.ExtensionHitStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파일명 차단 여부 검사 서비스
+ * 메모리 스냅샷만 조회하므로 트랜잭션을 열지 않습니다. (@Transactional 추가 금지: 커넥션 획득 발생)
+ */
+@Service
+public class ExtensionCheckService {
+
+    private final BlocklistSnapshotHolder snapshotHolder;
+    private final BlockAuditRecorder auditRecorder;
+    private final ExtensionHitStats hitStats;
+    private final Timer blockedTimer;
+    private final Timer allowedTimer;
+
+    public ExtensionCheckService(BlocklistSnapshotHolder snapshotHolder,
+                                 BlockAuditRecorder auditRecorder,
+                                 ExtensionHitStats hitStats,
+                                 MeterRegistry meterRegistry) {
+        this.snapshotHolder = snapshotHolder;
+        this.auditRecorder = auditRecorder;
+        this.hitStats = hitStats;
+        this.blockedTimer = checkTimer(meterRegistry, "blocked");
+        this.allowedTimer = checkTimer(meterRegistry, "allowed");
+    }
+
+    private static Timer checkTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("flow.extension.check")
+                .description("단건 파일명 판정 시간 (스냅샷 조회 + 감사/통계 기록)")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 파일명 차단 여부 확인
+     */
+    public boolean isBlocked(String tenantId, String filename) {
+        return snapshotHolder.current(tenantId).isBlocked(filename);
+    }
+
+    /**
+     * 파일명 검사 결과 조회 (일치한 규칙 포함), 판정은 감사 로그와 확장자 통계에 기록됩니다.
+     */
+    public ExtensionCheckResponse check(AuditContext context, String filename) {
+        long start = System.nanoTime();
+        BlockedRule rule = snapshotHolder.current(context.tenantId()).match(filename);
+        auditRecorder.record(context, filename, rule);
+        hitStats.record(context.tenantId(), filename, rule);
+        (rule != null ? blockedTimer : allowedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return ExtensionCheckResponse.of(filename, rule);
+    }
+}
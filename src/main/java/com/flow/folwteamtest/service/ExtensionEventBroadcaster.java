@@ -0,0 +1,222 @@
+package com.flow.folwteamtest.service;
+
+import com.flow.folwteamtest.config.EventStreamProperties;
+import com.flow.folwteamtest.dto.ExtensionChangesResponse;
+import com.flow.folwteamtest.event.ExtensionChange;
+import com.flow.folwteamtest.event.ExtensionChangedEvent;
+import com.flow.folwteamtest.event.RemoteExtensionChangedEvent;
+import com.flow.folwteamtest.policy.BlocklistSnapshotHolder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <h1>정책 변경 SSE 브로드캐스터</h1>
+ * <p>확장자 변경이 커밋되면 구독자마다 가진 bounded 큐에 이벤트를 넣기만 하고(offer, 논블로킹) 바로 반환합니다.
+ * 실제 전송은 구독자별 가상 스레드가 큐를 비우며 수행하므로, 느린 구독자가 쓰기 트랜잭션이나 다른 구독자를 막지 못합니다.</p>
+ * <p>큐가 넘친 구독자에게는 resync 이벤트를 보내고 연결을 종료합니다. 클라이언트는 재연결 후 전체 목록을 다시 받습니다.</p>
+ * <p>구독은 테넌트 단위이며, 이벤트 id는 테넌트 정책 버전입니다. 재연결 시 Last-Event-ID 이후 변경분을 먼저 보내 줍니다.</p>
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(EventStreamProperties.class)
+public class ExtensionEventBroadcaster {
+
+    private static final String CHANGE_EVENT = "change";
+    private static final String RESYNC_EVENT = "resync";
+
+    private final BlocklistSnapshotHolder snapshotHolder;
+    private final ExtensionChangeLogService changeLogService;
+    private final EventStreamProperties properties;
+
+    private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("sse-heartbeat").daemon().factory());
+
+    public ExtensionEventBroadcaster(BlocklistSnapshotHolder snapshotHolder,
+                                     ExtensionChangeLogService changeLogService,
+                                     EventStreamProperties properties) {
+        this.snapshotHolder = snapshotHolder;
+        this.changeLogService = changeLogService;
+        this.properties = properties;
+        long interval = properties.heartbeatInterval().toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 구독 등록
+     * @param lastEventId 재연결 시 마지막으로 받은 정책 버전 (없으면 null)
+     */
+    public SseEmitter subscribe(String tenantId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.emitterTimeout().toMillis());
+        if (subscribers.size() >= properties.maxSubscribers()) {
+            emitter.completeWithError(new IllegalStateException("too many subscribers"));
+            return emitter;
+        }
+        Subscriber subscriber = new Subscriber(tenantId, emitter, properties.queueCapacity());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        if (lastEventId != null) {
+            ExtensionChangesResponse missed = changeLogService.getChangesSince(tenantId, lastEventId);
+            if (missed.isResyncRequired() || missed.isHasMore()) {
+                subscriber.offer(new Message(RESYNC_EVENT, missed.getVersion(), ""));
+            } else if (!missed.getChanges().isEmpty()) {
+                subscriber.offer(new Message(CHANGE_EVENT, missed.getVersion(), missed));
+            }
+        }
+        log.info("SSE subscriber connected (total: {})", subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * 커밋된 변경을 모든 구독자 큐에 적재 (스냅샷 재구성 이후 실행되어 최신 버전을 사용)
+     */
+    @Order(100)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onExtensionChanged(ExtensionChangedEvent event) {
+        broadcast(event.tenantId(), event.changes(), snapshotHolder.version(event.tenantId()));
+    }
+
+    /**
+     * 다른 인스턴스에서 커밋된 변경도 이 인스턴스의 구독자에게 전달
+     */
+    @EventListener
+    public void onRemoteExtensionChanged(RemoteExtensionChangedEvent event) {
+        broadcast(event.tenantId(), event.changes(), event.version());
+    }
+
+    private void broadcast(String tenantId, List<ExtensionChange> changes, long version) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Message message = new Message(CHANGE_EVENT, version, Map.of("version", version, "changes", changes));
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.tenantId.equals(tenantId)) {
+                subscriber.offer(message);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdown();
+    }
+
+    private void sendHeartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(Message.HEARTBEAT);
+        }
+    }
+
+    /**
+     * 큐에 담는 전송 단위
+     * SseEventBuilder는 build 시 내부 상태가 바뀌므로 구독자 간에 공유하지 않고 전송 직전에 만듭니다.
+     */
+    private record Message(String name, long version, Object data) {
+        static final Message HEARTBEAT = new Message(null, 0, null);
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("ping");
+            }
+            return SseEmitter.event().name(name).id(Long.toString(version)).data(data);
+        }
+    }
+
+    /**
+     * 구독자별 bounded 큐와 전송 상태
+     */
+    private final class Subscriber {
+        private final String tenantId;
+        private final SseEmitter emitter;
+        private final Queue<Message> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(String tenantId, SseEmitter emitter, int capacity) {
+            this.tenantId = tenantId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(Message message) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(message)) {
+                overflow();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void overflow() {
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+            senders.execute(() -> {
+                try {
+                    emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(""));
+                } catch (IOException | IllegalStateException ignored) {
+                    // 이미 끊긴 연결
+                }
+                emitter.complete();
+            });
+            log.warn("SSE subscriber too slow, disconnected (total: {})", subscribers.size());
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while (!closed && (message = queue.poll()) != null) {
+                    emitter.send(message.toEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                closed = true;
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // drain 종료와 offer가 경합한 경우 남은 이벤트를 놓치지 않도록 재확인
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -1,56 +1,110 @@
 package com.flow.folwteamtest.service;
 
 import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.common.ExtensionGroup;
+import com.flow.folwteamtest.common.ExtensionNames;
+import com.flow.folwteamtest.common.TenantIds;
+import com.flow.folwteamtest.config.TenantProperties;
 import com.flow.folwteamtest.dto.CustomExtensionDto;
+import com.flow.folwteamtest.dto.CustomExtensionPageResponse;
+import com.flow.folwteamtest.dto.ExtensionGroupDto;
 import com.flow.folwteamtest.dto.FixedExtensionDto;
 import com.flow.folwteamtest.entity.CustomExtension;
+import com.flow.folwteamtest.entity.ExtensionGroupPolicy;
 import com.flow.folwteamtest.entity.FixedExtension;
+import com.flow.folwteamtest.event.ExtensionChange;
+import com.flow.folwteamtest.event.ExtensionChangedEvent;
 import com.flow.folwteamtest.exception.DuplicateExtensionException;
 import com.flow.folwteamtest.exception.ExtensionLimitExceededException;
 import com.flow.folwteamtest.exception.ExtensionNotFoundException;
+import com.flow.folwteamtest.policy.BlocklistSnapshotHolder;
+import com.flow.folwteamtest.repository.CustomExtensionCounterJdbcRepository;
+import com.flow.folwteamtest.repository.CustomExtensionJdbcRepository;
 import com.flow.folwteamtest.repository.CustomExtensionRepository;
+import com.flow.folwteamtest.repository.ExtensionGroupPolicyRepository;
+import com.flow.folwteamtest.repository.FixedExtensionJdbcRepository;
 import com.flow.folwteamtest.repository.FixedExtensionRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * 확장자 관리 서비스
+ * 모든 public 메서드의 실행 시간이 flow.extension.service 타이머(class, method 태그)로 기록됩니다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@EnableConfigurationProperties(TenantProperties.class)
+@Timed(value = "flow.extension.service", histogram = true)
 public class ExtensionService {
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final FixedExtensionRepository fixedExtensionRepository;
+    private final FixedExtensionJdbcRepository fixedExtensionJdbcRepository;
     private final CustomExtensionRepository customExtensionRepository;
+    private final CustomExtensionJdbcRepository customExtensionJdbcRepository;
+    private final CustomExtensionCounterJdbcRepository counterRepository;
+    private final ExtensionGroupPolicyRepository groupPolicyRepository;
+    private final BlocklistSnapshotHolder blocklistSnapshotHolder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TenantProperties tenantProperties;
 
     /**
-     * 애플리케이션 시작 시 고정 확장자 초기화
+     * 애플리케이션 시작 시 기본 테넌트의 고정 확장자 초기화 및 전체 스냅샷 구성
      */
     @PostConstruct
     @Transactional
     public void initializeFixedExtensions() {
-        for (String name : ExtensionConstants.FIXED_EXTENSION_NAMES) {
-            if (fixedExtensionRepository.findByName(name).isEmpty()) {
-                FixedExtension extension = FixedExtension.builder()
-                        .name(name)
-                        .blocked(false)
-                        .build();
-                fixedExtensionRepository.save(extension);
-                log.info("Initialized fixed extension: {}", name);
-            }
+        provisionFixedExtensions(TenantIds.DEFAULT);
+        blocklistSnapshotHolder.initialize();
+    }
+
+    /**
+     * 테넌트의 고정 확장자 레코드 생성 (없는 항목만, 모두 차단 해제 상태)
+     * 이미 모두 있으면 조회 한 번으로 끝나고, 빠진 항목은 INSERT ... SELECT 한 문장으로 채웁니다.
+     * 다른 테넌트는 처음 고정 확장자를 조회/변경할 때 생성됩니다. 차단 정책은 바뀌지 않으므로 이벤트를 발행하지 않습니다.
+     */
+    private List<FixedExtension> provisionFixedExtensions(String tenantId) {
+        List<FixedExtension> extensions = fixedExtensionRepository.findByTenantId(tenantId);
+        if (extensions.size() >= ExtensionConstants.FIXED_EXTENSION_NAMES.length) {
+            return extensions;
         }
+        try {
+            int inserted = fixedExtensionJdbcRepository.insertMissing(tenantId, List.of(ExtensionConstants.FIXED_EXTENSION_NAMES));
+            log.info("Initialized {} fixed extensions (tenant: {})", inserted, tenantId);
+        } catch (DuplicateKeyException e) {
+            // 같은 테넌트의 첫 요청이 동시에 들어와 다른 트랜잭션이 먼저 생성한 경우
+            log.debug("Fixed extensions already initialized concurrently (tenant: {})", tenantId);
+        }
+        return fixedExtensionRepository.findByTenantId(tenantId);
     }
 
     /**
-     * 고정 확장자 전체 조회
+     * 고정 확장자 전체 조회 (처음 조회하는 테넌트는 기본 고정 확장자를 생성)
      */
-    public List<FixedExtensionDto> getAllFixedExtensions() {
-        return fixedExtensionRepository.findAll().stream()
+    @Transactional
+    public List<FixedExtensionDto> getAllFixedExtensions(String tenantId) {
+        return provisionFixedExtensions(tenantId).stream()
                 .map(FixedExtensionDto::from)
                 .collect(Collectors.toList());
     }
@@ -59,12 +113,13 @@ public class ExtensionService {
      * 고정 확장자 차단 여부 업데이트 (ID 기반)
      */
     @Transactional
-    public FixedExtensionDto updateFixedExtension(Long id, boolean blocked) {
-        FixedExtension extension = fixedExtensionRepository.findById(id)
+    public FixedExtensionDto updateFixedExtension(String tenantId, Long id, boolean blocked) {
+        FixedExtension extension = fixedExtensionRepository.findByIdAndTenantId(id, tenantId)
                 .orElseThrow(() -> new ExtensionNotFoundException("고정 확장자를 찾을 수 없습니다. ID: " + id));
 
         extension.updateBlocked(blocked);
         log.info("Updated fixed extension: {} - blocked: {}", extension.getName(), blocked);
+        eventPublisher.publishEvent(ExtensionChangedEvent.fixedUpdated(tenantId, extension.getId(), extension.getName(), blocked));
 
         return FixedExtensionDto.from(extension);
     }
@@ -73,84 +128,230 @@ public class ExtensionService {
      * 고정 확장자 차단 여부 업데이트 (이름 기반)
      */
     @Transactional
-    public FixedExtensionDto updateFixedExtensionByName(String name, boolean blocked) {
-        FixedExtension extension = fixedExtensionRepository.findByName(name)
+    public FixedExtensionDto updateFixedExtensionByName(String tenantId, String name, boolean blocked) {
+        FixedExtension extension = provisionFixedExtensions(tenantId).stream()
+                .filter(fixed -> fixed.getName().equals(name))
+                .findFirst()
                 .orElseThrow(() -> new ExtensionNotFoundException("고정 확장자를 찾을 수 없습니다: " + name));
 
         extension.updateBlocked(blocked);
         log.info("Updated fixed extension by name: {} - blocked: {}", name, blocked);
+        eventPublisher.publishEvent(ExtensionChangedEvent.fixedUpdated(tenantId, extension.getId(), extension.getName(), blocked));
 
         return FixedExtensionDto.from(extension);
     }
 
     /**
-     * 커스텀 확장자 전체 조회
+     * 확장자 그룹 전체 조회 (그룹 구성은 ExtensionGroup, 차단 여부는 테넌트별 저장값이며 저장값이 없으면 차단 해제)
+     */
+    public List<ExtensionGroupDto> getAllGroups(String tenantId) {
+        Set<String> blocked = groupPolicyRepository.findByTenantId(tenantId).stream()
+                .filter(ExtensionGroupPolicy::isBlocked)
+                .map(ExtensionGroupPolicy::getGroupCode)
+                .collect(Collectors.toSet());
+        return Arrays.stream(ExtensionGroup.values())
+                .map(group -> ExtensionGroupDto.of(group, blocked.contains(group.getCode())))
+                .toList();
+    }
+
+    /**
+     * 확장자 그룹 차단 여부 업데이트
+     * 멤버 수와 무관하게 그룹 행 하나만 갱신(없으면 생성)하고, 변경 이력도 그룹 단위로 한 건만 남깁니다.
+     */
+    @Transactional
+    public ExtensionGroupDto updateGroup(String tenantId, String code, boolean blocked) {
+        ExtensionGroup group = ExtensionGroup.fromCode(code)
+                .orElseThrow(() -> new ExtensionNotFoundException("확장자 그룹을 찾을 수 없습니다: " + code));
+
+        ExtensionGroupPolicy policy = groupPolicyRepository.findByTenantIdAndGroupCode(tenantId, code)
+                .orElseGet(() -> groupPolicyRepository.save(ExtensionGroupPolicy.builder()
+                        .tenantId(tenantId)
+                        .groupCode(code)
+                        .blocked(false)
+                        .build()));
+        policy.updateBlocked(blocked);
+        log.info("Updated extension group: {} - blocked: {} ({} extensions)", code, blocked, group.getExtensions().size());
+        eventPublisher.publishEvent(ExtensionChangedEvent.groupUpdated(tenantId, policy.getId(), code, blocked));
+
+        return ExtensionGroupDto.of(group, blocked);
+    }
+
+    /**
+     * 커스텀 확장자 이름순 페이지 조회 (OFFSET 없이 이름 키셋으로 넘기므로 목록이 커져도 페이지 비용이 일정)
+     * @param prefix 확장자 접두사 (null/빈 값이면 전체, 정규화 후 비교)
+     * @param after  이 이름 다음부터 조회 (null이면 처음부터)
+     */
+    public CustomExtensionPageResponse getCustomExtensionPage(String tenantId, String prefix, String after, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.clamp(size, 1, MAX_PAGE_SIZE);
+        List<CustomExtension> extensions = customExtensionRepository
+                .findByTenantIdAndExtensionStartingWithAndExtensionGreaterThanOrderByExtension(
+                        tenantId,
+                        prefix == null ? "" : ExtensionNames.normalize(prefix),
+                        after == null ? "" : after,
+                        Limit.of(pageSize + 1));
+
+        boolean hasMore = extensions.size() > pageSize;
+        List<CustomExtensionDto> items = extensions.stream()
+                .limit(pageSize)
+                .map(CustomExtensionDto::from)
+                .toList();
+        return CustomExtensionPageResponse.builder()
+                .items(items)
+                .nextCursor(hasMore ? items.get(items.size() - 1).getExtension() : null)
+                .total(getCustomExtensionCount(tenantId))
+                .build();
+    }
+
+    /**
+     * 커스텀 확장자 전체 조회 (목록이 큰 테넌트는 getCustomExtensionPage 사용)
      */
-    public List<CustomExtensionDto> getAllCustomExtensions() {
-        return customExtensionRepository.findAll().stream()
+    public List<CustomExtensionDto> getAllCustomExtensions(String tenantId) {
+        return customExtensionRepository.findByTenantId(tenantId).stream()
                 .map(CustomExtensionDto::from)
                 .collect(Collectors.toList());
     }
 
     /**
      * 커스텀 확장자 추가
+     * 중복/개수 확인 조회 없이 바로 INSERT하고(유니크 제약 위반 → 중복), 카운터를 한도 조건부로 증가시킵니다.
+     * 한도 검사와 증가가 한 문장이므로 동시 등록이 한도를 넘길 수 없고, 한도를 넘으면 예외로 INSERT까지 롤백됩니다.
      */
     @Transactional
-    public CustomExtensionDto addCustomExtension(String extensionName) {
-        // 입력값 정제 (소문자 변환, 공백 제거, '.' 제거)
-        String cleanedExtension = extensionName.toLowerCase().trim().replace(".", "");
+    public CustomExtensionDto addCustomExtension(String tenantId, String extensionName) {
+        // 입력값 정제 (소문자 변환, 공백 제거, 앞뒤 '.' 제거)
+        String cleanedExtension = ExtensionNames.normalize(extensionName);
+        LocalDateTime createdAt = LocalDateTime.now();
 
-        // 중복 체크
-        if (customExtensionRepository.existsByExtension(cleanedExtension)) {
+        long id;
+        try {
+            id = customExtensionJdbcRepository.insert(tenantId, cleanedExtension, createdAt);
+        } catch (DuplicateKeyException e) {
             throw new DuplicateExtensionException("이미 등록된 확장자입니다: " + cleanedExtension);
         }
 
-        // 최대 개수 체크
-        long count = customExtensionRepository.count();
-        if (count >= ExtensionConstants.MAX_CUSTOM_EXTENSIONS) {
-            throw new ExtensionLimitExceededException(ExtensionConstants.ERROR_EXTENSION_LIMIT_EXCEEDED);
+        // 최대 개수 체크 (custom_extension을 세지 않고 유지되는 카운터 사용)
+        boolean pattern = ExtensionNames.isPattern(cleanedExtension);
+        int max = getMaxCustomExtensions(tenantId);
+        if (!counterRepository.tryAdd(tenantId, 1, pattern ? 1 : 0, max, ExtensionConstants.MAX_PATTERN_RULES)) {
+            throw limitExceeded(tenantId, pattern, max);
         }
 
-        CustomExtension extension = CustomExtension.builder()
+        log.info("Added custom extension: {} (tenant: {})", cleanedExtension, tenantId);
+        eventPublisher.publishEvent(ExtensionChangedEvent.customAdded(tenantId, id, cleanedExtension));
+
+        return CustomExtensionDto.builder()
+                .id(id)
                 .extension(cleanedExtension)
+                .createdAt(createdAt)
                 .build();
+    }
+
+    /**
+     * 카운터 증가가 거절되었을 때 어느 한도를 넘었는지에 맞는 예외
+     */
+    private ExtensionLimitExceededException limitExceeded(String tenantId, boolean pattern, int max) {
+        if (pattern && counterRepository.find(tenantId).patterns() >= ExtensionConstants.MAX_PATTERN_RULES) {
+            return new ExtensionLimitExceededException(ExtensionConstants.ERROR_PATTERN_LIMIT_EXCEEDED);
+        }
+        return new ExtensionLimitExceededException(ExtensionConstants.errorExtensionLimitExceeded(max));
+    }
+
+    /**
+     * 커스텀 확장자 일괄 추가
+     * 이미 정규화/검증된 확장자 목록을 받아 요청한 확장자만 기존 등록 여부를 조회하고, JDBC 배치 INSERT로 저장합니다.
+     * 한도는 테넌트 전체를 세지 않고 개수 카운터로 판단하며, 넘으면 하나도 저장하지 않습니다.
+     * @return 새로 추가된 확장자 목록 (이미 등록된 확장자는 제외)
+     */
+    @Transactional
+    public List<String> addCustomExtensions(String tenantId, Collection<String> cleanedExtensions) {
+        Set<String> existing = customExtensionJdbcRepository.findExistingExtensions(tenantId, cleanedExtensions);
+        List<String> added = new ArrayList<>();
+        for (String extension : cleanedExtensions) {
+            if (!existing.contains(extension)) {
+                added.add(extension);
+            }
+        }
+        if (added.isEmpty()) {
+            return added;
+        }
+        int max = getMaxCustomExtensions(tenantId);
+        long addedPatterns = added.stream().filter(ExtensionNames::isPattern).count();
+        // 저장 전에 현재 개수로 한 번 걸러 냅니다. (동시 등록까지 포함한 최종 판정은 아래 tryAdd)
+        CustomExtensionCounterJdbcRepository.Counts current = counterRepository.find(tenantId);
+        if (current.extensions() + added.size() > max) {
+            throw new ExtensionLimitExceededException(ExtensionConstants.errorExtensionLimitExceeded(max));
+        }
+        if (current.patterns() + addedPatterns > ExtensionConstants.MAX_PATTERN_RULES) {
+            throw new ExtensionLimitExceededException(ExtensionConstants.ERROR_PATTERN_LIMIT_EXCEEDED);
+        }
 
-        CustomExtension saved = customExtensionRepository.save(extension);
-        log.info("Added custom extension: {} (current count: {})", cleanedExtension, count + 1);
+        try {
+            customExtensionJdbcRepository.batchInsert(tenantId, added, LocalDateTime.now());
+        } catch (DuplicateKeyException e) {
+            // 목록을 읽은 뒤 다른 요청이 같은 확장자를 먼저 등록한 경우 (전체 취소, 다시 요청하면 기존 항목으로 건너뜀)
+            throw new DuplicateExtensionException("일괄 등록 중 다른 요청이 같은 확장자를 등록했습니다. 다시 시도해주세요.");
+        }
+        // 위 검사는 읽은 시점 기준이므로 동시 등록까지 포함한 한도는 카운터로 다시 확인합니다.
+        if (!counterRepository.tryAdd(tenantId, added.size(), addedPatterns, max, ExtensionConstants.MAX_PATTERN_RULES)) {
+            throw limitExceeded(tenantId, addedPatterns > 0, max);
+        }
+        Map<String, Long> ids = customExtensionJdbcRepository.findIdsByExtensions(tenantId, added);
+        log.info("Added {} custom extensions in bulk ({} already registered)", added.size(), existing.size());
 
-        return CustomExtensionDto.from(saved);
+        eventPublisher.publishEvent(new ExtensionChangedEvent(tenantId, added.stream()
+                .map(extension -> new ExtensionChange(ExtensionChange.ChangeType.CUSTOM_ADDED, ids.get(extension), extension, true))
+                .toList()));
+        return added;
     }
 
     /**
      * 커스텀 확장자 삭제 (ID 기반)
      */
     @Transactional
-    public void deleteCustomExtension(Long id) {
-        if (!customExtensionRepository.existsById(id)) {
-            throw new ExtensionNotFoundException("커스텀 확장자를 찾을 수 없습니다. ID: " + id);
-        }
+    public void deleteCustomExtension(String tenantId, Long id) {
+        CustomExtension extension = customExtensionRepository.findByIdAndTenantId(id, tenantId)
+                .orElseThrow(() -> new ExtensionNotFoundException("커스텀 확장자를 찾을 수 없습니다. ID: " + id));
 
-        customExtensionRepository.deleteById(id);
+        delete(tenantId, extension);
         log.info("Deleted custom extension: ID {}", id);
+        eventPublisher.publishEvent(ExtensionChangedEvent.customDeleted(tenantId, id, extension.getExtension()));
     }
 
     /**
      * 커스텀 확장자 삭제 (이름 기반)
      */
     @Transactional
-    public void deleteCustomExtensionByName(String extensionName) {
-        String cleanedExtension = extensionName.toLowerCase().trim();
-        CustomExtension extension = customExtensionRepository.findByExtension(cleanedExtension)
+    public void deleteCustomExtensionByName(String tenantId, String extensionName) {
+        String cleanedExtension = ExtensionNames.normalize(extensionName);
+        CustomExtension extension = customExtensionRepository.findByTenantIdAndExtension(tenantId, cleanedExtension)
                 .orElseThrow(() -> new ExtensionNotFoundException("커스텀 확장자를 찾을 수 없습니다: " + cleanedExtension));
 
-        customExtensionRepository.delete(extension);
+        delete(tenantId, extension);
         log.info("Deleted custom extension by name: {}", cleanedExtension);
+        eventPublisher.publishEvent(ExtensionChangedEvent.customDeleted(tenantId, extension.getId(), cleanedExtension));
+    }
+
+    /**
+     * 조회한 행을 한 문장으로 삭제 (동시에 같은 행을 삭제한 요청이 있으면 한쪽만 성공하고 나머지는 404)
+     */
+    private void delete(String tenantId, CustomExtension extension) {
+        if (customExtensionJdbcRepository.delete(tenantId, extension.getId()) == 0) {
+            throw new ExtensionNotFoundException("커스텀 확장자를 찾을 수 없습니다: " + extension.getExtension());
+        }
+        counterRepository.add(tenantId, -1, ExtensionNames.isPattern(extension.getExtension()) ? -1 : 0);
+    }
+
+    /**
+     * 커스텀 확장자 개수 조회 (유지되는 카운터, 목록 크기와 무관)
+     */
+    public long getCustomExtensionCount(String tenantId) {
+        return counterRepository.find(tenantId).extensions();
     }
 
     /**
-     * 커스텀 확장자 개수 조회
+     * 테넌트의 커스텀 확장자 최대 개수
      */
-    public long getCustomExtensionCount() {
-        return customExtensionRepository.count();
+    public int getMaxCustomExtensions(String tenantId) {
+        return tenantProperties.maxCustomExtensionsOf(tenantId);
     }
 }
@@ -0,0 +1,39 @@
+package com.flow.folwteamtest.service;
+
+import com.flow.folwteamtest.dto.ExtensionStatsDto;
+import com.flow.folwteamtest.dto.ExtensionStatsResponse;
+import com.flow.folwteamtest.stats.ExtensionHitSnapshot;
+import com.flow.folwteamtest.stats.ExtensionHitStats;
+import com.flow.folwteamtest.stats.StatsWindow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+
+/**
+ * 확장자별 판정 통계 조회 서비스
+ * 메모리 카운터만 읽으므로 트랜잭션을 열지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExtensionStatsService {
+
+    private final ExtensionHitStats hitStats;
+
+    /**
+     * window 구간의 판정 건수 상위 top개 조회
+     * @param top 최대 개수 (null이면 전체)
+     */
+    public ExtensionStatsResponse getStats(String tenantId, StatsWindow window, Integer top) {
+        Comparator<ExtensionHitSnapshot> byCount = Comparator.comparingLong(
+                (ExtensionHitSnapshot snapshot) -> snapshot.count(window).total()).reversed();
+        return ExtensionStatsResponse.builder()
+                .window(window)
+                .items(hitStats.snapshot(tenantId).stream()
+                        .sorted(byCount.thenComparing(ExtensionHitSnapshot::extension))
+                        .limit(top == null ? Long.MAX_VALUE : Math.max(0, top))
+                        .map(snapshot -> ExtensionStatsDto.from(snapshot, window))
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.flow.folwteamtest.service;
+
+import com.flow.folwteamtest.dto.QuarantineSampleDto;
+import com.flow.folwteamtest.dto.QuarantineSamplePageResponse;
+import com.flow.folwteamtest.entity.QuarantineSample;
+import com.flow.folwteamtest.exception.QuarantineSampleNotFoundException;
+import com.flow.folwteamtest.quarantine.QuarantineStore;
+import com.flow.folwteamtest.repository.QuarantineSampleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 격리 샘플 조회 서비스
+ * 감사 로그와 같이 id 키셋(before)으로 페이지를 넘깁니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@ConditionalOnProperty(prefix = "flow.quarantine", name = "enabled", havingValue = "true")
+public class QuarantineService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final QuarantineSampleRepository sampleRepository;
+    private final QuarantineStore quarantineStore;
+
+    /**
+     * 내려받을 샘플 파일
+     */
+    public record SampleContent(QuarantineSample sample, Path path) {
+    }
+
+    /**
+     * 격리 샘플 목록 (최신순)
+     * @param before 이 id보다 이전 샘플만 조회 (null이면 최신부터)
+     */
+    public QuarantineSamplePageResponse search(String tenantId, Long before, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.clamp(size, 1, MAX_PAGE_SIZE);
+        List<QuarantineSample> samples = sampleRepository.findByTenantIdAndIdLessThanOrderByIdDesc(
+                tenantId, before == null ? Long.MAX_VALUE : before, Limit.of(pageSize + 1));
+
+        boolean hasMore = samples.size() > pageSize;
+        List<QuarantineSampleDto> items = samples.stream()
+                .limit(pageSize)
+                .map(QuarantineSampleDto::from)
+                .toList();
+        return QuarantineSamplePageResponse.builder()
+                .items(items)
+                .nextCursor(hasMore ? items.get(items.size() - 1).getId() : null)
+                .build();
+    }
+
+    /**
+     * 샘플 파일 조회 (내려받기는 마지막 접근으로 기록되어 용량 정리 순서가 늦춰집니다)
+     * @throws QuarantineSampleNotFoundException 샘플이 없거나 파일이 이미 정리된 경우
+     */
+    public SampleContent getContent(String tenantId, Long id) {
+        QuarantineSample sample = sampleRepository.findByIdAndTenantId(id, tenantId)
+                .orElseThrow(() -> new QuarantineSampleNotFoundException("격리 샘플을 찾을 수 없습니다: " + id));
+        Path path = quarantineStore.pathOf(tenantId, sample.getSha256());
+        if (!Files.isRegularFile(path)) {
+            throw new QuarantineSampleNotFoundException("격리 샘플 파일이 정리되었습니다: " + id);
+        }
+        quarantineStore.touch(sample.getId());
+        return new SampleContent(sample, path);
+    }
+}
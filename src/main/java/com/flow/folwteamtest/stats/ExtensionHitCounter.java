@@ -0,0 +1,114 @@
+package com.flow.folwteamtest.stats;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h1>확장자 한 개의 판정 카운터</h1>
+ * <p>요청 스레드는 스트라이프 카운터(LongAdder)만 증가시키므로 같은 확장자를 동시에 검사해도 경합하지 않습니다.
+ * 주기적으로(roll) 누적분을 구간별 버킷 링으로 옮기며, 버킷 링은 roll/조회에서만 접근하므로 this로 동기화합니다.</p>
+ */
+final class ExtensionHitCounter {
+
+    private static final StatsWindow[] ROLLING_WINDOWS = {
+            StatsWindow.ONE_MINUTE, StatsWindow.ONE_HOUR, StatsWindow.ONE_DAY
+    };
+
+    // 아직 버킷에 반영되지 않은 건수
+    private final LongAdder pendingBlocked = new LongAdder();
+    private final LongAdder pendingAllowed = new LongAdder();
+    private final LongAccumulator lastHit = new LongAccumulator(Long::max, 0);
+
+    private final Ring[] rings = new Ring[ROLLING_WINDOWS.length];
+    private long totalBlocked;
+    private long totalAllowed;
+
+    ExtensionHitCounter() {
+        for (int i = 0; i < ROLLING_WINDOWS.length; i++) {
+            rings[i] = new Ring(ROLLING_WINDOWS[i]);
+        }
+    }
+
+    void increment(boolean blocked, long now) {
+        if (blocked) {
+            pendingBlocked.increment();
+        } else {
+            pendingAllowed.increment();
+        }
+        lastHit.accumulate(now);
+    }
+
+    /**
+     * 누적분을 now 시점의 버킷으로 옮김
+     */
+    synchronized void roll(long now) {
+        long blocked = pendingBlocked.sumThenReset();
+        long allowed = pendingAllowed.sumThenReset();
+        if (blocked == 0 && allowed == 0) {
+            return;
+        }
+        totalBlocked += blocked;
+        totalAllowed += allowed;
+        for (Ring ring : rings) {
+            ring.add(now, blocked, allowed);
+        }
+    }
+
+    /**
+     * 구간별 건수 (아직 버킷에 옮기지 않은 건수 포함)
+     */
+    synchronized ExtensionHitSnapshot snapshot(String extension, long now) {
+        long blocked = pendingBlocked.sum();
+        long allowed = pendingAllowed.sum();
+        Map<StatsWindow, HitCount> windows = new EnumMap<>(StatsWindow.class);
+        for (Ring ring : rings) {
+            windows.put(ring.window, ring.sum(now, blocked, allowed));
+        }
+        windows.put(StatsWindow.TOTAL, new HitCount(totalBlocked + blocked, totalAllowed + allowed));
+        return new ExtensionHitSnapshot(extension, lastHit.get(), windows);
+    }
+
+    /**
+     * 구간 하나의 버킷 링 (버킷마다 어느 시간 칸의 값인지 기록해 오래된 칸을 재사용)
+     */
+    private static final class Ring {
+        private final StatsWindow window;
+        private final long[] epochs;
+        private final long[] blocked;
+        private final long[] allowed;
+
+        private Ring(StatsWindow window) {
+            this.window = window;
+            this.epochs = new long[window.bucketCount()];
+            this.blocked = new long[window.bucketCount()];
+            this.allowed = new long[window.bucketCount()];
+        }
+
+        void add(long now, long blockedCount, long allowedCount) {
+            long epoch = now / window.bucketMillis();
+            int slot = (int) (epoch % epochs.length);
+            if (epochs[slot] != epoch) {
+                epochs[slot] = epoch;
+                blocked[slot] = 0;
+                allowed[slot] = 0;
+            }
+            blocked[slot] += blockedCount;
+            allowed[slot] += allowedCount;
+        }
+
+        HitCount sum(long now, long pendingBlocked, long pendingAllowed) {
+            long oldest = now / window.bucketMillis() - epochs.length + 1;
+            long blockedSum = pendingBlocked;
+            long allowedSum = pendingAllowed;
+            for (int i = 0; i < epochs.length; i++) {
+                if (epochs[i] >= oldest) {
+                    blockedSum += blocked[i];
+                    allowedSum += allowed[i];
+                }
+            }
+            return new HitCount(blockedSum, allowedSum);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.flow.folwteamtest.stats;
+
+import java.util.Map;
+
+/**
+ * 확장자 한 개의 통계 조회 시점 값
+ *
+ * @param lastHitAt 마지막 판정 시각 (epoch millis)
+ * @param windows   구간별 건수 (TOTAL 포함)
+ */
+public record ExtensionHitSnapshot(String extension, long lastHitAt, Map<StatsWindow, HitCount> windows) {
+
+    public HitCount count(StatsWindow window) {
+        return windows.get(window);
+    }
+}
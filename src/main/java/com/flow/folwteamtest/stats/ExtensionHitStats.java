@@ -0,0 +1,138 @@
+package com.flow.folwteamtest.stats;
+
+import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.common.ExtensionNames;
+import com.flow.folwteamtest.config.StatsProperties;
+import com.flow.folwteamtest.event.ExtensionChange;
+import com.flow.folwteamtest.event.ExtensionChangedEvent;
+import com.flow.folwteamtest.event.RemoteExtensionChangedEvent;
+import com.flow.folwteamtest.policy.BlockedRule;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>확장자별 판정 통계</h1>
+ * <p>검사 경로는 맵 조회 두 번과 LongAdder 증가만 수행합니다 (락, 할당, DB 접근 없음).
+ * 구간별(1m/1h/24h) 버킷 반영은 전용 스레드가 가장 작은 버킷 주기마다 수행합니다.</p>
+ * <p>집계 대상은 목록에 있는 확장자뿐입니다: 차단된 판정은 일치한 규칙의 확장자, 허용된 판정은 고정 확장자일 때만 셉니다.
+ * 커스텀 확장자가 삭제되면 해당 카운터도 제거하며, 테넌트/확장자 수는 flow.stats.*로 제한합니다.</p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(StatsProperties.class)
+public class ExtensionHitStats {
+
+    private static final Set<String> FIXED_NAMES = Set.of(ExtensionConstants.FIXED_EXTENSION_NAMES);
+
+    private final StatsProperties properties;
+    private final Map<String, Map<String, ExtensionHitCounter>> tenants = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService roller = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("extension-stats").daemon().factory());
+
+    public ExtensionHitStats(StatsProperties properties) {
+        this.properties = properties;
+        long interval = StatsWindow.ONE_MINUTE.bucketMillis();
+        roller.scheduleAtFixedRate(this::rollAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 판정 한 건 집계 (요청 스레드에서 호출)
+     * @param rule 일치한 차단 규칙, 허용이면 null
+     */
+    public void record(String tenantId, String filename, BlockedRule rule) {
+        String extension;
+        if (rule != null) {
+            extension = rule.extension();
+        } else {
+            extension = ExtensionNames.extensionOf(filename);
+            if (!FIXED_NAMES.contains(extension)) {
+                return;
+            }
+        }
+        ExtensionHitCounter counter = counterOf(tenantId, extension);
+        if (counter != null) {
+            counter.increment(rule != null, System.currentTimeMillis());
+        }
+    }
+
+    private ExtensionHitCounter counterOf(String tenantId, String extension) {
+        Map<String, ExtensionHitCounter> counters = tenants.get(tenantId);
+        if (counters == null) {
+            if (tenants.size() >= properties.maxTenants()) {
+                return null;
+            }
+            counters = tenants.computeIfAbsent(tenantId, id -> new ConcurrentHashMap<>());
+        }
+        ExtensionHitCounter counter = counters.get(extension);
+        if (counter == null) {
+            if (counters.size() >= properties.maxExtensionsPerTenant()) {
+                return null;
+            }
+            counter = counters.computeIfAbsent(extension, name -> new ExtensionHitCounter());
+        }
+        return counter;
+    }
+
+    /**
+     * 테넌트의 확장자별 통계 (순서 없음)
+     */
+    public List<ExtensionHitSnapshot> snapshot(String tenantId) {
+        Map<String, ExtensionHitCounter> counters = tenants.getOrDefault(tenantId, Map.of());
+        long now = System.currentTimeMillis();
+        return counters.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey(), now))
+                .toList();
+    }
+
+    /**
+     * 삭제된 커스텀 확장자의 카운터 제거 (같은 이름의 고정 확장자는 유지)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onExtensionChanged(ExtensionChangedEvent event) {
+        removeDeleted(event.tenantId(), event.changes());
+    }
+
+    @EventListener
+    public void onRemoteExtensionChanged(RemoteExtensionChangedEvent event) {
+        removeDeleted(event.tenantId(), event.changes());
+    }
+
+    private void removeDeleted(String tenantId, List<ExtensionChange> changes) {
+        Map<String, ExtensionHitCounter> counters = tenants.get(tenantId);
+        if (counters == null) {
+            return;
+        }
+        for (ExtensionChange change : changes) {
+            if (change.type() == ExtensionChange.ChangeType.CUSTOM_DELETED && !FIXED_NAMES.contains(change.extension())) {
+                counters.remove(change.extension());
+            }
+        }
+    }
+
+    private void rollAll() {
+        try {
+            long now = System.currentTimeMillis();
+            tenants.values().forEach(counters -> counters.values().forEach(counter -> counter.roll(now)));
+        } catch (RuntimeException e) {
+            log.warn("Failed to roll extension stats", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        roller.shutdownNow();
+    }
+}
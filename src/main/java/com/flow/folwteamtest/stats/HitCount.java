@@ -0,0 +1,11 @@
+package com.flow.folwteamtest.stats;
+
+/**
+ * 한 구간의 판정 건수
+ */
+public record HitCount(long blocked, long allowed) {
+
+    public long total() {
+        return blocked + allowed;
+    }
+}
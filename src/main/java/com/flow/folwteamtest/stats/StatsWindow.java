@@ -0,0 +1,59 @@
+package com.flow.folwteamtest.stats;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.time.Duration;
+
+/**
+ * 확장자 통계 집계 구간
+ * 구간은 고정 크기 버킷의 링으로 관리하므로, 가장 오래된 버킷만큼(최대 bucket 길이) 오차가 있습니다.
+ */
+public enum StatsWindow {
+    ONE_MINUTE("1m", Duration.ofSeconds(10), 6),
+    ONE_HOUR("1h", Duration.ofMinutes(5), 12),
+    ONE_DAY("24h", Duration.ofHours(1), 24),
+    /**
+     * 기동 이후 누적 (버킷 없음)
+     */
+    TOTAL("total", null, 0);
+
+    private final String code;
+    private final long bucketMillis;
+    private final int bucketCount;
+
+    StatsWindow(String code, Duration bucket, int bucketCount) {
+        this.code = code;
+        this.bucketMillis = bucket == null ? 0 : bucket.toMillis();
+        this.bucketCount = bucketCount;
+    }
+
+    @JsonValue
+    public String code() {
+        return code;
+    }
+
+    long bucketMillis() {
+        return bucketMillis;
+    }
+
+    int bucketCount() {
+        return bucketCount;
+    }
+
+    boolean isRolling() {
+        return bucketCount > 0;
+    }
+
+    /**
+     * 코드("1m", "1h", "24h", "total")로 조회
+     * @throws IllegalArgumentException 알 수 없는 코드
+     */
+    public static StatsWindow of(String code) {
+        for (StatsWindow window : values()) {
+            if (window.code.equalsIgnoreCase(code)) {
+                return window;
+            }
+        }
+        throw new IllegalArgumentException("unknown stats window: " + code);
+    }
+}
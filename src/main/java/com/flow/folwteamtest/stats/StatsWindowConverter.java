@@ -0,0 +1,17 @@
+package com.flow.folwteamtest.stats;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청 파라미터(window=1h 등)를 StatsWindow로 변환
+ * 변환 실패는 MethodArgumentTypeMismatchException(400 INVALID_PARAMETER)으로 처리됩니다.
+ */
+@Component
+public class StatsWindowConverter implements Converter<String, StatsWindow> {
+
+    @Override
+    public StatsWindow convert(String source) {
+        return StatsWindow.of(source.trim());
+    }
+}
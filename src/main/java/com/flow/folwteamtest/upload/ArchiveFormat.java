@@ -0,0 +1,78 @@
+package com.flow.folwteamtest.upload;
+
+import com.flow.folwteamtest.common.ExtensionNames;
+
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 내부 검사를 지원하는 압축 형식
+ * 형식은 이름이 아니라 본문 앞부분(매직 넘버)으로 판별하므로, 이름을 바꾼 압축 파일도 같은 규칙으로 검사합니다.
+ */
+enum ArchiveFormat {
+
+    ZIP,
+    TAR,
+    GZIP;
+
+    /**
+     * 형식 판별에 필요한 앞부분 길이 (tar의 "ustar" 매직이 257번째 바이트부터 있음)
+     */
+    static final int PROBE_LENGTH = 262;
+
+    /**
+     * ZIP 기반 문서 형식 (OOXML, ODF)
+     */
+    private static final Set<String> DOCUMENT_EXTENSIONS = Set.of(
+            "docx", "xlsx", "pptx", "docm", "xlsm", "pptm", "dotx", "xltx", "potx", "odt", "ods", "odp");
+
+    /**
+     * ZIP 기반 문서의 구조 파트 이름 (문서 형식이 정한 xml/rels 경로만, 첨부된 미디어나 매크로 등은 포함하지 않음)
+     */
+    private static final Pattern DOCUMENT_PART = Pattern.compile(
+            "\\[Content_Types]\\.xml|mimetype|manifest\\.rdf|META-INF/manifest\\.xml"
+                    + "|(?:content|styles|meta|settings)\\.xml"
+                    + "|(?:[^/]+/)*_rels/[^/]*\\.rels"
+                    + "|(?:word|xl|ppt|docProps|customXml)/(?:[^/]+/)*[^/]+\\.xml");
+
+    /**
+     * 본문 앞부분으로 형식 판별
+     * @return 지원하는 압축 형식이 아니면 null
+     */
+    static ArchiveFormat detect(byte[] head, int length) {
+        if (length >= 4 && head[0] == 'P' && head[1] == 'K'
+                && ((head[2] == 3 && head[3] == 4) || (head[2] == 5 && head[3] == 6))) {
+            return ZIP;
+        }
+        if (length >= 3 && (head[0] & 0xFF) == 0x1f && (head[1] & 0xFF) == 0x8b && head[2] == 8) {
+            return GZIP;
+        }
+        if (length >= 262 && head[257] == 'u' && head[258] == 's' && head[259] == 't'
+                && head[260] == 'a' && head[261] == 'r') {
+            return TAR;
+        }
+        return null;
+    }
+
+    /**
+     * ZIP 기반 문서(docx 등) 안의 구조 파트인지 여부
+     * 정책이 xml 등을 차단해도 문서 자체가 막히지 않도록 이름 검사에서 제외하며, 그 외 항목은 일반 ZIP과 같이 검사합니다.
+     * @param path "report.docx!/word/document.xml" 형식의 항목 경로
+     */
+    static boolean isDocumentPart(String path) {
+        int separator = path.lastIndexOf("!/");
+        if (separator < 0 || path.indexOf('\0') >= 0) {
+            return false;
+        }
+        return DOCUMENT_EXTENSIONS.contains(ExtensionNames.extensionOf(path.substring(0, separator)))
+                && DOCUMENT_PART.matcher(path).region(separator + 2, path.length()).matches();
+    }
+
+    ArchiveScanner newScanner(ArchiveWalk walk, String path, int depth) {
+        return switch (this) {
+            case ZIP -> new ZipStreamScanner(walk, path, depth);
+            case TAR -> new TarStreamScanner(walk, path, depth);
+            case GZIP -> new GzipStreamScanner(walk, path, depth);
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.flow.folwteamtest.upload;
+
+/**
+ * 압축 파일 내부 검사 한도 (압축 폭탄 방어)
+ * 한도를 넘으면 RejectedArchiveException으로 업로드를 거부합니다.
+ *
+ * @param maxDepth            최대 중첩 깊이 (업로드한 압축 파일 자체가 1)
+ * @param maxEntries          중첩 압축 파일을 포함한 최대 항목 수
+ * @param maxTotalBytes       모든 항목의 압축 해제 크기 합계 상한
+ * @param maxCompressionRatio 항목별 최대 압축률 (압축 해제 크기 / 압축 크기)
+ */
+public record ArchiveLimits(int maxDepth, int maxEntries, long maxTotalBytes, int maxCompressionRatio) {
+}
@@ -0,0 +1,63 @@
+package com.flow.folwteamtest.upload;
+
+/**
+ * 본문 앞부분(ArchiveFormat.PROBE_LENGTH 바이트)을 모아 압축 형식을 판별한 뒤,
+ * 해당 형식의 스캐너로 이어서 넘기는 스캐너입니다. 지원하는 압축 형식이 아니면 이후 본문을 무시합니다.
+ */
+final class ArchiveProbe extends ArchiveScanner {
+
+    private final byte[] head = new byte[ArchiveFormat.PROBE_LENGTH];
+    private int headLength;
+    private ArchiveScanner delegate;
+    private boolean passive;
+
+    ArchiveProbe(ArchiveWalk walk, String path, int depth) {
+        super(walk, path, depth);
+    }
+
+    @Override
+    void feed(byte[] buffer, int offset, int length) {
+        if (passive) {
+            return;
+        }
+        if (delegate != null) {
+            delegate.feed(buffer, offset, length);
+            return;
+        }
+        int take = Math.min(head.length - headLength, length);
+        System.arraycopy(buffer, offset, head, headLength, take);
+        headLength += take;
+        if (headLength == head.length) {
+            decide();
+            if (delegate != null && take < length) {
+                delegate.feed(buffer, offset + take, length - take);
+            }
+        }
+    }
+
+    @Override
+    void finish() {
+        if (delegate == null && !passive) {
+            decide();
+        }
+        if (delegate != null) {
+            delegate.finish();
+        }
+    }
+
+    @Override
+    boolean isActive() {
+        return !passive && (delegate == null || delegate.isActive());
+    }
+
+    private void decide() {
+        ArchiveFormat format = ArchiveFormat.detect(head, headLength);
+        if (format == null) {
+            passive = true;
+            return;
+        }
+        walk.checkDepth(depth);
+        delegate = format.newScanner(walk, path, depth);
+        delegate.feed(head, 0, headLength);
+    }
+}
@@ -0,0 +1,177 @@
+package com.flow.folwteamtest.upload;
+
+import com.flow.folwteamtest.exception.RejectedArchiveException;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * <h1>압축 파일 스트리밍 스캐너</h1>
+ * <p>MultipartStreamScanner처럼 본문 청크를 밀어 넣으면(feed) 항목 헤더를 찾아 ArchiveWalk로 이름을 검사합니다.
+ * 디스크에 풀거나 본문 전체를 버퍼링하지 않으며, 청크가 헤더 중간에서 잘려도 되도록 고정 길이 레코드만 모아 둡니다.</p>
+ * <p>항목 본문은 형식을 판별할 앞부분만 다음 스캐너로 넘긴 뒤 크기만큼 건너뛰는 것이 기본이며,
+ * 앞부분이 압축 형식(중첩)이거나 크기를 헤더로 알 수 없는 항목만 끝까지 압축을 풉니다.</p>
+ */
+abstract class ArchiveScanner {
+
+    private static final int INFLATE_BUFFER_SIZE = 8192;
+
+    protected final ArchiveWalk walk;
+    protected final String path;
+    protected final int depth;
+
+    private byte[] record = new byte[64];
+    private int recordLength;
+    private int filled;
+    private Inflater inflater;
+    private byte[] inflated;
+
+    ArchiveScanner(ArchiveWalk walk, String path, int depth) {
+        this.walk = walk;
+        this.path = path;
+        this.depth = depth;
+    }
+
+    /**
+     * 본문 청크 전달
+     */
+    abstract void feed(byte[] buffer, int offset, int length);
+
+    /**
+     * 본문 끝 (잘린 압축 파일이면 RejectedArchiveException)
+     */
+    abstract void finish();
+
+    /**
+     * 아직 본문이 필요한지 여부 (압축 파일이 아닌 것으로 판별되었거나 검사를 마쳤으면 false)
+     */
+    boolean isActive() {
+        return true;
+    }
+
+    /**
+     * 다음 고정 길이 레코드 읽기 시작
+     */
+    protected void expect(int length) {
+        if (record.length < length) {
+            record = Arrays.copyOf(record, Math.max(length, record.length * 2));
+        }
+        recordLength = length;
+        filled = 0;
+    }
+
+    /**
+     * 레코드를 채울 만큼 소비
+     * @return 소비 후 위치
+     */
+    protected int fill(byte[] buffer, int i, int end) {
+        int take = Math.min(recordLength - filled, end - i);
+        System.arraycopy(buffer, i, record, filled, take);
+        filled += take;
+        return i + take;
+    }
+
+    protected int recordLength() {
+        return recordLength;
+    }
+
+    protected boolean isRecordComplete() {
+        return filled == recordLength;
+    }
+
+    /**
+     * 레코드를 읽기 시작한 뒤 한 바이트라도 받았는지 여부 (잘린 압축 파일 판별용)
+     */
+    protected boolean isRecordStarted() {
+        return filled > 0;
+    }
+
+    protected byte[] record() {
+        return record;
+    }
+
+    protected int u8(int offset) {
+        return record[offset] & 0xFF;
+    }
+
+    protected int u16(int offset) {
+        return u8(offset) | u8(offset + 1) << 8;
+    }
+
+    protected long u32(int offset) {
+        return (u16(offset) | (long) u16(offset + 2) << 16) & 0xFFFFFFFFL;
+    }
+
+    protected long u64(int offset) {
+        return u32(offset) | u32(offset + 4) << 32;
+    }
+
+    /**
+     * raw deflate 스트림 시작 (스캐너당 Inflater 하나를 재사용)
+     */
+    protected void startInflate() {
+        if (inflater == null) {
+            inflater = new Inflater(true);
+            inflated = new byte[INFLATE_BUFFER_SIZE];
+        } else {
+            inflater.reset();
+        }
+    }
+
+    /**
+     * 압축 데이터를 풀어 sink로 넘기고, 풀린 크기와 압축률을 ArchiveWalk에 반영합니다.
+     * deflate 스트림이 끝나면 그 뒤의 바이트는 소비하지 않습니다.
+     *
+     * @param sink 풀린 데이터를 받을 스캐너 (버리려면 null)
+     * @return 소비한 바이트 수
+     */
+    protected int inflate(byte[] buffer, int offset, int length, ArchiveScanner sink, String entryPath) {
+        inflater.setInput(buffer, offset, length);
+        try {
+            while (!inflater.finished() && !inflater.needsInput()) {
+                int n = inflater.inflate(inflated);
+                if (n == 0 && inflater.needsDictionary()) {
+                    throw new RejectedArchiveException("압축 데이터가 손상되었습니다: " + entryPath);
+                }
+                walk.addUncompressed(n);
+                walk.checkRatio(entryPath, inflater.getBytesWritten(), inflater.getBytesRead());
+                if (sink != null && sink.isActive()) {
+                    sink.feed(inflated, 0, n);
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new RejectedArchiveException("압축 데이터가 손상되었습니다: " + entryPath);
+        }
+        return length - inflater.getRemaining();
+    }
+
+    protected boolean isInflateFinished() {
+        return inflater.finished();
+    }
+
+    /**
+     * 지금까지 푼 크기
+     */
+    protected long inflatedBytes() {
+        return inflater.getBytesWritten();
+    }
+
+    /**
+     * 스캐너가 가진 네이티브 자원 해제
+     */
+    protected void releaseInflater() {
+        if (inflater != null) {
+            inflater.end();
+            inflater = null;
+        }
+    }
+
+    protected String entryPath(String name) {
+        return path + "!/" + name;
+    }
+
+    protected RejectedArchiveException truncated() {
+        return new RejectedArchiveException("압축 파일이 중간에 잘렸거나 손상되었습니다: " + path);
+    }
+}
@@ -0,0 +1,113 @@
+package com.flow.folwteamtest.upload;
+
+import com.flow.folwteamtest.exception.RejectedArchiveException;
+
+/**
+ * <h1>압축 파일 하나에 대한 검사 상태</h1>
+ * <p>업로드 파트 하나(와 그 안의 중첩 압축 파일 전체)가 공유하는 항목 수, 압축 해제 크기 합계를 세고
+ * ArchiveLimits를 넘으면 RejectedArchiveException을 던집니다.</p>
+ * <p>항목명 검사(차단 여부 판정)는 호출자가 넘긴 EntryCheck에 맡깁니다.</p>
+ */
+final class ArchiveWalk {
+
+    /**
+     * 항목 경로 검사 (차단 대상이면 예외를 던짐)
+     * 경로는 "outer.zip!/dir/inner.tar!/file.exe" 형식입니다.
+     */
+    @FunctionalInterface
+    interface EntryCheck {
+        void check(String path);
+    }
+
+    /**
+     * 압축률 검사를 적용하는 최소 압축 해제 크기 (작은 반복 데이터의 높은 압축률은 정상으로 봄)
+     */
+    static final long RATIO_MIN_BYTES = 1 << 20;
+
+    private final ArchiveLimits limits;
+    private final EntryCheck entryCheck;
+    private int entries;
+    private long totalBytes;
+
+    ArchiveWalk(ArchiveLimits limits, EntryCheck entryCheck) {
+        this.limits = limits;
+        this.entryCheck = entryCheck;
+    }
+
+    /**
+     * 업로드 파트 본문을 받을 최상위 스캐너 (형식은 본문 앞부분으로 판별)
+     */
+    ArchiveScanner inspect(String filename) {
+        return new ArchiveProbe(this, filename, 1);
+    }
+
+    /**
+     * 지금까지 확인한 항목 수 (중첩 압축 파일 포함)
+     */
+    int entries() {
+        return entries;
+    }
+
+    /**
+     * 항목 하나 확인: 항목 수 한도와 이름 검사
+     */
+    void onEntry(String path) {
+        if (++entries > limits.maxEntries()) {
+            throw new RejectedArchiveException("압축 파일 항목 수가 최대 " + limits.maxEntries() + "개를 초과했습니다.");
+        }
+        checkName(path);
+    }
+
+    /**
+     * 이름 검사
+     * C 문자열로 이름을 다루는 압축 해제 도구는 NUL에서 이름을 자르므로 잘린 이름도 함께 검사합니다. ("a.exe\0.txt" → a.exe)
+     * 문서(docx 등)의 구조 파트([Content_Types].xml, word/document.xml 등)는 검사하지 않습니다.
+     */
+    void checkName(String path) {
+        if (ArchiveFormat.isDocumentPart(path)) {
+            return;
+        }
+        entryCheck.check(path);
+        int nul = path.indexOf('\0');
+        if (nul >= 0) {
+            entryCheck.check(path.substring(0, nul));
+        }
+    }
+
+    /**
+     * 압축 해제 크기 누적 (선언된 크기 또는 실제로 풀어 본 크기)
+     */
+    void addUncompressed(long bytes) {
+        totalBytes += bytes;
+        if (totalBytes > limits.maxTotalBytes() || totalBytes < 0) {
+            throw new RejectedArchiveException("압축 파일의 압축 해제 크기가 최대 " + limits.maxTotalBytes() + " bytes를 초과했습니다.");
+        }
+    }
+
+    /**
+     * 항목 압축률 검사
+     */
+    void checkRatio(String path, long uncompressed, long compressed) {
+        if (uncompressed >= RATIO_MIN_BYTES && uncompressed > compressed * limits.maxCompressionRatio()) {
+            throw new RejectedArchiveException("압축률이 비정상적으로 높은 항목이 있습니다: " + path);
+        }
+    }
+
+    /**
+     * 중첩 항목 스캐너
+     * 이름과 관계없이 본문 앞부분으로 형식을 판별하며, 압축 파일이 아니면 스캐너가 비활성(isActive false)이 되어
+     * 호출자는 나머지 본문을 풀지 않고 건너뜁니다. 중첩 깊이와 압축 해제 크기 한도는 그대로 적용됩니다.
+     */
+    ArchiveScanner nested(String path, int parentDepth) {
+        return new ArchiveProbe(this, path, parentDepth + 1);
+    }
+
+    /**
+     * 판별된 압축 형식의 중첩 깊이 검사
+     */
+    void checkDepth(int depth) {
+        if (depth > limits.maxDepth()) {
+            throw new RejectedArchiveException("압축 파일 중첩 깊이가 최대 " + limits.maxDepth() + "단계를 초과했습니다.");
+        }
+    }
+}
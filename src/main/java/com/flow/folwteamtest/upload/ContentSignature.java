@@ -0,0 +1,45 @@
+package com.flow.folwteamtest.upload;
+
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 파일 시그니처(매직 넘버) 규칙
+ * 본문 첫 바이트가 magic과 일치하면 extensions 중 하나의 형식으로 판단합니다.
+ *
+ * @param type       형식 이름 (로그/응답 표시용)
+ * @param magic      파일 시작 바이트
+ * @param extensions 이 형식이 가질 수 있는 확장자 (정규화된 값)
+ */
+public record ContentSignature(String type, byte[] magic, List<String> extensions) {
+
+    public static ContentSignature of(String type, String hexMagic, String... extensions) {
+        return new ContentSignature(type, HexFormat.of().parseHex(hexMagic), List.of(extensions));
+    }
+
+    /**
+     * 기본 시그니처 목록
+     * 실행 파일/스크립트/설치 패키지 위주이며, 압축 파일은 커스텀 차단(zip 등)과 대조하기 위해 포함합니다.
+     */
+    public static List<ContentSignature> defaults() {
+        return List.of(
+                of("PE", "4d5a", "exe", "dll", "scr", "cpl", "com", "sys", "ocx", "efi"),
+                of("ELF", "7f454c46", "elf", "so", "bin", "run", "out"),
+                of("SHEBANG", "2321", "sh", "bash", "zsh", "csh", "ksh", "py", "pl", "rb", "php", "js"),
+                of("MACH-O", "feedface", "macho", "dylib", "bundle"),
+                of("MACH-O", "feedfacf", "macho", "dylib", "bundle"),
+                of("MACH-O", "cefaedfe", "macho", "dylib", "bundle"),
+                of("MACH-O", "cffaedfe", "macho", "dylib", "bundle"),
+                of("MACH-O-FAT/CLASS", "cafebabe", "macho", "dylib", "bundle", "class"),
+                of("CFB", "d0cf11e0a1b11ae1", "msi", "msp", "doc", "xls", "ppt", "msg"),
+                of("LNK", "4c0000000114020000000000c000000000000046", "lnk"),
+                of("DEX", "6465780a", "dex"),
+                of("WASM", "0061736d", "wasm"),
+                of("ZIP", "504b0304", "zip", "jar", "war", "apk", "docx", "xlsx", "pptx", "docm", "xlsm", "odt", "ods"),
+                of("RAR", "526172211a07", "rar"),
+                of("7Z", "377abcaf271c", "7z"),
+                of("GZIP", "1f8b", "gz", "tgz"),
+                of("PDF", "25504446", "pdf")
+        );
+    }
+}
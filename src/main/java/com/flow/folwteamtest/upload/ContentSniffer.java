@@ -0,0 +1,114 @@
+package com.flow.folwteamtest.upload;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <h1>파일 시그니처 판별기</h1>
+ * <p>등록된 시그니처들을 바이트 트라이(접두사 테이블)로 미리 컴파일해 두고,
+ * 본문 앞부분을 한 번 따라 내려가며 가장 긴 일치 시그니처를 찾습니다.
+ * 조회 비용은 시그니처 개수가 아니라 가장 긴 시그니처 길이에만 비례합니다.</p>
+ * <p>불변 객체이므로 여러 요청 스레드가 공유합니다.</p>
+ */
+public final class ContentSniffer {
+
+    /**
+     * 트라이 노드: 정렬된 다음 바이트 라벨과 대상 노드 인덱스
+     */
+    private record Node(byte[] labels, int[] targets, ContentSignature accept) {
+        int child(byte b) {
+            int index = Arrays.binarySearch(labels, b);
+            return index < 0 ? -1 : targets[index];
+        }
+    }
+
+    private final Node[] nodes;
+    private final int prefixLength;
+
+    public ContentSniffer(List<ContentSignature> signatures) {
+        List<MutableNode> builders = new ArrayList<>();
+        builders.add(new MutableNode());
+        int longest = 0;
+        for (ContentSignature signature : signatures) {
+            int current = 0;
+            for (byte b : signature.magic()) {
+                int next = builders.get(current).child(b);
+                if (next < 0) {
+                    next = builders.size();
+                    builders.add(new MutableNode());
+                    builders.get(current).put(b, next);
+                }
+                current = next;
+            }
+            builders.get(current).accept = signature;
+            longest = Math.max(longest, signature.magic().length);
+        }
+        this.nodes = builders.stream().map(MutableNode::compile).toArray(Node[]::new);
+        this.prefixLength = longest;
+    }
+
+    /**
+     * 판별에 필요한 최대 앞부분 길이 (가장 긴 시그니처 길이)
+     */
+    public int prefixLength() {
+        return prefixLength;
+    }
+
+    /**
+     * 버퍼의 position~limit 구간으로 판별 (버퍼 position은 변경하지 않음)
+     * @return 가장 길게 일치한 시그니처, 없으면 null
+     */
+    public ContentSignature detect(ByteBuffer prefix) {
+        ContentSignature matched = null;
+        int node = 0;
+        for (int i = prefix.position(); i < prefix.limit(); i++) {
+            node = nodes[node].child(prefix.get(i));
+            if (node < 0) {
+                break;
+            }
+            if (nodes[node].accept() != null) {
+                matched = nodes[node].accept();
+            }
+        }
+        return matched;
+    }
+
+    private static final class MutableNode {
+        private byte[] labels = new byte[0];
+        private int[] targets = new int[0];
+        private ContentSignature accept;
+
+        int child(byte b) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == b) {
+                    return targets[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(byte b, int target) {
+            labels = Arrays.copyOf(labels, labels.length + 1);
+            targets = Arrays.copyOf(targets, targets.length + 1);
+            labels[labels.length - 1] = b;
+            targets[targets.length - 1] = target;
+        }
+
+        Node compile() {
+            Integer[] order = new Integer[labels.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Byte.compare(labels[a], labels[b]));
+            byte[] sortedLabels = new byte[labels.length];
+            int[] sortedTargets = new int[labels.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedLabels[i] = labels[order[i]];
+                sortedTargets[i] = targets[order[i]];
+            }
+            return new Node(sortedLabels, sortedTargets, accept);
+        }
+    }
+}
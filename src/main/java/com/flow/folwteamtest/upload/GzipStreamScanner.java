@@ -0,0 +1,221 @@
+package com.flow.folwteamtest.upload;
+
+import com.flow.folwteamtest.common.ExtensionNames;
+import com.flow.folwteamtest.exception.RejectedArchiveException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * <h1>gzip 스트리밍 스캐너</h1>
+ * <p>gzip은 파일 하나를 감싼 형식이므로 헤더의 원래 파일명(FNAME, 없으면 바깥 이름에서 .gz를 뗀 이름)을 항목명으로 검사합니다.
+ * 본문은 안쪽 파일의 형식을 판별할 앞부분까지 풀고, 압축 파일(tar 등)이면 이어서 풀어 다음 스캐너로 넘기며 그 외에는 끝냅니다.</p>
+ * <p>여러 gzip 멤버가 이어진 파일은 풀린 내용이 이어지는 것으로 처리합니다.</p>
+ */
+final class GzipStreamScanner extends ArchiveScanner {
+
+    private static final int HEADER_LENGTH = 10;
+    private static final int TRAILER_LENGTH = 8;
+    private static final int MAX_FIELD_LENGTH = 4096;
+
+    private static final int FLAG_HCRC = 1 << 1;
+    private static final int FLAG_EXTRA = 1 << 2;
+    private static final int FLAG_NAME = 1 << 3;
+    private static final int FLAG_COMMENT = 1 << 4;
+
+    private enum State { HEADER, EXTRA_LENGTH, EXTRA, NAME, COMMENT, HEADER_CRC, INFLATE, TRAILER, DONE }
+
+    private final ByteArrayOutputStream field = new ByteArrayOutputStream();
+    private State state;
+    private int flags;
+    private boolean firstMember = true;
+    private String entryPath;
+    private ArchiveScanner nested;
+
+    GzipStreamScanner(ArchiveWalk walk, String path, int depth) {
+        super(walk, path, depth);
+        nextMember();
+    }
+
+    @Override
+    void feed(byte[] buffer, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        while (i < end) {
+            switch (state) {
+                case HEADER -> {
+                    i = fill(buffer, i, end);
+                    if (isRecordComplete()) {
+                        onHeader();
+                    }
+                }
+                case EXTRA_LENGTH -> {
+                    i = fill(buffer, i, end);
+                    if (isRecordComplete()) {
+                        state = State.EXTRA;
+                        expect(u16(0));
+                        if (recordLength() == 0) {
+                            nextField();
+                        }
+                    }
+                }
+                case EXTRA, HEADER_CRC -> {
+                    i = fill(buffer, i, end);
+                    if (isRecordComplete()) {
+                        nextField();
+                    }
+                }
+                case NAME, COMMENT -> i = readField(buffer, i, end);
+                case INFLATE -> {
+                    i += inflate(buffer, i, end - i, nested, entryPath);
+                    if (isInflateFinished()) {
+                        state = State.TRAILER;
+                        expect(TRAILER_LENGTH);
+                    } else if (!nested.isActive()) {
+                        // 안쪽 파일이 압축 파일이 아니거나 검사를 마쳤으면 나머지는 풀지 않습니다.
+                        done();
+                    }
+                }
+                case TRAILER -> {
+                    i = fill(buffer, i, end);
+                    if (isRecordComplete()) {
+                        nextMember();
+                    }
+                }
+                case DONE -> i = end;
+            }
+        }
+    }
+
+    @Override
+    void finish() {
+        releaseInflater();
+        if (state == State.DONE || (state == State.HEADER && !firstMember && !isRecordStarted())) {
+            if (nested != null) {
+                nested.finish();
+            }
+            return;
+        }
+        throw truncated();
+    }
+
+    @Override
+    boolean isActive() {
+        return state != State.DONE;
+    }
+
+    private void nextMember() {
+        state = State.HEADER;
+        expect(HEADER_LENGTH);
+    }
+
+    private void onHeader() {
+        if (u8(0) != 0x1f || u8(1) != 0x8b || u8(2) != 8) {
+            if (firstMember) {
+                throw new RejectedArchiveException("gzip 헤더가 올바르지 않습니다: " + path);
+            }
+            // 멤버 뒤의 알 수 없는 데이터는 gzip 도구처럼 무시합니다.
+            done();
+            return;
+        }
+        flags = u8(3);
+        state = State.EXTRA_LENGTH;
+        if ((flags & FLAG_EXTRA) != 0) {
+            expect(2);
+        } else {
+            state = State.EXTRA;
+            nextField();
+        }
+    }
+
+    /**
+     * 헤더의 선택 필드를 순서대로(FEXTRA → FNAME → FCOMMENT → FHCRC) 읽고, 끝나면 본문 압축 해제 시작
+     */
+    private void nextField() {
+        State next = switch (state) {
+            case EXTRA -> State.NAME;
+            case NAME -> State.COMMENT;
+            case COMMENT -> State.HEADER_CRC;
+            default -> State.INFLATE;
+        };
+        state = next;
+        switch (next) {
+            case NAME -> {
+                if ((flags & FLAG_NAME) == 0) {
+                    nextField();
+                    return;
+                }
+                field.reset();
+            }
+            case COMMENT -> {
+                if ((flags & FLAG_COMMENT) == 0) {
+                    nextField();
+                    return;
+                }
+                field.reset();
+            }
+            case HEADER_CRC -> {
+                if ((flags & FLAG_HCRC) == 0) {
+                    nextField();
+                    return;
+                }
+                expect(2);
+            }
+            default -> startMember();
+        }
+    }
+
+    private int readField(byte[] buffer, int i, int end) {
+        while (i < end) {
+            byte b = buffer[i++];
+            if (b == 0) {
+                if (state == State.NAME && firstMember) {
+                    entryPath = entryPath(field.toString(StandardCharsets.ISO_8859_1));
+                }
+                nextField();
+                return i;
+            }
+            if (field.size() >= MAX_FIELD_LENGTH) {
+                throw new RejectedArchiveException("gzip 헤더가 올바르지 않습니다: " + path);
+            }
+            field.write(b);
+        }
+        return i;
+    }
+
+    private void startMember() {
+        if (firstMember) {
+            firstMember = false;
+            if (entryPath == null) {
+                entryPath = entryPath(innerName());
+            }
+            walk.onEntry(entryPath);
+            // gzip은 파일 하나를 감싼 압축이므로 안쪽 파일(a.tar.gz의 tar)은 같은 중첩 단계로 봅니다.
+            nested = walk.nested(entryPath, depth - 1);
+        }
+        startInflate();
+        state = State.INFLATE;
+    }
+
+    private void done() {
+        state = State.DONE;
+        releaseInflater();
+    }
+
+    /**
+     * 헤더에 원래 파일명이 없을 때의 안쪽 파일명 (a.tar.gz → a.tar, a.tgz → a.tar)
+     */
+    private String innerName() {
+        String name = path.substring(Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1);
+        String extension = ExtensionNames.extensionOf(name);
+        int dot = name.toLowerCase(Locale.ROOT).lastIndexOf("." + extension);
+        if (extension.equals("tgz")) {
+            return name.substring(0, dot) + ".tar";
+        }
+        if (extension.equals("gz")) {
+            return name.substring(0, dot);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,221 @@
+package com.flow.folwteamtest.upload;
+
+import com.flow.folwteamtest.exception.MalformedMultipartException;
+import jakarta.servlet.http.Part;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * <h1>multipart/form-data 스트리밍 스캐너</h1>
+ * <p>요청 본문이 흘러가는 대로 바이트를 밀어 넣으면(feed) 파트 경계와 헤더를 찾아 리스너에 알립니다.
+ * 본문을 버퍼링하지 않으며, 상태는 현재 파트의 헤더 블록과 경계 부분 일치 길이뿐입니다.</p>
+ * <p>경계 탐색은 KMP 실패 함수를 사용하므로 청크가 경계 중간에서 잘려도 바이트당 상수 시간입니다.</p>
+ */
+public class MultipartStreamScanner {
+
+    /**
+     * 파트 이벤트 리스너
+     * 예외를 던지면 스캔이 중단되고 feed 호출자에게 그대로 전파됩니다.
+     */
+    public interface PartListener {
+        void onPartStart(PartHeaders headers) throws IOException;
+
+        default void onPartData(byte[] buffer, int offset, int length) throws IOException {
+        }
+
+        default void onPartEnd() throws IOException {
+        }
+    }
+
+    private enum State { PREAMBLE, DELIMITER_LINE, HEADERS, BODY, EPILOGUE }
+
+    private static final int MAX_DELIMITER_LINE = 256;
+    private static final int PART_BUFFER_SIZE = 8192;
+
+    private final byte[] delimiter;
+    private final int[] failure;
+    private final int maxHeaderBytes;
+    private final PartListener listener;
+
+    private final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream(128);
+    private State state = State.PREAMBLE;
+    private int matched;
+
+    /**
+     * @param boundary       Content-Type의 boundary 파라미터 값
+     * @param maxHeaderBytes 파트 헤더 블록 최대 크기 (초과 시 MalformedMultipartException)
+     */
+    public MultipartStreamScanner(String boundary, int maxHeaderBytes, PartListener listener) {
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.failure = buildFailure(delimiter);
+        this.maxHeaderBytes = maxHeaderBytes;
+        this.listener = listener;
+        // 본문 첫 경계는 앞에 CRLF가 없으므로 이미 CRLF까지 일치한 상태로 시작합니다.
+        this.matched = 2;
+    }
+
+    /**
+     * 본문 청크 전달
+     */
+    public void feed(byte[] buffer, int offset, int length) throws IOException {
+        int i = offset;
+        int end = offset + length;
+        while (i < end) {
+            switch (state) {
+                case PREAMBLE, BODY -> i = scanDelimiter(buffer, i, end);
+                case DELIMITER_LINE -> i = readDelimiterLine(buffer, i, end);
+                case HEADERS -> i = readHeaders(buffer, i, end);
+                case EPILOGUE -> i = end;
+            }
+        }
+    }
+
+    /**
+     * 서블릿 컨테이너가 이미 파싱한 파트 검사 (getParts()로 MultipartFile을 바인딩하는 경우)
+     * 본문 스트림 대신 파트마다 헤더와 본문을 리스너에 그대로 전달하므로, 다운스트림이 받을 파트와 같은 내용을 검사합니다.
+     * 본문 스트림을 feed하기 시작한 뒤에는 호출할 수 없습니다.
+     */
+    public void scanParts(Collection<Part> parts) throws IOException {
+        if (state != State.PREAMBLE || matched != 2) {
+            throw new IllegalStateException("multipart 본문 스트림을 이미 검사하는 중입니다.");
+        }
+        byte[] buffer = new byte[PART_BUFFER_SIZE];
+        for (Part part : parts) {
+            StringBuilder headerBlock = new StringBuilder();
+            for (String headerName : part.getHeaderNames()) {
+                for (String value : part.getHeaders(headerName)) {
+                    headerBlock.append(headerName).append(": ").append(value).append("\r\n");
+                }
+            }
+            if (headerBlock.length() > maxHeaderBytes) {
+                throw new MalformedMultipartException("multipart 파트 헤더가 최대 크기(" + maxHeaderBytes + " bytes)를 초과했습니다.");
+            }
+            listener.onPartStart(PartHeaders.parse(headerBlock.toString().trim()));
+            try (InputStream in = part.getInputStream()) {
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    if (n > 0) {
+                        listener.onPartData(buffer, 0, n);
+                    }
+                }
+            }
+            listener.onPartEnd();
+        }
+        state = State.EPILOGUE;
+    }
+
+    /**
+     * 마지막 경계(--boundary--)까지 정상적으로 읽었는지 여부
+     */
+    public boolean isComplete() {
+        return state == State.EPILOGUE;
+    }
+
+    private int scanDelimiter(byte[] buffer, int i, int end) throws IOException {
+        boolean body = state == State.BODY;
+        if (matched == 0) {
+            // 빠른 경로: 경계 첫 바이트(\r)가 나올 때까지는 모두 데이터
+            int start = i;
+            while (i < end && buffer[i] != delimiter[0]) {
+                i++;
+            }
+            if (body && i > start) {
+                listener.onPartData(buffer, start, i - start);
+            }
+            if (i == end) {
+                return i;
+            }
+        }
+        byte b = buffer[i];
+        while (matched > 0 && delimiter[matched] != b) {
+            int fallback = failure[matched - 1];
+            if (body) {
+                // 보류했던 부분 일치 바이트는 delimiter 접두사와 같으므로 그대로 데이터로 방출
+                listener.onPartData(delimiter, 0, matched - fallback);
+            }
+            matched = fallback;
+        }
+        if (delimiter[matched] != b) {
+            // 불일치 바이트는 빠른 경로에서 다시 처리
+            return i;
+        }
+        matched++;
+        if (matched == delimiter.length) {
+            matched = 0;
+            if (body) {
+                listener.onPartEnd();
+            }
+            lineBuffer.reset();
+            state = State.DELIMITER_LINE;
+        }
+        return i + 1;
+    }
+
+    private int readDelimiterLine(byte[] buffer, int i, int end) throws IOException {
+        while (i < end) {
+            byte b = buffer[i++];
+            lineBuffer.write(b);
+            if (lineBuffer.size() == 2 && lineBuffer.toString(StandardCharsets.ISO_8859_1).equals("--")) {
+                state = State.EPILOGUE;
+                return end;
+            }
+            if (b == '\n') {
+                lineBuffer.reset();
+                state = State.HEADERS;
+                return i;
+            }
+            if (lineBuffer.size() > MAX_DELIMITER_LINE) {
+                throw new MalformedMultipartException("multipart 경계 줄이 올바르지 않습니다.");
+            }
+        }
+        return i;
+    }
+
+    private int readHeaders(byte[] buffer, int i, int end) throws IOException {
+        while (i < end) {
+            byte b = buffer[i++];
+            lineBuffer.write(b);
+            if (b == '\n' && isHeaderBlockEnd()) {
+                PartHeaders headers = PartHeaders.parse(lineBuffer.toString(StandardCharsets.UTF_8).trim());
+                lineBuffer.reset();
+                state = State.BODY;
+                listener.onPartStart(headers);
+                return i;
+            }
+            if (lineBuffer.size() > maxHeaderBytes) {
+                throw new MalformedMultipartException("multipart 파트 헤더가 최대 크기(" + maxHeaderBytes + " bytes)를 초과했습니다.");
+            }
+        }
+        return i;
+    }
+
+    private boolean isHeaderBlockEnd() {
+        byte[] bytes = lineBuffer.toByteArray();
+        int n = bytes.length;
+        if (n == 1 || (n == 2 && bytes[0] == '\r')) {
+            // 헤더가 없는 파트 (빈 줄로 바로 시작)
+            return true;
+        }
+        return (n >= 4 && bytes[n - 4] == '\r' && bytes[n - 3] == '\n' && bytes[n - 2] == '\r')
+                || bytes[n - 2] == '\n';
+    }
+
+    private static int[] buildFailure(byte[] pattern) {
+        int[] failure = new int[pattern.length];
+        int k = 0;
+        for (int i = 1; i < pattern.length; i++) {
+            while (k > 0 && pattern[i] != pattern[k]) {
+                k = failure[k - 1];
+            }
+            if (pattern[i] == pattern[k]) {
+                k++;
+            }
+            failure[i] = k;
+        }
+        return failure;
+    }
+}
@@ -0,0 +1,143 @@
+package com.flow.folwteamtest.upload;
+
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * multipart 파트 헤더 파싱 결과
+ * Content-Disposition의 filename과 filename* 값을 모두 보관합니다.
+ * (클라이언트가 두 값을 다르게 보내 검사를 우회하는 것을 막기 위해 둘 다 검사 대상입니다.)
+ */
+public final class PartHeaders {
+
+    private final String name;
+    private final List<String> filenames;
+    private final String contentType;
+
+    private PartHeaders(String name, List<String> filenames, String contentType) {
+        this.name = name;
+        this.filenames = filenames;
+        this.contentType = contentType;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 파트에 선언된 모든 파일명 (파일 파트가 아니면 빈 목록)
+     */
+    public List<String> getFilenames() {
+        return filenames;
+    }
+
+    /**
+     * 대표 파일명 (filename* 우선)
+     */
+    public String getFilename() {
+        return filenames.isEmpty() ? null : filenames.get(filenames.size() - 1);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public boolean isFile() {
+        return !filenames.isEmpty();
+    }
+
+    /**
+     * 헤더 블록(빈 줄 제외) 파싱
+     */
+    static PartHeaders parse(String headerBlock) {
+        String name = null;
+        String contentType = null;
+        List<String> filenames = new ArrayList<>(2);
+        for (String line : headerBlock.split("\r?\n")) {
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String headerName = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+            if (headerName.equals("content-disposition")) {
+                name = parseDisposition(value, filenames);
+            } else if (headerName.equals("content-type")) {
+                contentType = value;
+            }
+        }
+        return new PartHeaders(name, Collections.unmodifiableList(filenames), contentType);
+    }
+
+    /**
+     * Content-Disposition 파라미터 파싱
+     * 따옴표/이스케이프를 처리하고 filename, filename*(RFC 5987) 값을 모두 수집합니다.
+     * @return name 파라미터 값
+     */
+    private static String parseDisposition(String value, List<String> filenames) {
+        String name = null;
+        int i = value.indexOf(';');
+        while (i >= 0 && i < value.length()) {
+            i++;
+            int eq = value.indexOf('=', i);
+            if (eq < 0) {
+                break;
+            }
+            String key = value.substring(i, eq).trim().toLowerCase(Locale.ROOT);
+            StringBuilder param = new StringBuilder();
+            int j = eq + 1;
+            while (j < value.length() && value.charAt(j) == ' ') {
+                j++;
+            }
+            if (j < value.length() && value.charAt(j) == '"') {
+                j++;
+                while (j < value.length() && value.charAt(j) != '"') {
+                    char c = value.charAt(j);
+                    if (c == '\\' && j + 1 < value.length()) {
+                        c = value.charAt(++j);
+                    }
+                    param.append(c);
+                    j++;
+                }
+                j = value.indexOf(';', j);
+            } else {
+                int end = value.indexOf(';', j);
+                param.append(value, j, end < 0 ? value.length() : end);
+                j = end;
+            }
+            switch (key) {
+                case "name" -> name = param.toString().trim();
+                case "filename" -> filenames.add(0, param.toString());
+                case "filename*" -> filenames.add(decodeExtendedValue(param.toString().trim()));
+                default -> {
+                }
+            }
+            i = j;
+        }
+        return name;
+    }
+
+    /**
+     * RFC 5987 확장 값(charset'lang'percent-encoded) 디코딩
+     */
+    private static String decodeExtendedValue(String value) {
+        int first = value.indexOf('\'');
+        int second = first < 0 ? -1 : value.indexOf('\'', first + 1);
+        if (second < 0) {
+            return value;
+        }
+        String charset = value.substring(0, first);
+        String encoded = value.substring(second + 1);
+        try {
+            Charset decodeCharset = charset.isEmpty() ? StandardCharsets.UTF_8 : Charset.forName(charset);
+            return URLDecoder.decode(encoded.replace("+", "%2B"), decodeCharset);
+        } catch (IllegalArgumentException e) {
+            return encoded;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.flow.folwteamtest.upload;
+
+import com.flow.folwteamtest.exception.RejectedArchiveException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h1>tar 스트리밍 스캐너</h1>
+ * <p>512바이트 헤더 블록마다 항목명을 검사하고 본문은 크기(블록 단위로 올림)만큼 건너뜁니다.
+ * tar는 압축이 없으므로 중첩 압축 파일 항목은 본문을 그대로 다음 스캐너로 넘깁니다.</p>
+ * <p>ustar 접두사(prefix), GNU 긴 이름(L), pax 확장 헤더(x)의 path를 항목명으로 사용합니다.</p>
+ */
+final class TarStreamScanner extends ArchiveScanner {
+
+    private static final int BLOCK = 512;
+    /** GNU 긴 이름/pax 확장 헤더 본문 최대 크기 */
+    private static final int MAX_METADATA = 64 * 1024;
+
+    private enum State { HEADER, DATA, METADATA, DONE }
+
+    private State state;
+    private int zeroBlocks;
+
+    private char metadataType;
+    private String pendingName;
+    private ArchiveScanner nested;
+    private long remaining;
+    private long padding;
+
+    TarStreamScanner(ArchiveWalk walk, String path, int depth) {
+        super(walk, path, depth);
+        nextHeader();
+    }
+
+    @Override
+    void feed(byte[] buffer, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        while (i < end) {
+            switch (state) {
+                case HEADER -> {
+                    i = fill(buffer, i, end);
+                    if (isRecordComplete()) {
+                        onHeader();
+                    }
+                }
+                case DATA -> {
+                    int take = (int) Math.min(remaining, end - i);
+                    if (nested != null && nested.isActive() && remaining > padding) {
+                        nested.feed(buffer, i, (int) Math.min(take, remaining - padding));
+                    }
+                    i += take;
+                    remaining -= take;
+                    if (remaining == 0) {
+                        endEntry();
+                    }
+                }
+                case METADATA -> {
+                    i = fill(buffer, i, end);
+                    if (isRecordComplete()) {
+                        onMetadata();
+                    }
+                }
+                case DONE -> i = end;
+            }
+        }
+    }
+
+    @Override
+    void finish() {
+        // 끝 표시(빈 블록 두 개) 없이 항목 경계에서 끝난 스트림은 허용합니다.
+        if (state != State.DONE && !(state == State.HEADER && !isRecordStarted())) {
+            throw truncated();
+        }
+    }
+
+    @Override
+    boolean isActive() {
+        return state != State.DONE;
+    }
+
+    private void nextHeader() {
+        state = State.HEADER;
+        expect(BLOCK);
+    }
+
+    private void onHeader() {
+        if (isZeroBlock()) {
+            state = ++zeroBlocks == 2 ? State.DONE : State.HEADER;
+            expect(BLOCK);
+            return;
+        }
+        zeroBlocks = 0;
+        if (!isChecksumValid()) {
+            throw new RejectedArchiveException("tar 헤더가 올바르지 않습니다: " + path);
+        }
+        long size = parseNumber(124, 12);
+        char type = (char) u8(156);
+        padding = (BLOCK - size % BLOCK) % BLOCK;
+
+        if (type == 'L' || type == 'x') {
+            if (size > MAX_METADATA) {
+                throw new RejectedArchiveException("tar 확장 헤더가 너무 큽니다: " + path);
+            }
+            metadataType = type;
+            state = State.METADATA;
+            expect((int) (size + padding));
+            if (size == 0) {
+                onMetadata();
+            }
+            return;
+        }
+
+        String name = pendingName != null ? pendingName : headerName();
+        pendingName = null;
+        remaining = size + padding;
+        nested = null;
+        // 'g'(pax 전역 헤더), 'K'(GNU 긴 링크 대상)는 항목이 아닙니다.
+        if (type != 'g' && type != 'K') {
+            String entryPath = entryPath(name);
+            walk.onEntry(entryPath);
+            if (type == '0' || type == '\0' || type == '7') {
+                walk.addUncompressed(size);
+                nested = walk.nested(entryPath, depth);
+            }
+        }
+        state = State.DATA;
+        if (remaining == 0) {
+            endEntry();
+        }
+    }
+
+    private void onMetadata() {
+        int length = recordLengthWithoutPadding();
+        if (metadataType == 'L') {
+            pendingName = cString(0, length);
+        } else {
+            String paxPath = paxPath(length);
+            if (paxPath != null) {
+                pendingName = paxPath;
+            }
+        }
+        nextHeader();
+    }
+
+    private void endEntry() {
+        if (nested != null) {
+            nested.finish();
+            nested = null;
+        }
+        nextHeader();
+    }
+
+    private int recordLengthWithoutPadding() {
+        return (int) (recordLength() - padding);
+    }
+
+    private boolean isZeroBlock() {
+        byte[] block = record();
+        for (int i = 0; i < BLOCK; i++) {
+            if (block[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 헤더 체크섬 확인 (체크섬 필드를 공백으로 보고 모든 바이트를 더한 값)
+     * 블록 경계가 어긋난 본문을 헤더로 읽는 것을 막습니다.
+     */
+    private boolean isChecksumValid() {
+        long expected = parseNumber(148, 8);
+        long sum = 0;
+        for (int i = 0; i < BLOCK; i++) {
+            sum += (i >= 148 && i < 156) ? ' ' : u8(i);
+        }
+        return sum == expected;
+    }
+
+    private String headerName() {
+        String name = cString(0, 100);
+        boolean ustar = u8(257) == 'u' && u8(258) == 's' && u8(259) == 't' && u8(260) == 'a' && u8(261) == 'r';
+        if (ustar) {
+            String prefix = cString(345, 155);
+            if (!prefix.isEmpty()) {
+                return prefix + "/" + name;
+            }
+        }
+        return name;
+    }
+
+    /**
+     * 8진수 문자열 또는 GNU base-256(첫 바이트 최상위 비트) 숫자 필드
+     */
+    private long parseNumber(int offset, int length) {
+        if ((u8(offset) & 0x80) != 0) {
+            long value = u8(offset) & 0x7F;
+            for (int i = 1; i < length; i++) {
+                value = (value << 8) | u8(offset + i);
+                if (value < 0) {
+                    throw new RejectedArchiveException("tar 항목 크기가 올바르지 않습니다: " + path);
+                }
+            }
+            return value;
+        }
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int c = u8(i);
+            if (c == 0 || c == ' ') {
+                if (value > 0) {
+                    break;
+                }
+                continue;
+            }
+            if (c < '0' || c > '7') {
+                throw new RejectedArchiveException("tar 헤더가 올바르지 않습니다: " + path);
+            }
+            value = (value << 3) | (c - '0');
+        }
+        return value;
+    }
+
+    private String cString(int offset, int length) {
+        byte[] block = record();
+        int end = offset;
+        while (end < offset + length && block[end] != 0) {
+            end++;
+        }
+        return new String(block, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * pax 확장 헤더 레코드("길이 key=value\n")에서 path 값 찾기
+     */
+    private String paxPath(int length) {
+        byte[] data = record();
+        String found = null;
+        int i = 0;
+        while (i < length) {
+            int space = i;
+            int recordLength = 0;
+            while (space < length && data[space] >= '0' && data[space] <= '9') {
+                recordLength = recordLength * 10 + (data[space++] - '0');
+            }
+            if (space >= length || data[space] != ' ' || recordLength < space - i + 2 || i + recordLength > length) {
+                throw new RejectedArchiveException("tar 확장 헤더가 올바르지 않습니다: " + path);
+            }
+            String keyValue = new String(data, space + 1, i + recordLength - space - 2, StandardCharsets.UTF_8);
+            if (keyValue.startsWith("path=")) {
+                found = keyValue.substring("path=".length());
+            }
+            i += recordLength;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,111 @@
+package com.flow.folwteamtest.upload;
+
+import com.flow.folwteamtest.audit.AuditContext;
+import com.flow.folwteamtest.audit.AuditSource;
+import com.flow.folwteamtest.audit.BlockAuditRecorder;
+import com.flow.folwteamtest.common.TenantIds;
+import com.flow.folwteamtest.config.UploadGateProperties;
+import com.flow.folwteamtest.exception.InvalidTenantException;
+import com.flow.folwteamtest.policy.BlocklistSnapshotHolder;
+import com.flow.folwteamtest.quarantine.QuarantineStore;
+import com.flow.folwteamtest.stats.ExtensionHitStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * <h1>업로드 게이트 필터</h1>
+ * <p>multipart 요청 본문을 스트리밍으로 검사하여, 차단 확장자 파트 헤더(filename=)가 보이는 즉시
+ * 본문이 디스크/메모리에 쌓이기 전에 요청을 거부합니다.</p>
+ * <p>다운스트림이 getInputStream()으로 본문을 직접 읽으면 읽는 즉시 검사합니다.
+ * MultipartFile 바인딩(getParts())은 서블릿 컨테이너가 파싱한 파트를 컨트롤러에 넘기기 전에 같은 규칙으로 검사하므로,
+ * 본문이 임시 저장되기 전에 거부하지는 못하지만 차단 파일이 컨트롤러에 전달되지는 않습니다.
+ * (spring.servlet.multipart.resolve-lazily=true 로 핸들러가 파트를 요청할 때까지 파싱을 미룹니다.)</p>
+ * <p>archiveLimits가 있으면 압축 파일(zip/jar/tar/gzip) 파트의 내부 항목명도 스트리밍으로 검사합니다.</p>
+ * <p>테넌트는 요청 경로(/api/tenants/{tenantId}/uploads)로 구분하며, 그 외 경로는 기본 테넌트 정책으로 검사합니다.</p>
+ * <p>quarantineStore가 있으면 차단된 파트 본문을 격리 보관합니다.</p>
+ */
+@RequiredArgsConstructor
+public class UploadGateFilter extends OncePerRequestFilter {
+
+    /**
+     * 검사 결과(UploadInspection)를 보관하는 요청 속성 이름
+     */
+    public static final String INSPECTION_ATTRIBUTE = UploadGateFilter.class.getName() + ".INSPECTION";
+
+    private final BlocklistSnapshotHolder snapshotHolder;
+    private final UploadGateProperties properties;
+    private final ContentSniffer contentSniffer;
+    private final ArchiveLimits archiveLimits;
+    private final BlockAuditRecorder auditRecorder;
+    private final ExtensionHitStats hitStats;
+    private final QuarantineStore quarantineStore;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String boundary = extractBoundary(request.getContentType());
+        if (boundary == null) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "multipart boundary is missing");
+            return;
+        }
+
+        String tenantId;
+        try {
+            tenantId = TenantIds.fromPath(request.getRequestURI().substring(request.getContextPath().length()));
+        } catch (InvalidTenantException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+
+        UploadInspection inspection = new UploadInspection(snapshotHolder.current(tenantId),
+                properties.contentSniffing() ? contentSniffer : null, archiveLimits, properties.maxParts(),
+                auditRecorder, AuditContext.of(request, tenantId, AuditSource.UPLOAD), hitStats, quarantineStore);
+        MultipartStreamScanner scanner = new MultipartStreamScanner(boundary, properties.maxHeaderBytes(), inspection);
+        request.setAttribute(INSPECTION_ATTRIBUTE, inspection);
+
+        try {
+            filterChain.doFilter(new UploadGateRequestWrapper(request, scanner), response);
+        } finally {
+            inspection.discardSample();
+        }
+    }
+
+    /**
+     * 요청에 저장된 검사 결과 조회
+     */
+    public static UploadInspection inspectionOf(HttpServletRequest request) {
+        return (UploadInspection) request.getAttribute(INSPECTION_ATTRIBUTE);
+    }
+
+    private static String extractBoundary(String contentType) {
+        try {
+            String boundary = MediaType.parseMediaType(contentType).getParameter("boundary");
+            if (!StringUtils.hasText(boundary)) {
+                return null;
+            }
+            if (boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+                boundary = boundary.substring(1, boundary.length() - 1);
+            }
+            return boundary;
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+}
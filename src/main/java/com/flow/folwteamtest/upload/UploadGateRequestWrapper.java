@@ -0,0 +1,111 @@
+package com.flow.folwteamtest.upload;
+
+import com.flow.folwteamtest.exception.MalformedMultipartException;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.Part;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * 본문 스트림을 읽는 즉시 MultipartStreamScanner에 흘려보내는 요청 래퍼
+ * 다운스트림이 읽은 만큼만 검사하며, 본문을 별도로 보관하지 않습니다.
+ * 마지막 경계(--boundary--) 전에 본문이 끝나면 잘린 요청으로 보고 MalformedMultipartException을 던집니다.
+ * (뒤에 오는 파트 헤더를 검사하지 못했으므로 통과로 응답하면 안 됩니다.)
+ * getParts()/getPart()(MultipartFile 바인딩)는 서블릿 컨테이너가 파싱한 파트를 다운스트림에 넘기기 전에 같은 스캐너로 검사하며,
+ * 차단되면 컨테이너가 저장한 파트를 지우고 예외를 그대로 던집니다.
+ */
+public class UploadGateRequestWrapper extends HttpServletRequestWrapper {
+
+    private final MultipartStreamScanner scanner;
+    private ServletInputStream scanningStream;
+    private Collection<Part> inspectedParts;
+
+    public UploadGateRequestWrapper(HttpServletRequest request, MultipartStreamScanner scanner) {
+        super(request);
+        this.scanner = scanner;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (scanningStream == null) {
+            scanningStream = new ScanningInputStream(super.getInputStream(), scanner);
+        }
+        return scanningStream;
+    }
+
+    @Override
+    public Collection<Part> getParts() throws IOException, ServletException {
+        if (inspectedParts == null) {
+            Collection<Part> parts = super.getParts();
+            try {
+                scanner.scanParts(parts);
+            } catch (IOException | RuntimeException e) {
+                for (Part part : parts) {
+                    part.delete();
+                }
+                throw e;
+            }
+            inspectedParts = parts;
+        }
+        return inspectedParts;
+    }
+
+    @Override
+    public Part getPart(String name) throws IOException, ServletException {
+        for (Part part : getParts()) {
+            if (part.getName().equals(name)) {
+                return part;
+            }
+        }
+        return null;
+    }
+
+    private static final class ScanningInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final MultipartStreamScanner scanner;
+        private final byte[] single = new byte[1];
+
+        private ScanningInputStream(ServletInputStream delegate, MultipartStreamScanner scanner) {
+            this.delegate = delegate;
+            this.scanner = scanner;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int n = read(single, 0, 1);
+            return n < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = delegate.read(buffer, offset, length);
+            if (n > 0) {
+                scanner.feed(buffer, offset, n);
+            } else if (n < 0 && !scanner.isComplete()) {
+                throw new MalformedMultipartException("multipart 본문이 마지막 경계 전에 끝났습니다.");
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.flow.folwteamtest.upload;
+
+import com.flow.folwteamtest.audit.AuditContext;
+import com.flow.folwteamtest.audit.BlockAuditRecorder;
+import com.flow.folwteamtest.common.ExtensionNames;
+import com.flow.folwteamtest.dto.UploadPartResult;
+import com.flow.folwteamtest.exception.BlockedUploadException;
+import com.flow.folwteamtest.exception.MalformedMultipartException;
+import com.flow.folwteamtest.policy.BlockedRule;
+import com.flow.folwteamtest.policy.BlocklistSnapshot;
+import com.flow.folwteamtest.quarantine.QuarantineStore;
+import com.flow.folwteamtest.quarantine.QuarantineWriter;
+import com.flow.folwteamtest.quarantine.QuarantinedUpload;
+import com.flow.folwteamtest.stats.ExtensionHitStats;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h1>요청 단위 업로드 검사기</h1>
+ * <p>MultipartStreamScanner가 파트 헤더를 찾는 즉시 파일명을 차단 스냅샷과 대조하고,
+ * 차단 대상이면 해당 파트 본문을 한 바이트도 읽기 전에 BlockedUploadException을 던집니다.</p>
+ * <p>시그니처 검사가 켜져 있으면 파일 파트 본문의 앞부분(ContentSniffer.prefixLength 바이트)만 모아
+ * 실제 형식을 판별합니다. 판별된 형식이 선언된 확장자와 다르고 그 형식의 확장자 중 하나라도 차단되어 있으면
+ * 이름을 바꾼 우회 업로드로 보고 거부합니다.</p>
+ * <p>압축 파일 검사가 켜져 있으면 파일 파트 본문을 ArchiveScanner에 함께 흘려 내부 항목명(중첩 압축 파일 포함)도
+ * 같은 스냅샷으로 검사하고, 차단 항목이 보이는 즉시 "바깥.zip!/안쪽.exe" 경로로 거부합니다.</p>
+ * <p>요청 시작 시점의 스냅샷 하나로 모든 파트를 검사하므로 요청 도중 정책이 바뀌어도 판정이 일관됩니다.</p>
+ * <p>파일 파트의 판정(거부 또는 통과)은 감사 로그와 확장자 통계에 기록됩니다.</p>
+ * <p>격리 보관(QuarantineStore)이 켜져 있으면 이름 또는 시그니처로 차단된 파트는 바로 거부하지 않고,
+ * 파트 본문 끝까지 격리 임시 파일에 쓴 뒤 보관을 넘기고 거부합니다. (시그니처 검사로 모은 앞부분도 함께 씁니다.)
+ * 압축 파일 내부 항목으로 거부된 경우는 이미 지나간 본문이 있으므로 보관하지 않습니다.</p>
+ */
+public class UploadInspection implements MultipartStreamScanner.PartListener {
+
+    private final BlocklistSnapshot snapshot;
+    private final ContentSniffer sniffer;
+    private final int maxParts;
+    private final BlockAuditRecorder auditRecorder;
+    private final AuditContext auditContext;
+    private final ExtensionHitStats hitStats;
+    private final ArchiveLimits archiveLimits;
+    private final List<UploadPartResult> parts = new ArrayList<>();
+    private final ByteBuffer prefix;
+    private final QuarantineStore quarantineStore;
+
+    private PartHeaders currentHeaders;
+    private long currentSize;
+    private boolean sniffPending;
+    private String detectedType;
+    private ArchiveWalk archiveWalk;
+    private ArchiveScanner archiveScanner;
+    // 격리 중인 차단 파트 (파트가 끝나면 pendingBlock을 던집니다)
+    private QuarantineWriter sample;
+    private BlockedUploadException pendingBlock;
+
+    /**
+     * @param sniffer       시그니처 판별기, 검사하지 않으면 null
+     * @param archiveLimits 압축 파일 내부 검사 한도, 검사하지 않으면 null
+     * @param quarantineStore 차단 파트 격리 보관소, 보관하지 않으면 null
+     */
+    public UploadInspection(BlocklistSnapshot snapshot, ContentSniffer sniffer, ArchiveLimits archiveLimits, int maxParts,
+                            BlockAuditRecorder auditRecorder, AuditContext auditContext, ExtensionHitStats hitStats,
+                            QuarantineStore quarantineStore) {
+        this.snapshot = snapshot;
+        this.sniffer = sniffer;
+        this.maxParts = maxParts;
+        this.auditRecorder = auditRecorder;
+        this.auditContext = auditContext;
+        this.hitStats = hitStats;
+        this.archiveLimits = archiveLimits;
+        this.prefix = sniffer == null ? null : ByteBuffer.allocate(sniffer.prefixLength());
+        this.quarantineStore = quarantineStore;
+    }
+
+    @Override
+    public void onPartStart(PartHeaders headers) {
+        if (parts.size() >= maxParts) {
+            throw new MalformedMultipartException("요청당 최대 " + maxParts + "개의 파트까지 업로드할 수 있습니다.");
+        }
+        for (String filename : headers.getFilenames()) {
+            BlockedRule rule = snapshot.match(filename);
+            if (rule != null) {
+                block(new BlockedUploadException(filename, rule), null);
+                return;
+            }
+        }
+        currentHeaders = headers;
+        currentSize = 0;
+        detectedType = null;
+        sniffPending = prefix != null && headers.isFile();
+        if (sniffPending) {
+            prefix.clear();
+        }
+        archiveWalk = null;
+        archiveScanner = null;
+        if (archiveLimits != null && headers.isFile()) {
+            archiveWalk = new ArchiveWalk(archiveLimits, this::checkArchiveEntry);
+            archiveScanner = archiveWalk.inspect(headers.getFilename());
+        }
+    }
+
+    @Override
+    public void onPartData(byte[] buffer, int offset, int length) {
+        if (sample != null) {
+            quarantine(buffer, offset, length);
+            return;
+        }
+        currentSize += length;
+        if (sniffPending) {
+            int sniffed = Math.min(length, prefix.remaining());
+            prefix.put(buffer, offset, sniffed);
+            if (!prefix.hasRemaining()) {
+                checkContent();
+                if (sample != null) {
+                    quarantine(buffer, offset + sniffed, length - sniffed);
+                    return;
+                }
+            }
+        }
+        if (archiveScanner != null && archiveScanner.isActive()) {
+            archiveScanner.feed(buffer, offset, length);
+        }
+    }
+
+    @Override
+    public void onPartEnd() {
+        if (sample == null && sniffPending) {
+            checkContent();
+        }
+        if (sample != null) {
+            QuarantineWriter committed = sample;
+            sample = null;
+            quarantineStore.commit(committed);
+            throw pendingBlock;
+        }
+        Integer archiveEntries = null;
+        if (archiveScanner != null) {
+            archiveScanner.finish();
+            archiveEntries = archiveWalk.entries() > 0 ? archiveWalk.entries() : null;
+        }
+        if (currentHeaders != null) {
+            if (currentHeaders.isFile()) {
+                record(currentHeaders.getFilename(), null);
+            }
+            parts.add(UploadPartResult.of(currentHeaders, currentSize, detectedType, archiveEntries));
+            currentHeaders = null;
+        }
+    }
+
+    /**
+     * 지금까지 통과한 파트 목록
+     */
+    public List<UploadPartResult> getParts() {
+        return Collections.unmodifiableList(parts);
+    }
+
+    /**
+     * 격리 중 요청이 끝나면(연결 끊김 등) 쓰던 임시 파일 삭제
+     */
+    public void discardSample() {
+        if (sample != null) {
+            quarantineStore.discard(sample, false);
+            sample = null;
+        }
+    }
+
+    /**
+     * 차단 판정 기록 후, 격리 보관이 켜져 있으면 파트 끝까지 본문을 격리하고 아니면 바로 거부
+     * @param sniffed 시그니처 검사로 이미 읽은 앞부분 (없으면 null)
+     */
+    private void block(BlockedUploadException blocked, ByteBuffer sniffed) {
+        record(blocked.getFilename(), blocked.getRule());
+        if (quarantineStore == null) {
+            throw blocked;
+        }
+        sample = quarantineStore.open(new QuarantinedUpload(auditContext, blocked.getFilename(), blocked.getRule(),
+                blocked.getDetectedType(), LocalDateTime.now()));
+        if (sample == null) {
+            throw blocked;
+        }
+        pendingBlock = blocked;
+        if (sniffed != null && !sample.write(sniffed)) {
+            abortSample();
+        }
+    }
+
+    private void quarantine(byte[] buffer, int offset, int length) {
+        if (length > 0 && !sample.write(buffer, offset, length)) {
+            abortSample();
+        }
+    }
+
+    /**
+     * 최대 샘플 크기를 넘으면 보관을 포기하고 남은 본문을 읽지 않고 거부
+     */
+    private void abortSample() {
+        quarantineStore.discard(sample, true);
+        sample = null;
+        throw pendingBlock;
+    }
+
+    private void record(String filename, BlockedRule rule) {
+        auditRecorder.record(auditContext, filename, rule);
+        hitStats.record(auditContext.tenantId(), filename, rule);
+    }
+
+    private void checkArchiveEntry(String entryPath) {
+        BlockedRule rule = snapshot.match(entryPath);
+        if (rule != null) {
+            record(entryPath, rule);
+            throw new BlockedUploadException(entryPath, rule);
+        }
+    }
+
+    private void checkContent() {
+        sniffPending = false;
+        prefix.flip();
+        ContentSignature signature = sniffer.detect(prefix);
+        if (signature == null) {
+            return;
+        }
+        detectedType = signature.type();
+
+        String filename = currentHeaders.getFilename();
+        if (signature.extensions().contains(ExtensionNames.extensionOf(filename))) {
+            // 선언된 확장자와 내용이 일치하면 이름 검사 결과를 그대로 따릅니다.
+            return;
+        }
+        for (String extension : signature.extensions()) {
+            BlockedRule rule = snapshot.matchExtension(extension);
+            if (rule != null) {
+                block(new BlockedUploadException(filename, rule, signature.type()), prefix.rewind());
+                return;
+            }
+        }
+    }
+}
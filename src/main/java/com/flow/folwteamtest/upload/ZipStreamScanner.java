@@ -0,0 +1,306 @@
+package com.flow.folwteamtest.upload;
+
+import com.flow.folwteamtest.exception.RejectedArchiveException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h1>ZIP 스트리밍 스캐너</h1>
+ * <p>로컬 파일 헤더를 차례로 읽어 항목명을 검사하고, 본문은 헤더에 선언된 압축 크기만큼 압축 해제 없이 건너뜁니다.
+ * 이어지는 중앙 디렉터리의 항목명도 검사합니다. (압축 해제 도구 대부분은 중앙 디렉터리 이름으로 파일을 만들므로,
+ * 로컬 헤더와 중앙 디렉터리의 이름을 다르게 만든 우회도 막습니다.)</p>
+ * <p>압축을 푸는 경우:
+ * - deflate 항목: 풀린 앞부분을 다음 스캐너(ArchiveProbe)로 넘겨 이름과 관계없이 중첩 압축 파일인지 판별하고,
+ *   압축 파일이 아니면 나머지는 풀지 않고 선언된 압축 크기만큼 건너뜁니다.
+ * - 데이터 디스크립터를 쓰는 deflate 항목(플래그 bit 3): 헤더에 크기가 없어 deflate 스트림 끝까지 풀어야 다음 헤더를 찾을 수 있습니다.</p>
+ */
+final class ZipStreamScanner extends ArchiveScanner {
+
+    private static final long LOCAL_HEADER = 0x04034b50L;
+    private static final long CENTRAL_HEADER = 0x02014b50L;
+    private static final long DATA_DESCRIPTOR = 0x08074b50L;
+    private static final long END_OF_CENTRAL_DIRECTORY = 0x06054b50L;
+    private static final long ZIP64_END_OF_CENTRAL_DIRECTORY = 0x06064b50L;
+    private static final long ZIP64_LOCATOR = 0x07064b50L;
+    private static final long DIGITAL_SIGNATURE = 0x05054b50L;
+
+    private static final int LOCAL_HEADER_LENGTH = 26;
+    private static final int CENTRAL_HEADER_LENGTH = 42;
+    private static final int FLAG_ENCRYPTED = 1;
+    private static final int FLAG_DATA_DESCRIPTOR = 1 << 3;
+    private static final int FLAG_UTF8 = 1 << 11;
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+    private static final int ZIP64_EXTRA = 0x0001;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private enum State { SIGNATURE, LOCAL_HEADER, LOCAL_NAME, DATA, INFLATE, DESCRIPTOR, CENTRAL_HEADER, CENTRAL_NAME, SKIP, DONE }
+
+    private State state;
+
+    private String entryPath;
+    private int flags;
+    private int method;
+    private long compressedSize;
+    private long uncompressedSize;
+    private int nameLength;
+    private int extraLength;
+    private boolean zip64;
+    private ArchiveScanner nested;
+    private boolean forward;
+    private long remaining;
+
+    ZipStreamScanner(ArchiveWalk walk, String path, int depth) {
+        super(walk, path, depth);
+        nextSignature();
+    }
+
+    @Override
+    void feed(byte[] buffer, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        while (i < end) {
+            switch (state) {
+                case SIGNATURE -> {
+                    i = fill(buffer, i, end);
+                    if (isRecordComplete()) {
+                        onSignature(u32(0));
+                    }
+                }
+                case LOCAL_HEADER -> {
+                    i = fill(buffer, i, end);
+                    if (isRecordComplete()) {
+                        onLocalHeader();
+                    }
+                }
+                case LOCAL_NAME -> {
+                    i = fill(buffer, i, end);
+                    if (isRecordComplete()) {
+                        onLocalName();
+                    }
+                }
+                case DATA -> i = skipData(buffer, i, end);
+                case INFLATE -> i = inflateData(buffer, i, end);
+                case DESCRIPTOR -> {
+                    i = fill(buffer, i, end);
+                    if (isRecordComplete()) {
+                        onDescriptor();
+                    }
+                }
+                case CENTRAL_HEADER -> {
+                    i = fill(buffer, i, end);
+                    if (isRecordComplete()) {
+                        onCentralHeader();
+                    }
+                }
+                case CENTRAL_NAME -> {
+                    i = fill(buffer, i, end);
+                    if (isRecordComplete()) {
+                        onCentralName();
+                    }
+                }
+                case SKIP -> {
+                    int take = (int) Math.min(remaining, end - i);
+                    i += take;
+                    remaining -= take;
+                    if (remaining == 0) {
+                        nextSignature();
+                    }
+                }
+                case DONE -> i = end;
+            }
+        }
+    }
+
+    @Override
+    void finish() {
+        releaseInflater();
+        // 중앙 디렉터리 없이 끝난 스트림은 항목 경계에서 끝났으면 허용합니다.
+        if (state != State.DONE && !(state == State.SIGNATURE && !isRecordStarted())) {
+            throw truncated();
+        }
+    }
+
+    @Override
+    boolean isActive() {
+        return state != State.DONE;
+    }
+
+    private void nextSignature() {
+        state = State.SIGNATURE;
+        expect(4);
+    }
+
+    private void onSignature(long signature) {
+        if (signature == LOCAL_HEADER) {
+            state = State.LOCAL_HEADER;
+            expect(LOCAL_HEADER_LENGTH);
+        } else if (signature == CENTRAL_HEADER) {
+            state = State.CENTRAL_HEADER;
+            expect(CENTRAL_HEADER_LENGTH);
+        } else if (signature == END_OF_CENTRAL_DIRECTORY || signature == ZIP64_END_OF_CENTRAL_DIRECTORY
+                || signature == ZIP64_LOCATOR || signature == DIGITAL_SIGNATURE) {
+            // 중앙 디렉터리 이후에는 검사할 이름이 없습니다.
+            state = State.DONE;
+            releaseInflater();
+        } else {
+            throw new RejectedArchiveException("ZIP 항목 헤더가 올바르지 않습니다: " + path);
+        }
+    }
+
+    private void onLocalHeader() {
+        flags = u16(2);
+        method = u16(4);
+        compressedSize = u32(14);
+        uncompressedSize = u32(18);
+        nameLength = u16(22);
+        extraLength = u16(24);
+        state = State.LOCAL_NAME;
+        expect(nameLength + extraLength);
+        if (nameLength + extraLength == 0) {
+            onLocalName();
+        }
+    }
+
+    private void onLocalName() {
+        entryPath = entryPath(decodeName(nameLength, flags));
+        zip64 = readZip64Sizes(nameLength, extraLength);
+        walk.onEntry(entryPath);
+
+        boolean descriptor = (flags & FLAG_DATA_DESCRIPTOR) != 0;
+        nested = (flags & FLAG_ENCRYPTED) != 0 ? null : walk.nested(entryPath, depth);
+        if (method == METHOD_DEFLATED && (descriptor || nested != null)) {
+            remaining = descriptor ? -1 : compressedSize;
+            startInflate();
+            state = State.INFLATE;
+            return;
+        }
+        if (descriptor) {
+            throw new RejectedArchiveException("크기를 알 수 없는 ZIP 항목은 검사할 수 없습니다: " + entryPath);
+        }
+        walk.checkRatio(entryPath, uncompressedSize, compressedSize);
+        walk.addUncompressed(uncompressedSize);
+        // 저장(STORED) 방식이 아닌 항목(지원하지 않는 압축 방식)은 풀 수 없으므로 이름만 검사합니다.
+        forward = nested != null && method == METHOD_STORED;
+        remaining = compressedSize;
+        state = State.DATA;
+        if (remaining == 0) {
+            endEntry();
+        }
+    }
+
+    private int skipData(byte[] buffer, int i, int end) {
+        int take = (int) Math.min(remaining, end - i);
+        if (forward && nested.isActive()) {
+            nested.feed(buffer, i, take);
+        }
+        remaining -= take;
+        if (remaining == 0) {
+            endEntry();
+        }
+        return i + take;
+    }
+
+    private int inflateData(byte[] buffer, int i, int end) {
+        int available = remaining < 0 ? end - i : (int) Math.min(remaining, end - i);
+        int consumed = inflate(buffer, i, available, nested, entryPath);
+        if (remaining >= 0) {
+            remaining -= consumed;
+        }
+        if (isInflateFinished()) {
+            if ((flags & FLAG_DATA_DESCRIPTOR) != 0) {
+                state = State.DESCRIPTOR;
+                expect(4);
+            } else if (remaining > 0) {
+                finishNested();
+                state = State.SKIP;
+            } else {
+                endEntry();
+            }
+        } else if (remaining == 0) {
+            throw truncated();
+        } else if (remaining > 0 && !nested.isActive()) {
+            // 중첩 항목이 압축 파일이 아니면(앞부분으로 판별) 나머지는 풀지 않고 선언된 크기만큼 건너뜁니다.
+            walk.addUncompressed(Math.max(0, uncompressedSize - inflatedBytes()));
+            forward = false;
+            state = State.DATA;
+        }
+        return i + consumed;
+    }
+
+    private void onDescriptor() {
+        int sizeLength = zip64 ? 8 : 4;
+        // 디스크립터 시그니처는 선택 사항이며, 없으면 방금 읽은 4바이트가 CRC입니다.
+        remaining = (u32(0) == DATA_DESCRIPTOR ? 4 : 0) + 2L * sizeLength;
+        finishNested();
+        state = State.SKIP;
+    }
+
+    private void endEntry() {
+        finishNested();
+        nextSignature();
+    }
+
+    private void finishNested() {
+        if (nested != null) {
+            nested.finish();
+            nested = null;
+        }
+    }
+
+    private void onCentralHeader() {
+        flags = u16(4);
+        nameLength = u16(24);
+        remaining = (long) u16(26) + u16(28);
+        state = State.CENTRAL_NAME;
+        expect(nameLength);
+        if (nameLength == 0) {
+            onCentralName();
+        }
+    }
+
+    private void onCentralName() {
+        walk.checkName(entryPath(decodeName(nameLength, flags)));
+        state = State.SKIP;
+        if (remaining == 0) {
+            nextSignature();
+        }
+    }
+
+    /**
+     * 항목명 디코딩 (bit 11이면 UTF-8, 아니면 CP437이지만 확장자 판정에 쓰는 ASCII 범위는 ISO-8859-1과 같음)
+     */
+    private String decodeName(int length, int nameFlags) {
+        return new String(record(), 0, length,
+                (nameFlags & FLAG_UTF8) != 0 ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * ZIP64 확장 필드에서 실제 크기 읽기
+     * @return ZIP64 항목 여부 (데이터 디스크립터의 크기 필드가 8바이트)
+     */
+    private boolean readZip64Sizes(int nameLength, int extraLength) {
+        int offset = nameLength;
+        int end = nameLength + extraLength;
+        while (offset + 4 <= end) {
+            int id = u16(offset);
+            int size = u16(offset + 2);
+            int data = offset + 4;
+            if (id == ZIP64_EXTRA) {
+                if (uncompressedSize == ZIP64_MAGIC && data + 8 <= end) {
+                    uncompressedSize = u64(data);
+                    data += 8;
+                }
+                if (compressedSize == ZIP64_MAGIC && data + 8 <= end) {
+                    compressedSize = u64(data);
+                }
+                if (compressedSize < 0 || uncompressedSize < 0) {
+                    throw new RejectedArchiveException("ZIP 항목 크기가 올바르지 않습니다: " + entryPath);
+                }
+                return true;
+            }
+            offset = data + size;
+        }
+        return false;
+    }
+}
@@ -2,27 +2,65 @@
 const MESSAGES = {
     SUCCESS: {
         BLOCKED: (name) => `${name} 확장자 차단`,
-        UNBLOCKED: (name) => `${name} 확장자 차단 해제`
+        UNBLOCKED: (name) => `${name} 확장자 차단 해제`,
+        GROUP_BLOCKED: (name) => `${name} 그룹 차단`,
+        GROUP_UNBLOCKED: (name) => `${name} 그룹 차단 해제`
     },
     ERROR: {
         EMPTY_INPUT: '확장자를 입력해주세요',
         MAX_LENGTH: (max) => `확장자는 최대 ${max}자까지 입력 가능합니다`,
         MAX_COUNT: (max) => `최대 ${max}개까지만 추가할 수 있습니다`,
-        INVALID_FORMAT: '확장자는 영문자와 숫자만 입력 가능합니다',
+        INVALID_FORMAT: "확장자는 영문자와 숫자, 구분용 '.', 와일드카드('*', '?', [a-z])만 입력 가능합니다 (예: tar.gz, ph*)",
         DUPLICATE: (name) => `${name} 확장자는 이미 차단되어 있습니다`,
         UPDATE_FAILED: '업데이트 실패',
         ADD_FAILED: '추가 실패',
         DELETE_FAILED: '삭제 실패'
     },
+    EMPTY: {
+        NONE: '추가된 확장자가 없습니다',
+        NO_MATCH: (prefix) => `'${prefix}'(으)로 시작하는 확장자가 없습니다`
+    },
     CONFIRM: {
         DELETE: (name) => `'${name}' 확장자 차단을 해제하시겠습니까?`
+    },
+    STATS: {
+        HITS: (stats) => `차단 ${stats.windows.total.blocked}건 · 허용 ${stats.windows.total.allowed}건 (최근 1시간 ${stats.windows['1h'].blocked + stats.windows['1h'].allowed}건)`
     }
 };
 
+// 확장자별 판정 건수 갱신 주기 (서버 1분 구간 버킷 크기와 동일)
+const STATS_REFRESH_INTERVAL_MS = 10000;
+
+// 확장자 이름 → 판정 통계 (GET /api/extensions/stats)
+let extensionStats = {};
+
+// 커스텀 확장자 한 번에 불러오는 개수 (GET /api/extensions/custom/page)
+const CUSTOM_PAGE_SIZE = 200;
+
+// 접두사 검색 입력 후 조회까지 대기 시간
+const SEARCH_DEBOUNCE_MS = 250;
+
+// 커스텀 확장자 목록 상태 - 이름순으로 cursor까지 화면에 그렸고, cursor가 null이면 끝까지 불러온 상태
+const customList = {
+    prefix: '',
+    cursor: null,
+    done: false,
+    loading: false,
+    total: 0,
+    generation: 0  // 검색어 변경/재조회 시 증가 (이전 요청의 늦은 응답 무시)
+};
+
+// 정책 변경 스트림(SSE) 연결 여부 - 연결 중이면 변경 후 목록을 다시 불러오지 않고 이벤트로 반영
+let eventStreamConnected = false;
+
 // 페이지 로드시 데이터 불러오기
 document.addEventListener('DOMContentLoaded', function() {
     loadFixedExtensions();
+    loadExtensionGroups();
     loadCustomExtensions();
+    connectEventStream();
+    loadStats();
+    setInterval(loadStats, STATS_REFRESH_INTERVAL_MS);
 
     // Enter 키로 추가
     document.getElementById('extensionInput').addEventListener('keypress', function(e) {
@@ -30,6 +68,24 @@ document.addEventListener('DOMContentLoaded', function() {
             addExtension();
         }
     });
+
+    // 접두사 검색
+    let searchTimer;
+    document.getElementById('extensionSearch').addEventListener('input', function(e) {
+        clearTimeout(searchTimer);
+        searchTimer = setTimeout(() => {
+            customList.prefix = e.target.value.trim().toLowerCase().replace(/^\.+/, '');
+            loadCustomExtensions();
+        }, SEARCH_DEBOUNCE_MS);
+    });
+
+    // 목록 끝(sentinel)이 보이면 다음 페이지 로드
+    const list = document.getElementById('extensionsList');
+    new IntersectionObserver(entries => {
+        if (entries.some(entry => entry.isIntersecting)) {
+            loadMoreCustomExtensions();
+        }
+    }, { root: list, rootMargin: '200px' }).observe(document.getElementById('extensionsSentinel'));
 });
 
 // 고정 확장자 로드
@@ -43,6 +99,7 @@ function loadFixedExtensions() {
             data.forEach(ext => {
                 const div = document.createElement('div');
                 div.className = 'checkbox-item';
+                div.dataset.extension = ext.name;
 
                 const checkbox = document.createElement('input');
                 checkbox.type = 'checkbox';
@@ -56,41 +113,199 @@ function loadFixedExtensions() {
 
                 div.appendChild(checkbox);
                 div.appendChild(label);
+                div.appendChild(createHitBadge(ext.name));
                 container.appendChild(div);
             });
         })
         .catch(error => console.error('고정 확장자 로드 실패:', error));
 }
 
-// 커스텀 확장자 로드
+// 확장자 그룹 로드
+function loadExtensionGroups() {
+    fetch('/api/extensions/groups')
+        .then(response => response.json())
+        .then(data => {
+            const container = document.getElementById('extensionGroups');
+            container.innerHTML = '';
+
+            data.forEach(group => {
+                const div = document.createElement('div');
+                div.className = 'checkbox-item';
+                div.dataset.group = group.code;
+
+                const checkbox = document.createElement('input');
+                checkbox.type = 'checkbox';
+                checkbox.id = `group-${group.code}`;
+                checkbox.checked = group.blocked;
+                checkbox.onchange = () => toggleExtensionGroup(group.code, group.name, checkbox.checked);
+
+                const label = document.createElement('label');
+                label.htmlFor = `group-${group.code}`;
+                label.textContent = group.name;
+                label.title = group.extensions.join(', ');
+
+                div.appendChild(checkbox);
+                div.appendChild(label);
+                container.appendChild(div);
+            });
+        })
+        .catch(error => console.error('확장자 그룹 로드 실패:', error));
+}
+
+// 커스텀 확장자 로드 (처음부터 다시, 첫 페이지만)
+// 목록이 커도 화면에는 스크롤한 만큼만 페이지 단위로 그립니다.
 function loadCustomExtensions() {
-    fetch('/api/extensions/custom')
+    customList.generation++;
+    customList.cursor = null;
+    customList.done = false;
+    customList.loading = false;
+    document.querySelectorAll('#extensionsList .extension-tag').forEach(tag => tag.remove());
+    loadMoreCustomExtensions();
+}
+
+// 커스텀 확장자 다음 페이지 로드
+function loadMoreCustomExtensions() {
+    if (customList.loading || customList.done) {
+        return;
+    }
+    customList.loading = true;
+    const generation = customList.generation;
+    const params = new URLSearchParams({ size: CUSTOM_PAGE_SIZE });
+    if (customList.prefix) {
+        params.set('prefix', customList.prefix);
+    }
+    if (customList.cursor) {
+        params.set('after', customList.cursor);
+    }
+
+    fetch(`/api/extensions/custom/page?${params}`)
         .then(response => response.json())
         .then(data => {
-            const list = document.getElementById('extensionsList');
-            const emptyMessage = document.getElementById('emptyMessage');
-            const count = document.getElementById('currentCount');
-
-            list.innerHTML = '';
-            count.textContent = data.length;
-
-            if (data.length === 0) {
-                emptyMessage.style.display = 'block';
-            } else {
-                emptyMessage.style.display = 'none';
-                data.forEach(ext => {
-                    const tag = createExtensionTag(ext.extension);
-                    list.appendChild(tag);
-                });
+            if (generation !== customList.generation) {
+                return;
+            }
+            const fragment = document.createDocumentFragment();
+            data.items.forEach(ext => fragment.appendChild(createExtensionTag(ext.extension)));
+            document.getElementById('extensionsList')
+                .insertBefore(fragment, document.getElementById('extensionsSentinel'));
+
+            customList.cursor = data.nextCursor;
+            customList.done = data.nextCursor === null;
+            customList.total = data.total;
+            customList.loading = false;
+            updateCustomCount();
+            if (!customList.done) {
+                // 한 페이지로 스크롤 영역을 다 채우지 못했으면 이어서 로드
+                requestAnimationFrame(fillCustomExtensions);
             }
         })
-        .catch(error => console.error('커스텀 확장자 로드 실패:', error));
+        .catch(error => {
+            customList.loading = false;
+            console.error('커스텀 확장자 로드 실패:', error);
+        });
+}
+
+// sentinel이 여전히 보이는 영역 안에 있으면 다음 페이지 로드
+function fillCustomExtensions() {
+    const list = document.getElementById('extensionsList');
+    const sentinel = document.getElementById('extensionsSentinel');
+    if (sentinel.offsetTop - list.offsetTop < list.scrollTop + list.clientHeight + 200) {
+        loadMoreCustomExtensions();
+    }
+}
+
+// 정책 변경 스트림 구독 (다른 관리자의 변경도 실시간 반영)
+function connectEventStream() {
+    if (!window.EventSource) {
+        return;
+    }
+    const source = new EventSource('/api/extensions/stream');
+
+    source.onopen = () => {
+        eventStreamConnected = true;
+    };
+    source.onerror = () => {
+        // EventSource가 자동 재연결하며, 재연결 시 Last-Event-ID로 놓친 변경을 받습니다.
+        eventStreamConnected = false;
+    };
+    source.addEventListener('change', (e) => {
+        const data = JSON.parse(e.data);
+        data.changes.forEach(applyChange);
+    });
+    source.addEventListener('resync', () => {
+        loadFixedExtensions();
+        loadExtensionGroups();
+        loadCustomExtensions();
+    });
+}
+
+// 변경 이벤트 한 건을 화면에 반영
+function applyChange(change) {
+    switch (change.type) {
+        case 'FIXED_UPDATED': {
+            const checkbox = document.getElementById(`ext-${change.extension}`);
+            if (checkbox) {
+                checkbox.checked = change.blocked;
+            }
+            break;
+        }
+        case 'GROUP_UPDATED': {
+            const checkbox = document.getElementById(`group-${change.extension}`);
+            if (checkbox) {
+                checkbox.checked = change.blocked;
+            }
+            break;
+        }
+        case 'CUSTOM_ADDED': {
+            customList.total++;
+            insertExtensionTag(change.extension);
+            updateCustomCount();
+            break;
+        }
+        case 'CUSTOM_DELETED': {
+            customList.total = Math.max(0, customList.total - 1);
+            const tag = findExtensionTag(change.extension);
+            if (tag) {
+                tag.remove();
+            }
+            updateCustomCount();
+            break;
+        }
+    }
+}
+
+// 이름으로 커스텀 확장자 태그 찾기
+function findExtensionTag(name) {
+    return document.querySelector(`#extensionsList .extension-tag[data-extension="${CSS.escape(name)}"]`);
+}
+
+// 추가된 확장자를 이름순 위치에 삽입
+// 검색어와 맞지 않거나 아직 불러오지 않은 범위(cursor 이후)면 그리지 않고, 스크롤로 해당 페이지를 불러올 때 표시됩니다.
+function insertExtensionTag(name) {
+    if (findExtensionTag(name) || !name.startsWith(customList.prefix)
+            || (!customList.done && (customList.cursor === null || name > customList.cursor))) {
+        return;
+    }
+    const tags = document.querySelectorAll('#extensionsList .extension-tag');
+    const next = Array.from(tags).find(tag => tag.dataset.extension > name)
+        || document.getElementById('extensionsSentinel');
+    next.before(createExtensionTag(name));
+}
+
+// 커스텀 확장자 개수/빈 목록 메시지 갱신
+function updateCustomCount() {
+    document.getElementById('currentCount').textContent = customList.total;
+    const empty = document.querySelector('#extensionsList .extension-tag') === null && customList.done;
+    const emptyMessage = document.getElementById('emptyMessage');
+    emptyMessage.textContent = customList.prefix ? MESSAGES.EMPTY.NO_MATCH(customList.prefix) : MESSAGES.EMPTY.NONE;
+    emptyMessage.style.display = empty ? 'block' : 'none';
 }
 
 // 확장자 태그 생성
 function createExtensionTag(name) {
     const tag = document.createElement('div');
     tag.className = 'extension-tag';
+    tag.dataset.extension = name;
 
     const span = document.createElement('span');
     span.className = 'name';
@@ -103,11 +318,47 @@ function createExtensionTag(name) {
     button.onclick = () => removeExtension(name);
 
     tag.appendChild(span);
+    tag.appendChild(createHitBadge(name));
     tag.appendChild(button);
 
     return tag;
 }
 
+// 확장자별 판정 통계 로드
+function loadStats() {
+    fetch('/api/extensions/stats')
+        .then(response => response.json())
+        .then(data => {
+            extensionStats = {};
+            data.items.forEach(stats => {
+                extensionStats[stats.extension] = stats;
+            });
+            document.querySelectorAll('.hits').forEach(badge => updateHitBadge(badge));
+        })
+        .catch(error => console.error('통계 로드 실패:', error));
+}
+
+// 판정 건수 배지 생성
+function createHitBadge(name) {
+    const badge = document.createElement('span');
+    badge.className = 'hits';
+    badge.dataset.extension = name;
+    updateHitBadge(badge);
+    return badge;
+}
+
+// 배지에 누적 판정 건수 표시 (상세는 툴팁)
+function updateHitBadge(badge) {
+    const stats = extensionStats[badge.dataset.extension];
+    if (!stats) {
+        badge.textContent = '0';
+        badge.title = '';
+        return;
+    }
+    badge.textContent = stats.windows.total.blocked + stats.windows.total.allowed;
+    badge.title = MESSAGES.STATS.HITS(stats);
+}
+
 // 고정 확장자 토글
 function toggleFixedExtension(name, blocked) {
     fetch(`/api/extensions/fixed/${name}`, {
@@ -132,6 +383,30 @@ function toggleFixedExtension(name, blocked) {
     });
 }
 
+// 확장자 그룹 토글 (그룹 전체를 요청 한 번으로 차단/해제)
+function toggleExtensionGroup(code, name, blocked) {
+    fetch(`/api/extensions/groups/${encodeURIComponent(code)}`, {
+        method: 'PATCH',
+        headers: {
+            'Content-Type': 'application/json',
+        },
+        body: JSON.stringify({ blocked: blocked })
+    })
+    .then(response => {
+        if (!response.ok) {
+            throw new Error(MESSAGES.ERROR.UPDATE_FAILED);
+        }
+        const message = blocked ? MESSAGES.SUCCESS.GROUP_BLOCKED(name) : MESSAGES.SUCCESS.GROUP_UNBLOCKED(name);
+        const type = blocked ? 'success' : 'success-unblock';
+        showToast(message, type);
+    })
+    .catch(error => {
+        console.error('확장자 그룹 업데이트 실패:', error);
+        showToast(MESSAGES.ERROR.UPDATE_FAILED, 'error');
+        loadExtensionGroups(); // 원래 상태로 복구
+    });
+}
+
 // 커스텀 확장자 추가
 function addExtension() {
     const input = document.getElementById('extensionInput');
@@ -153,8 +428,9 @@ function addExtension() {
         return;
     }
 
-    // 영문자와 숫자만 허용 (정규식 검증)
-    const validPattern = /^[a-z0-9]+$/;
+    // 영문자와 숫자, 복합 확장자 구분용 '.', 와일드카드만 허용 (서버의 ExtensionConstants.EXTENSION_FORMAT과 동일)
+    const segment = '(?:[a-z0-9*?]|\\[[!^]?(?:[a-z0-9](?:-[a-z0-9])?)+\\])+';
+    const validPattern = new RegExp(`^\\.?${segment}(?:\\.${segment})*$`);
     if (!validPattern.test(extension)) {
         showError(MESSAGES.ERROR.INVALID_FORMAT);
         return;
@@ -189,7 +465,9 @@ function addExtension() {
     .then(() => {
         input.value = '';
         showToast(MESSAGES.SUCCESS.BLOCKED(extension), 'success');
-        loadCustomExtensions();
+        if (!eventStreamConnected) {
+            loadCustomExtensions();
+        }
     })
     .catch(error => {
         console.error('확장자 추가 실패:', error);
@@ -203,7 +481,7 @@ function removeExtension(extension) {
         return;
     }
 
-    fetch(`/api/extensions/custom/${extension}`, {
+    fetch(`/api/extensions/custom/${encodeURIComponent(extension)}`, {
         method: 'DELETE'
     })
     .then(response => {
@@ -211,7 +489,9 @@ function removeExtension(extension) {
             throw new Error(MESSAGES.ERROR.DELETE_FAILED);
         }
         showToast(MESSAGES.SUCCESS.UNBLOCKED(extension), 'success-unblock');
-        loadCustomExtensions();
+        if (!eventStreamConnected) {
+            loadCustomExtensions();
+        }
     })
     .catch(error => {
         console.error('확장자 삭제 실패:', error);
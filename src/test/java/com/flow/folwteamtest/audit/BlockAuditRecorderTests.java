@@ -0,0 +1,257 @@
+package com.flow.folwteamtest.audit;
+
+import com.flow.folwteamtest.config.AuditProperties;
+import com.flow.folwteamtest.policy.BlockedRule;
+import com.flow.folwteamtest.repository.BlockAuditJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 감사 링 버퍼(다중 생산자/단일 소비자)와 기록기의 overflow 정책, 종료 시 배출 검증
+ */
+class BlockAuditRecorderTests {
+
+	private static final AuditContext CONTEXT = new AuditContext("default", "user-1", "127.0.0.1", AuditSource.CHECK);
+	private static final BlockedRule RULE = new BlockedRule(BlockedRule.RuleType.FIXED, "exe");
+
+	private final StallingRepository repository = new StallingRepository();
+	private BlockAuditRecorder recorder;
+
+	@AfterEach
+	void stopRecorder() throws InterruptedException {
+		repository.release();
+		if (recorder != null) {
+			recorder.shutdown(Duration.ofSeconds(5));
+		}
+	}
+
+	@Test
+	void ringBufferRoundsCapacityAndKeepsFifoOrderAcrossWraps() {
+		assertThat(new AuditRingBuffer(1).capacity()).isEqualTo(4);
+		assertThat(new AuditRingBuffer(4).capacity()).isEqualTo(4);
+		assertThat(new AuditRingBuffer(5).capacity()).isEqualTo(8);
+
+		AuditRingBuffer buffer = new AuditRingBuffer(4);
+		List<BlockAuditEvent> drained = new ArrayList<>();
+		long next = 0;
+		for (int round = 0; round < 10; round++) {
+			for (int i = 0; i < 4; i++) {
+				assertThat(buffer.offer(event(next++))).isTrue();
+			}
+			assertThat(buffer.offer(event(-1))).isFalse();
+			assertThat(buffer.size()).isEqualTo(4);
+			// maxElements 단위로 나누어 꺼냄
+			assertThat(buffer.drainTo(drained, 3)).isEqualTo(3);
+			assertThat(buffer.drainTo(drained, 3)).isEqualTo(1);
+			assertThat(buffer.drainTo(drained, 3)).isZero();
+		}
+		assertThat(drained).extracting(BlockAuditEvent::timestamp)
+				.containsExactlyElementsOf(sequence(0, 40));
+	}
+
+	@Test
+	void ringBufferDeliversEveryEventOnceWithConcurrentProducers() throws InterruptedException {
+		AuditRingBuffer buffer = new AuditRingBuffer(64);
+		int producers = 4;
+		int perProducer = 20_000;
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			long base = (long) p * perProducer;
+			threads.add(Thread.ofPlatform().start(() -> {
+				for (long i = base; i < base + perProducer; i++) {
+					while (!buffer.offer(event(i))) {
+						Thread.onSpinWait();
+					}
+				}
+			}));
+		}
+		List<BlockAuditEvent> drained = new ArrayList<>();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (drained.size() < producers * perProducer) {
+			assertThat(System.nanoTime()).isLessThan(deadline);
+			buffer.drainTo(drained, 32);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// 생산자별 순서 유지, 전체는 누락/중복 없음
+		long[] lastPerProducer = new long[producers];
+		Arrays.fill(lastPerProducer, -1);
+		for (BlockAuditEvent event : drained) {
+			int producer = (int) (event.timestamp() / perProducer);
+			assertThat(event.timestamp()).isGreaterThan(lastPerProducer[producer]);
+			lastPerProducer[producer] = event.timestamp();
+		}
+		assertThat(drained).extracting(BlockAuditEvent::timestamp)
+				.containsExactlyInAnyOrderElementsOf(sequence(0, producers * perProducer));
+		assertThat(buffer.size()).isZero();
+	}
+
+	@Test
+	void dropPolicyCountsEventsThatDoNotFit() {
+		recorder = stalledRecorder(AuditOverflowPolicy.DROP, 4, 1);
+		for (int i = 0; i < 4; i++) {
+			recorder.record(CONTEXT, i + ".txt", null);
+		}
+		recorder.record(CONTEXT, "c.exe", RULE);
+
+		assertThat(recorder.getPublishedCount()).isEqualTo(5);
+		assertThat(recorder.getDroppedCount()).isEqualTo(1);
+		assertThat(recorder.getPendingCount()).isEqualTo(4);
+	}
+
+	@Test
+	void samplePolicyThinsOnlyAllowedEventsWhenHalfFull() {
+		recorder = stalledRecorder(AuditOverflowPolicy.SAMPLE, 4, Integer.MAX_VALUE);
+		recorder.record(CONTEXT, "a.txt", null);
+		recorder.record(CONTEXT, "b.txt", null);
+		// 절반 이상 찼으므로 허용 판정은 샘플링, 차단 판정은 그대로 기록
+		recorder.record(CONTEXT, "c.txt", null);
+		recorder.record(CONTEXT, "d.exe", RULE);
+		recorder.record(CONTEXT, "e.exe", RULE);
+		recorder.record(CONTEXT, "f.exe", RULE);
+
+		assertThat(recorder.getSampledOutCount()).isEqualTo(1);
+		assertThat(recorder.getPublishedCount()).isEqualTo(5);
+		assertThat(recorder.getDroppedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void blockPolicyWaitsForSpaceInsteadOfDropping() throws InterruptedException {
+		recorder = stalledRecorder(AuditOverflowPolicy.BLOCK, 4, 1);
+		for (int i = 0; i < 4; i++) {
+			recorder.record(CONTEXT, i + ".txt", null);
+		}
+		Thread producer = Thread.ofPlatform().start(() -> recorder.record(CONTEXT, "4.txt", null));
+
+		producer.join(200);
+		assertThat(producer.isAlive()).isTrue();
+		assertThat(recorder.getPublishedCount()).isEqualTo(5);
+
+		repository.release();
+		producer.join(5_000);
+		assertThat(producer.isAlive()).isFalse();
+		awaitTrue(() -> recorder.getWrittenCount() == 6);
+		assertThat(recorder.getDroppedCount()).isZero();
+		assertThat(repository.filenames()).containsExactly("stall", "0.txt", "1.txt", "2.txt", "3.txt", "4.txt");
+	}
+
+	@Test
+	void shutdownWritesRemainingEvents() throws InterruptedException {
+		recorder = new BlockAuditRecorder(repository, properties(AuditOverflowPolicy.DROP, 1024, 1), new MockEnvironment());
+		repository.release();
+		for (int i = 0; i < 100; i++) {
+			recorder.record(CONTEXT, i + ".txt", null);
+		}
+		recorder.shutdown(Duration.ofSeconds(5));
+
+		assertThat(recorder.getWrittenCount()).isEqualTo(100);
+		assertThat(recorder.getPendingCount()).isZero();
+		assertThat(repository.filenames()).hasSize(100);
+	}
+
+	@Test
+	void shutdownLeavesBufferAloneWhileWriterIsStuck() throws InterruptedException {
+		recorder = stalledRecorder(AuditOverflowPolicy.DROP, 8, 1);
+		recorder.record(CONTEXT, "a.txt", null);
+		recorder.shutdown(Duration.ofMillis(100));
+
+		// 기록 스레드가 살아 있는 동안 다른 스레드가 버퍼를 비우면 안 됨
+		assertThat(repository.callerThreads()).containsOnly("audit-writer");
+		assertThat(recorder.getPendingCount()).isEqualTo(1);
+		assertThat(recorder.getWrittenCount()).isZero();
+	}
+
+	/**
+	 * 첫 이벤트를 기록 스레드가 꺼내 INSERT에서 멈춘 상태의 기록기 (버퍼는 비어 있음)
+	 */
+	private BlockAuditRecorder stalledRecorder(AuditOverflowPolicy policy, int bufferSize, int sampleRate) {
+		BlockAuditRecorder stalled = new BlockAuditRecorder(repository, properties(policy, bufferSize, sampleRate),
+				new MockEnvironment());
+		stalled.record(CONTEXT, "stall", null);
+		awaitTrue(() -> repository.stalled.getCount() == 0);
+		return stalled;
+	}
+
+	private static AuditProperties properties(AuditOverflowPolicy policy, int bufferSize, int sampleRate) {
+		return new AuditProperties(true, bufferSize, 1, Duration.ofMillis(5), policy, sampleRate);
+	}
+
+	private static BlockAuditEvent event(long sequence) {
+		return new BlockAuditEvent(sequence, CONTEXT, "file.txt", null);
+	}
+
+	private static List<Long> sequence(long from, long to) {
+		List<Long> values = new ArrayList<>();
+		for (long i = from; i < to; i++) {
+			values.add(i);
+		}
+		return values;
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+			Thread.onSpinWait();
+		}
+	}
+
+	/**
+	 * release() 전까지 INSERT에서 멈추는 저장소 (인터럽트도 무시하여 멈춘 DB 쓰기를 흉내)
+	 */
+	private static final class StallingRepository extends BlockAuditJdbcRepository {
+
+		private final CountDownLatch stalled = new CountDownLatch(1);
+		private final CountDownLatch released = new CountDownLatch(1);
+		private final List<String> filenames = Collections.synchronizedList(new ArrayList<>());
+		private final List<String> callerThreads = Collections.synchronizedList(new ArrayList<>());
+
+		private StallingRepository() {
+			super(null);
+		}
+
+		@Override
+		public void batchInsert(List<BlockAuditEvent> events) {
+			callerThreads.add(Thread.currentThread().getName());
+			events.forEach(event -> filenames.add(event.filename()));
+			stalled.countDown();
+			boolean interrupted = false;
+			while (released.getCount() > 0) {
+				try {
+					released.await();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		void release() {
+			released.countDown();
+		}
+
+		List<String> filenames() {
+			return List.copyOf(filenames);
+		}
+
+		List<String> callerThreads() {
+			return List.copyOf(callerThreads);
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.flow.folwteamtest.local;
+
+import com.flow.folwteamtest.service.ExtensionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 로컬 소켓 검사 왕복 검증 (REST와 같은 판정, 파이프라이닝 순서, 잘못된 요청의 에러 응답)
+ */
+@SpringBootTest(properties = {
+		"flow.local-socket.enabled=true",
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=INFO"
+})
+class LocalCheckServerTests {
+
+	private static final Path SOCKET;
+
+	static {
+		try {
+			SOCKET = Files.createTempDirectory("flow-local").resolve("check.sock");
+		} catch (IOException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	@DynamicPropertySource
+	static void socketPath(DynamicPropertyRegistry registry) {
+		registry.add("flow.local-socket.path", SOCKET::toString);
+	}
+
+	@Autowired
+	private ExtensionService extensionService;
+
+	@Test
+	void checksAndPipelinesRequestsInOrder() throws Exception {
+		extensionService.updateFixedExtensionByName("local", "exe", true);
+		extensionService.addCustomExtension("local", "tar.gz");
+
+		try (LocalCheckClient client = LocalCheckClient.connect(SOCKET)) {
+			assertThat(client.check("local", "setup.EXE"))
+					.isEqualTo(new LocalCheckClient.Verdict(true, "FIXED", "exe"));
+			assertThat(client.check("local", List.of("backup.tar.gz", "report.pdf")))
+					.containsExactly(new LocalCheckClient.Verdict(true, "CUSTOM", "tar.gz"),
+							new LocalCheckClient.Verdict(false, null, null));
+			// 다른 테넌트는 영향 없음
+			assertThat(client.check(null, "backup.tar.gz").blocked()).isFalse();
+
+			List<CompletableFuture<List<LocalCheckClient.Verdict>>> futures = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				futures.add(client.checkAsync("local", List.of(i % 2 == 0 ? "a" + i + ".exe" : "a" + i + ".txt")));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				assertThat(futures.get(i).join().get(0).blocked()).as("request " + i).isEqualTo(i % 2 == 0);
+			}
+
+			assertThatThrownBy(() -> client.check("Bad Tenant", "a.exe")).isInstanceOf(IOException.class);
+			// 에러 응답 후에도 연결은 계속 사용
+			assertThat(client.check("local", "a.exe").blocked()).isTrue();
+		}
+	}
+
+	@Test
+	void rejectsInvalidFrameLength() throws Exception {
+		try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+			channel.connect(UnixDomainSocketAddress.of(SOCKET));
+			channel.write(ByteBuffer.allocate(8).putInt(Integer.MAX_VALUE).putInt(1).flip());
+
+			ByteBuffer response = ByteBuffer.allocate(256);
+			while (channel.read(response) >= 0) {
+				// 에러 응답 뒤 서버가 연결을 닫을 때까지 읽음
+			}
+			response.flip();
+			assertThat(response.getInt()).isEqualTo(response.remaining());
+			assertThat(response.getInt()).isZero();
+			assertThat(response.get()).isEqualTo(LocalCheckProtocol.STATUS_ERROR);
+		}
+	}
+}
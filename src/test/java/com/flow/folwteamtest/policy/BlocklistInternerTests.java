@@ -0,0 +1,82 @@
+package com.flow.folwteamtest.policy;
+
+import com.flow.folwteamtest.entity.CustomExtension;
+import com.flow.folwteamtest.entity.FixedExtension;
+import com.flow.folwteamtest.event.ExtensionChange;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스냅샷 인터너 검증 (내용이 같은 정책은 테넌트가 달라도 한 인스턴스, 서로 다른 정책 수, hit/miss)
+ */
+class BlocklistInternerTests {
+
+	private final BlocklistInterner interner = new BlocklistInterner();
+
+	@Test
+	void sharesOneInstancePerDistinctPolicy() {
+		List<BlocklistSnapshot> interned = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			// 테넌트마다 따로 읽은 행으로 만든 스냅샷 (테넌트 ID, 행 순서가 달라도 내용이 같으면 같은 정책)
+			String tenantId = "tenant" + i;
+			List<CustomExtension> customs = i % 10 == 0
+					? List.of(custom(tenantId, "zip"), custom(tenantId, "ph*"))
+					: i % 10 == 1 ? List.of(custom(tenantId, "ph*"), custom(tenantId, "zip")) : List.of();
+			interned.add(interner.intern(BlocklistSnapshot.of(List.of(fixed(tenantId, "exe", true), fixed(tenantId, "bat", false)), customs)));
+		}
+
+		assertThat(interned.get(2)).isSameAs(interned.get(3)).isSameAs(interned.get(99));
+		assertThat(interned.get(10)).isSameAs(interned.get(11)).isNotSameAs(interned.get(2));
+		assertThat(identityCount(interned)).isEqualTo(2);
+		assertThat(interner.size()).isEqualTo(2);
+		assertThat(interner.misses()).isEqualTo(2);
+		assertThat(interner.hits()).isEqualTo(98);
+	}
+
+	@Test
+	void separatesTenantAfterPolicyChange() {
+		BlocklistSnapshot a = interner.intern(BlocklistSnapshot.of(List.of(fixed("a", "exe", true)), List.of()));
+		BlocklistSnapshot b = interner.intern(BlocklistSnapshot.of(List.of(fixed("b", "exe", true)), List.of()));
+		assertThat(a).isSameAs(b);
+
+		// b만 커스텀 확장자 추가: a는 그대로, b는 새 정책
+		BlocklistSnapshot changed = interner.intern(b.withChanges(List.of(
+				new ExtensionChange(ExtensionChange.ChangeType.CUSTOM_ADDED, 1L, "sh", true))));
+		assertThat(changed).isNotSameAs(a);
+		assertThat(a.match("run.sh")).isNull();
+		assertThat(changed.match("run.sh")).isNotNull();
+		assertThat(interner.size()).isEqualTo(2);
+
+		// 같은 변경을 한 다른 테넌트는 다시 b의 새 정책을 공유
+		BlocklistSnapshot c = interner.intern(BlocklistSnapshot.of(List.of(fixed("c", "exe", true)), List.of(custom("c", "sh"))));
+		assertThat(c).isSameAs(changed);
+		assertThat(interner.size()).isEqualTo(2);
+	}
+
+	@Test
+	void neverPoolsEmptySnapshot() {
+		assertThat(interner.intern(BlocklistSnapshot.EMPTY)).isSameAs(BlocklistSnapshot.EMPTY);
+		assertThat(interner.size()).isZero();
+	}
+
+	private static int identityCount(List<BlocklistSnapshot> snapshots) {
+		Set<BlocklistSnapshot> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+		distinct.addAll(snapshots);
+		return distinct.size();
+	}
+
+	private static FixedExtension fixed(String tenantId, String name, boolean blocked) {
+		return FixedExtension.builder().tenantId(tenantId).name(name).blocked(blocked).build();
+	}
+
+	private static CustomExtension custom(String tenantId, String extension) {
+		return CustomExtension.builder().tenantId(tenantId).extension(extension).build();
+	}
+}
@@ -0,0 +1,60 @@
+package com.flow.folwteamtest.policy;
+
+import com.flow.folwteamtest.common.ExtensionGroup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 차단 스냅샷 파일 검증 (기록/복원 후 같은 판정, 공유 정책 유지, 손상 파일 거부)
+ */
+class BlocklistSnapshotFileTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void restoresPoliciesWithSharedSnapshots() throws Exception {
+		BlocklistSnapshot shared = BlocklistSnapshot.compile(Set.of("exe"), Set.of("tar.gz", "ph*"),
+				EnumSet.of(ExtensionGroup.SCRIPT));
+		Path file = dir.resolve("blocklist.snap");
+		BlocklistSnapshotFile.write(file, Map.of(
+				"a", new TenantBlocklist(shared, 3),
+				"b", new TenantBlocklist(shared, 7)));
+
+		Map<String, TenantBlocklist> restored = BlocklistSnapshotFile.read(file);
+
+		assertThat(restored).containsOnlyKeys("a", "b");
+		assertThat(restored.get("a").version()).isEqualTo(3);
+		assertThat(restored.get("b").version()).isEqualTo(7);
+		assertThat(restored.get("a").snapshot()).isSameAs(restored.get("b").snapshot());
+		BlocklistSnapshot snapshot = restored.get("a").snapshot();
+		assertThat(snapshot.match("setup.exe").type()).isEqualTo(BlockedRule.RuleType.FIXED);
+		assertThat(snapshot.match("backup.tar.gz").extension()).isEqualTo("tar.gz");
+		assertThat(snapshot.match("shell.php5").type()).isEqualTo(BlockedRule.RuleType.PATTERN);
+		assertThat(snapshot.match("run.ps1").type()).isEqualTo(BlockedRule.RuleType.GROUP);
+		assertThat(snapshot.match("report.pdf")).isNull();
+	}
+
+	@Test
+	void rejectsCorruptedFile() throws Exception {
+		Path file = dir.resolve("blocklist.snap");
+		BlocklistSnapshotFile.write(file, Map.of("a",
+				new TenantBlocklist(BlocklistSnapshot.compile(Set.of("exe"), Set.of(), Set.of()), 1)));
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[bytes.length / 2] ^= 0x01;
+		Files.write(file, bytes);
+
+		assertThat(BlocklistSnapshotFile.read(file)).isNull();
+
+		Files.write(file, new byte[] {'F', 'L'});
+		assertThat(BlocklistSnapshotFile.read(file)).isNull();
+	}
+}
@@ -0,0 +1,122 @@
+package com.flow.folwteamtest.policy;
+
+import com.flow.folwteamtest.entity.CustomExtension;
+import com.flow.folwteamtest.entity.ExtensionGroupPolicy;
+import com.flow.folwteamtest.entity.FixedExtension;
+import com.flow.folwteamtest.event.ExtensionChange;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 파일명 판정 검증 (접미사 트라이: 복합 확장자, 이중 확장자, 끝의 '.'/공백 / 그룹 비트마스크 / DFA: 와일드카드 규칙 / 델타 적용)
+ */
+class BlocklistSnapshotTests {
+
+	private final BlocklistSnapshot snapshot = BlocklistSnapshot.of(
+			List.of(FixedExtension.builder().tenantId("t").name("exe").blocked(true).build(),
+					FixedExtension.builder().tenantId("t").name("bat").blocked(false).build()),
+			List.of(custom("gz"), custom("tar.gz"), custom("pdf.js")));
+
+	@Test
+	void matchesCompoundExtensionsByLongestSuffix() {
+		assertThat(snapshot.match("backup.TAR.GZ").extension()).isEqualTo("tar.gz");
+		assertThat(snapshot.match("dump.gz").extension()).isEqualTo("gz");
+		assertThat(snapshot.match("viewer.pdf.js").type()).isEqualTo(BlockedRule.RuleType.CUSTOM);
+		assertThat(snapshot.match("targz")).isNull();
+		assertThat(snapshot.match("a.xtar.gz").extension()).isEqualTo("gz");
+	}
+
+	@Test
+	void catchesDoubleExtensionAndTrailingDotEvasion() {
+		assertThat(snapshot.match("invoice.pdf.exe").extension()).isEqualTo("exe");
+		assertThat(snapshot.match("payload.exe.").extension()).isEqualTo("exe");
+		assertThat(snapshot.match("payload.exe. . ").extension()).isEqualTo("exe");
+		assertThat(snapshot.match("C:\\temp\\.exe")).isNotNull();
+	}
+
+	@Test
+	void ignoresDirectoriesAndUnblockedRules() {
+		assertThat(snapshot.match("dir.exe/readme")).isNull();
+		assertThat(snapshot.match("run.bat")).isNull();
+		assertThat(snapshot.match("exe")).isNull();
+		assertThat(snapshot.match("")).isNull();
+		assertThat(snapshot.match(null)).isNull();
+	}
+
+	@Test
+	void matchesWildcardRulesAfterExactRules() {
+		BlocklistSnapshot patterns = BlocklistSnapshot.of(List.of(),
+				List.of(custom("ph*"), custom("x?m"), custom("[ps]h[!x]"), custom("php"), custom("tar.*")));
+
+		assertThat(patterns.match("index.phtml").extension()).isEqualTo("ph*");
+		assertThat(patterns.match("index.PHAR").type()).isEqualTo(BlockedRule.RuleType.PATTERN);
+		assertThat(patterns.match("index.php").type()).isEqualTo(BlockedRule.RuleType.CUSTOM);
+		assertThat(patterns.match("data.xhm").extension()).isEqualTo("x?m");
+		assertThat(patterns.match("data.xm")).isNull();
+		assertThat(patterns.match("run.sha").extension()).isEqualTo("[ps]h[!x]");
+		assertThat(patterns.match("run.shx")).isNull();
+		assertThat(patterns.match("a.tar.bz2").extension()).isEqualTo("tar.*");
+		assertThat(patterns.match("shell.php.txt")).isNull();
+		assertThat(patterns.match("photo")).isNull();
+		assertThat(patterns.matchExtension("phar").extension()).isEqualTo("ph*");
+	}
+
+	@Test
+	void wildcardMatchingStaysLinearOnHostileNames() {
+		BlocklistSnapshot patterns = BlocklistSnapshot.of(List.of(),
+				List.of(custom("*a*a*a*a*b"), custom("a*a*a*a*a*c"), custom("????????x")));
+		String hostile = "x." + "a".repeat(200_000);
+
+		long start = System.nanoTime();
+		assertThat(patterns.match(hostile)).isNull();
+		assertThat(patterns.match(hostile + "b").extension()).isEqualTo("*a*a*a*a*b");
+		assertThat(System.nanoTime() - start).isLessThan(1_000_000_000L);
+	}
+
+	@Test
+	void matchesOnlyMembersOfBlockedGroups() {
+		BlocklistSnapshot groups = BlocklistSnapshot.of(List.of(), List.of(custom("gz")), List.of(
+				ExtensionGroupPolicy.builder().tenantId("t").groupCode("archive").blocked(true).build(),
+				ExtensionGroupPolicy.builder().tenantId("t").groupCode("script").blocked(false).build()));
+
+		assertThat(groups.match("backup.tar.gz").type()).isEqualTo(BlockedRule.RuleType.GROUP);
+		assertThat(groups.match("backup.tar.gz").extension()).isEqualTo("tar.gz");
+		assertThat(groups.match("dump.gz").type()).isEqualTo(BlockedRule.RuleType.CUSTOM);
+		assertThat(groups.match("a.7Z").extension()).isEqualTo("7z");
+		assertThat(groups.match("run.sh")).isNull();
+		assertThat(groups.matchExtension("rar").type()).isEqualTo(BlockedRule.RuleType.GROUP);
+		assertThat(groups.matchExtension("exe")).isNull();
+	}
+
+	@Test
+	void appliesDeltaWithoutRecompilingUnchangedPatterns() {
+		BlocklistSnapshot base = BlocklistSnapshot.of(List.of(), List.of(custom("ph*"), custom("zip")));
+
+		assertThat(base.withChanges(List.of(change(ExtensionChange.ChangeType.CUSTOM_ADDED, "zip", true),
+				change(ExtensionChange.ChangeType.FIXED_UPDATED, "bat", false)))).isSameAs(base);
+
+		BlocklistSnapshot exact = base.withChanges(List.of(change(ExtensionChange.ChangeType.CUSTOM_ADDED, "iso", true),
+				change(ExtensionChange.ChangeType.FIXED_UPDATED, "exe", true)));
+		assertThat(exact.patterns()).isSameAs(base.patterns());
+		assertThat(exact.match("a.iso").type()).isEqualTo(BlockedRule.RuleType.CUSTOM);
+		assertThat(exact.match("a.exe").type()).isEqualTo(BlockedRule.RuleType.FIXED);
+		assertThat(exact.match("a.php").type()).isEqualTo(BlockedRule.RuleType.PATTERN);
+
+		BlocklistSnapshot pattern = exact.withChanges(List.of(change(ExtensionChange.ChangeType.CUSTOM_ADDED, "x?m", true)));
+		assertThat(pattern.patterns()).isNotSameAs(exact.patterns());
+		assertThat(pattern.match("a.xlm").extension()).isEqualTo("x?m");
+		assertThat(pattern.withChanges(List.of(change(ExtensionChange.ChangeType.CUSTOM_DELETED, "ph*", false)))
+				.match("a.php")).isNull();
+	}
+
+	private static ExtensionChange change(ExtensionChange.ChangeType type, String extension, boolean blocked) {
+		return new ExtensionChange(type, null, extension, blocked);
+	}
+
+	private static CustomExtension custom(String extension) {
+		return CustomExtension.builder().tenantId("t").extension(extension).build();
+	}
+}
@@ -0,0 +1,185 @@
+package com.flow.folwteamtest.quarantine;
+
+import com.flow.folwteamtest.entity.QuarantineSample;
+import com.flow.folwteamtest.policy.BlockedRule;
+import com.flow.folwteamtest.repository.QuarantineSampleRepository;
+import com.flow.folwteamtest.service.ExtensionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 차단 업로드 격리 보관 검증 (내용 해시 중복 제거, 규칙 연결, 목록/내려받기, 용량 초과 정리)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"flow.quarantine.enabled=true",
+		"flow.quarantine.max-total-size=300KB",
+		"flow.quarantine.eviction-interval=1h",
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=INFO",
+		"logging.level.com.flow.folwteamtest=WARN"
+})
+class QuarantineStoreTests {
+
+	private static final Path DIRECTORY;
+	private static final String BOUNDARY = "quarantine-boundary";
+
+	static {
+		try {
+			DIRECTORY = Files.createTempDirectory("flow-quarantine");
+		} catch (IOException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	@DynamicPropertySource
+	static void quarantineDirectory(DynamicPropertyRegistry registry) {
+		registry.add("flow.quarantine.directory", DIRECTORY::toString);
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ExtensionService extensionService;
+
+	@Autowired
+	private QuarantineSampleRepository sampleRepository;
+
+	@Autowired
+	private QuarantineStore quarantineStore;
+
+	private final HttpClient http = HttpClient.newHttpClient();
+
+	@Test
+	void quarantinesBlockedUploadsOncePerContent() throws Exception {
+		extensionService.updateFixedExtensionByName("quar", "exe", true);
+		byte[] payload = randomBytes(200 * 1024, 1);
+		// 이름을 바꾼 실행 파일: 시그니처 검사로 모은 앞부분도 함께 보관되어야 합니다.
+		byte[] disguised = randomBytes(100 * 1024, 2);
+		disguised[0] = 'M';
+		disguised[1] = 'Z';
+
+		assertThat(upload("quar", "setup.exe", payload).statusCode()).isEqualTo(415);
+		assertThat(upload("quar", "other.EXE", payload).statusCode()).isEqualTo(415);
+		assertThat(upload("quar", "notes.txt", disguised).statusCode()).isEqualTo(415);
+		assertThat(upload("quar", "report.pdf", payload).statusCode()).isEqualTo(200);
+
+		List<QuarantineSample> samples = awaitSamples("quar", 2, 3);
+		QuarantineSample renamed = samples.get(0);
+		QuarantineSample named = samples.get(1);
+		assertThat(named.getSha256()).isEqualTo(sha256(payload));
+		assertThat(named.getHitCount()).isEqualTo(2);
+		assertThat(named.getFilename()).isEqualTo("setup.exe");
+		assertThat(named.getRuleType()).isEqualTo(BlockedRule.RuleType.FIXED);
+		assertThat(named.getFixedExtensionId()).isNotNull();
+		assertThat(renamed.getSha256()).isEqualTo(sha256(disguised));
+		assertThat(renamed.getSize()).isEqualTo(disguised.length);
+		assertThat(renamed.getDetectedType()).isEqualTo("PE");
+
+		HttpResponse<String> page = http.send(get("/api/tenants/quar/quarantine?size=1"), HttpResponse.BodyHandlers.ofString());
+		assertThat(page.statusCode()).isEqualTo(200);
+		assertThat(page.body()).contains(renamed.getSha256()).contains("\"nextCursor\":" + renamed.getId());
+
+		HttpResponse<byte[]> content = http.send(get("/api/tenants/quar/quarantine/" + named.getId() + "/content"),
+				HttpResponse.BodyHandlers.ofByteArray());
+		assertThat(content.statusCode()).isEqualTo(200);
+		assertThat(content.body()).isEqualTo(payload);
+		assertThat(content.headers().firstValue("Content-Type")).hasValue("application/octet-stream");
+		assertThat(content.headers().firstValue("X-Content-Type-Options")).hasValue("nosniff");
+
+		// 다른 테넌트의 샘플은 보이지 않음
+		assertThat(http.send(get("/api/quarantine/" + named.getId() + "/content"), HttpResponse.BodyHandlers.discarding())
+				.statusCode()).isEqualTo(404);
+	}
+
+	@Test
+	void evictsLeastRecentlySeenSamplesOverTotalSize() throws Exception {
+		extensionService.addCustomExtension("evict", "bin");
+		byte[] older = randomBytes(200 * 1024, 3);
+		byte[] newer = randomBytes(200 * 1024, 4);
+		assertThat(upload("evict", "a.bin", older).statusCode()).isEqualTo(415);
+		List<QuarantineSample> first = awaitSamples("evict", 1, 1);
+		assertThat(first.get(0).getCustomExtensionId()).isNotNull();
+		assertThat(upload("evict", "b.bin", newer).statusCode()).isEqualTo(415);
+		awaitSamples("evict", 2, 2);
+
+		quarantineStore.evict();
+
+		List<QuarantineSample> remaining = sampleRepository.findByTenantIdAndIdLessThanOrderByIdDesc(
+				"evict", Long.MAX_VALUE, Limit.of(10));
+		assertThat(remaining).extracting(QuarantineSample::getSha256).containsExactly(sha256(newer));
+		assertThat(quarantineStore.pathOf("evict", sha256(older))).doesNotExist();
+		assertThat(quarantineStore.pathOf("evict", sha256(newer))).exists();
+	}
+
+	private HttpResponse<Void> upload(String tenantId, String filename, byte[] content) throws Exception {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		body.write(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"" + filename
+				+ "\"\r\nContent-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+		body.write(content);
+		body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+		HttpRequest request = HttpRequest.newBuilder(uri("/api/tenants/" + tenantId + "/uploads"))
+				.header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+				.build();
+		return http.send(request, HttpResponse.BodyHandlers.discarding());
+	}
+
+	/**
+	 * 보관은 전용 스레드가 비동기로 하므로 기대한 샘플 수와 차단 횟수가 될 때까지 대기 (최신순)
+	 */
+	private List<QuarantineSample> awaitSamples(String tenantId, int count, long totalHits) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		List<QuarantineSample> samples;
+		do {
+			samples = sampleRepository.findByTenantIdAndIdLessThanOrderByIdDesc(tenantId, Long.MAX_VALUE, Limit.of(10));
+			if (samples.size() == count && samples.stream().mapToLong(QuarantineSample::getHitCount).sum() == totalHits) {
+				return samples;
+			}
+			Thread.sleep(20);
+		} while (System.nanoTime() < deadline);
+		throw new AssertionError("Expected " + count + " samples in " + tenantId + " but found " + samples.size());
+	}
+
+	private HttpRequest get(String path) {
+		return HttpRequest.newBuilder(uri(path)).GET().build();
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	private static byte[] randomBytes(int size, long seed) {
+		byte[] bytes = new byte[size];
+		new Random(seed).nextBytes(bytes);
+		// 우연히 알려진 시그니처로 시작하지 않도록 첫 바이트 고정
+		bytes[0] = 0;
+		return bytes;
+	}
+
+	private static String sha256(byte[] content) throws Exception {
+		return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+	}
+}
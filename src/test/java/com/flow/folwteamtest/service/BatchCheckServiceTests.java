@@ -0,0 +1,182 @@
+package com.flow.folwteamtest.service;
+
+import com.flow.folwteamtest.audit.AuditContext;
+import com.flow.folwteamtest.audit.AuditSource;
+import com.flow.folwteamtest.common.ExtensionConstants;
+import com.flow.folwteamtest.exception.MalformedBatchRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 파일명 일괄 검사 검증 (JSON 배열/줄 단위 입력, 잘못된 입력, 개수 제한, 배치 단위 스냅샷)
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=INFO",
+		"logging.level.com.flow.folwteamtest=WARN"
+})
+@AutoConfigureMockMvc
+class BatchCheckServiceTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BatchCheckService batchCheckService;
+
+	@Autowired
+	private ExtensionService extensionService;
+
+	@Test
+	void checksJsonArray() throws Exception {
+		extensionService.updateFixedExtensionByName("batchjson", "exe", true);
+		extensionService.addCustomExtension("batchjson", "sh");
+
+		mockMvc.perform(post("/api/tenants/batchjson/extensions/check/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[\"setup.exe\", \"report.pdf\", \"run.SH\", \"\"]"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$[*].filename", contains("setup.exe", "report.pdf", "run.SH", "")))
+				.andExpect(jsonPath("$[*].blocked", contains(true, false, true, false)))
+				.andExpect(jsonPath("$[0].ruleType").value("FIXED"))
+				.andExpect(jsonPath("$[2].matchedExtension").value("sh"))
+				.andExpect(jsonPath("$[2].ruleType").value("CUSTOM"));
+	}
+
+	@Test
+	void checksNewlineDelimitedList() throws Exception {
+		extensionService.updateFixedExtensionByName("batchlines", "exe", true);
+
+		String response = mockMvc.perform(post("/api/tenants/batchlines/extensions/check/batch")
+						.contentType(MediaType.TEXT_PLAIN)
+						.content("setup.exe\r\n\n  report.pdf  \n\r\nlast.exe"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+				.andReturn().getResponse().getContentAsString();
+
+		// 빈 줄은 건너뛰고, 앞뒤 공백과 \r은 제거
+		assertThat(response.split("\n")).containsExactly(
+				"{\"filename\":\"setup.exe\",\"blocked\":true,\"matchedExtension\":\"exe\",\"ruleType\":\"FIXED\"}",
+				"{\"filename\":\"report.pdf\",\"blocked\":false}",
+				"{\"filename\":\"last.exe\",\"blocked\":true,\"matchedExtension\":\"exe\",\"ruleType\":\"FIXED\"}");
+	}
+
+	@Test
+	void rejectsMalformedInput() throws Exception {
+		String tooLong = "a".repeat(ExtensionConstants.FILENAME_MAX_LENGTH) + ".exe";
+		String[][] cases = {
+				{MediaType.APPLICATION_JSON_VALUE, "{\"filename\": \"a.exe\"}"},
+				{MediaType.APPLICATION_JSON_VALUE, "[\"a.exe\", 1]"},
+				{MediaType.APPLICATION_JSON_VALUE, "[\"a.exe\", null]"},
+				{MediaType.APPLICATION_JSON_VALUE, "[\"a.exe\", \"b.exe\""},
+				{MediaType.APPLICATION_JSON_VALUE, "[\"" + tooLong + "\"]"},
+				{MediaType.APPLICATION_JSON_VALUE, ""},
+				{MediaType.TEXT_PLAIN_VALUE, "a.exe\n" + tooLong + "\n"}
+		};
+		for (String[] malformed : cases) {
+			mockMvc.perform(post("/api/extensions/check/batch").contentType(malformed[0]).content(malformed[1]))
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.code").value("MALFORMED_BATCH_REQUEST"));
+		}
+	}
+
+	@Test
+	void limitsItemsPerBatch() throws IOException {
+		int max = ExtensionConstants.BATCH_CHECK_MAX_ITEMS;
+		AuditContext context = context("batchcap");
+
+		assertThat(batchCheckService.checkLines(context, lines(max), new ByteArrayOutputStream())).isEqualTo(max);
+		assertThatThrownBy(() -> batchCheckService.checkLines(context, lines(max + 1), new ByteArrayOutputStream()))
+				.isInstanceOf(MalformedBatchRequestException.class)
+				.hasMessageContaining(String.valueOf(max));
+
+		assertThat(batchCheckService.checkJsonArray(context, jsonArray(max), new ByteArrayOutputStream())).isEqualTo(max);
+		assertThatThrownBy(() -> batchCheckService.checkJsonArray(context, jsonArray(max + 1), new ByteArrayOutputStream()))
+				.isInstanceOf(MalformedBatchRequestException.class)
+				.hasMessageContaining(String.valueOf(max));
+	}
+
+	@Test
+	void judgesWholeBatchAgainstOneSnapshot() throws IOException {
+		String tenant = "batchsnapshot";
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		// 첫 파일명을 판정한 뒤, 나머지를 읽기 전에 정책 변경을 커밋
+		InputStream in = new ChangingInputStream("first.exe\n", "second.exe\n",
+				() -> extensionService.updateFixedExtensionByName(tenant, "exe", true));
+
+		assertThat(batchCheckService.checkLines(context(tenant), in, out)).isEqualTo(2);
+		assertThat(out.toString(StandardCharsets.UTF_8)).doesNotContain("\"blocked\":true");
+
+		out.reset();
+		batchCheckService.checkLines(context(tenant), new ByteArrayInputStream("third.exe".getBytes(StandardCharsets.UTF_8)), out);
+		assertThat(out.toString(StandardCharsets.UTF_8)).contains("\"blocked\":true");
+	}
+
+	private static AuditContext context(String tenant) {
+		return new AuditContext(tenant, null, "127.0.0.1", AuditSource.BATCH_CHECK);
+	}
+
+	private static InputStream lines(int count) {
+		return new ByteArrayInputStream("file.txt\n".repeat(count).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static InputStream jsonArray(int count) {
+		String items = "\"file.txt\",".repeat(count);
+		return new ByteArrayInputStream(("[" + items.substring(0, items.length() - 1) + "]").getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * first를 모두 내준 뒤 다음 읽기에서 change를 실행하고 second를 이어서 내주는 스트림
+	 */
+	private static final class ChangingInputStream extends InputStream {
+
+		private final InputStream first;
+		private final InputStream second;
+		private final Runnable change;
+		private boolean changed;
+
+		private ChangingInputStream(String first, String second, Runnable change) {
+			this.first = new ByteArrayInputStream(first.getBytes(StandardCharsets.UTF_8));
+			this.second = new ByteArrayInputStream(second.getBytes(StandardCharsets.UTF_8));
+			this.change = change;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] one = new byte[1];
+			return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			int n = first.read(buffer, offset, length);
+			if (n >= 0) {
+				return n;
+			}
+			if (!changed) {
+				changed = true;
+				change.run();
+			}
+			return second.read(buffer, offset, length);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.flow.folwteamtest.service;
+
+import com.flow.folwteamtest.audit.AuditContext;
+import com.flow.folwteamtest.audit.AuditSource;
+import com.flow.folwteamtest.audit.BlockAuditEvent;
+import com.flow.folwteamtest.policy.BlockedRule;
+import com.flow.folwteamtest.repository.BlockAuditJdbcRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 감사 로그 조회 API의 키셋 페이지와 필터 검증
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=INFO",
+		"logging.level.com.flow.folwteamtest=WARN"
+})
+@AutoConfigureMockMvc
+class BlockAuditServiceTests {
+
+	private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BlockAuditJdbcRepository auditJdbcRepository;
+
+	@Test
+	void pagesNewestFirstWithCursor() throws Exception {
+		insert("auditpage", 5);
+
+		String first = mockMvc.perform(get("/api/tenants/auditpage/audit").param("size", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[*].filename", contains("4.exe", "3.txt")))
+				.andReturn().getResponse().getContentAsString();
+		long cursor = ((Number) JsonPath.read(first, "$.nextCursor")).longValue();
+
+		String second = mockMvc.perform(get("/api/tenants/auditpage/audit").param("size", "2").param("before", String.valueOf(cursor)))
+				.andExpect(jsonPath("$.items[*].filename", contains("2.exe", "1.txt")))
+				.andReturn().getResponse().getContentAsString();
+		cursor = ((Number) JsonPath.read(second, "$.nextCursor")).longValue();
+
+		mockMvc.perform(get("/api/tenants/auditpage/audit").param("size", "2").param("before", String.valueOf(cursor)))
+				.andExpect(jsonPath("$.items[*].filename", contains("0.exe")))
+				.andExpect(jsonPath("$.nextCursor").value(nullValue()));
+
+		// 크기는 1..MAX_PAGE_SIZE로 제한, 다른 테넌트 로그는 보이지 않음
+		mockMvc.perform(get("/api/tenants/auditpage/audit").param("size", "0"))
+				.andExpect(jsonPath("$.items", hasSize(1)));
+		mockMvc.perform(get("/api/tenants/auditother/audit"))
+				.andExpect(jsonPath("$.items", hasSize(0)))
+				.andExpect(jsonPath("$.nextCursor").value(nullValue()));
+	}
+
+	@Test
+	void filtersByVerdictExtensionAndTime() throws Exception {
+		insert("auditfilter", 6);
+
+		mockMvc.perform(get("/api/tenants/auditfilter/audit").param("blocked", "true"))
+				.andExpect(jsonPath("$.items[*].filename", contains("4.exe", "2.exe", "0.exe")))
+				.andExpect(jsonPath("$.items[0].ruleType").value("FIXED"));
+		mockMvc.perform(get("/api/tenants/auditfilter/audit").param("extension", ".TXT"))
+				.andExpect(jsonPath("$.items[*].filename", contains("5.txt", "3.txt", "1.txt")))
+				.andExpect(jsonPath("$.items[0].blocked").value(false));
+		mockMvc.perform(get("/api/tenants/auditfilter/audit")
+						.param("from", BASE.plusMinutes(2).toString())
+						.param("to", BASE.plusMinutes(4).toString()))
+				.andExpect(jsonPath("$.items[*].filename", contains("3.txt", "2.exe")));
+	}
+
+	/**
+	 * 1분 간격으로 짝수는 차단(exe), 홀수는 허용(txt) 판정을 기록
+	 */
+	private void insert(String tenant, int count) {
+		AuditContext context = new AuditContext(tenant, "user-1", "127.0.0.1", AuditSource.CHECK);
+		List<BlockAuditEvent> events = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			long timestamp = BASE.plusMinutes(i).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+			boolean blocked = i % 2 == 0;
+			events.add(new BlockAuditEvent(timestamp, context, i + (blocked ? ".exe" : ".txt"),
+					blocked ? new BlockedRule(BlockedRule.RuleType.FIXED, "exe") : null));
+		}
+		auditJdbcRepository.batchInsert(events);
+	}
+}
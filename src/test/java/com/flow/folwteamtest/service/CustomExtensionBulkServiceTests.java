@@ -0,0 +1,197 @@
+package com.flow.folwteamtest.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flow.folwteamtest.repository.CustomExtensionJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 커스텀 확장자 일괄 등록(중복 제거, 기존 항목과의 부분 중복, 한도 초과 시 전체 취소)과 CSV/NDJSON 내보내기 검증
+ */
+@SpringBootTest(properties = {
+		"flow.tenants.max-custom-extensions.bulklimit=5",
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=INFO",
+		"logging.level.com.flow.folwteamtest=WARN"
+})
+@AutoConfigureMockMvc
+class CustomExtensionBulkServiceTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ExtensionService extensionService;
+
+	@Autowired
+	private ExtensionCheckService extensionCheckService;
+
+	@Autowired
+	private CustomExtensionJdbcRepository customExtensionJdbcRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void removesDuplicatesWithinFile() throws Exception {
+		importCsv("bulkdedup", "extension,id\nzip\n.ZIP\n\"iso\",1\nzip,2\nbad ext!\n\n")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.received").value(6))
+				.andExpect(jsonPath("$.imported").value(2))
+				.andExpect(jsonPath("$.duplicates").value(2))
+				.andExpect(jsonPath("$.invalid").value(1))
+				.andExpect(jsonPath("$.errors", hasSize(1)))
+				.andExpect(jsonPath("$.errors[0]", startsWith("6번째 줄")));
+
+		assertThat(customExtensionJdbcRepository.findAllExtensions("bulkdedup")).containsExactlyInAnyOrder("zip", "iso");
+		assertThat(extensionCheckService.isBlocked("bulkdedup", "disk.iso")).isTrue();
+	}
+
+	@Test
+	void skipsAlreadyRegisteredExtensions() throws Exception {
+		extensionService.addCustomExtension("bulkpartial", "tar");
+
+		mockMvc.perform(post("/api/tenants/bulkpartial/extensions/custom/import")
+						.contentType(MediaType.APPLICATION_NDJSON)
+						.content("\"tar\"\n{\"extension\":\"rar\"}\n{\"ext\":\"x\"}\n\"7z\"\n{\"extension\":\"TAR\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.received").value(5))
+				.andExpect(jsonPath("$.imported").value(2))
+				.andExpect(jsonPath("$.duplicates").value(2))
+				.andExpect(jsonPath("$.invalid").value(1));
+
+		assertThat(customExtensionJdbcRepository.findAllExtensions("bulkpartial")).containsExactlyInAnyOrder("tar", "rar", "7z");
+	}
+
+	@Test
+	void rejectsWholeImportWhenLimitIsExceeded() throws Exception {
+		String tenant = "bulklimit";
+		for (String extension : List.of("aaa", "bbb", "ccc")) {
+			extensionService.addCustomExtension(tenant, extension);
+		}
+
+		// 파일 하나만으로 한도 초과
+		importCsv(tenant, "d1\nd2\nd3\nd4\nd5\nd6\n")
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.code").value("EXTENSION_LIMIT_EXCEEDED"));
+		// 기존 항목과 합쳐 한도 초과
+		importCsv(tenant, "aaa\ne1\ne2\ne3\n")
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.code").value("EXTENSION_LIMIT_EXCEEDED"));
+
+		// 한도는 테이블 행 수가 아니라 카운터로 판단 (다른 요청이 먼저 등록해 카운터만 앞선 상황)
+		jdbcTemplate.update("update custom_extension_counter set extension_count = extension_count + 2 where tenant_id = ?", tenant);
+		try {
+			importCsv(tenant, "f1\nf2\n")
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.code").value("EXTENSION_LIMIT_EXCEEDED"));
+		} finally {
+			jdbcTemplate.update("update custom_extension_counter set extension_count = extension_count - 2 where tenant_id = ?", tenant);
+		}
+
+		assertThat(customExtensionJdbcRepository.findAllExtensions(tenant)).containsExactlyInAnyOrder("aaa", "bbb", "ccc");
+		assertThat(extensionCheckService.isBlocked(tenant, "x.f1")).isFalse();
+		importCsv(tenant, "f1\nf2\n")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(2));
+	}
+
+	@Test
+	void dedupsAgainstLargeTenantInChunks() throws Exception {
+		String tenant = "bulklarge";
+		StringBuilder seed = new StringBuilder();
+		for (int i = 0; i < 1200; i++) {
+			seed.append("s").append(i).append('\n');
+		}
+		importCsv(tenant, seed.toString())
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(1200));
+
+		// 기존 700건 + 신규 600건: 조회 청크(500건) 경계를 넘어도 기존 항목만 정확히 걸러짐
+		List<String> batch = new ArrayList<>();
+		for (int i = 500; i < 1200; i++) {
+			batch.add("s" + i);
+		}
+		for (int i = 0; i < 600; i++) {
+			batch.add("n" + i);
+		}
+		List<String> added = extensionService.addCustomExtensions(tenant, batch);
+
+		assertThat(added).hasSize(600).allMatch(extension -> extension.startsWith("n"));
+		assertThat(customExtensionJdbcRepository.findExistingExtensions(tenant, batch)).hasSize(1300);
+		assertThat(customExtensionJdbcRepository.findIdsByExtensions(tenant, added)).hasSize(600)
+				.doesNotContainValue(null);
+		assertThat(extensionCheckService.isBlocked(tenant, "x.n599")).isTrue();
+		assertThat(extensionCheckService.isBlocked(tenant, "x.s1199")).isTrue();
+		assertThat(customExtensionJdbcRepository.findExistingExtensions("bulklarge-other", batch)).isEmpty();
+	}
+
+	@Test
+	void exportsCsvAndNdjson() throws Exception {
+		extensionService.addCustomExtension("bulkexport", "zip");
+		extensionService.addCustomExtension("bulkexport", "tar.gz");
+		extensionService.addCustomExtension("bulkexport", "ph*");
+
+		String csv = mockMvc.perform(get("/api/tenants/bulkexport/extensions/custom/export"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("text/csv"))
+				.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"custom-extensions.csv\""))
+				.andReturn().getResponse().getContentAsString();
+		String[] rows = csv.split("\n");
+		assertThat(rows[0]).isEqualTo("extension,id,createdAt");
+		assertThat(rows).hasSize(4);
+		assertThat(List.of(rows).subList(1, 4)).extracting(row -> row.split(",")[0]).containsExactly("zip", "tar.gz", "ph*");
+
+		String ndjson = mockMvc.perform(get("/api/tenants/bulkexport/extensions/custom/export").param("format", "ndjson"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+				.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"custom-extensions.ndjson\""))
+				.andReturn().getResponse().getContentAsString();
+		List<String> extensions = new ArrayList<>();
+		for (String line : ndjson.split("\n")) {
+			JsonNode node = objectMapper.readTree(line);
+			assertThat(node.get("id").isNumber()).isTrue();
+			assertThat(node.get("createdAt").asText()).isNotEmpty();
+			extensions.add(node.get("extension").asText());
+		}
+		assertThat(extensions).containsExactly("zip", "tar.gz", "ph*");
+
+		// 내보낸 파일은 그대로 다시 등록할 수 있음
+		importCsv("bulkreimport", csv)
+				.andExpect(jsonPath("$.imported").value(3))
+				.andExpect(jsonPath("$.invalid").value(0));
+		mockMvc.perform(post("/api/tenants/bulkreimport/extensions/custom/import")
+						.contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+				.andExpect(jsonPath("$.imported").value(0))
+				.andExpect(jsonPath("$.duplicates").value(3));
+	}
+
+	private ResultActions importCsv(String tenant, String body) throws Exception {
+		return mockMvc.perform(post("/api/tenants/" + tenant + "/extensions/custom/import")
+				.contentType("text/csv").content(body));
+	}
+}
@@ -0,0 +1,234 @@
+package com.flow.folwteamtest.service;
+
+import com.flow.folwteamtest.event.ExtensionChange;
+import com.flow.folwteamtest.event.ExtensionChangedEvent;
+import com.flow.folwteamtest.exception.ExtensionLimitExceededException;
+import com.flow.folwteamtest.policy.BlocklistSnapshot;
+import com.flow.folwteamtest.policy.BlocklistSnapshotHolder;
+import com.flow.folwteamtest.repository.CustomExtensionCounterJdbcRepository;
+import com.flow.folwteamtest.repository.CustomExtensionRepository;
+import com.flow.folwteamtest.repository.ExtensionChangeLogJdbcRepository;
+import com.flow.folwteamtest.repository.ExtensionChangeLogRepository;
+import com.flow.folwteamtest.repository.ExtensionGroupPolicyRepository;
+import com.flow.folwteamtest.repository.FixedExtensionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 커스텀 확장자 목록 키셋 페이지, 접두사 검색, 개수 카운터 유지, 커밋 후 스냅샷 델타 적용(이력 id 비교) 검증
+ */
+@SpringBootTest(properties = {
+		"flow.tenants.max-custom-extensions.small=5",
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=INFO",
+		"logging.level.com.flow.folwteamtest=WARN"
+})
+@AutoConfigureMockMvc
+@RecordApplicationEvents
+class CustomExtensionCatalogTests {
+
+	@Autowired
+	private ApplicationEvents applicationEvents;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ExtensionService extensionService;
+
+	@Autowired
+	private BlocklistSnapshotHolder snapshotHolder;
+
+	@Autowired
+	private CustomExtensionCounterJdbcRepository counterRepository;
+
+	@Autowired
+	private FixedExtensionRepository fixedExtensionRepository;
+
+	@Autowired
+	private CustomExtensionRepository customExtensionRepository;
+
+	@Autowired
+	private ExtensionGroupPolicyRepository groupPolicyRepository;
+
+	@Autowired
+	private ExtensionChangeLogRepository changeLogRepository;
+
+	@Autowired
+	private ExtensionChangeLogJdbcRepository changeLogJdbcRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void pagesByNameWithKeysetCursor() throws Exception {
+		String tenant = "paging";
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			expected.add(String.format("e%02d", i));
+		}
+		extensionService.addCustomExtensions(tenant, expected.reversed());
+
+		List<String> seen = new ArrayList<>();
+		String after = null;
+		int pages = 0;
+		do {
+			var page = extensionService.getCustomExtensionPage(tenant, null, after, 10);
+			assertThat(page.getTotal()).isEqualTo(25);
+			page.getItems().forEach(item -> seen.add(item.getExtension()));
+			after = page.getNextCursor();
+			pages++;
+		} while (after != null);
+		assertThat(pages).isEqualTo(3);
+		assertThat(seen).containsExactlyElementsOf(expected);
+
+		mockMvc.perform(get("/api/tenants/{tenant}/extensions/custom/page", tenant)
+						.param("after", "e09").param("size", "3"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[*].extension", contains("e10", "e11", "e12")))
+				.andExpect(jsonPath("$.nextCursor").value("e12"))
+				.andExpect(jsonPath("$.total").value(25));
+		mockMvc.perform(get("/api/tenants/{tenant}/extensions/custom/page", tenant).param("after", "e20"))
+				.andExpect(jsonPath("$.items[*].extension", contains("e21", "e22", "e23", "e24")))
+				.andExpect(jsonPath("$.nextCursor").value(nullValue()));
+	}
+
+	@Test
+	void searchesByPrefix() throws Exception {
+		String tenant = "prefix";
+		extensionService.addCustomExtensions(tenant, List.of("tar", "tar.gz", "tgz", "ta", "zip", "t"));
+
+		mockMvc.perform(get("/api/tenants/{tenant}/extensions/custom/page", tenant).param("prefix", "TA"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[*].extension", contains("ta", "tar", "tar.gz")))
+				.andExpect(jsonPath("$.total").value(6));
+		mockMvc.perform(get("/api/tenants/{tenant}/extensions/custom/page", tenant)
+						.param("prefix", "ta").param("after", "ta").param("size", "1"))
+				.andExpect(jsonPath("$.items[*].extension", contains("tar")))
+				.andExpect(jsonPath("$.nextCursor").value("tar"));
+		mockMvc.perform(get("/api/tenants/{tenant}/extensions/custom/page", tenant).param("prefix", "x"))
+				.andExpect(jsonPath("$.items").isEmpty())
+				.andExpect(jsonPath("$.nextCursor").value(nullValue()));
+	}
+
+	@Test
+	void maintainsCounterOnAddImportAndDelete() {
+		String tenant = "small";
+		extensionService.addCustomExtension(tenant, "a");
+		assertCount(tenant, 1, 0);
+
+		// 이미 있는 a는 건너뛰고 새 항목만 반영
+		assertThat(extensionService.addCustomExtensions(tenant, List.of("a", "b", "c?"))).containsExactly("b", "c?");
+		assertCount(tenant, 3, 1);
+
+		// 한도(5)를 넘는 일괄 등록은 전체 취소
+		assertThatThrownBy(() -> extensionService.addCustomExtensions(tenant, List.of("d", "e", "f")))
+				.isInstanceOf(ExtensionLimitExceededException.class);
+		assertCount(tenant, 3, 1);
+
+		extensionService.deleteCustomExtensionByName(tenant, "c?");
+		assertCount(tenant, 2, 0);
+		extensionService.deleteCustomExtension(tenant, customExtensionRepository.findByTenantIdAndExtension(tenant, "a")
+				.orElseThrow().getId());
+		assertCount(tenant, 1, 0);
+		assertThat(extensionService.getCustomExtensionCount(tenant)).isEqualTo(1);
+	}
+
+	@Test
+	void appliesCommittedChangesAsDeltaAndReloadsWhenVersionsDiverge() {
+		String tenant = "delta";
+		extensionService.addCustomExtension(tenant, "one");
+		extensionService.updateFixedExtensionByName(tenant, "exe", true);
+		extensionService.deleteCustomExtensionByName(tenant, "one");
+		extensionService.addCustomExtensions(tenant, List.of("two", "th*"));
+		assertMatchesDatabase(tenant);
+
+		// 다른 인스턴스가 같은 DB에 커밋한 변경 (이 인스턴스의 이벤트 없이 이력만 늘어남)
+		jdbcTemplate.update("insert into custom_extension (tenant_id, extension, created_at) values (?, 'remote', ?)",
+				tenant, LocalDateTime.now());
+		changeLogJdbcRepository.batchInsert(tenant, List.of(
+				new ExtensionChange(ExtensionChange.ChangeType.CUSTOM_ADDED, null, "remote", true)),
+				LocalDateTime.now(), "other-instance");
+
+		// 버전 이후 이력이 이벤트 변경 수와 다르므로 테넌트를 다시 읽어 remote까지 반영
+		extensionService.addCustomExtension(tenant, "four");
+		assertThat(snapshotHolder.current(tenant).match("a.remote")).isNotNull();
+		assertMatchesDatabase(tenant);
+	}
+
+	@Test
+	void reloadsWhenCommittedIdsDifferFromEventEvenIfCountMatches() {
+		String tenant = "idset";
+		extensionService.addCustomExtension(tenant, "one");
+		long applied = snapshotHolder.version(tenant);
+
+		// 이미 반영된 커밋(one)의 이벤트가 늦게 다시 처리되는 동안, 같은 수의 다른 커밋(remote)이 들어온 상황
+		jdbcTemplate.update("insert into custom_extension (tenant_id, extension, created_at) values (?, 'remote', ?)",
+				tenant, LocalDateTime.now());
+		List<Long> remoteIds = changeLogJdbcRepository.batchInsert(tenant, List.of(
+				new ExtensionChange(ExtensionChange.ChangeType.CUSTOM_ADDED, null, "remote", true)),
+				LocalDateTime.now(), "other-instance");
+		ExtensionChangedEvent late = ExtensionChangedEvent.customAdded(tenant, null, "stale");
+		late.recordChangeLogIds(List.of(applied));
+		snapshotHolder.onExtensionChanged(late);
+
+		// 개수(1)는 같지만 id가 다르므로 이벤트 변경(stale)을 적용하지 않고 테넌트를 다시 읽음
+		assertThat(snapshotHolder.current(tenant).match("a.stale")).isNull();
+		assertThat(snapshotHolder.current(tenant).match("a.remote")).isNotNull();
+		assertThat(snapshotHolder.version(tenant)).isEqualTo(remoteIds.get(0));
+		assertMatchesDatabase(tenant);
+	}
+
+	@Test
+	void recordsChangeLogIdsOnEventBeforeCommit() {
+		String tenant = "eventids";
+		extensionService.addCustomExtensions(tenant, List.of("a1", "a2", "a3"));
+		List<Long> ids = jdbcTemplate.queryForList(
+				"select id from extension_change_log where tenant_id = ? order by id", Long.class, tenant);
+
+		assertThat(ids).hasSize(3);
+		assertThat(applicationEvents.stream(ExtensionChangedEvent.class)
+				.filter(event -> event.tenantId().equals(tenant))
+				.map(ExtensionChangedEvent::changeLogIds))
+				.containsExactly(ids);
+		assertThat(snapshotHolder.version(tenant)).isEqualTo(ids.get(2));
+		assertThat(snapshotHolder.current(tenant).match("x.a2")).isNotNull();
+	}
+
+	private void assertCount(String tenant, long extensions, long patterns) {
+		long stored = jdbcTemplate.queryForObject(
+				"select count(*) from custom_extension where tenant_id = ?", Long.class, tenant);
+		assertThat(stored).isEqualTo(extensions);
+		assertThat(counterRepository.find(tenant)).isEqualTo(new CustomExtensionCounterJdbcRepository.Counts(extensions, patterns));
+	}
+
+	private void assertMatchesDatabase(String tenant) {
+		BlocklistSnapshot expected = BlocklistSnapshot.of(
+				fixedExtensionRepository.findByTenantId(tenant),
+				customExtensionRepository.findByTenantId(tenant),
+				groupPolicyRepository.findByTenantId(tenant));
+		BlocklistSnapshot current = snapshotHolder.current(tenant);
+		for (String filename : List.of("a.one", "a.two", "a.three", "a.remote", "a.four", "a.exe", "a.zip")) {
+			assertThat(current.match(filename)).as(filename).isEqualTo(expected.match(filename));
+		}
+		assertThat(snapshotHolder.version(tenant)).isEqualTo(changeLogRepository.findLatestVersionByTenantId(tenant));
+	}
+}
@@ -0,0 +1,181 @@
+package com.flow.folwteamtest.service;
+
+import com.flow.folwteamtest.exception.DuplicateExtensionException;
+import com.flow.folwteamtest.exception.ExtensionLimitExceededException;
+import com.flow.folwteamtest.exception.ExtensionNotFoundException;
+import com.flow.folwteamtest.policy.BlocklistSnapshotHolder;
+import com.flow.folwteamtest.repository.CustomExtensionCounterJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 스레드가 동시에 커스텀 확장자를 등록/삭제해도 한도, 카운터, 차단 스냅샷(테넌트별로 모아 적용한 버전)이 DB와 일치하는지 검증
+ */
+@SpringBootTest(properties = {
+		"flow.tenants.max-custom-extensions.race=40",
+		"flow.tenants.max-custom-extensions.burst=25",
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=INFO",
+		"logging.level.com.flow.folwteamtest=WARN"
+})
+class CustomExtensionConcurrencyTests {
+
+	private static final int THREADS = 16;
+
+	@Autowired
+	private ExtensionService extensionService;
+
+	@Autowired
+	private ExtensionCheckService extensionCheckService;
+
+	@Autowired
+	private CustomExtensionCounterJdbcRepository counterRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BlocklistSnapshotHolder snapshotHolder;
+
+	@Test
+	void concurrentAddsAndDeletesKeepInvariants() throws Exception {
+		String tenant = "race";
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			names.add("n" + i);
+		}
+		List<String> patterns = List.of("p?0", "p?1", "p?2", "p?3", "p?4");
+		List<String> pool = new ArrayList<>(names);
+		pool.addAll(patterns);
+
+		Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+		runConcurrently(THREADS, () -> {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			for (int i = 0; i < 150; i++) {
+				String name = pool.get(random.nextInt(pool.size()));
+				try {
+					if (random.nextInt(3) < 2) {
+						extensionService.addCustomExtension(tenant, name);
+					} else {
+						extensionService.deleteCustomExtensionByName(tenant, name);
+					}
+				} catch (DuplicateExtensionException | ExtensionNotFoundException | ExtensionLimitExceededException e) {
+					// 경쟁 상황에서 예상되는 결과
+				} catch (Throwable e) {
+					unexpected.add(e);
+				}
+			}
+		});
+
+		assertThat(unexpected).isEmpty();
+		Set<String> stored = new HashSet<>(jdbcTemplate.queryForList(
+				"select extension from custom_extension where tenant_id = ?", String.class, tenant));
+		CustomExtensionCounterJdbcRepository.Counts counts = counterRepository.find(tenant);
+		assertThat(stored).hasSizeLessThanOrEqualTo(40);
+		assertThat(counts.extensions()).isEqualTo(stored.size());
+		assertThat(counts.patterns()).isEqualTo(stored.stream().filter(patterns::contains).count());
+		for (String name : names) {
+			assertThat(extensionCheckService.isBlocked(tenant, "file." + name)).as(name).isEqualTo(stored.contains(name));
+		}
+	}
+
+	@Test
+	void concurrentCommitsAcrossTenantsAreAllAppliedToSnapshots() throws Exception {
+		List<String> tenants = List.of("coalesce0", "coalesce1", "coalesce2", "coalesce3");
+		AtomicInteger next = new AtomicInteger();
+		Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+		runConcurrently(THREADS, () -> {
+			for (int i = 0; i < 20; i++) {
+				int n = next.getAndIncrement();
+				try {
+					extensionService.addCustomExtension(tenants.get(n % tenants.size()), "c" + n);
+				} catch (Throwable e) {
+					unexpected.add(e);
+				}
+			}
+		});
+
+		assertThat(unexpected).isEmpty();
+		for (int n = 0; n < next.get(); n++) {
+			String tenant = tenants.get(n % tenants.size());
+			assertThat(extensionCheckService.isBlocked(tenant, "file.c" + n)).as(tenant + " c" + n).isTrue();
+			assertThat(extensionCheckService.isBlocked(tenants.get((n + 1) % tenants.size()), "file.c" + n)).isFalse();
+		}
+		for (String tenant : tenants) {
+			assertThat(snapshotHolder.version(tenant)).as(tenant).isEqualTo(jdbcTemplate.queryForObject(
+					"select max(id) from extension_change_log where tenant_id = ?", Long.class, tenant));
+		}
+	}
+
+	@Test
+	void burstOfAddsRespectsLimitAndUniqueness() throws Exception {
+		String tenant = "burst";
+		AtomicInteger sameNameAdded = new AtomicInteger();
+		AtomicInteger distinctAdded = new AtomicInteger();
+		AtomicInteger next = new AtomicInteger();
+		Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+		runConcurrently(THREADS, () -> {
+			try {
+				extensionService.addCustomExtension(tenant, "same");
+				sameNameAdded.incrementAndGet();
+			} catch (DuplicateExtensionException e) {
+				// 한 스레드만 성공
+			} catch (Throwable e) {
+				unexpected.add(e);
+			}
+			for (int i = 0; i < 4; i++) {
+				try {
+					extensionService.addCustomExtension(tenant, "d" + next.getAndIncrement());
+					distinctAdded.incrementAndGet();
+				} catch (ExtensionLimitExceededException e) {
+					// 한도 초과
+				} catch (Throwable e) {
+					unexpected.add(e);
+				}
+			}
+		});
+
+		assertThat(unexpected).isEmpty();
+		assertThat(sameNameAdded.get()).isEqualTo(1);
+		assertThat(distinctAdded.get()).isEqualTo(25 - 1);
+		assertThat(extensionService.getCustomExtensionCount(tenant)).isEqualTo(25);
+	}
+
+	private static void runConcurrently(int threads, Runnable task) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		for (int i = 0; i < threads; i++) {
+			executor.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				task.run();
+			});
+		}
+		start.countDown();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+	}
+}
@@ -0,0 +1,168 @@
+package com.flow.folwteamtest.service;
+
+import com.flow.folwteamtest.dto.ExtensionChangeDto;
+import com.flow.folwteamtest.dto.ExtensionChangesResponse;
+import com.flow.folwteamtest.event.ExtensionChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 정책 버전(ETag) 조건부 조회, 쓰기마다의 버전 증가, 변경 내역의 확장자별 압축 검증
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=INFO",
+		"logging.level.com.flow.folwteamtest=WARN"
+})
+@AutoConfigureMockMvc
+class ExtensionChangeLogServiceTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ExtensionService extensionService;
+
+	@Autowired
+	private ExtensionChangeLogService changeLogService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void answersNotModifiedForCurrentETag() throws Exception {
+		String tenant = "etag";
+		extensionService.addCustomExtension(tenant, "zip");
+		String eTag = mockMvc.perform(get("/api/tenants/etag/extensions/fixed"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(eTag).isEqualTo(changeLogService.getCurrentETag(tenant));
+
+		double hits = cacheHits("custom");
+		// 고정/커스텀/그룹 목록이 같은 버전을 공유
+		for (String list : List.of("fixed", "custom", "groups")) {
+			mockMvc.perform(get("/api/tenants/etag/extensions/" + list).header(HttpHeaders.IF_NONE_MATCH, eTag))
+					.andExpect(status().isNotModified())
+					.andExpect(header().string(HttpHeaders.ETAG, eTag))
+					.andExpect(content().string(""));
+		}
+		assertThat(cacheHits("custom")).isEqualTo(hits + 1);
+
+		// 다른 테넌트의 쓰기는 이 테넌트 ETag에 영향 없음
+		extensionService.addCustomExtension("etagother", "rar");
+		mockMvc.perform(get("/api/tenants/etag/extensions/custom").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+
+		extensionService.addCustomExtension(tenant, "iso");
+		String newETag = mockMvc.perform(get("/api/tenants/etag/extensions/custom").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(newETag).isNotEqualTo(eTag).isEqualTo(changeLogService.getCurrentETag(tenant));
+	}
+
+	@Test
+	void bumpsVersionOnEachWrite() {
+		String tenant = "versionbump";
+		List<Runnable> writes = List.of(
+				() -> extensionService.addCustomExtension(tenant, "zip"),
+				() -> extensionService.updateFixedExtensionByName(tenant, "exe", true),
+				() -> extensionService.updateGroup(tenant, "archive", true),
+				() -> extensionService.deleteCustomExtensionByName(tenant, "zip"),
+				() -> extensionService.addCustomExtensions(tenant, List.of("tar", "rar")));
+		List<ExtensionChange.ChangeType> expectedTypes = List.of(
+				ExtensionChange.ChangeType.CUSTOM_ADDED,
+				ExtensionChange.ChangeType.FIXED_UPDATED,
+				ExtensionChange.ChangeType.GROUP_UPDATED,
+				ExtensionChange.ChangeType.CUSTOM_DELETED,
+				ExtensionChange.ChangeType.CUSTOM_ADDED);
+
+		long version = changeLogService.getCurrentVersion(tenant);
+		for (int i = 0; i < writes.size(); i++) {
+			writes.get(i).run();
+			long next = changeLogService.getCurrentVersion(tenant);
+			assertThat(next).isGreaterThan(version);
+
+			ExtensionChangesResponse changes = changeLogService.getChangesSince(tenant, version);
+			assertThat(changes.getVersion()).isEqualTo(next);
+			assertThat(changes.getChanges()).isNotEmpty()
+					.extracting(ExtensionChangeDto::getType).containsOnly(expectedTypes.get(i));
+			version = next;
+		}
+		assertThat(changeLogService.getChangesSince(tenant, version).getChanges()).isEmpty();
+	}
+
+	@Test
+	void compactsChangesPerKey() {
+		String tenant = "compaction";
+		long since = changeLogService.getCurrentVersion(tenant);
+		extensionService.addCustomExtension(tenant, "zip");
+		extensionService.updateFixedExtensionByName(tenant, "exe", true);
+		extensionService.deleteCustomExtensionByName(tenant, "zip");
+		extensionService.addCustomExtension(tenant, "iso");
+		extensionService.updateFixedExtensionByName(tenant, "exe", false);
+		extensionService.addCustomExtension(tenant, "zip");
+		// 고정 확장자 js와 커스텀 확장자 js는 서로 다른 키
+		extensionService.updateFixedExtensionByName(tenant, "js", true);
+		extensionService.addCustomExtension(tenant, "js");
+
+		ExtensionChangesResponse changes = changeLogService.getChangesSince(tenant, since);
+
+		// 키마다 마지막 상태 하나만, 마지막 변경 순서대로
+		assertThat(changes.getChanges())
+				.extracting(ExtensionChangeDto::getType, ExtensionChangeDto::getExtension, ExtensionChangeDto::isBlocked)
+				.containsExactly(
+						tuple(ExtensionChange.ChangeType.CUSTOM_ADDED, "iso", true),
+						tuple(ExtensionChange.ChangeType.FIXED_UPDATED, "exe", false),
+						tuple(ExtensionChange.ChangeType.CUSTOM_ADDED, "zip", true),
+						tuple(ExtensionChange.ChangeType.FIXED_UPDATED, "js", true),
+						tuple(ExtensionChange.ChangeType.CUSTOM_ADDED, "js", true));
+		assertThat(changes.getVersion()).isEqualTo(changeLogService.getCurrentVersion(tenant));
+		assertThat(changes.isHasMore()).isFalse();
+		assertThat(changes.isResyncRequired()).isFalse();
+
+		ExtensionChangesResponse ahead = changeLogService.getChangesSince(tenant, changes.getVersion() + 1);
+		assertThat(ahead.isResyncRequired()).isTrue();
+		assertThat(ahead.getVersion()).isEqualTo(changes.getVersion());
+	}
+
+	@Test
+	void pagesChangesAfterOneThousandEntries() {
+		String tenant = "changepage";
+		long since = changeLogService.getCurrentVersion(tenant);
+		List<String> extensions = new ArrayList<>();
+		for (int i = 0; i < 1001; i++) {
+			extensions.add("x" + i);
+		}
+		extensionService.addCustomExtensions(tenant, extensions);
+
+		ExtensionChangesResponse first = changeLogService.getChangesSince(tenant, since);
+		assertThat(first.isHasMore()).isTrue();
+		assertThat(first.getChanges()).hasSize(1000);
+
+		ExtensionChangesResponse second = changeLogService.getChangesSince(tenant, first.getVersion());
+		assertThat(second.isHasMore()).isFalse();
+		assertThat(second.getChanges()).extracting(ExtensionChangeDto::getExtension).containsExactly("x1000");
+		assertThat(second.getVersion()).isEqualTo(changeLogService.getCurrentVersion(tenant));
+	}
+
+	private double cacheHits(String list) {
+		Counter counter = meterRegistry.find("flow.extension.list.cache").tags("list", list, "result", "hit").counter();
+		return counter == null ? 0 : counter.count();
+	}
+}
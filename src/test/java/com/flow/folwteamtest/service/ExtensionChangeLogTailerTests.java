@@ -0,0 +1,130 @@
+package com.flow.folwteamtest.service;
+
+import com.flow.folwteamtest.FolwTeamTestApplication;
+import com.flow.folwteamtest.common.TenantIds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 H2 DB(file 모드)를 공유하는 두 애플리케이션 컨텍스트 간 변경 이력 동기화 검증
+ */
+class ExtensionChangeLogTailerTests {
+
+	@TempDir
+	Path dataDir;
+
+	private ConfigurableApplicationContext nodeA;
+	private ConfigurableApplicationContext nodeB;
+
+	@BeforeEach
+	void startNodes() {
+		String url = "jdbc:h2:file:" + dataDir.resolve("flowtest").toAbsolutePath() + ";AUTO_SERVER=TRUE";
+		nodeA = startNode(url);
+		nodeB = startNode(url);
+	}
+
+	@AfterEach
+	void stopNodes() {
+		if (nodeB != null) {
+			nodeB.close();
+		}
+		if (nodeA != null) {
+			nodeA.close();
+		}
+	}
+
+	@Test
+	void changesOnOneNodeReachTheOther() {
+		ExtensionService writer = nodeA.getBean(ExtensionService.class);
+		ExtensionCheckService reader = nodeB.getBean(ExtensionCheckService.class);
+
+		String tenant = TenantIds.DEFAULT;
+
+		writer.addCustomExtension(tenant, "sh");
+		awaitTrue(() -> reader.isBlocked(tenant, "run.sh"));
+
+		writer.updateFixedExtensionByName(tenant, "exe", true);
+		awaitTrue(() -> reader.isBlocked(tenant, "setup.exe"));
+
+		writer.updateFixedExtensionByName(tenant, "exe", false);
+		writer.deleteCustomExtensionByName(tenant, "sh");
+		awaitTrue(() -> !reader.isBlocked(tenant, "setup.exe") && !reader.isBlocked(tenant, "run.sh"));
+
+		long versionA = nodeA.getBean(ExtensionChangeLogService.class).getCurrentVersion(tenant);
+		awaitTrue(() -> nodeB.getBean(ExtensionChangeLogService.class).getCurrentVersion(tenant) == versionA);
+	}
+
+	@Test
+	void changesStayWithinTheirTenant() {
+		ExtensionService writer = nodeA.getBean(ExtensionService.class);
+		ExtensionCheckService reader = nodeB.getBean(ExtensionCheckService.class);
+
+		writer.addCustomExtension("acme", "iso");
+		awaitTrue(() -> reader.isBlocked("acme", "disk.iso"));
+		assertThat(reader.isBlocked(TenantIds.DEFAULT, "disk.iso")).isFalse();
+		assertThat(reader.isBlocked("globex", "disk.iso")).isFalse();
+	}
+
+	@Test
+	void lateCommitIntoSkippedGapIsApplied() {
+		ExtensionCheckService reader = nodeB.getBean(ExtensionCheckService.class);
+		JdbcTemplate jdbcTemplate = nodeB.getBean(JdbcTemplate.class);
+		String tenant = "gap";
+
+		// 다른 인스턴스의 느린 트랜잭션이 id를 먼저 받고 나중 id가 먼저 커밋된 상황
+		long slowId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from extension_change_log", Long.class) + 1;
+		insertRemoteCustomExtension(jdbcTemplate, slowId + 1, tenant, "fast");
+		awaitTrue(() -> reader.isBlocked(tenant, "run.fast"));
+		assertThat(reader.isBlocked(tenant, "run.slow")).isFalse();
+
+		// gapTimeout이 지나 재구성된 뒤에 커밋되어도 반영되어야 함
+		insertRemoteCustomExtension(jdbcTemplate, slowId, tenant, "slow");
+		awaitTrue(() -> reader.isBlocked(tenant, "run.slow"));
+		assertThat(nodeB.getBean(ExtensionChangeLogService.class).getCurrentVersion(tenant)).isEqualTo(slowId + 1);
+	}
+
+	private static void insertRemoteCustomExtension(JdbcTemplate jdbcTemplate, long changeId, String tenant, String extension) {
+		LocalDateTime now = LocalDateTime.now();
+		jdbcTemplate.update("insert into custom_extension (tenant_id, extension, created_at) values (?, ?, ?)",
+				tenant, extension, now);
+		jdbcTemplate.update("insert into extension_change_log (id, tenant_id, change_type, extension, blocked, changed_at, origin)"
+				+ " values (?, ?, 'CUSTOM_ADDED', ?, true, ?, 'other-instance')", changeId, tenant, extension, now);
+	}
+
+	private ConfigurableApplicationContext startNode(String url) {
+		// properties()는 기본값이라 application.properties에 덮이므로 명령행 인자로 전달
+		return new SpringApplicationBuilder(FolwTeamTestApplication.class)
+				.run(
+						"--server.port=0",
+						"--management.server.port=0",
+						"--spring.datasource.url=" + url,
+						"--spring.jpa.show-sql=false",
+						"--flow.cluster.enabled=true",
+						"--flow.cluster.poll-interval=50ms",
+						"--flow.cluster.gap-timeout=300ms");
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + 10_000_000_000L;
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new AssertionError(e);
+			}
+		}
+	}
+}
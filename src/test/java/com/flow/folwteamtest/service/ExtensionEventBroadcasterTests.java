@@ -0,0 +1,165 @@
+package com.flow.folwteamtest.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 정책 변경 SSE 구독 검증 (테넌트별 전달, Last-Event-ID 재전송, 끊긴 구독자 제거)
+ * 끊긴 연결에 대한 실제 전송 실패를 확인하기 위해 내장 서버에 소켓으로 직접 연결합니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"management.server.port=0",
+		"flow.events.heartbeat-interval=50ms",
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=INFO",
+		"logging.level.com.flow.folwteamtest=WARN"
+})
+class ExtensionEventBroadcasterTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ExtensionEventBroadcaster broadcaster;
+
+	@Autowired
+	private ExtensionService extensionService;
+
+	@Autowired
+	private ExtensionChangeLogService changeLogService;
+
+	@Test
+	void deliversChangesOnlyToSubscribersOfTheTenant() throws IOException {
+		try (SseConnection acme = subscribe("sseacme", null);
+			 SseConnection globex = subscribe("sseglobex", null)) {
+			assertThat(broadcaster.getSubscriberCount()).isEqualTo(2);
+
+			extensionService.addCustomExtension("sseacme", "zip");
+			extensionService.addCustomExtension("sseglobex", "rar");
+
+			String acmeChange = acme.nextChange();
+			assertThat(acmeChange).contains("\"zip\"").doesNotContain("\"rar\"");
+			assertThat(acme.lastEventId).isEqualTo(Long.toString(changeLogService.getCurrentVersion("sseacme")));
+			assertThat(globex.nextChange()).contains("\"rar\"").doesNotContain("\"zip\"");
+		}
+	}
+
+	@Test
+	void replaysChangesAfterLastEventId() throws IOException {
+		String tenant = "ssereplay";
+		extensionService.addCustomExtension(tenant, "iso");
+		long seen = changeLogService.getCurrentVersion(tenant);
+		extensionService.addCustomExtension(tenant, "img");
+
+		try (SseConnection connection = subscribe(tenant, seen)) {
+			assertThat(connection.nextChange()).contains("\"img\"").doesNotContain("\"iso\"");
+			assertThat(connection.lastEventId).isEqualTo(Long.toString(changeLogService.getCurrentVersion(tenant)));
+		}
+	}
+
+	@Test
+	void removesSubscriberWhoseConnectionFailed() throws IOException {
+		SseConnection connection = subscribe("sseclosed", null);
+		assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+
+		// 클라이언트가 끊은 뒤 하트비트/변경 전송이 실패하면 구독자 목록에서 제거
+		connection.close();
+		extensionService.addCustomExtension("sseclosed", "zip");
+		awaitTrue(() -> broadcaster.getSubscriberCount() == 0);
+
+		// 남은 구독자에게는 계속 전달
+		try (SseConnection next = subscribe("sseclosed", null)) {
+			extensionService.addCustomExtension("sseclosed", "iso");
+			assertThat(next.nextChange()).contains("\"iso\"");
+		}
+	}
+
+	@AfterEach
+	void awaitDisconnected() {
+		// 닫은 연결은 다음 하트비트 전송이 실패할 때 제거되므로, 테스트마다 구독자 0명에서 시작하도록 대기
+		awaitTrue(() -> broadcaster.getSubscriberCount() == 0);
+	}
+
+	/**
+	 * 200 응답 줄을 받았으면 구독 등록까지 끝난 상태
+	 */
+	private SseConnection subscribe(String tenant, Long lastEventId) throws IOException {
+		Socket socket = new Socket("127.0.0.1", port);
+		socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(10));
+		OutputStream out = socket.getOutputStream();
+		out.write(("GET /api/tenants/" + tenant + "/extensions/stream HTTP/1.0\r\n"
+				+ "Host: localhost\r\n"
+				+ "Accept: text/event-stream\r\n"
+				+ (lastEventId == null ? "" : "Last-Event-ID: " + lastEventId + "\r\n")
+				+ "\r\n").getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+		SseConnection connection = new SseConnection(socket);
+		assertThat(connection.reader.readLine()).startsWith("HTTP/1.1 200");
+		return connection;
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new AssertionError(e);
+			}
+		}
+	}
+
+	/**
+	 * 응답 본문을 줄 단위로 읽는 SSE 연결 (HTTP/1.0으로 요청해 chunked 인코딩 없이 받음)
+	 */
+	private static final class SseConnection implements AutoCloseable {
+
+		private final Socket socket;
+		private final BufferedReader reader;
+		private String lastEventId;
+
+		private SseConnection(Socket socket) throws IOException {
+			this.socket = socket;
+			this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+		}
+
+		/**
+		 * 다음 change 이벤트의 data 줄
+		 */
+		String nextChange() throws IOException {
+			boolean change = false;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith("event:")) {
+					change = line.substring("event:".length()).strip().equals("change");
+				} else if (line.startsWith("id:")) {
+					lastEventId = line.substring("id:".length()).strip();
+				} else if (change && line.startsWith("data:")) {
+					return line;
+				}
+			}
+			throw new AssertionError("stream closed before a change event");
+		}
+
+		@Override
+		public void close() throws IOException {
+			socket.close();
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.flow.folwteamtest.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 확장자별 판정 통계 API 검증 (구간별 정렬/상위 n개, 삭제된 커스텀 확장자 제외, 잘못된 구간)
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=INFO",
+		"logging.level.com.flow.folwteamtest=WARN"
+})
+@AutoConfigureMockMvc
+class ExtensionStatsServiceTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ExtensionService extensionService;
+
+	@Test
+	void reportsCountsOfCheckedFiles() throws Exception {
+		String tenant = "statsapi";
+		extensionService.updateFixedExtensionByName(tenant, "exe", true);
+		extensionService.addCustomExtension(tenant, "zip");
+		check(tenant, "setup.exe", "tool.EXE", "a.exe", "a.zip", "run.bat", "job.bat", "notes.txt");
+
+		mockMvc.perform(get("/api/tenants/" + tenant + "/extensions/stats").param("window", "1m").param("top", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.window").value("1m"))
+				.andExpect(jsonPath("$.items[*].extension", contains("exe", "bat")))
+				.andExpect(jsonPath("$.items[0].blocked").value(3))
+				.andExpect(jsonPath("$.items[0].allowed").value(0))
+				.andExpect(jsonPath("$.items[0].windows.total.blocked").value(3))
+				.andExpect(jsonPath("$.items[0].lastHitAt").isNotEmpty())
+				.andExpect(jsonPath("$.items[1].allowed").value(2));
+
+		// 허용된 일반 파일(txt)은 집계하지 않고, 삭제된 커스텀 확장자는 목록에서 빠짐
+		mockMvc.perform(get("/api/tenants/" + tenant + "/extensions/stats"))
+				.andExpect(jsonPath("$.window").value("total"))
+				.andExpect(jsonPath("$.items[*].extension", contains("exe", "bat", "zip")));
+		extensionService.deleteCustomExtensionByName(tenant, "zip");
+		mockMvc.perform(get("/api/tenants/" + tenant + "/extensions/stats"))
+				.andExpect(jsonPath("$.items", hasSize(2)))
+				.andExpect(jsonPath("$.items[*].extension", contains("exe", "bat")));
+
+		mockMvc.perform(get("/api/tenants/statsempty/extensions/stats"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items", hasSize(0)));
+	}
+
+	@Test
+	void rejectsUnknownWindow() throws Exception {
+		mockMvc.perform(get("/api/tenants/statsapi/extensions/stats").param("window", "2h"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.code").value("INVALID_PARAMETER"));
+	}
+
+	private void check(String tenant, String... filenames) throws Exception {
+		for (String filename : filenames) {
+			mockMvc.perform(get("/api/tenants/" + tenant + "/extensions/check").param("filename", filename))
+					.andExpect(status().isOk());
+		}
+	}
+}
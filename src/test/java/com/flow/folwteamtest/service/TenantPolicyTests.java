@@ -0,0 +1,126 @@
+package com.flow.folwteamtest.service;
+
+import com.flow.folwteamtest.exception.ExtensionLimitExceededException;
+import com.flow.folwteamtest.policy.BlocklistSnapshot;
+import com.flow.folwteamtest.policy.BlocklistSnapshotHolder;
+import com.flow.folwteamtest.repository.CustomExtensionJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 테넌트별 정책 검증 (같은 정책을 쓰는 테넌트의 스냅샷 공유와 변경 후 분리, 테넌트별 커스텀 확장자 한도)
+ */
+@SpringBootTest(properties = {
+		"flow.tenants.max-custom-extensions.tenantlimit=2",
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=INFO",
+		"logging.level.com.flow.folwteamtest=WARN"
+})
+@AutoConfigureMockMvc
+class TenantPolicyTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ExtensionService extensionService;
+
+	@Autowired
+	private BlocklistSnapshotHolder snapshotHolder;
+
+	@Autowired
+	private CustomExtensionJdbcRepository customExtensionJdbcRepository;
+
+	@Test
+	void tenantsWithSamePolicyShareSnapshot() {
+		List<String> tenants = List.of("share0", "share1", "share2", "share3", "share4", "share5");
+		for (String tenant : tenants) {
+			extensionService.updateFixedExtensionByName(tenant, "exe", true);
+		}
+		// share4, share5는 커스텀 확장자를 추가한 순서가 달라도 같은 정책
+		extensionService.addCustomExtension("share4", "zip");
+		extensionService.addCustomExtension("share4", "iso");
+		extensionService.addCustomExtensions("share5", List.of("iso", "zip"));
+
+		assertThat(snapshotHolder.current("share0")).isSameAs(snapshotHolder.current("share1"))
+				.isSameAs(snapshotHolder.current("share3"));
+		assertThat(snapshotHolder.current("share4")).isSameAs(snapshotHolder.current("share5"))
+				.isNotSameAs(snapshotHolder.current("share0"));
+		assertThat(distinct(tenants)).isEqualTo(2);
+		assertThat(snapshotHolder.distinctPolicyCount()).isGreaterThanOrEqualTo(2);
+
+		// 한 테넌트만 바꾸면 그 테넌트만 분리되고, 나머지는 계속 공유
+		extensionService.updateFixedExtensionByName("share1", "bat", true);
+		assertThat(snapshotHolder.current("share1")).isNotSameAs(snapshotHolder.current("share0"));
+		assertThat(snapshotHolder.current("share1").match("run.bat")).isNotNull();
+		assertThat(snapshotHolder.current("share0").match("run.bat")).isNull();
+		assertThat(snapshotHolder.current("share0")).isSameAs(snapshotHolder.current("share2"));
+		assertThat(distinct(tenants)).isEqualTo(3);
+
+		// 같은 변경을 한 테넌트는 다시 합쳐짐
+		extensionService.addCustomExtensions("share0", List.of("zip", "iso"));
+		assertThat(snapshotHolder.current("share0")).isSameAs(snapshotHolder.current("share4"));
+		extensionService.updateFixedExtensionByName("share1", "bat", false);
+		assertThat(snapshotHolder.current("share1")).isSameAs(snapshotHolder.current("share2"));
+		assertThat(distinct(tenants)).isEqualTo(2);
+	}
+
+	@Test
+	void enforcesPerTenantLimitOnAddAndImport() throws Exception {
+		String tenant = "tenantlimit";
+		extensionService.addCustomExtension(tenant, "aa");
+		mockMvc.perform(post("/api/tenants/" + tenant + "/extensions/custom")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"extension\":\"bb\"}"))
+				.andExpect(status().isCreated());
+
+		assertThatThrownBy(() -> extensionService.addCustomExtension(tenant, "cc"))
+				.isInstanceOf(ExtensionLimitExceededException.class);
+		mockMvc.perform(post("/api/tenants/" + tenant + "/extensions/custom")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"extension\":\"cc\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.code").value("EXTENSION_LIMIT_EXCEEDED"));
+		mockMvc.perform(post("/api/tenants/" + tenant + "/extensions/custom/import")
+						.contentType("text/csv").content("aa\ncc\n"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.code").value("EXTENSION_LIMIT_EXCEEDED"));
+		// 이미 등록된 항목만 다시 가져오면 한도와 무관
+		mockMvc.perform(post("/api/tenants/" + tenant + "/extensions/custom/import")
+						.contentType("text/csv").content("aa\nbb\n"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(0))
+				.andExpect(jsonPath("$.duplicates").value(2));
+		assertThat(customExtensionJdbcRepository.findAllExtensions(tenant)).containsExactlyInAnyOrder("aa", "bb");
+
+		// 다른 테넌트는 기본 한도를 따름
+		mockMvc.perform(post("/api/tenants/tenantdefault/extensions/custom/import")
+						.contentType("text/csv").content("aa\nbb\ncc\n"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(3));
+
+		// 삭제해 자리가 나면 다시 추가 가능
+		extensionService.deleteCustomExtensionByName(tenant, "aa");
+		extensionService.addCustomExtension(tenant, "cc");
+		assertThat(customExtensionJdbcRepository.findAllExtensions(tenant)).containsExactlyInAnyOrder("bb", "cc");
+	}
+
+	private int distinct(List<String> tenants) {
+		Set<BlocklistSnapshot> snapshots = Collections.newSetFromMap(new IdentityHashMap<>());
+		tenants.forEach(tenant -> snapshots.add(snapshotHolder.current(tenant)));
+		return snapshots.size();
+	}
+}
@@ -0,0 +1,89 @@
+package com.flow.folwteamtest.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 판정 카운터의 구간 집계 검증 (버킷 경계, 만료된 버킷 제외, 재사용 칸 초기화, 미반영 건수 포함)
+ */
+class ExtensionHitCounterTests {
+
+	// 모든 구간의 버킷 경계(10초, 5분, 1시간)에 맞춘 기준 시각
+	private static final long BASE = Duration.ofDays(20_000).toMillis();
+	private static final long SECOND = 1_000;
+	private static final long MINUTE = 60 * SECOND;
+	private static final long HOUR = 60 * MINUTE;
+
+	private final ExtensionHitCounter counter = new ExtensionHitCounter();
+
+	@Test
+	void dropsBucketsOlderThanEachWindow() {
+		hit(true, 2, BASE);
+		counter.roll(BASE);
+		hit(false, 1, BASE + 10 * SECOND);
+		counter.roll(BASE + 10 * SECOND);
+
+		// 1m 구간의 마지막 순간: 두 버킷 모두 포함
+		assertCounts(BASE + 59 * SECOND, StatsWindow.ONE_MINUTE, 2, 1);
+		// 첫 10초 버킷만 1m 구간에서 빠짐
+		assertCounts(BASE + 60 * SECOND, StatsWindow.ONE_MINUTE, 0, 1);
+		assertCounts(BASE + 60 * SECOND, StatsWindow.ONE_HOUR, 2, 1);
+		assertCounts(BASE + 70 * SECOND, StatsWindow.ONE_MINUTE, 0, 0);
+
+		// 두 건 모두 첫 5분 버킷: 한 시간 뒤 1h 구간에서 함께 빠짐
+		assertCounts(BASE + HOUR - SECOND, StatsWindow.ONE_HOUR, 2, 1);
+		assertCounts(BASE + HOUR, StatsWindow.ONE_HOUR, 0, 0);
+		assertCounts(BASE + HOUR, StatsWindow.ONE_DAY, 2, 1);
+
+		assertCounts(BASE + 24 * HOUR, StatsWindow.ONE_DAY, 0, 0);
+		assertCounts(BASE + 24 * HOUR, StatsWindow.TOTAL, 2, 1);
+	}
+
+	@Test
+	void clearsReusedSlotForNewEpoch() {
+		hit(true, 5, BASE);
+		counter.roll(BASE);
+		// 1m 링(6칸)에서 같은 칸을 쓰는 1분 뒤 버킷
+		hit(true, 1, BASE + MINUTE);
+		counter.roll(BASE + MINUTE);
+
+		assertCounts(BASE + MINUTE, StatsWindow.ONE_MINUTE, 1, 0);
+		assertCounts(BASE + MINUTE, StatsWindow.ONE_HOUR, 6, 0);
+		assertCounts(BASE + MINUTE, StatsWindow.TOTAL, 6, 0);
+	}
+
+	@Test
+	void includesPendingCountsInEveryWindow() {
+		hit(true, 3, BASE);
+		counter.roll(BASE);
+		hit(true, 1, BASE + 2 * HOUR);
+		hit(false, 2, BASE + 2 * HOUR + SECOND);
+
+		long now = BASE + 2 * HOUR + 5 * SECOND;
+		assertCounts(now, StatsWindow.ONE_MINUTE, 1, 2);
+		assertCounts(now, StatsWindow.ONE_HOUR, 1, 2);
+		assertCounts(now, StatsWindow.ONE_DAY, 4, 2);
+		assertCounts(now, StatsWindow.TOTAL, 4, 2);
+		assertThat(counter.snapshot("exe", now).lastHitAt()).isEqualTo(BASE + 2 * HOUR + SECOND);
+
+		// roll로 옮겨도 합계는 그대로 (중복 집계 없음)
+		counter.roll(now);
+		assertCounts(now, StatsWindow.ONE_MINUTE, 1, 2);
+		assertCounts(now, StatsWindow.TOTAL, 4, 2);
+	}
+
+	private void hit(boolean blocked, int times, long at) {
+		for (int i = 0; i < times; i++) {
+			counter.increment(blocked, at);
+		}
+	}
+
+	private void assertCounts(long now, StatsWindow window, long blocked, long allowed) {
+		assertThat(counter.snapshot("exe", now).count(window))
+				.as("%s at +%dms", window.code(), now - BASE)
+				.isEqualTo(new HitCount(blocked, allowed));
+	}
+}
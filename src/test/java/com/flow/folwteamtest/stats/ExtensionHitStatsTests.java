@@ -0,0 +1,92 @@
+package com.flow.folwteamtest.stats;
+
+import com.flow.folwteamtest.config.StatsProperties;
+import com.flow.folwteamtest.event.ExtensionChange;
+import com.flow.folwteamtest.event.ExtensionChangedEvent;
+import com.flow.folwteamtest.event.RemoteExtensionChangedEvent;
+import com.flow.folwteamtest.policy.BlockedRule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 판정 통계 집계 대상과 상한 검증 (테넌트/확장자 수 제한, 커스텀 확장자 삭제 시 카운터 제거)
+ */
+class ExtensionHitStatsTests {
+
+	private final ExtensionHitStats stats = new ExtensionHitStats(new StatsProperties(2, 2));
+
+	@AfterEach
+	void shutdown() {
+		stats.shutdown();
+	}
+
+	@Test
+	void countsOnlyListedExtensions() {
+		stats.record("t1", "setup.exe", new BlockedRule(BlockedRule.RuleType.FIXED, "exe"));
+		stats.record("t1", "run.bat", null);
+		stats.record("t1", "notes.txt", null);
+
+		assertThat(extensions("t1")).containsExactlyInAnyOrder("exe", "bat");
+		assertThat(total("t1", "exe")).isEqualTo(new HitCount(1, 0));
+		assertThat(total("t1", "bat")).isEqualTo(new HitCount(0, 1));
+	}
+
+	@Test
+	void stopsAddingCountersAtCaps() {
+		stats.record("t1", "a.zip", custom("zip"));
+		stats.record("t1", "a.iso", custom("iso"));
+		// 테넌트당 확장자 상한(2) 초과: 새 확장자는 버리고 기존 확장자는 계속 집계
+		stats.record("t1", "a.rar", custom("rar"));
+		stats.record("t1", "b.zip", custom("zip"));
+
+		assertThat(extensions("t1")).containsExactlyInAnyOrder("zip", "iso");
+		assertThat(total("t1", "zip")).isEqualTo(new HitCount(2, 0));
+
+		// 테넌트 상한(2) 초과: 새 테넌트는 집계하지 않음
+		stats.record("t2", "a.zip", custom("zip"));
+		stats.record("t3", "a.zip", custom("zip"));
+		assertThat(extensions("t2")).containsExactly("zip");
+		assertThat(stats.snapshot("t3")).isEmpty();
+	}
+
+	@Test
+	void removesCountersOfDeletedCustomExtensions() {
+		stats.record("t1", "a.zip", custom("zip"));
+		stats.record("t1", "a.exe", new BlockedRule(BlockedRule.RuleType.FIXED, "exe"));
+
+		stats.onExtensionChanged(ExtensionChangedEvent.customDeleted("t1", 1L, "zip"));
+		// 고정 확장자와 같은 이름의 커스텀 확장자 삭제는 고정 확장자 통계를 지우지 않음
+		stats.onExtensionChanged(ExtensionChangedEvent.customDeleted("t1", 2L, "exe"));
+		// 다른 종류의 변경은 무시
+		stats.onExtensionChanged(ExtensionChangedEvent.fixedUpdated("t1", 3L, "exe", false));
+		assertThat(extensions("t1")).containsExactly("exe");
+
+		// 상한을 차지하던 카운터가 지워졌으므로 새 확장자를 다시 집계
+		stats.record("t1", "a.iso", custom("iso"));
+		assertThat(extensions("t1")).containsExactlyInAnyOrder("exe", "iso");
+
+		// 다른 인스턴스의 삭제도 반영
+		stats.onRemoteExtensionChanged(new RemoteExtensionChangedEvent("t1",
+				List.of(new ExtensionChange(ExtensionChange.ChangeType.CUSTOM_DELETED, 4L, "iso", false)), 4L));
+		assertThat(extensions("t1")).containsExactly("exe");
+	}
+
+	private List<String> extensions(String tenantId) {
+		return stats.snapshot(tenantId).stream().map(ExtensionHitSnapshot::extension).toList();
+	}
+
+	private HitCount total(String tenantId, String extension) {
+		return stats.snapshot(tenantId).stream()
+				.filter(snapshot -> snapshot.extension().equals(extension))
+				.findFirst().orElseThrow()
+				.count(StatsWindow.TOTAL);
+	}
+
+	private static BlockedRule custom(String extension) {
+		return new BlockedRule(BlockedRule.RuleType.CUSTOM, extension);
+	}
+}
@@ -0,0 +1,246 @@
+package com.flow.folwteamtest.upload;
+
+import com.flow.folwteamtest.entity.CustomExtension;
+import com.flow.folwteamtest.exception.BlockedUploadException;
+import com.flow.folwteamtest.exception.RejectedArchiveException;
+import com.flow.folwteamtest.policy.BlockedRule;
+import com.flow.folwteamtest.policy.BlocklistSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 압축 파일 스트리밍 검사 검증 (청크를 잘게 나눠 헤더가 청크 경계에 걸리는 경우 포함)
+ */
+class ArchiveScannerTests {
+
+	private static final ArchiveLimits LIMITS = new ArchiveLimits(3, 1000, 64L << 20, 100);
+
+	private final BlocklistSnapshot snapshot = BlocklistSnapshot.of(List.of(),
+			List.of(CustomExtension.builder().tenantId("t").extension("exe").build()));
+	private final List<String> checked = new ArrayList<>();
+
+	@Test
+	void passesCleanArchiveAndCountsEntries() throws IOException {
+		byte[] zip = zip(stored("a.txt", "hello"), deflated("dir/b.pdf", "x".repeat(5000)));
+
+		assertThat(scan("clean.zip", zip, LIMITS)).isEqualTo(2);
+		assertThat(checked).contains("clean.zip!/a.txt", "clean.zip!/dir/b.pdf");
+	}
+
+	@Test
+	void blocksEntriesInNestedZipTarAndGzip() throws IOException {
+		byte[] tar = tar("docs/readme.txt", "hi", "bin/setup.exe", "MZ");
+		byte[] inner = zip(deflated("logs.tar.gz", gzip(tar)));
+		byte[] outer = zip(stored("inner.zip", inner));
+
+		assertThatThrownBy(() -> scan("outer.zip", outer, LIMITS))
+				.isInstanceOf(BlockedUploadException.class)
+				.hasMessageContaining("outer.zip!/inner.zip!/logs.tar.gz!/logs.tar!/bin/setup.exe");
+	}
+
+	@Test
+	void blocksArchiveNestedUnderNonArchiveName() throws IOException {
+		byte[] inner = zip(stored("evil.exe", "MZ"));
+		byte[] deflatedOuter = zip(stored("readme.txt", "hi"), deflated("inner.dat", inner));
+		byte[] storedOuter = zip(stored("inner.dat", inner));
+
+		assertThatThrownBy(() -> scan("outer.zip", deflatedOuter, LIMITS))
+				.isInstanceOf(BlockedUploadException.class)
+				.hasMessageContaining("outer.zip!/inner.dat!/evil.exe");
+		assertThatThrownBy(() -> scan("outer.zip", storedOuter, LIMITS))
+				.isInstanceOf(BlockedUploadException.class)
+				.hasMessageContaining("outer.zip!/inner.dat!/evil.exe");
+		// 압축 파일이 아닌 큰 항목은 앞부분만 풀고 건너뜀
+		byte[] noise = new byte[1 << 20];
+		new Random(42).nextBytes(noise);
+		assertThat(scan("outer.zip", zip(deflated("big.dat", noise), stored("b.txt", "b")), LIMITS)).isEqualTo(2);
+	}
+
+	@Test
+	void scansZipBasedDocumentsExceptStructuralParts() throws IOException {
+		BlocklistSnapshot strict = BlocklistSnapshot.of(List.of(), List.of(
+				CustomExtension.builder().tenantId("t").extension("exe").build(),
+				CustomExtension.builder().tenantId("t").extension("xml").build(),
+				CustomExtension.builder().tenantId("t").extension("rels").build()));
+		Entry[] parts = {
+				deflated("[Content_Types].xml", "<Types/>"),
+				deflated("_rels/.rels", "<Relationships/>"),
+				deflated("word/document.xml", "<w:document/>"),
+				deflated("word/_rels/document.xml.rels", "<Relationships/>"),
+				deflated("docProps/core.xml", "<cp:coreProperties/>")
+		};
+		assertThat(scan("report.docx", zip(parts), LIMITS, strict)).isEqualTo(5);
+
+		byte[] embedded = zip(parts[0], parts[2], deflated("word/embeddings/setup.exe", "MZ"));
+		assertThatThrownBy(() -> scan("report.docx", embedded, LIMITS, strict))
+				.isInstanceOf(BlockedUploadException.class)
+				.hasMessageContaining("report.docx!/word/embeddings/setup.exe");
+		// 구조 파트가 아닌 xml, 문서가 아닌 압축 파일 안의 같은 경로는 그대로 검사
+		assertThatThrownBy(() -> scan("report.docx", zip(parts[0], deflated("payload.xml", "<x/>")), LIMITS, strict))
+				.isInstanceOf(BlockedUploadException.class)
+				.hasMessageContaining("report.docx!/payload.xml");
+		assertThatThrownBy(() -> scan("report.zip", zip(parts[2]), LIMITS, strict))
+				.isInstanceOf(BlockedUploadException.class)
+				.hasMessageContaining("report.zip!/word/document.xml");
+	}
+
+	@Test
+	void blocksCentralDirectoryNameThatDiffersFromLocalHeader() throws IOException {
+		byte[] zip = zip(stored("note.txt", "hello"));
+		byte[] name = "note.txt".getBytes(StandardCharsets.US_ASCII);
+		int central = lastIndexOf(zip, name);
+		System.arraycopy("note.exe".getBytes(StandardCharsets.US_ASCII), 0, zip, central, name.length);
+
+		assertThatThrownBy(() -> scan("renamed.zip", zip, LIMITS)).isInstanceOf(BlockedUploadException.class);
+	}
+
+	@Test
+	void rejectsCompressionBombAndExcessiveNesting() throws IOException {
+		byte[] bomb = zip(deflated("zeros.bin", "\0".repeat(8 << 20)));
+		assertThatThrownBy(() -> scan("bomb.zip", bomb, LIMITS))
+				.isInstanceOf(RejectedArchiveException.class)
+				.hasMessageContaining("압축률");
+
+		byte[] nested = zip(stored("a.txt", "a"));
+		for (int i = 0; i < 3; i++) {
+			nested = zip(stored("level" + i + ".zip", nested));
+		}
+		byte[] deep = nested;
+		assertThatThrownBy(() -> scan("deep.zip", deep, LIMITS))
+				.isInstanceOf(RejectedArchiveException.class)
+				.hasMessageContaining("중첩 깊이");
+	}
+
+	@Test
+	void skipsNonArchiveContentAndRejectsTruncatedArchive() throws IOException {
+		assertThat(scan("photo.zip", "not an archive".getBytes(StandardCharsets.US_ASCII), LIMITS)).isZero();
+
+		byte[] zip = zip(stored("a.txt", "hello world"));
+		byte[] truncated = Arrays.copyOf(zip, 40);
+		assertThatThrownBy(() -> scan("cut.zip", truncated, LIMITS)).isInstanceOf(RejectedArchiveException.class);
+	}
+
+	private int scan(String filename, byte[] content, ArchiveLimits limits) {
+		return scan(filename, content, limits, snapshot);
+	}
+
+	private int scan(String filename, byte[] content, ArchiveLimits limits, BlocklistSnapshot snapshot) {
+		ArchiveWalk walk = new ArchiveWalk(limits, path -> {
+			checked.add(path);
+			BlockedRule rule = snapshot.match(path);
+			if (rule != null) {
+				throw new BlockedUploadException(path, rule);
+			}
+		});
+		ArchiveScanner scanner = walk.inspect(filename);
+		for (int i = 0; i < content.length; i += 7) {
+			scanner.feed(content, i, Math.min(7, content.length - i));
+		}
+		scanner.finish();
+		return walk.entries();
+	}
+
+	private record Entry(String name, byte[] content, boolean stored) {
+	}
+
+	private static Entry stored(String name, String content) {
+		return new Entry(name, content.getBytes(StandardCharsets.UTF_8), true);
+	}
+
+	private static Entry stored(String name, byte[] content) {
+		return new Entry(name, content, true);
+	}
+
+	private static Entry deflated(String name, String content) {
+		return new Entry(name, content.getBytes(StandardCharsets.UTF_8), false);
+	}
+
+	private static Entry deflated(String name, byte[] content) {
+		return new Entry(name, content, false);
+	}
+
+	private static byte[] zip(Entry... entries) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ZipOutputStream zip = new ZipOutputStream(out)) {
+			for (Entry entry : entries) {
+				ZipEntry zipEntry = new ZipEntry(entry.name());
+				if (entry.stored()) {
+					CRC32 crc = new CRC32();
+					crc.update(entry.content());
+					zipEntry.setMethod(ZipEntry.STORED);
+					zipEntry.setSize(entry.content().length);
+					zipEntry.setCrc(crc.getValue());
+				}
+				zip.putNextEntry(zipEntry);
+				zip.write(entry.content());
+				zip.closeEntry();
+			}
+		}
+		return out.toByteArray();
+	}
+
+	private static byte[] gzip(byte[] content) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(content);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * ustar 형식 tar (이름, 내용 쌍)
+	 */
+	private static byte[] tar(String... namesAndContents) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (int i = 0; i < namesAndContents.length; i += 2) {
+			byte[] content = namesAndContents[i + 1].getBytes(StandardCharsets.UTF_8);
+			byte[] header = new byte[512];
+			put(header, 0, namesAndContents[i]);
+			put(header, 100, "0000644");
+			put(header, 124, String.format("%011o", content.length));
+			put(header, 136, String.format("%011o", 0));
+			header[156] = '0';
+			put(header, 257, "ustar");
+			put(header, 263, "00");
+			Arrays.fill(header, 148, 156, (byte) ' ');
+			int sum = 0;
+			for (byte b : header) {
+				sum += b & 0xFF;
+			}
+			put(header, 148, String.format("%06o", sum));
+			out.writeBytes(header);
+			out.writeBytes(content);
+			out.writeBytes(new byte[(512 - content.length % 512) % 512]);
+		}
+		out.writeBytes(new byte[1024]);
+		return out.toByteArray();
+	}
+
+	private static void put(byte[] target, int offset, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+		System.arraycopy(bytes, 0, target, offset, bytes.length);
+	}
+
+	private static int lastIndexOf(byte[] array, byte[] target) {
+		for (int i = array.length - target.length; i >= 0; i--) {
+			if (Arrays.equals(array, i, i + target.length, target, 0, target.length)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,131 @@
+package com.flow.folwteamtest.upload;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 파일 시그니처 판별 검증 (시그니처별 일치, 시그니처보다 짧은 앞부분, 한 바이트 다른 오탐 후보)
+ */
+class ContentSnifferTests {
+
+	private static final List<ContentSignature> SIGNATURES = ContentSignature.defaults();
+	private static final ContentSniffer SNIFFER = new ContentSniffer(SIGNATURES);
+
+	static List<ContentSignature> signatures() {
+		return SIGNATURES;
+	}
+
+	@ParameterizedTest
+	@MethodSource("signatures")
+	void detectsEachDefaultSignature(ContentSignature signature) {
+		byte[] magic = signature.magic();
+
+		byte[] withBody = Arrays.copyOf(magic, magic.length + 16);
+		assertThat(detect(withBody)).isSameAs(signature);
+		assertThat(detect(magic)).isSameAs(signature);
+
+		// 시그니처보다 짧은 본문은 그 시그니처로 판단하지 않음
+		for (int length = 0; length < magic.length; length++) {
+			byte[] shorter = Arrays.copyOf(magic, length);
+			assertThat(detect(shorter)).as("%s cut to %d bytes", signature.type(), length)
+					.isNotSameAs(signature)
+					.isEqualTo(longestMatch(shorter));
+		}
+
+		// 마지막/첫 바이트만 다른 본문
+		for (int index : new int[]{0, magic.length - 1}) {
+			byte[] nearMiss = withBody.clone();
+			nearMiss[index] ^= 0x01;
+			assertThat(detect(nearMiss)).as("%s with byte %d flipped", signature.type(), index)
+					.isNotSameAs(signature)
+					.isEqualTo(longestMatch(nearMiss));
+		}
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+			// 2바이트 시그니처의 일치/불일치
+			"4d5a90000300, PE",
+			"4d5a, PE",
+			"4d, ",
+			"4d7a, ",
+			"6d5a, ",
+			"2321, SHEBANG",
+			"23212f62696e2f7368, SHEBANG",
+			"2320636f6d6d656e74, ",
+			"21, ",
+			"1f8b0800, GZIP",
+			"1f8c0800, ",
+			"1f, ",
+			"8b1f, ",
+			// 4바이트 이상 시그니처의 흔한 오탐 후보
+			"7f454c, ",
+			"504b0506, ",
+			"25504446, PDF",
+			"255044, ",
+			"cafebabe, MACH-O-FAT/CLASS",
+			"d0cf11e0a1b11ae0, ",
+			", "
+	})
+	void classifiesShortAndNearMissPrefixes(String hex, String expectedType) {
+		byte[] prefix = hex == null ? new byte[0] : HexFormat.of().parseHex(hex);
+		ContentSignature detected = detect(prefix);
+		assertThat(detected == null ? null : detected.type()).isEqualTo(expectedType);
+	}
+
+	@Test
+	void prefersLongestMatchingSignature() {
+		List<ContentSignature> signatures = new ArrayList<>(ContentSignature.defaults());
+		ContentSignature custom = ContentSignature.of("CUSTOM-4D5A9000", "4d5a9000", "custom");
+		signatures.add(custom);
+		ContentSniffer sniffer = new ContentSniffer(signatures);
+
+		assertThat(sniffer.prefixLength()).isEqualTo(20);
+		assertThat(sniffer.detect(ByteBuffer.wrap(HexFormat.of().parseHex("4d5a900003")))).isSameAs(custom);
+		// 긴 시그니처를 다 채우지 못하면 더 짧은 PE로 판단
+		assertThat(sniffer.detect(ByteBuffer.wrap(HexFormat.of().parseHex("4d5a90")))).extracting(ContentSignature::type)
+				.isEqualTo("PE");
+		assertThat(sniffer.detect(ByteBuffer.wrap(HexFormat.of().parseHex("4d5a9001")))).extracting(ContentSignature::type)
+				.isEqualTo("PE");
+	}
+
+	@Test
+	void readsOnlyBetweenPositionAndLimit() {
+		ByteBuffer buffer = ByteBuffer.wrap(HexFormat.of().parseHex("00004d5a0000"));
+		buffer.position(2).limit(4);
+
+		assertThat(SNIFFER.detect(buffer)).extracting(ContentSignature::type).isEqualTo("PE");
+		assertThat(buffer.position()).isEqualTo(2);
+		buffer.limit(3);
+		assertThat(SNIFFER.detect(buffer)).isNull();
+	}
+
+	private static ContentSignature detect(byte[] prefix) {
+		return SNIFFER.detect(ByteBuffer.wrap(prefix));
+	}
+
+	/**
+	 * 비교용 단순 구현: 모든 시그니처를 차례로 대조해 가장 긴 일치
+	 */
+	private static ContentSignature longestMatch(byte[] prefix) {
+		ContentSignature matched = null;
+		for (ContentSignature signature : SIGNATURES) {
+			byte[] magic = signature.magic();
+			if (magic.length <= prefix.length && Arrays.equals(magic, 0, magic.length, prefix, 0, magic.length)
+					&& (matched == null || magic.length > matched.magic().length)) {
+				matched = signature;
+			}
+		}
+		return matched;
+	}
+}
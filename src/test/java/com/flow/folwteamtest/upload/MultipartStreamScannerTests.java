@@ -0,0 +1,156 @@
+package com.flow.folwteamtest.upload;
+
+import com.flow.folwteamtest.exception.MalformedMultipartException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * multipart 스트리밍 스캐너와 파트 헤더 파싱 검증
+ * (경계/헤더가 청크 경계에 걸리는 경우, filename* 우회, 헤더 크기 한도, 잘린 본문)
+ */
+class MultipartStreamScannerTests {
+
+	private static final String BOUNDARY = "XyZ-boundary";
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 2, 3, 5, 7, 16, 4096})
+	void findsPartsWhenBoundariesAndHeadersAreSplitAcrossChunks(int chunkSize) throws IOException {
+		// 본문 안에 경계의 앞부분과 같은 바이트가 있어도 데이터로 전달되어야 합니다.
+		String first = "hello\r\n--XyZ-bound\r\n-\r\n--XyZ-boundar";
+		String second = "\r\r\n\r\n--";
+		byte[] body = body(
+				part("form-data; name=\"a\"; filename=\"a.txt\"", "text/plain", first),
+				part("form-data; name=\"b\"", null, second));
+
+		Recorder recorder = new Recorder();
+		MultipartStreamScanner scanner = new MultipartStreamScanner(BOUNDARY, 1024, recorder);
+		feed(scanner, body, chunkSize);
+
+		assertThat(scanner.isComplete()).isTrue();
+		assertThat(recorder.events).containsExactly("start a a.txt text/plain", "end", "start b null null", "end");
+		assertThat(recorder.bodies).containsExactly(first, second);
+	}
+
+	@Test
+	void parsesQuotedAndEscapedFilenames() {
+		PartHeaders headers = PartHeaders.parse(
+				"Content-Disposition: form-data; name=\"f\"; filename=\"a \\\"quoted\\\"; name.txt\"\r\nContent-Type: text/plain");
+		assertThat(headers.getName()).isEqualTo("f");
+		assertThat(headers.getFilename()).isEqualTo("a \"quoted\"; name.txt");
+		assertThat(headers.getContentType()).isEqualTo("text/plain");
+
+		assertThat(PartHeaders.parse("content-disposition: form-data; name=f; FileName=setup.exe").getFilename())
+				.isEqualTo("setup.exe");
+		assertThat(PartHeaders.parse("Content-Disposition: form-data; name=\"f\"; filename=\"\"").getFilenames())
+				.containsExactly("");
+		assertThat(PartHeaders.parse("Content-Disposition: form-data; name=\"field\"").isFile()).isFalse();
+	}
+
+	@Test
+	void keepsBothFilenameAndExtendedFilename() {
+		PartHeaders headers = PartHeaders.parse(
+				"Content-Disposition: form-data; name=\"f\"; filename*=UTF-8''%EC%95%85%EC%84%B1.exe; filename=\"safe.txt\"");
+		// 두 값이 다르면 둘 다 검사 대상이며, 대표 파일명은 filename*
+		assertThat(headers.getFilenames()).containsExactly("safe.txt", "악성.exe");
+		assertThat(headers.getFilename()).isEqualTo("악성.exe");
+
+		assertThat(PartHeaders.parse("Content-Disposition: form-data; filename*=utf-8'en'a+b%2Eexe").getFilename())
+				.isEqualTo("a+b.exe");
+		// 알 수 없는 charset이나 언어 구분자가 없는 값은 디코딩하지 않고 그대로 검사
+		assertThat(PartHeaders.parse("Content-Disposition: form-data; filename*=x-unknown''run.exe").getFilename())
+				.isEqualTo("run.exe");
+		assertThat(PartHeaders.parse("Content-Disposition: form-data; filename*=plain.exe").getFilename())
+				.isEqualTo("plain.exe");
+	}
+
+	@Test
+	void rejectsHeaderBlockOverLimitEvenWhenSplit() {
+		String longHeader = "form-data; name=\"f\"; filename=\"" + "a".repeat(200) + ".txt\"";
+		byte[] body = body(part(longHeader, null, "x"));
+		MultipartStreamScanner scanner = new MultipartStreamScanner(BOUNDARY, 128, new Recorder());
+
+		assertThatThrownBy(() -> feed(scanner, body, 3))
+				.isInstanceOf(MalformedMultipartException.class)
+				.hasMessageContaining("128");
+	}
+
+	@Test
+	void reportsTruncatedBodyAsIncomplete() throws IOException {
+		byte[] complete = body(part("form-data; name=\"a\"; filename=\"a.txt\"", null, "data"),
+				part("form-data; name=\"b\"; filename=\"b.exe\"", null, "MZ"));
+		// 마지막 경계("--") 뒤의 CRLF는 에필로그라 없어도 완결된 본문
+		int closed = complete.length - 2;
+		for (int length = 0; length < closed; length++) {
+			Recorder recorder = new Recorder();
+			MultipartStreamScanner scanner = new MultipartStreamScanner(BOUNDARY, 1024, recorder);
+			scanner.feed(complete, 0, length);
+			assertThat(scanner.isComplete()).as("truncated at " + length).isFalse();
+		}
+		MultipartStreamScanner scanner = new MultipartStreamScanner(BOUNDARY, 1024, new Recorder());
+		scanner.feed(complete, 0, closed);
+		assertThat(scanner.isComplete()).isTrue();
+	}
+
+	@Test
+	void rejectsGarbageAfterDelimiter() {
+		byte[] body = ("--" + BOUNDARY + "x".repeat(300)).getBytes(StandardCharsets.US_ASCII);
+		MultipartStreamScanner scanner = new MultipartStreamScanner(BOUNDARY, 1024, new Recorder());
+
+		assertThatThrownBy(() -> scanner.feed(body, 0, body.length)).isInstanceOf(MalformedMultipartException.class);
+	}
+
+	private static void feed(MultipartStreamScanner scanner, byte[] body, int chunkSize) throws IOException {
+		for (int offset = 0; offset < body.length; offset += chunkSize) {
+			scanner.feed(body, offset, Math.min(chunkSize, body.length - offset));
+		}
+	}
+
+	static String part(String disposition, String contentType, String content) {
+		return "Content-Disposition: " + disposition + "\r\n"
+				+ (contentType == null ? "" : "Content-Type: " + contentType + "\r\n")
+				+ "\r\n" + content;
+	}
+
+	static byte[] body(String... parts) {
+		StringBuilder body = new StringBuilder();
+		for (String part : parts) {
+			body.append("--").append(BOUNDARY).append("\r\n").append(part).append("\r\n");
+		}
+		body.append("--").append(BOUNDARY).append("--\r\n");
+		return body.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static final class Recorder implements MultipartStreamScanner.PartListener {
+
+		private final List<String> events = new ArrayList<>();
+		private final List<String> bodies = new ArrayList<>();
+		private final ByteArrayOutputStream current = new ByteArrayOutputStream();
+
+		@Override
+		public void onPartStart(PartHeaders headers) {
+			events.add("start " + headers.getName() + " " + headers.getFilename() + " " + headers.getContentType());
+			current.reset();
+		}
+
+		@Override
+		public void onPartData(byte[] buffer, int offset, int length) {
+			current.write(buffer, offset, length);
+		}
+
+		@Override
+		public void onPartEnd() {
+			events.add("end");
+			bodies.add(current.toString(StandardCharsets.UTF_8));
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package com.flow.folwteamtest.upload;
+
+import com.flow.folwteamtest.service.ExtensionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static com.flow.folwteamtest.upload.MultipartStreamScannerTests.body;
+import static com.flow.folwteamtest.upload.MultipartStreamScannerTests.part;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 업로드 게이트 필터를 거친 업로드 API 판정 검증 (차단 415, 잘린 본문 400, 통과 200, 문서로 선언한 ZIP 내부 검사)
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=INFO",
+		"logging.level.com.flow.folwteamtest=WARN"
+})
+@AutoConfigureMockMvc
+class UploadGateFilterTests {
+
+	private static final String CONTENT_TYPE = "multipart/form-data; boundary=XyZ-boundary";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ExtensionService extensionService;
+
+	@Autowired
+	private FilterRegistrationBean<UploadGateFilter> uploadGateFilter;
+
+	@Test
+	void rejectsBlockedPartWith415() throws Exception {
+		extensionService.updateFixedExtensionByName("gate", "exe", true);
+		byte[] body = body(part("form-data; name=\"a\"; filename=\"report.txt\"", "text/plain", "hello"),
+				part("form-data; name=\"b\"; filename=\"report.txt\"; filename*=UTF-8''setup.exe", null, "MZ"));
+
+		mockMvc.perform(post("/api/tenants/gate/uploads").contentType(CONTENT_TYPE).content(body))
+				.andExpect(status().isUnsupportedMediaType())
+				.andExpect(header().string("Connection", "close"))
+				.andExpect(jsonPath("$.code").value("BLOCKED_EXTENSION"));
+		// 다른 테넌트 정책은 영향 없음
+		mockMvc.perform(post("/api/uploads").contentType(CONTENT_TYPE).content(body))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[1].filename").value("setup.exe"));
+	}
+
+	@Test
+	void acceptsCleanUploadAndRejectsTruncatedBody() throws Exception {
+		byte[] body = body(part("form-data; name=\"a\"; filename=\"notes.txt\"", "text/plain", "hello"),
+				part("form-data; name=\"b\"; filename=\"later.exe\"", null, "MZ"));
+		extensionService.updateFixedExtensionByName("trunc", "exe", true);
+		int secondPart = new String(body, StandardCharsets.UTF_8).indexOf("\r\n--XyZ-boundary\r\nContent-Disposition: form-data; name=\"b\"");
+
+		// 두 번째 파트 헤더에 닿기 전에 끝난 본문은 통과로 응답하지 않음
+		mockMvc.perform(post("/api/tenants/trunc/uploads").contentType(CONTENT_TYPE)
+						.content(Arrays.copyOf(body, secondPart + 4)))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.code").value("MALFORMED_MULTIPART"));
+
+		byte[] clean = body(part("form-data; name=\"a\"; filename=\"notes.txt\"", "text/plain", "hello"));
+		mockMvc.perform(post("/api/tenants/trunc/uploads").contentType(CONTENT_TYPE).content(clean))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].filename").value("notes.txt"))
+				.andExpect(jsonPath("$[0].size").value(5));
+	}
+
+	@Test
+	void inspectsZipDeclaredAsDocument() throws Exception {
+		extensionService.updateFixedExtensionByName("docx", "exe", true);
+		ByteArrayOutputStream docx = new ByteArrayOutputStream();
+		try (ZipOutputStream zip = new ZipOutputStream(docx)) {
+			zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+			zip.write("<Types/>".getBytes(StandardCharsets.UTF_8));
+			zip.putNextEntry(new ZipEntry("word/media/evil.exe"));
+			zip.write("MZ".getBytes(StandardCharsets.US_ASCII));
+			zip.closeEntry();
+		}
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		body.writeBytes(("--XyZ-boundary\r\nContent-Disposition: form-data; name=\"a\"; filename=\"report.docx\"\r\n"
+				+ "Content-Type: application/vnd.openxmlformats-officedocument.wordprocessingml.document\r\n\r\n")
+				.getBytes(StandardCharsets.US_ASCII));
+		body.writeBytes(docx.toByteArray());
+		body.writeBytes("\r\n--XyZ-boundary--\r\n".getBytes(StandardCharsets.US_ASCII));
+
+		mockMvc.perform(post("/api/tenants/docx/uploads").contentType(CONTENT_TYPE).content(body.toByteArray()))
+				.andExpect(status().isUnsupportedMediaType())
+				.andExpect(jsonPath("$.code").value("BLOCKED_EXTENSION"));
+	}
+
+	@Test
+	void filtersMultipartRegardlessOfDefaultLocale() {
+		Locale defaultLocale = Locale.getDefault();
+		try {
+			// 터키어 로캘에서 "MULTIPART".toLowerCase()는 점 없는 i(ı)가 됩니다.
+			Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+			MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/uploads");
+			request.setContentType("MULTIPART/FORM-DATA; boundary=XyZ-boundary");
+			assertThat(uploadGateFilter.getFilter().shouldNotFilter(request)).isFalse();
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+}
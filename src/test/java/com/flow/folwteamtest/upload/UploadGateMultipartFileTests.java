@@ -0,0 +1,102 @@
+package com.flow.folwteamtest.upload;
+
+import com.flow.folwteamtest.service.ExtensionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 게이트 경로의 MultipartFile 핸들러 검증 (컨테이너가 파싱한 파트도 핸들러에 넘기기 전에 검사)
+ * MockMvc는 multipart 본문을 파싱하지 않으므로 내장 서버로 요청합니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"management.server.port=0",
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=INFO",
+		"logging.level.com.flow.folwteamtest=WARN"
+})
+@Import(UploadGateMultipartFileTests.FileController.class)
+class UploadGateMultipartFileTests {
+
+	private static final String BOUNDARY = "XyZ-boundary";
+	private static final List<String> received = new CopyOnWriteArrayList<>();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ExtensionService extensionService;
+
+	@Test
+	void multipartFileHandlerNeverReceivesBlockedFile() throws Exception {
+		extensionService.updateFixedExtensionByName("mpfile", "exe", true);
+
+		HttpResponse<String> blocked = upload("mpfile", "setup.exe", "MZ".getBytes(StandardCharsets.US_ASCII));
+		assertThat(blocked.statusCode()).isEqualTo(415);
+		assertThat(blocked.body()).contains("BLOCKED_EXTENSION");
+
+		ByteArrayOutputStream archive = new ByteArrayOutputStream();
+		try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+			zip.putNextEntry(new ZipEntry("bin/evil.exe"));
+			zip.write("MZ".getBytes(StandardCharsets.US_ASCII));
+			zip.closeEntry();
+		}
+		HttpResponse<String> nested = upload("mpfile", "bundle.dat", archive.toByteArray());
+		assertThat(nested.statusCode()).isEqualTo(415);
+		assertThat(nested.body()).contains("bundle.dat!/bin/evil.exe");
+		assertThat(received).isEmpty();
+
+		HttpResponse<String> clean = upload("mpfile", "notes.txt", "hello".getBytes(StandardCharsets.US_ASCII));
+		assertThat(clean.statusCode()).isEqualTo(200);
+		assertThat(received).containsExactly("notes.txt");
+	}
+
+	private HttpResponse<String> upload(String tenantId, String filename, byte[] content) throws IOException, InterruptedException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		body.writeBytes(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+				+ "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+		body.writeBytes(content);
+		body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tenants/" + tenantId + "/files"))
+				.header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+				.build();
+		try (HttpClient client = HttpClient.newHttpClient()) {
+			return client.send(request, HttpResponse.BodyHandlers.ofString());
+		}
+	}
+
+	/**
+	 * 게이트 경로(/api/tenants/*) 아래에서 MultipartFile로 파트를 받는 핸들러
+	 */
+	@RestController
+	static class FileController {
+
+		@PostMapping("/api/tenants/{tenantId}/files")
+		String store(@PathVariable String tenantId, @RequestPart("file") MultipartFile file) {
+			received.add(file.getOriginalFilename());
+			return file.getOriginalFilename();
+		}
+	}
+}